@@ -0,0 +1,74 @@
+package com.payment.benchmarks;
+
+import com.payment.domain.MoneyTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary total over one merchant's transactions: the previous BigDecimal::add reduction
+ * against {@link MoneyTotals} over long minor units. Run with -prof gc for allocation rates.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar MoneyAggregationBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyAggregationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private BigDecimal[] decimals;
+    private long[] unscaled;
+    private String[] currencies;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimals = new BigDecimal[rows];
+        unscaled = new long[rows];
+        currencies = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            long cents = 500 + (long) Math.exp(random.nextGaussian() * 0.9 + 8.5);
+            decimals[i] = BigDecimal.valueOf(cents, 2);
+            unscaled[i] = cents;
+            currencies[i] = "USD";
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalReduce() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal moneyTotals() {
+        MoneyTotals totals = new MoneyTotals();
+        for (int i = 0; i < rows; i++) {
+            totals.addUnscaled(currencies[i], unscaled[i], 2);
+        }
+        return totals.get("USD").toBigDecimal();
+    }
+}
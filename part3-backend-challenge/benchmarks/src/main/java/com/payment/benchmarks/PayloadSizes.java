@@ -0,0 +1,52 @@
+package com.payment.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Prints raw and compressed sizes of the pages used by {@link ResponseCompressionBenchmark}.
+ * Sizes do not depend on the machine, so this needs no JMH run.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.payment.benchmarks.PayloadSizes
+ * </pre>
+ */
+public final class PayloadSizes {
+
+    private static final int[][] PAGES = {{1, 0}, {20, 3}, {100, 0}, {100, 3}};
+    private static final int[] LEVELS = {1, 6, 9};
+
+    private PayloadSizes() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf(Locale.ROOT, "%-8s %9s", "page", "raw");
+        for (int level : LEVELS) {
+            System.out.printf(Locale.ROOT, " %15s", "deflate-" + level);
+        }
+        System.out.println();
+
+        for (int[] page : PAGES) {
+            byte[] json = TransactionPagePayload.build(page[0], page[1], 42);
+            System.out.printf(Locale.ROOT, "%-8s %9d", page[0] + "x" + page[1], json.length);
+            for (int level : LEVELS) {
+                int compressed = deflate(json, level);
+                System.out.printf(Locale.ROOT, " %7d (%4.1f%%)", compressed, 100.0 * compressed / json.length);
+            }
+            System.out.println();
+        }
+    }
+
+    private static int deflate(byte[] input, int level) throws Exception {
+        Deflater deflater = new Deflater(level);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length);
+        try (DeflaterOutputStream stream = new DeflaterOutputStream(out, deflater)) {
+            stream.write(input);
+        } finally {
+            deflater.end();
+        }
+        return out.size();
+    }
+}
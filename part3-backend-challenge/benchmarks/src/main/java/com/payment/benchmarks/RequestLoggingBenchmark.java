@@ -0,0 +1,104 @@
+package com.payment.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import com.payment.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging done on the request thread for one client-error request, in each setup that
+ * scripts/logging-benchmark.sh starts the API with: the exception handler's line for the
+ * 404 and, with DEBUG on, the SQL statement of the lookup. It runs the API's logback.xml
+ * with its sampling filters; console output goes to /dev/null, so writing costs a system
+ * call but no terminal. Each mode runs in its own fork, since logback configures itself
+ * once. Events the sampling filters suppressed are printed at the end of each fork.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar RequestLoggingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestLoggingBenchmark {
+
+    private static final String PATH = "/api/v1/merchants/MCH-99999/transactions";
+
+    @Param({"off", "sync", "async", "async-json", "async-debug", "sync-debug"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger handler;
+    private Logger sql;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Read by logback.xml, so set before the first logger is created
+        switch (mode) {
+            case "off":
+                System.setProperty("LOG_LEVEL", "OFF");
+                break;
+            case "sync":
+            case "sync-debug":
+                System.setProperty("LOG_APPENDER", "TEXT");
+                break;
+            case "async-json":
+                System.setProperty("LOG_FORMAT", "JSON");
+                break;
+            default:
+                break;
+        }
+        System.setOut(new PrintStream(new FileOutputStream("/dev/null"), false));
+
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        if (mode.endsWith("-debug")) {
+            // What LOGGER_LEVELS_COM_PAYMENT and LOGGER_LEVELS_IO_MICRONAUT_DATA do in the API
+            context.getLogger("com.payment").setLevel(Level.DEBUG);
+            context.getLogger("io.micronaut.data").setLevel(Level.DEBUG);
+        }
+        handler = context.getLogger("com.payment.exception.GlobalExceptionHandler");
+        sql = context.getLogger("io.micronaut.data.query");
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter) {
+                SamplingTurboFilter sampling = (SamplingTurboFilter) filter;
+                System.err.printf("%s: %d events suppressed%n", sampling.getLoggerPrefix(), sampling.getSuppressed());
+            }
+        }
+        context.stop();
+    }
+
+    @Benchmark
+    public void clientError() {
+        // As GlobalExceptionHandler logs a 404
+        if (handler.isDebugEnabled()) {
+            handler.debug("{} {} answered {}: {}", "GET", PATH, 404, "Merchant not found with ID: MCH-99999");
+        }
+        sql.debug("Executing Query: SELECT merchant_id FROM operators.merchants WHERE merchant_id = ?");
+    }
+}
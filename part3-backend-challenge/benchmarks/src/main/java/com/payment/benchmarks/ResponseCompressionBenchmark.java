@@ -0,0 +1,85 @@
+package com.payment.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of compressing transaction pages with the zlib encoders Netty's
+ * HttpContentCompressor uses, on pooled buffers as in the server. Bytes saved for the
+ * same pages are printed by {@link PayloadSizes}.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ResponseCompressionBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseCompressionBenchmark {
+
+    /**
+     * Rows per page and details per row: a default dashboard page, a 100-row page without
+     * details, and a 100-row page with details
+     */
+    @Param({"20x3", "100x0", "100x3"})
+    public String page;
+
+    @Param({"GZIP", "ZLIB"})
+    public ZlibWrapper encoding;
+
+    @Param({"1", "6"})
+    public int level;
+
+    private ByteBuf payload;
+
+    @Setup
+    public void setUp() {
+        String[] shape = page.split("x");
+        byte[] json = TransactionPagePayload.build(Integer.parseInt(shape[0]), Integer.parseInt(shape[1]), 42);
+        payload = PooledByteBufAllocator.DEFAULT.directBuffer(json.length).writeBytes(json);
+    }
+
+    @TearDown
+    public void tearDown() {
+        payload.release();
+    }
+
+    /**
+     * ZLIB is what HTTP calls "deflate"
+     */
+    @Benchmark
+    public long compress() {
+        EmbeddedChannel channel = new EmbeddedChannel(ZlibCodecFactory.newZlibEncoder(encoding, level));
+        channel.config().setAllocator(PooledByteBufAllocator.DEFAULT);
+        channel.writeOutbound(payload.retainedDuplicate());
+        channel.finish();
+
+        long compressed = 0;
+        ByteBuf chunk;
+        while ((chunk = channel.readOutbound()) != null) {
+            compressed += chunk.readableBytes();
+            chunk.release();
+        }
+        return compressed;
+    }
+}
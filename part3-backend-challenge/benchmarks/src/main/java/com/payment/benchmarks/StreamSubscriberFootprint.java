@@ -0,0 +1,98 @@
+package com.payment.benchmarks;
+
+import com.payment.config.TransactionStreamConfiguration;
+import com.payment.repository.TransactionRepository;
+import com.payment.stream.TransactionStreamHub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.http.sse.Event;
+import io.micronaut.scheduling.TaskScheduler;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prints the heap that idle live transaction streams hold in {@link TransactionStreamHub}:
+ * the sink with its buffer-size queue, allocated up front, the subscriber the HTTP layer
+ * attaches and the hub's map entry. The HTTP connection itself is not included; measure the
+ * whole process with scripts/measure-stream-subscribers.sh.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.payment.benchmarks.StreamSubscriberFootprint [subscribers]
+ * </pre>
+ */
+public final class StreamSubscriberFootprint {
+
+    private static final int MERCHANTS = 100;
+    private static final int[] BUFFER_SIZES = {256, 64, 16};
+
+    private StreamSubscriberFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int subscribers = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        System.out.printf(Locale.ROOT, "%-11s %11s %14s%n", "buffer-size", "heap (MB)", "per stream (B)");
+        for (int bufferSize : BUFFER_SIZES) {
+            // Once to warm up class loading and the JIT, then measured
+            measure(subscribers, bufferSize);
+            long bytes = measure(subscribers, bufferSize);
+            System.out.printf(Locale.ROOT, "%-11d %11.1f %14d%n", bufferSize, bytes / 1048576.0, bytes / subscribers);
+        }
+    }
+
+    /**
+     * Heap retained by that many idle subscriptions, spread over {@value #MERCHANTS} merchants
+     */
+    private static long measure(int subscribers, int bufferSize) {
+        TransactionStreamConfiguration configuration = new TransactionStreamConfiguration();
+        configuration.setBufferSize(bufferSize);
+        configuration.setMaxSubscribers(subscribers);
+        TransactionStreamHub hub = new TransactionStreamHub(
+            proxy(TransactionRepository.class, (repository, method, args) -> 0L),
+            configuration,
+            proxy(TaskScheduler.class, (scheduler, method, args) -> null),
+            new SimpleMeterRegistry()
+        );
+
+        long before = usedHeap();
+        List<IdleClient> clients = new ArrayList<>(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            IdleClient client = new IdleClient();
+            hub.subscribe(String.format(Locale.ROOT, "MCH-%05d", i % MERCHANTS + 1)).subscribe(client);
+            clients.add(client);
+        }
+        long after = usedHeap();
+
+        clients.forEach(BaseSubscriber::dispose);
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Asks for one event at a time, as the SSE writer does, and never gets one
+     */
+    private static final class IdleClient extends BaseSubscriber<Event<?>> {
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            subscription.request(1);
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StreamSubscriberFootprint.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
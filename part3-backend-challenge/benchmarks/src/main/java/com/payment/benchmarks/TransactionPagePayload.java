@@ -0,0 +1,89 @@
+package com.payment.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Builds the JSON body of GET /api/v1/merchants/{id}/transactions with the same field
+ * names and value shapes the API serializes, so payload sizes and compressibility match
+ * real responses
+ */
+public final class TransactionPagePayload {
+
+    private static final String[] STATUSES = {"completed", "completed", "completed", "completed", "pending", "failed", "reversed"};
+    private static final String[] CARD_TYPES = {"VISA", "MASTERCARD", "AMEX", "DISCOVER"};
+    private static final String[] DETAIL_TYPES = {"fee", "tax", "adjustment"};
+    private static final String[] MEMBERS = {
+        "Global Payment Bank", "First National Acquirer", "Metro Card Services", "Pacific Issuer Bank"
+    };
+
+    private TransactionPagePayload() {
+    }
+
+    /**
+     * @param rows           transactions on the page
+     * @param detailsPerRow  details nested under each transaction (0 for a list without details)
+     */
+    public static byte[] build(int rows, int detailsPerRow, long seed) {
+        Random random = new Random(seed);
+        StringBuilder json = new StringBuilder(rows * (350 + detailsPerRow * 120));
+        Instant start = Instant.parse("2025-11-16T00:00:00Z");
+
+        json.append("{\"merchantId\":\"MCH-00001\",")
+            .append("\"dateRange\":{\"start\":\"2025-11-16T00:00:00Z\",\"end\":\"2025-11-18T23:59:59Z\"},")
+            .append("\"summary\":{\"totalTransactions\":1523,\"totalAmount\":152340.75,\"currency\":\"USD\",")
+            .append("\"byStatus\":{\"completed\":1200,\"pending\":150,\"failed\":100,\"reversed\":73}},")
+            .append("\"transactions\":[");
+
+        long detailId = 1;
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            long cents = 500 + (long) Math.exp(random.nextGaussian() * 0.9 + 8.5);
+            json.append("{\"txnId\":").append(100_000 + i)
+                .append(",\"amount\":").append(amount(cents))
+                .append(",\"currency\":\"USD\"")
+                .append(",\"status\":\"").append(STATUSES[random.nextInt(STATUSES.length)]).append('"')
+                .append(",\"timestamp\":\"").append(start.plusSeconds(random.nextInt(3 * 86_400))).append('"')
+                .append(",\"cardType\":\"").append(CARD_TYPES[random.nextInt(CARD_TYPES.length)]).append('"')
+                .append(",\"cardLast4\":\"").append(String.format(Locale.ROOT, "%04d", random.nextInt(10_000))).append('"')
+                .append(",\"acquirer\":\"").append(MEMBERS[random.nextInt(MEMBERS.length)]).append('"')
+                .append(",\"issuer\":\"").append(MEMBERS[random.nextInt(MEMBERS.length)]).append('"')
+                .append(",\"details\":[");
+            for (int d = 0; d < detailsPerRow; d++) {
+                if (d > 0) {
+                    json.append(',');
+                }
+                String type = DETAIL_TYPES[d % DETAIL_TYPES.length];
+                json.append("{\"detailId\":").append(detailId++)
+                    .append(",\"type\":\"").append(type).append('"')
+                    .append(",\"amount\":").append(amount(cents / 40 + random.nextInt(100)))
+                    .append(",\"currency\":\"USD\"")
+                    .append(",\"description\":\"").append(description(type)).append("\"}");
+            }
+            json.append("]}");
+        }
+
+        json.append("],\"pagination\":{\"page\":0,\"size\":").append(rows)
+            .append(",\"totalPages\":16,\"totalElements\":1523}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String amount(long cents) {
+        return (cents / 100) + "." + String.format(Locale.ROOT, "%02d", cents % 100);
+    }
+
+    private static String description(String type) {
+        switch (type) {
+            case "fee":
+                return "Processing fee";
+            case "tax":
+                return "Sales tax";
+            default:
+                return "Currency conversion adjustment";
+        }
+    }
+}
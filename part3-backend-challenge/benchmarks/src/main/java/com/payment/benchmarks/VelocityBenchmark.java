@@ -0,0 +1,97 @@
+package com.payment.benchmarks;
+
+import com.payment.analytics.VelocityEvaluator;
+import com.payment.config.VelocityRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Velocity checks per ingested transaction: a per-card count rule and a per-merchant
+ * amount rule over random merchants and cards, with transaction time advancing at 50,000
+ * transactions a second. Add -t 4 to evaluate from several threads at once.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar VelocityBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VelocityBenchmark {
+
+    private static final int EVENTS = 1 << 20;
+    private static final long START_MILLIS = 1_700_000_000_000L;
+    private static final int EVENTS_PER_MILLI = 50;
+
+    @State(Scope.Benchmark)
+    public static class Engine {
+
+        @Param({"200000", "1000000"})
+        public int cards;
+
+        public VelocityEvaluator evaluator;
+        public int[] merchants;
+        public int[] cardKeys;
+        public long[] amounts;
+
+        @Setup
+        public void setUp() {
+            VelocityRule cardBurst = new VelocityRule("card-burst");
+            cardBurst.setThreshold(5);
+            VelocityRule merchantAmount = new VelocityRule("merchant-amount");
+            merchantAmount.setScope(VelocityRule.SCOPE_MERCHANT);
+            merchantAmount.setMeasure(VelocityRule.MEASURE_AMOUNT);
+            merchantAmount.setCurrency("USD");
+            merchantAmount.setWindow(Duration.ofMinutes(5));
+            merchantAmount.setThreshold(50_000_000);
+            evaluator = new VelocityEvaluator(List.of(cardBurst, merchantAmount), 12);
+
+            Random random = new Random(42);
+            merchants = new int[EVENTS];
+            cardKeys = new int[EVENTS];
+            amounts = new long[EVENTS];
+            for (int i = 0; i < EVENTS; i++) {
+                merchants[i] = random.nextInt(5_000);
+                cardKeys[i] = 1 + random.nextInt(cards);
+                amounts[i] = 500 + (long) Math.exp(random.nextGaussian() * 0.9 + 8.5);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        long next;
+    }
+
+    @Benchmark
+    public void evaluate(Engine engine, Cursor cursor, Blackhole blackhole) {
+        long event = cursor.next++;
+        int i = (int) (event & (EVENTS - 1));
+        engine.evaluator.evaluate(
+            engine.merchants[i],
+            engine.cardKeys[i],
+            START_MILLIS + event / EVENTS_PER_MILLI,
+            engine.amounts[i],
+            "USD",
+            (rule, merchant, card, total, timestampMillis) -> blackhole.consume(total)
+        );
+    }
+}
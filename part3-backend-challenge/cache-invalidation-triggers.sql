@@ -0,0 +1,46 @@
+-- ============================================================================
+-- CACHE INVALIDATION TRIGGERS
+-- ============================================================================
+-- Notify API nodes (LISTEN payment_cache) about writes made outside the API,
+-- so cached summaries and member names are evicted on every node.
+-- Payload lines are "<cache>|<key>,<key>,..."; "*" evicts the whole cache.
+-- One notification per statement, so bulk inserts cost one message.
+
+-- New transactions change their merchant's summaries
+CREATE OR REPLACE FUNCTION operators.notify_transaction_summaries() RETURNS trigger AS $$
+DECLARE
+    merchant_ids TEXT;
+BEGIN
+    SELECT string_agg(DISTINCT merchant_id, ',') INTO merchant_ids FROM inserted;
+    IF merchant_ids IS NULL THEN
+        RETURN NULL;
+    END IF;
+    -- NOTIFY payloads are limited to 8000 bytes
+    IF length(merchant_ids) > 7000 THEN
+        merchant_ids := '*';
+    END IF;
+    PERFORM pg_notify('payment_cache', 'summaries|' || merchant_ids);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_transaction_master_cache ON operators.transaction_master;
+CREATE TRIGGER trg_transaction_master_cache
+    AFTER INSERT ON operators.transaction_master
+    REFERENCING NEW TABLE AS inserted
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION operators.notify_transaction_summaries();
+
+-- Member changes are rare; evict all cached member names
+CREATE OR REPLACE FUNCTION operators.notify_members() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('payment_cache', 'members|*');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_members_cache ON operators.members;
+CREATE TRIGGER trg_members_cache
+    AFTER INSERT OR UPDATE OR DELETE ON operators.members
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION operators.notify_members();
@@ -0,0 +1,126 @@
+package com.payment.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-scenario latency histograms and error counts.
+ * Latencies are measured from the intended send time, so a stalled server shows up as
+ * queueing delay instead of silently lowering the offered load (coordinated omission).
+ */
+public class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] PERCENTILES = {50.0, 90.0, 95.0, 99.0, 99.9};
+
+    private final Map<String, ScenarioStats> scenarios = new ConcurrentHashMap<>();
+
+    public void recordSuccess(String scenario, long latencyNanos) {
+        stats(scenario).record(latencyNanos);
+    }
+
+    /**
+     * Record a failed request; the latency still counts towards the histogram
+     */
+    public void recordError(String scenario, String errorKind, long latencyNanos) {
+        ScenarioStats stats = stats(scenario);
+        stats.record(latencyNanos);
+        stats.errors.computeIfAbsent(errorKind, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record a request that could not be sent because the client hit maxInFlight
+     */
+    public void recordDropped(String scenario) {
+        stats(scenario).dropped.increment();
+    }
+
+    public void print(PrintStream out, double measuredSeconds) {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+        long totalDropped = 0;
+
+        out.println();
+        out.printf("%-14s %9s %9s %8s %8s %9s %9s %9s %9s %9s %9s%n",
+            "scenario", "requests", "req/s", "errors", "dropped", "p50(ms)", "p90(ms)", "p95(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (Map.Entry<String, ScenarioStats> entry : new TreeMap<>(scenarios).entrySet()) {
+            ScenarioStats stats = entry.getValue();
+            Histogram snapshot = stats.histogram.copy();
+            total.add(snapshot);
+            long errors = stats.errorCount();
+            totalErrors += errors;
+            totalDropped += stats.dropped.sum();
+            printRow(out, entry.getKey(), snapshot, errors, stats.dropped.sum(), measuredSeconds);
+        }
+        printRow(out, "TOTAL", total, totalErrors, totalDropped, measuredSeconds);
+
+        long attempted = total.getTotalCount() + totalDropped;
+        double errorRate = attempted == 0 ? 0 : 100.0 * (totalErrors + totalDropped) / attempted;
+        out.printf("%nerror rate: %.3f%% (%d errors, %d dropped of %d attempted)%n",
+            errorRate, totalErrors, totalDropped, attempted);
+
+        for (Map.Entry<String, ScenarioStats> entry : new TreeMap<>(scenarios).entrySet()) {
+            if (!entry.getValue().errors.isEmpty()) {
+                out.printf("errors for %s:%n", entry.getKey());
+                new TreeMap<>(entry.getValue().errors).forEach((kind, count) ->
+                    out.printf("  %-30s %d%n", kind, count.sum()));
+            }
+        }
+    }
+
+    /**
+     * Write one .hlog file per scenario for plotting with HdrHistogram tooling
+     */
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, ScenarioStats> entry : scenarios.entrySet()) {
+            Path file = directory.resolve(entry.getKey() + ".hlog");
+            try (PrintStream stream = new PrintStream(Files.newOutputStream(file))) {
+                HistogramLogWriter writer = new HistogramLogWriter(stream);
+                writer.outputLogFormatVersion();
+                writer.outputLegend();
+                writer.outputIntervalHistogram(entry.getValue().histogram.copy());
+            }
+        }
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errors, long dropped, double seconds) {
+        out.printf("%-14s %9d %9.1f %8d %8d", name, histogram.getTotalCount(),
+            seconds > 0 ? histogram.getTotalCount() / seconds : 0, errors, dropped);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %9.2f%n", histogram.getMaxValue() / 1000.0);
+    }
+
+    private ScenarioStats stats(String scenario) {
+        return scenarios.computeIfAbsent(scenario, k -> new ScenarioStats());
+    }
+
+    private static class ScenarioStats {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+
+        private void record(long latencyNanos) {
+            long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        }
+
+        private long errorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
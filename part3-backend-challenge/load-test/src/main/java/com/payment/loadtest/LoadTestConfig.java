@@ -0,0 +1,135 @@
+package com.payment.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Load test settings.
+ * Defaults come from the bundled load-test.properties, then an optional --config file,
+ * then key=value command line overrides.
+ */
+public class LoadTestConfig {
+
+    private final Properties properties;
+
+    private LoadTestConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Build the configuration from command line arguments
+     */
+    public static LoadTestConfig fromArgs(String[] args) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/load-test.properties")) {
+            if (defaults != null) {
+                properties.load(defaults);
+            }
+        }
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--config".equals(arg) && i + 1 < args.length) {
+                try (Reader reader = Files.newBufferedReader(Path.of(args[++i]))) {
+                    properties.load(reader);
+                }
+            } else if (arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                properties.setProperty(arg.substring(0, separator).replaceFirst("^--", ""), arg.substring(separator + 1));
+            } else {
+                throw new IllegalArgumentException("Unrecognised argument: " + arg);
+            }
+        }
+        return new LoadTestConfig(properties);
+    }
+
+    public String getBaseUrl() {
+        String baseUrl = get("baseUrl");
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public double getRatePerSecond() {
+        double rate = Double.parseDouble(get("ratePerSecond"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be > 0");
+        }
+        return rate;
+    }
+
+    public Duration getDuration() {
+        return Duration.ofSeconds(Long.parseLong(get("durationSeconds")));
+    }
+
+    public Duration getWarmup() {
+        return Duration.ofSeconds(Long.parseLong(get("warmupSeconds")));
+    }
+
+    public Duration getRequestTimeout() {
+        return Duration.ofMillis(Long.parseLong(get("requestTimeoutMs")));
+    }
+
+    public int getMaxInFlight() {
+        return Integer.parseInt(get("maxInFlight"));
+    }
+
+    public int getClientThreads() {
+        return Integer.parseInt(get("clientThreads"));
+    }
+
+    public long getSeed() {
+        return Long.parseLong(get("seed"));
+    }
+
+    public String getHistogramOutputDir() {
+        return properties.getProperty("histogramOutputDir", "").trim();
+    }
+
+    /**
+     * Merchant IDs to target; either an explicit list or MCH-00001..MCH-{merchantCount}
+     */
+    public List<String> getMerchantIds() {
+        String explicit = properties.getProperty("merchantIds", "").trim();
+        List<String> ids = new ArrayList<>();
+        if (!explicit.isEmpty()) {
+            for (String id : explicit.split(",")) {
+                if (!id.trim().isEmpty()) {
+                    ids.add(id.trim());
+                }
+            }
+            return ids;
+        }
+        int count = Integer.parseInt(get("merchantCount"));
+        for (int i = 1; i <= count; i++) {
+            ids.add(String.format("MCH-%05d", i));
+        }
+        return ids;
+    }
+
+    /**
+     * Zipf exponent for picking merchants; 0 means uniform
+     */
+    public double getMerchantSkew() {
+        return Double.parseDouble(get("merchantSkew"));
+    }
+
+    public LocalDate getRangeEnd() {
+        String value = properties.getProperty("transactions.rangeEnd", "").trim();
+        return value.isEmpty() ? LocalDate.now() : LocalDate.parse(value);
+    }
+
+    public String get(String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing load test property: " + key);
+        }
+        return value.trim();
+    }
+}
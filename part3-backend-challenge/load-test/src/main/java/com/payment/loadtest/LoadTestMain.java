@@ -0,0 +1,26 @@
+package com.payment.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Entry point for the load test.
+ *
+ * Usage: java -jar payment-load-test.jar [--config file.properties] [key=value ...]
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        TrafficMix trafficMix = new TrafficMix(config);
+        LatencyReport report = new LatencyReport();
+
+        double measuredSeconds = new OpenModelRunner(config, trafficMix, report, System.out).run();
+        report.print(System.out, measuredSeconds);
+
+        String histogramDir = config.getHistogramOutputDir();
+        if (!histogramDir.isEmpty()) {
+            report.writeHistograms(Path.of(histogramDir));
+            System.out.println("Histograms written to " + histogramDir);
+        }
+    }
+}
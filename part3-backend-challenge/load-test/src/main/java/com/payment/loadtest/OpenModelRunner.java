@@ -0,0 +1,130 @@
+package com.payment.loadtest;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver: requests are started on a fixed schedule (constant arrival rate)
+ * regardless of how quickly earlier requests complete, which is how real traffic behaves
+ * when the backend slows down.
+ */
+public class OpenModelRunner {
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final LoadTestConfig config;
+    private final TrafficMix trafficMix;
+    private final LatencyReport report;
+    private final PrintStream out;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OpenModelRunner(LoadTestConfig config, TrafficMix trafficMix, LatencyReport report, PrintStream out) {
+        this.config = config;
+        this.trafficMix = trafficMix;
+        this.report = report;
+        this.out = out;
+    }
+
+    /**
+     * Run warm-up plus the measured phase; returns the length of the measured phase in seconds
+     */
+    public double run() throws InterruptedException {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(config.getClientThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(config.getRequestTimeout())
+            .executor(clientExecutor)
+            .build();
+
+        Random random = new Random(config.getSeed());
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRatePerSecond());
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + config.getWarmup().toNanos();
+        long endNanos = measureFromNanos + config.getDuration().toNanos();
+        long nextProgressNanos = startNanos + PROGRESS_INTERVAL_NANOS;
+
+        out.printf("Driving %s at %.1f req/s for %ds (+%ds warm-up)%n", config.getBaseUrl(),
+            config.getRatePerSecond(), config.getDuration().toSeconds(), config.getWarmup().toSeconds());
+
+        long sent = 0;
+        for (long intendedNanos = startNanos; intendedNanos < endNanos; intendedNanos = startNanos + (++sent) * intervalNanos) {
+            long waitNanos = intendedNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+
+            TrafficMix.RequestSpec spec = trafficMix.next(random);
+            boolean measured = intendedNanos >= measureFromNanos;
+            if (inFlight.get() >= config.getMaxInFlight()) {
+                if (measured) {
+                    report.recordDropped(spec.scenario());
+                }
+                continue;
+            }
+            send(client, spec, intendedNanos, measured);
+
+            if (System.nanoTime() >= nextProgressNanos) {
+                out.printf("  t=%ds in-flight=%d%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos), inFlight.get());
+                nextProgressNanos += PROGRESS_INTERVAL_NANOS;
+            }
+        }
+
+        awaitInFlight();
+        clientExecutor.shutdownNow();
+        return config.getDuration().toNanos() / 1_000_000_000.0;
+    }
+
+    private void send(HttpClient client, TrafficMix.RequestSpec spec, long intendedNanos, boolean measured) {
+        HttpRequest request = HttpRequest.newBuilder(spec.uri())
+            .timeout(config.getRequestTimeout())
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (!measured) {
+                    return;
+                }
+                long latency = System.nanoTime() - intendedNanos;
+                if (error != null) {
+                    report.recordError(spec.scenario(), errorKind(error), latency);
+                } else if (response.statusCode() >= 400) {
+                    report.recordError(spec.scenario(), "http-" + response.statusCode(), latency);
+                } else {
+                    report.recordSuccess(spec.scenario(), latency);
+                }
+            });
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + config.getRequestTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static String errorKind(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException) {
+            return "timeout";
+        }
+        return cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,136 @@
+package com.payment.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the request stream: which endpoint, which merchant, how deep a page,
+ * which date range and which status filter, each drawn from a configured weighting.
+ */
+public class TrafficMix {
+
+    public static final String MERCHANTS = "merchants";
+    public static final String TRANSACTIONS = "transactions";
+    public static final String BAD_CLIENT = "bad-client";
+
+    private static final String NONE = "none";
+
+    private final String baseUrl;
+    private final List<String> merchantIds;
+    private final ZipfDistribution merchantPopularity;
+    private final LocalDate rangeEnd;
+
+    private final WeightedChoice<String> endpoints;
+    private final WeightedChoice<Integer> merchantPages;
+    private final WeightedChoice<Integer> merchantPageSizes;
+    private final WeightedChoice<String> merchantStatuses;
+    private final WeightedChoice<Integer> transactionPages;
+    private final WeightedChoice<Integer> transactionPageSizes;
+    private final WeightedChoice<String> dateRanges;
+    private final WeightedChoice<String> transactionStatuses;
+
+    public TrafficMix(LoadTestConfig config) {
+        this.baseUrl = config.getBaseUrl();
+        this.merchantIds = config.getMerchantIds();
+        if (merchantIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one merchant ID is required");
+        }
+        this.merchantPopularity = new ZipfDistribution(merchantIds.size(), config.getMerchantSkew());
+        this.rangeEnd = config.getRangeEnd();
+
+        this.endpoints = WeightedChoice.parse(
+            MERCHANTS + ":" + config.get("mix.merchants") + "," + TRANSACTIONS + ":" + config.get("mix.transactions")
+                + "," + BAD_CLIENT + ":" + config.get("mix.badClient"),
+            value -> value
+        );
+        this.merchantPages = WeightedChoice.parse(config.get("merchants.pages"), Integer::valueOf);
+        this.merchantPageSizes = WeightedChoice.parse(config.get("merchants.pageSizes"), Integer::valueOf);
+        this.merchantStatuses = WeightedChoice.parse(config.get("merchants.statuses"), value -> value);
+        this.transactionPages = WeightedChoice.parse(config.get("transactions.pages"), Integer::valueOf);
+        this.transactionPageSizes = WeightedChoice.parse(config.get("transactions.pageSizes"), Integer::valueOf);
+        this.dateRanges = WeightedChoice.parse(config.get("transactions.dateRanges"), value -> value);
+        this.transactionStatuses = WeightedChoice.parse(config.get("transactions.statuses"), value -> value);
+    }
+
+    /**
+     * Draw the next request
+     */
+    public RequestSpec next(Random random) {
+        String endpoint = endpoints.next(random);
+        if (MERCHANTS.equals(endpoint)) {
+            return nextMerchantsRequest(random);
+        }
+        if (BAD_CLIENT.equals(endpoint)) {
+            return nextBadClientRequest(random);
+        }
+        return nextTransactionsRequest(random);
+    }
+
+    /**
+     * A request the API rejects: transactions of a merchant that does not exist (404) or
+     * with an unknown status filter (400)
+     */
+    private RequestSpec nextBadClientRequest(Random random) {
+        StringBuilder uri = new StringBuilder(baseUrl).append("/api/v1/merchants/");
+        if (random.nextBoolean()) {
+            uri.append("MCH-UNKNOWN-").append(random.nextInt(1_000_000)).append("/transactions?page=0&size=20");
+        } else {
+            uri.append(encode(merchantIds.get(merchantPopularity.next(random))))
+                .append("/transactions?page=0&size=20&status=unknown");
+        }
+        return new RequestSpec(BAD_CLIENT, URI.create(uri.toString()));
+    }
+
+    private RequestSpec nextMerchantsRequest(Random random) {
+        StringBuilder uri = new StringBuilder(baseUrl)
+            .append("/api/v1/merchants?page=").append(merchantPages.next(random))
+            .append("&limit=").append(merchantPageSizes.next(random));
+        String status = merchantStatuses.next(random);
+        if (!NONE.equals(status)) {
+            uri.append("&status=").append(encode(status));
+        }
+        return new RequestSpec(MERCHANTS, URI.create(uri.toString()));
+    }
+
+    private RequestSpec nextTransactionsRequest(Random random) {
+        String merchantId = merchantIds.get(merchantPopularity.next(random));
+        StringBuilder uri = new StringBuilder(baseUrl)
+            .append("/api/v1/merchants/").append(encode(merchantId))
+            .append("/transactions?page=").append(transactionPages.next(random))
+            .append("&size=").append(transactionPageSizes.next(random));
+
+        String range = dateRanges.next(random);
+        if (!NONE.equals(range)) {
+            int days = parseDays(range);
+            uri.append("&startDate=").append(rangeEnd.minusDays(days - 1L))
+                .append("&endDate=").append(rangeEnd);
+        }
+
+        String status = transactionStatuses.next(random);
+        if (!NONE.equals(status)) {
+            uri.append("&status=").append(encode(status));
+        }
+        return new RequestSpec(TRANSACTIONS, URI.create(uri.toString()));
+    }
+
+    private static int parseDays(String range) {
+        if (!range.endsWith("d")) {
+            throw new IllegalArgumentException("Date range must look like '7d': " + range);
+        }
+        return Integer.parseInt(range.substring(0, range.length() - 1));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A single request to issue, tagged with the scenario it belongs to
+     */
+    public record RequestSpec(String scenario, URI uri) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.payment.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Picks values according to relative weights, e.g. {@code 0:60,1:20,5:10}
+ */
+public class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private WeightedChoice(List<T> values, int[] cumulativeWeights) {
+        this.values = values;
+        this.cumulativeWeights = cumulativeWeights;
+        this.totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    /**
+     * Parse a comma separated list of {@code value:weight} pairs. A missing weight defaults to 1.
+     */
+    public static <T> WeightedChoice<T> parse(String spec, Function<String, T> valueParser) {
+        if (spec == null || spec.trim().isEmpty()) {
+            throw new IllegalArgumentException("Weighted spec cannot be empty");
+        }
+
+        List<T> values = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.lastIndexOf(':');
+            String value = separator > 0 ? trimmed.substring(0, separator) : trimmed;
+            int weight = separator > 0 ? Integer.parseInt(trimmed.substring(separator + 1).trim()) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must be >= 0 in: " + spec);
+            }
+            values.add(valueParser.apply(value.trim()));
+            weights.add(weight);
+        }
+
+        int[] cumulative = new int[weights.size()];
+        int sum = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            sum += weights.get(i);
+            cumulative[i] = sum;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive in: " + spec);
+        }
+        return new WeightedChoice<>(values, cumulative);
+    }
+
+    public T next(Random random) {
+        int point = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return values.get(i);
+            }
+        }
+        return values.get(values.size() - 1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.payment.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf-distributed ranks in [0, count): rank 0 is the most popular, so a handful of
+ * merchants receive most of the traffic. An exponent of 0 gives a uniform distribution.
+ */
+public class ZipfDistribution {
+
+    private final double[] cdf;
+
+    public ZipfDistribution(int count, double exponent) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one element");
+        }
+        this.cdf = new double[count];
+        double sum = 0;
+        for (int rank = 1; rank <= count; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < count; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    public int next(Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+}
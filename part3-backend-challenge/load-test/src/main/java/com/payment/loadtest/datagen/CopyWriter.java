@@ -0,0 +1,111 @@
+package com.payment.loadtest.datagen;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Streams CSV rows into a PostgreSQL {@code COPY ... FROM STDIN}, flushing in small
+ * blocks so a chunk of millions of rows never has to be held in memory.
+ */
+public class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+    private boolean firstField = true;
+    private long rows;
+
+    public CopyWriter(CopyManager copyManager, String table, String columns) throws SQLException {
+        this.copyIn = copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+    }
+
+    public CopyWriter text(String value) {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.isEmpty()) {
+            buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+        } else {
+            buffer.append(value);
+        }
+        return this;
+    }
+
+    public CopyWriter number(long value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    /**
+     * Write an amount held in minor units (cents) as a DECIMAL(15,2) literal
+     */
+    public CopyWriter cents(long minorUnits) {
+        separator();
+        if (minorUnits < 0) {
+            buffer.append('-');
+            minorUnits = -minorUnits;
+        }
+        long fraction = minorUnits % 100;
+        buffer.append(minorUnits / 100).append('.');
+        if (fraction < 10) {
+            buffer.append('0');
+        }
+        buffer.append(fraction);
+        return this;
+    }
+
+    public CopyWriter raw(String value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    public void endRow() throws SQLException {
+        buffer.append('\n');
+        firstField = true;
+        rows++;
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Finish the COPY; returns the number of rows PostgreSQL accepted
+     */
+    public long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void separator() {
+        if (!firstField) {
+            buffer.append(',');
+        }
+        firstField = false;
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.payment.loadtest.datagen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Properties;
+
+/**
+ * Data generator settings.
+ * Defaults come from the bundled data-generator.properties, then an optional --config file,
+ * then key=value command line overrides.
+ */
+public class DataGeneratorConfig {
+
+    private final Properties properties;
+
+    private DataGeneratorConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Build the configuration from command line arguments
+     */
+    public static DataGeneratorConfig fromArgs(String[] args) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream defaults = DataGeneratorConfig.class.getResourceAsStream("/data-generator.properties")) {
+            if (defaults != null) {
+                properties.load(defaults);
+            }
+        }
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--config".equals(arg) && i + 1 < args.length) {
+                try (Reader reader = Files.newBufferedReader(Path.of(args[++i]))) {
+                    properties.load(reader);
+                }
+            } else if (arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                properties.setProperty(arg.substring(0, separator).replaceFirst("^--", ""), arg.substring(separator + 1));
+            } else {
+                throw new IllegalArgumentException("Unrecognised argument: " + arg);
+            }
+        }
+        return new DataGeneratorConfig(properties);
+    }
+
+    public String getJdbcUrl() {
+        return get("jdbcUrl");
+    }
+
+    public String getUser() {
+        return get("user");
+    }
+
+    public String getPassword() {
+        return properties.getProperty("password", "");
+    }
+
+    public int getMerchants() {
+        return Integer.parseInt(get("merchants"));
+    }
+
+    public int getMembers() {
+        int members = Integer.parseInt(get("members"));
+        if (members < 3) {
+            throw new IllegalArgumentException("At least 3 members are needed (acquirers, issuers, both)");
+        }
+        return members;
+    }
+
+    public long getTransactions() {
+        return Long.parseLong(get("transactions"));
+    }
+
+    public double getAverageDetails() {
+        return Double.parseDouble(get("averageDetails"));
+    }
+
+    public int getDays() {
+        return Integer.parseInt(get("days"));
+    }
+
+    public LocalDate getEndDate() {
+        String value = properties.getProperty("endDate", "").trim();
+        return value.isEmpty() ? LocalDate.now() : LocalDate.parse(value);
+    }
+
+    public double getMerchantSkew() {
+        return Double.parseDouble(get("merchantSkew"));
+    }
+
+    public int getThreads() {
+        return Integer.parseInt(get("threads"));
+    }
+
+    public int getChunkSize() {
+        return Integer.parseInt(get("chunkSize"));
+    }
+
+    public boolean isTruncate() {
+        return Boolean.parseBoolean(get("truncate"));
+    }
+
+    public long getSeed() {
+        return Long.parseLong(get("seed"));
+    }
+
+    private String get(String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing data generator property: " + key);
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,150 @@
+package com.payment.loadtest.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a production-sized synthetic dataset (merchants, members, transactions, details)
+ * into the payment_platform schema using parallel COPY streams.
+ *
+ * Usage: java -cp payment-load-test.jar com.payment.loadtest.datagen.DataGeneratorMain [key=value ...]
+ */
+public class DataGeneratorMain {
+
+    private static final String[] COUNTRIES = {"USA", "GBR", "SGP", "CAN", "DEU", "JPN", "AUS", "IND"};
+    private static final String[] CITIES = {"New York", "London", "Singapore", "Toronto", "Berlin", "Tokyo", "Sydney", "Mumbai"};
+
+    public static void main(String[] args) throws Exception {
+        DataGeneratorConfig config = DataGeneratorConfig.fromArgs(args);
+        long started = System.nanoTime();
+
+        try (Connection connection = connect(config)) {
+            if (config.isTruncate()) {
+                System.out.println("Truncating existing data...");
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("TRUNCATE operators.transaction_details, operators.transaction_master, "
+                        + "operators.members, operators.merchants CASCADE");
+                }
+            }
+
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            System.out.printf("Loading %d members...%n", config.getMembers());
+            loadMembers(copyManager, config);
+            System.out.printf("Loading %d merchants...%n", config.getMerchants());
+            loadMerchants(copyManager, config);
+        }
+
+        System.out.printf("Loading %d transactions with %d threads...%n", config.getTransactions(), config.getThreads());
+        long details = loadTransactions(config);
+
+        try (Connection connection = connect(config); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval('operators.members_member_id_seq', "
+                + "(SELECT COALESCE(MAX(member_id), 1) FROM operators.members))");
+            statement.execute("SELECT setval('operators.transaction_master_txn_id_seq', "
+                + "(SELECT COALESCE(MAX(txn_id), 1) FROM operators.transaction_master))");
+            System.out.println("Analyzing tables...");
+            statement.execute("ANALYZE operators.members, operators.merchants, "
+                + "operators.transaction_master, operators.transaction_details");
+        }
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        System.out.printf("Done: %d transactions, %d details in %.1fs (%.0f transactions/s)%n",
+            config.getTransactions(), details, seconds, config.getTransactions() / seconds);
+    }
+
+    private static long loadTransactions(DataGeneratorConfig config) throws Exception {
+        TransactionChunkGenerator generator = new TransactionChunkGenerator(config);
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        AtomicLong loaded = new AtomicLong();
+        AtomicLong details = new AtomicLong();
+        long total = config.getTransactions();
+        int chunkSize = config.getChunkSize();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long first = 1; first <= total; first += chunkSize) {
+                long chunkFirst = first;
+                long chunkLast = Math.min(total, first + chunkSize - 1);
+                futures.add(executor.submit(() -> {
+                    // One connection and transaction per chunk so details see their masters for the FK check
+                    try (Connection connection = connect(config)) {
+                        connection.setAutoCommit(false);
+                        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                        details.addAndGet(generator.generate(copyManager, chunkFirst, chunkLast));
+                        connection.commit();
+                    }
+                    long done = loaded.addAndGet(chunkLast - chunkFirst + 1);
+                    System.out.printf("  %d / %d transactions%n", done, total);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return details.get();
+    }
+
+    /**
+     * Members are split into acquirers, issuers and a few that are both, with IDs 1..N
+     */
+    private static void loadMembers(CopyManager copyManager, DataGeneratorConfig config) throws SQLException {
+        int members = config.getMembers();
+        int acquirers = Math.max(1, members / 3);
+        try (CopyWriter writer = new CopyWriter(copyManager, "operators.members",
+            "member_id, member_name, member_type, member_code, country, status")) {
+            for (int id = 1; id <= members; id++) {
+                String type = id <= acquirers ? "acquirer" : (id % 10 == 0 ? "both" : "issuer");
+                writer.number(id)
+                    .text(String.format("%s Member %d", type.substring(0, 1).toUpperCase() + type.substring(1), id))
+                    .text(type)
+                    .text(String.format("MBR-%05d", id))
+                    .text(COUNTRIES[id % COUNTRIES.length])
+                    .text("active");
+                writer.endRow();
+            }
+            writer.finish();
+        }
+    }
+
+    private static void loadMerchants(CopyManager copyManager, DataGeneratorConfig config) throws SQLException {
+        Random random = new Random(config.getSeed());
+        try (CopyWriter writer = new CopyWriter(copyManager, "operators.merchants",
+            "id, name, email, phone, business_name, registration_number, address, city, country, status")) {
+            for (int i = 1; i <= config.getMerchants(); i++) {
+                String id = String.format("MCH-%05d", i);
+                int location = random.nextInt(CITIES.length);
+                writer.text(id)
+                    .text("Merchant " + i)
+                    .text(String.format("merchant%d@example.com", i))
+                    .text(String.format("+1-555-%07d", i))
+                    .text("Business " + i)
+                    .text(String.format("REG-%08d", i))
+                    .text((100 + random.nextInt(900)) + " Market Street")
+                    .text(CITIES[location])
+                    .text(COUNTRIES[location])
+                    .text(random.nextInt(20) == 0 ? "inactive" : "active");
+                writer.endRow();
+            }
+            writer.finish();
+        }
+    }
+
+    private static Connection connect(DataGeneratorConfig config) throws SQLException {
+        return DriverManager.getConnection(config.getJdbcUrl(), config.getUser(), config.getPassword());
+    }
+}
@@ -0,0 +1,171 @@
+package com.payment.loadtest.datagen;
+
+import com.payment.loadtest.WeightedChoice;
+import com.payment.loadtest.ZipfDistribution;
+import org.postgresql.copy.CopyManager;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+/**
+ * Generates one contiguous range of transaction_master rows and their transaction_details.
+ *
+ * Transaction IDs are assigned explicitly and map monotonically onto the date spread, so
+ * txn_id order roughly follows time order as it does in production. Merchants are drawn
+ * from a Zipf distribution (a few very hot merchants), timestamps follow a daily curve
+ * peaking in the afternoon, and amounts are log-normal.
+ */
+public class TransactionChunkGenerator {
+
+    static final String MASTER_COLUMNS = "txn_id, merchant_id, gp_acquirer_id, gp_issuer_id, txn_date, "
+        + "local_txn_date_time, amount, currency, status, card_type, card_last4, auth_code, response_code";
+    static final String DETAIL_COLUMNS = "master_txn_id, detail_type, amount, currency, description, local_txn_date_time";
+
+    /** Relative transaction volume per hour of day (UTC) */
+    private static final String HOURLY_WEIGHTS =
+        "0:2,1:1,2:1,3:1,4:1,5:2,6:3,7:5,8:7,9:8,10:9,11:10,12:11,13:11,14:10,15:10,16:10,17:11,18:12,19:11,20:9,21:7,22:5,23:3";
+
+    private static final long MEDIAN_AMOUNT_CENTS = 6_000;
+    private static final long MAX_AMOUNT_CENTS = 2_000_000;
+
+    private final DataGeneratorConfig config;
+    private final ZipfDistribution merchantPopularity;
+    private final WeightedChoice<String> statuses = WeightedChoice.parse(
+        "completed:90,pending:6,failed:3,reversed:1", value -> value);
+    private final WeightedChoice<String> cardTypes = WeightedChoice.parse(
+        "VISA:50,MASTERCARD:30,AMEX:12,DISCOVER:8", value -> value);
+    private final WeightedChoice<String> detailTypes = WeightedChoice.parse(
+        "fee:50,tax:30,adjustment:15,refund:4,chargeback:1", value -> value);
+    private final WeightedChoice<Integer> hours = WeightedChoice.parse(HOURLY_WEIGHTS, Integer::valueOf);
+    private final LocalDate firstDay;
+    private final int acquirers;
+
+    public TransactionChunkGenerator(DataGeneratorConfig config) {
+        this.config = config;
+        this.merchantPopularity = new ZipfDistribution(config.getMerchants(), config.getMerchantSkew());
+        this.firstDay = config.getEndDate().minusDays(config.getDays() - 1L);
+        this.acquirers = Math.max(1, config.getMembers() / 3);
+    }
+
+    /**
+     * Write transactions [firstTxnId, lastTxnId] and their details through the given COPY manager.
+     * Returns the number of detail rows written.
+     */
+    public long generate(CopyManager copyManager, long firstTxnId, long lastTxnId) throws SQLException {
+        Random random = new Random(config.getSeed() * 31 + firstTxnId);
+        long totalTransactions = config.getTransactions();
+        int days = config.getDays();
+
+        long[] amounts = new long[(int) (lastTxnId - firstTxnId + 1)];
+        Instant[] times = new Instant[amounts.length];
+
+        try (CopyWriter master = new CopyWriter(copyManager, "operators.transaction_master", MASTER_COLUMNS)) {
+            for (long txnId = firstTxnId; txnId <= lastTxnId; txnId++) {
+                int index = (int) (txnId - firstTxnId);
+                int dayOffset = (int) Math.min(days - 1, (txnId - 1) * days / totalTransactions);
+                LocalDate day = firstDay.plusDays(dayOffset);
+                Instant time = day.atStartOfDay(ZoneOffset.UTC).toInstant()
+                    .plusSeconds(hours.next(random) * 3600L + random.nextInt(3600));
+                long amount = amountCents(random);
+                String status = statuses.next(random);
+                String merchantId = String.format("MCH-%05d", merchantPopularity.next(random) + 1);
+                amounts[index] = amount;
+                times[index] = time;
+
+                master.number(txnId)
+                    .text(merchantId)
+                    .number(1 + random.nextInt(acquirers))
+                    .number(acquirers + 1 + random.nextInt(config.getMembers() - acquirers))
+                    .raw(day.toString())
+                    .raw(time.toString())
+                    .cents(amount)
+                    .text("USD")
+                    .text(status)
+                    .text(cardTypes.next(random))
+                    .text(String.format("%04d", random.nextInt(10_000)))
+                    .text("completed".equals(status) ? String.format("AUTH%06d", txnId % 1_000_000) : null)
+                    .text(responseCode(status));
+                master.endRow();
+            }
+            master.finish();
+        }
+
+        try (CopyWriter details = new CopyWriter(copyManager, "operators.transaction_details", DETAIL_COLUMNS)) {
+            for (long txnId = firstTxnId; txnId <= lastTxnId; txnId++) {
+                int index = (int) (txnId - firstTxnId);
+                int fanOut = detailCount(random);
+                for (int d = 0; d < fanOut; d++) {
+                    String type = detailTypes.next(random);
+                    details.number(txnId)
+                        .text(type)
+                        .cents(detailAmount(type, amounts[index], random))
+                        .text("USD")
+                        .text(description(type))
+                        .raw(times[index].toString());
+                    details.endRow();
+                }
+            }
+            details.finish();
+            return details.getRows();
+        }
+    }
+
+    /**
+     * Log-normal amount around the median, clamped to [1.00, 20000.00]
+     */
+    private static long amountCents(Random random) {
+        double value = MEDIAN_AMOUNT_CENTS * Math.exp(random.nextGaussian());
+        return Math.max(100, Math.min(MAX_AMOUNT_CENTS, Math.round(value)));
+    }
+
+    /**
+     * Detail fan-out centred on the configured average, at least one per transaction
+     */
+    private int detailCount(Random random) {
+        double average = config.getAverageDetails();
+        return (int) Math.max(1, Math.round(average + random.nextGaussian() * Math.sqrt(average)));
+    }
+
+    private static long detailAmount(String type, long masterAmount, Random random) {
+        switch (type) {
+            case "fee":
+                return Math.max(1, masterAmount * (150 + random.nextInt(200)) / 10_000);
+            case "tax":
+                return Math.max(1, masterAmount * (500 + random.nextInt(1000)) / 10_000);
+            case "refund":
+            case "chargeback":
+                return -masterAmount;
+            default:
+                return masterAmount * (random.nextInt(200) - 100) / 10_000;
+        }
+    }
+
+    private static String description(String type) {
+        switch (type) {
+            case "fee":
+                return "Processing fee";
+            case "tax":
+                return "Sales tax";
+            case "refund":
+                return "Customer refund";
+            case "chargeback":
+                return "Chargeback";
+            default:
+                return "Manual adjustment";
+        }
+    }
+
+    private static String responseCode(String status) {
+        switch (status) {
+            case "completed":
+                return "00";
+            case "pending":
+                return "01";
+            default:
+                return "05";
+        }
+    }
+}
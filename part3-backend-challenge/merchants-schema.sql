@@ -32,3 +32,28 @@ COMMENT ON TABLE operators.merchants IS 'Merchant information and registration d
 COMMENT ON COLUMN operators.merchants.id IS 'Unique merchant identifier (e.g., MCH-00001)';
 COMMENT ON COLUMN operators.merchants.status IS 'Merchant status: active or inactive';
 
+-- ============================================================================
+-- AUDIT LOG
+-- ============================================================================
+-- Append-only record of writes made through the API. Rows are inserted in
+-- batches by the API's audit writer thread (payment.audit); nothing updates
+-- or deletes them, and re-running this file keeps them.
+
+CREATE TABLE IF NOT EXISTS operators.audit_log (
+    id BIGSERIAL PRIMARY KEY,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id VARCHAR(100),
+    details TEXT
+);
+
+-- History of one entity
+CREATE INDEX IF NOT EXISTS idx_audit_log_entity ON operators.audit_log(entity_type, entity_id, occurred_at);
+
+-- Time-range scans over a large append-only table stay cheap with a BRIN index
+CREATE INDEX IF NOT EXISTS idx_audit_log_occurred_at ON operators.audit_log USING BRIN (occurred_at);
+
+COMMENT ON TABLE operators.audit_log IS 'Append-only audit trail of API writes';
+COMMENT ON COLUMN operators.audit_log.occurred_at IS 'When the audited write happened, not when the row was inserted';
+COMMENT ON COLUMN operators.audit_log.details IS 'Free-form description, e.g. the fields an update changed';
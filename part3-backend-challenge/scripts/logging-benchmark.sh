@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Compares request throughput of a payment-api build with logging off and with each logging setup,
+# under a traffic mix where half the requests are client errors (404/400).
+#
+#   scripts/logging-benchmark.sh java -jar target/payment-api-1.0.0.jar
+#
+# For each mode the API is started with the mode's environment, driven by the load test for
+# DURATION_SECONDS at RATE requests/s, and stopped. Prints the load test's TOTAL row per mode;
+# full reports and API output are left in logging-<mode>.txt and logging-<mode>.log.
+# Needs the database from the README and a built load test (load-test/README.md).
+set -euo pipefail
+
+URL=${URL:-http://localhost:8080}
+RATE=${RATE:-2000}
+DURATION_SECONDS=${DURATION_SECONDS:-60}
+WARMUP_SECONDS=${WARMUP_SECONDS:-15}
+MIX=${MIX:-"mix.merchants=10 mix.transactions=40 mix.badClient=50"}
+LOAD_TEST_JAR=${LOAD_TEST_JAR:-load-test/target/payment-load-test-1.0.0.jar}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-60}
+
+if [ "$#" -eq 0 ]; then
+    echo "usage: $0 <command to start the API>" >&2
+    exit 1
+fi
+
+# mode name, then the environment it runs with
+MODES=(
+    "off            LOG_LEVEL=OFF"
+    "sync           LOG_APPENDER=TEXT"
+    "async          LOG_APPENDER=ASYNC"
+    "async-json     LOG_APPENDER=ASYNC LOG_FORMAT=JSON"
+    "async-debug    LOG_APPENDER=ASYNC LOGGER_LEVELS_COM_PAYMENT=DEBUG LOGGER_LEVELS_IO_MICRONAUT_DATA=DEBUG"
+    "sync-debug     LOG_APPENDER=TEXT LOGGER_LEVELS_COM_PAYMENT=DEBUG LOGGER_LEVELS_IO_MICRONAUT_DATA=DEBUG"
+)
+
+pid=
+trap '[ -n "$pid" ] && kill "$pid" 2>/dev/null || true' EXIT
+
+wait_for_api() {
+    local deadline=$((SECONDS + TIMEOUT_SECONDS))
+    until curl -sf -o /dev/null "$URL/api/v1/status"; do
+        if [ "$SECONDS" -gt "$deadline" ] || ! kill -0 "$pid" 2>/dev/null; then
+            echo "API did not answer within ${TIMEOUT_SECONDS}s, see $1" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+}
+
+printf "%-14s %s\n" "mode" "$(printf "%-14s %9s %9s %8s %8s %9s %9s %9s %9s %9s %9s" \
+    scenario requests req/s errors dropped "p50(ms)" "p90(ms)" "p95(ms)" "p99(ms)" "p99.9(ms)" "max(ms)")"
+for entry in "${MODES[@]}"; do
+    read -r mode settings <<< "$entry"
+    # The rate limiter would answer 429 long before logging becomes the bottleneck
+    # shellcheck disable=SC2086
+    env PAYMENT_RATE_LIMITS_ENABLED=false $settings "$@" > "logging-$mode.log" 2>&1 &
+    pid=$!
+    wait_for_api "logging-$mode.log"
+
+    # shellcheck disable=SC2086
+    java -jar "$LOAD_TEST_JAR" baseUrl="$URL" ratePerSecond="$RATE" \
+        durationSeconds="$DURATION_SECONDS" warmupSeconds="$WARMUP_SECONDS" $MIX > "logging-$mode.txt"
+    printf "%-14s %s\n" "$mode" "$(grep '^TOTAL' "logging-$mode.txt")"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    pid=
+done
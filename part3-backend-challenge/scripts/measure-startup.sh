@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request and resident memory of a payment-api build.
+#
+#   scripts/measure-startup.sh java -jar target/payment-api-1.0.0.jar
+#   scripts/measure-startup.sh target/payment-api
+#
+# Prints: time from process start to the first 200 from /api/v1/status, RSS at that point,
+# and RSS after WARMUP_REQUESTS transaction-page requests. Needs the database from the README.
+set -euo pipefail
+
+URL=${URL:-http://localhost:8080}
+MERCHANT=${MERCHANT:-MCH-00001}
+WARMUP_REQUESTS=${WARMUP_REQUESTS:-500}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-60}
+
+if [ "$#" -eq 0 ]; then
+    echo "usage: $0 <command to start the API>" >&2
+    exit 1
+fi
+
+rss_mb() {
+    awk '/VmRSS/ { printf "%.1f", $2 / 1024 }' "/proc/$1/status"
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+start=$(now_ms)
+"$@" > startup.log 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null || true' EXIT
+
+deadline=$((start + TIMEOUT_SECONDS * 1000))
+until curl -sf -o /dev/null "$URL/api/v1/status"; do
+    if [ "$(now_ms)" -gt "$deadline" ] || ! kill -0 "$pid" 2>/dev/null; then
+        echo "API did not answer within ${TIMEOUT_SECONDS}s, see startup.log" >&2
+        exit 1
+    fi
+    sleep 0.01
+done
+first=$(now_ms)
+rss_first=$(rss_mb "$pid")
+
+for _ in $(seq "$WARMUP_REQUESTS"); do
+    curl -sf -o /dev/null "$URL/api/v1/merchants/$MERCHANT/transactions?page=0&size=20"
+done
+rss_warm=$(rss_mb "$pid")
+
+echo "time-to-first-request: $((first - start)) ms"
+echo "rss at first request:  ${rss_first} MB"
+echo "rss after ${WARMUP_REQUESTS} requests: ${rss_warm} MB"
@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Measures the resident memory of a payment-api build holding idle live transaction streams.
+#
+#   scripts/measure-stream-subscribers.sh java -jar target/payment-api-1.0.0.jar
+#   SUBSCRIBERS=5000 scripts/measure-stream-subscribers.sh java -jar target/payment-api-1.0.0.jar
+#
+# Opens SUBSCRIBERS streams (one curl each, spread over the first MERCHANTS merchants), waits
+# until payment.stream.subscribers reports all of them, and prints RSS before and after, plus
+# the difference per subscriber. Nothing should insert transactions meanwhile. The figure
+# includes the HTTP connection, not only the hub. Each curl is a client process, so large
+# counts need ulimits (-u, -n) that allow them. Needs the database from the README.
+set -euo pipefail
+
+URL=${URL:-http://localhost:8080}
+SUBSCRIBERS=${SUBSCRIBERS:-1000}
+MERCHANTS=${MERCHANTS:-100}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-60}
+
+if [ "$#" -eq 0 ]; then
+    echo "usage: $0 <command to start the API>" >&2
+    exit 1
+fi
+
+rss_mb() {
+    awk '/VmRSS/ { printf "%.1f", $2 / 1024 }' "/proc/$1/status"
+}
+
+subscribers() {
+    curl -sf "$URL/metrics/payment.stream.subscribers" | grep -o '"value":[0-9.]*' | cut -d: -f2 | cut -d. -f1
+}
+
+clients=()
+cleanup() {
+    for client in "${clients[@]}"; do
+        kill "$client" 2>/dev/null || true
+    done
+    kill "$pid" 2>/dev/null || true
+}
+
+# The rate limiter would reject most of the stream requests opened back to back
+env PAYMENT_RATE_LIMITS_ENABLED=false "$@" > stream-subscribers.log 2>&1 &
+pid=$!
+trap cleanup EXIT
+
+deadline=$((SECONDS + TIMEOUT_SECONDS))
+until curl -sf -o /dev/null "$URL/api/v1/status"; do
+    if [ "$SECONDS" -gt "$deadline" ] || ! kill -0 "$pid" 2>/dev/null; then
+        echo "API did not answer within ${TIMEOUT_SECONDS}s, see stream-subscribers.log" >&2
+        exit 1
+    fi
+    sleep 0.1
+done
+rss_before=$(rss_mb "$pid")
+
+for i in $(seq "$SUBSCRIBERS"); do
+    curl -sN -o /dev/null "$URL/api/v1/merchants/$(printf "MCH-%05d" $((i % MERCHANTS + 1)))/transactions/stream" &
+    clients+=($!)
+done
+
+deadline=$((SECONDS + TIMEOUT_SECONDS))
+until [ "$(subscribers)" = "$SUBSCRIBERS" ]; do
+    if [ "$SECONDS" -gt "$deadline" ]; then
+        echo "only $(subscribers) of $SUBSCRIBERS streams open after ${TIMEOUT_SECONDS}s" >&2
+        exit 1
+    fi
+    sleep 0.5
+done
+rss_after=$(rss_mb "$pid")
+
+echo "rss with no streams:      ${rss_before} MB"
+echo "rss with ${SUBSCRIBERS} idle streams: ${rss_after} MB"
+awk -v before="$rss_before" -v after="$rss_after" -v n="$SUBSCRIBERS" \
+    'BEGIN { printf "per subscriber:           %.1f KB\n", (after - before) * 1024 / n }'
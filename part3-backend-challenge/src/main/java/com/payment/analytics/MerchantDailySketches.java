@@ -0,0 +1,281 @@
+package com.payment.analytics;
+
+import com.payment.concurrent.SingleFlight;
+import com.payment.config.RecentTransactionsConfiguration;
+import com.payment.domain.HyperLogLog;
+import com.payment.domain.TDigest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sketches per merchant and UTC day over the {@link RecentTransactionStore}: amount
+ * quantiles ({@link TDigest}) per currency, and distinct cards ({@link HyperLogLog}). A
+ * date range is answered by merging the sketches of the days it touches, so percentiles
+ * and distinct counts cover whole UTC days.
+ * <p>
+ * Like {@link MerchantTimeIndex}, sketches are built per merchant on first use, kept
+ * current from {@link TransactionsAppendedEvent}s, and dropped least recently used first
+ * beyond sketch-memory-budget. Amount sketches of past days are compacted to their
+ * centroids.
+ */
+@Singleton
+@Requires(beans = RecentTransactionStore.class)
+public class MerchantDailySketches {
+
+    private static final long MICROS_PER_DAY = TimeUnit.DAYS.toMicros(1);
+    private static final int CURRENCY_BITS = 16;
+
+    private final RecentTransactionStore store;
+    private final long memoryBudget;
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<Integer, Entry> builds = new SingleFlight<>();
+    private final Object writeLock = new Object();
+    private final Counter evictions;
+    private volatile long memoryUsed;
+
+    public MerchantDailySketches(
+        RecentTransactionStore store,
+        RecentTransactionsConfiguration configuration,
+        MeterRegistry meterRegistry
+    ) {
+        this.store = store;
+        this.memoryBudget = configuration.getSketchMemoryBudget();
+
+        Gauge.builder("payment.daily-sketches.merchants", entries, Map::size)
+            .description("Merchants with daily sketches")
+            .register(meterRegistry);
+        Gauge.builder("payment.daily-sketches.memory", this, sketches -> sketches.memoryUsed)
+            .description("Heap held by merchant daily sketches")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("payment.daily-sketches.evictions")
+            .description("Merchant daily sketches dropped to stay within the memory budget")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Sketch of the merchant's transaction amounts (minor units) in one currency over the
+     * UTC days from and to fall in, or null when the store does not cover the first day
+     */
+    public TDigest amounts(String merchantId, Instant from, Instant to, String currency) {
+        long fromDay = Math.floorDiv(RecentTransactionStore.microsOf(from), MICROS_PER_DAY);
+        long toDay = Math.floorDiv(RecentTransactionStore.microsOf(to), MICROS_PER_DAY);
+        if (!store.covers(RecentTransactionStore.instantOf(fromDay * MICROS_PER_DAY))) {
+            return null;
+        }
+        int merchant = store.merchantIdOf(merchantId);
+        int currencyId = store.currencyIdOf(currency);
+        if (merchant < 0 || currencyId < 0) {
+            return new TDigest();
+        }
+        Entry entry = entryOf(merchant);
+        if (entry == null) {
+            return null;
+        }
+
+        TDigest merged = new TDigest();
+        synchronized (entry) {
+            for (Map.Entry<Long, TDigest> day : entry.amounts.subMap(key(fromDay, 0), key(toDay + 1, 0)).entrySet()) {
+                if ((int) (day.getKey() & ((1 << CURRENCY_BITS) - 1)) == currencyId) {
+                    merged.add(day.getValue());
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Estimated number of distinct cards (card type and last four digits) the merchant saw
+     * over the UTC days from and to fall in, or null when the store does not cover the
+     * first day
+     */
+    public Long distinctCards(String merchantId, Instant from, Instant to) {
+        long fromDay = Math.floorDiv(RecentTransactionStore.microsOf(from), MICROS_PER_DAY);
+        long toDay = Math.floorDiv(RecentTransactionStore.microsOf(to), MICROS_PER_DAY);
+        if (!store.covers(RecentTransactionStore.instantOf(fromDay * MICROS_PER_DAY))) {
+            return null;
+        }
+        int merchant = store.merchantIdOf(merchantId);
+        if (merchant < 0) {
+            return 0L;
+        }
+        Entry entry = entryOf(merchant);
+        if (entry == null) {
+            return null;
+        }
+
+        HyperLogLog merged = new HyperLogLog();
+        synchronized (entry) {
+            for (HyperLogLog day : entry.cards.subMap(fromDay, toDay + 1).values()) {
+                merged.add(day);
+            }
+        }
+        return merged.estimate();
+    }
+
+    /**
+     * The merchant's sketches, built on first use; null when the build lost a race with
+     * the writer overwriting rows
+     */
+    private Entry entryOf(int merchant) {
+        Entry entry = entries.get(merchant);
+        if (entry == null) {
+            entry = builds.execute(merchant, () -> build(merchant), () -> { });
+            if (entry == null) {
+                return null;
+            }
+        }
+        entry.lastUsed = System.nanoTime();
+        return entry;
+    }
+
+    @EventListener
+    void onTransactionsAppended(TransactionsAppendedEvent event) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            boolean complete = store.forEachRow(event.getFromRow(), event.getToRow(), -1,
+                (row, merchant, timestampMicros, amountMinor, currency, status) -> {
+                    Entry entry = entries.get(merchant);
+                    if (entry != null && row >= entry.appliedThrough) {
+                        synchronized (entry) {
+                            entry.add(timestampMicros, amountMinor, currency, store.cardOf(row));
+                        }
+                    }
+                });
+            if (!complete) {
+                // The store wrapped past rows the sketches had not seen; rebuild on demand
+                entries.clear();
+                memoryUsed = 0;
+                return;
+            }
+            for (Entry entry : entries.values()) {
+                entry.appliedThrough = Math.max(entry.appliedThrough, event.getToRow());
+            }
+            evictOverBudget(null);
+        }
+    }
+
+    /**
+     * Scan the store for the merchant's rows outside the lock, then catch up on rows
+     * published meanwhile and register the sketches under it
+     */
+    private Entry build(int merchant) {
+        Entry existing = entries.get(merchant);
+        if (existing != null) {
+            return existing;
+        }
+
+        Entry entry;
+        long end;
+        do {
+            end = store.publishedRows();
+            entry = new Entry(merchant);
+            Entry target = entry;
+            if (store.forEachRow(store.oldestRow(end), end, merchant,
+                (row, rowMerchant, timestampMicros, amountMinor, currency, status) ->
+                    target.add(timestampMicros, amountMinor, currency, store.cardOf(row)))) {
+                break;
+            }
+        } while (true);
+
+        synchronized (writeLock) {
+            long published = store.publishedRows();
+            Entry target = entry;
+            if (!store.forEachRow(end, published, merchant,
+                (row, rowMerchant, timestampMicros, amountMinor, currency, status) ->
+                    target.add(timestampMicros, amountMinor, currency, store.cardOf(row)))) {
+                return null;
+            }
+            entry.appliedThrough = published;
+            entry.lastUsed = System.nanoTime();
+            entries.put(merchant, entry);
+            evictOverBudget(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Compact past days, drop days the store no longer covers, then drop least recently
+     * used merchants until the total fits the budget. Caller holds writeLock.
+     */
+    private void evictOverBudget(Entry keep) {
+        long today = Math.floorDiv(System.currentTimeMillis(), TimeUnit.DAYS.toMillis(1));
+        long coveredFromDay = Math.floorDiv(store.coverageStartMicros(), MICROS_PER_DAY);
+        long used = 0;
+        for (Entry entry : entries.values()) {
+            synchronized (entry) {
+                entry.amounts.headMap(key(coveredFromDay, 0)).clear();
+                entry.amounts.headMap(key(today, 0)).values().forEach(TDigest::compact);
+                entry.cards.headMap(coveredFromDay).clear();
+                used += entry.bytes();
+            }
+        }
+        while (used > memoryBudget) {
+            Entry oldest = null;
+            for (Entry candidate : entries.values()) {
+                if (candidate != keep && (oldest == null || candidate.lastUsed - oldest.lastUsed < 0)) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) {
+                break;
+            }
+            entries.remove(oldest.merchant);
+            used -= oldest.bytes();
+            evictions.increment();
+        }
+        memoryUsed = used;
+    }
+
+    private static long key(long day, int currency) {
+        return (day << CURRENCY_BITS) | currency;
+    }
+
+    /**
+     * One merchant's sketches: amounts keyed by day and currency, cards keyed by day.
+     * Guarded by its own monitor.
+     */
+    private static final class Entry {
+
+        private final int merchant;
+        private final TreeMap<Long, TDigest> amounts = new TreeMap<>();
+        private final TreeMap<Long, HyperLogLog> cards = new TreeMap<>();
+        private volatile long lastUsed;
+        private long appliedThrough;
+
+        private Entry(int merchant) {
+            this.merchant = merchant;
+        }
+
+        void add(long timestampMicros, long amountMinor, int currency, int card) {
+            long day = Math.floorDiv(timestampMicros, MICROS_PER_DAY);
+            amounts.computeIfAbsent(key(day, currency), newDay -> new TDigest()).add(amountMinor);
+            if (card != RecentTransactionStore.NO_CARD) {
+                cards.computeIfAbsent(day, newDay -> new HyperLogLog()).addHash(HyperLogLog.hash(card));
+            }
+        }
+
+        long bytes() {
+            long bytes = 96;
+            for (TDigest digest : amounts.values()) {
+                bytes += 48 + digest.estimatedBytes();
+            }
+            for (HyperLogLog sketch : cards.values()) {
+                bytes += 48 + sketch.estimatedBytes();
+            }
+            return bytes;
+        }
+    }
+}
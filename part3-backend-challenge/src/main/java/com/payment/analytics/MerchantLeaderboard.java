@@ -0,0 +1,184 @@
+package com.payment.analytics;
+
+import com.payment.domain.TransactionStatus;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Completed transaction counts and volumes per merchant and UTC day, kept current from
+ * {@link TransactionsAppendedEvent}s so rankings never re-aggregate raw transactions. The
+ * counters are built from the {@link RecentTransactionStore} on first use; after that each
+ * new row adds to its day. A ranking sums the days of its window per merchant and keeps
+ * the best n in a min-heap.
+ * <p>
+ * Counters are arrays indexed by the store's merchant dictionary ID, kept for
+ * {@value #DAYS_KEPT} days.
+ */
+@Singleton
+@Requires(beans = RecentTransactionStore.class)
+public class MerchantLeaderboard {
+
+    private static final int DAYS_KEPT = 8;
+    private static final byte COMPLETED = (byte) TransactionStatus.COMPLETED.ordinal();
+    private static final long MICROS_PER_DAY = TimeUnit.DAYS.toMicros(1);
+
+    private final RecentTransactionStore store;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Written under the write lock; appliedRow is -1 until the first build
+    private final TreeMap<Long, DayTotals> days = new TreeMap<>();
+    private volatile long appliedRow = -1;
+
+    public MerchantLeaderboard(RecentTransactionStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Merchants with the most completed transactions (or the highest completed volume in
+     * the given currency) from the start of the given UTC day, highest first. Null when the
+     * store does not cover that day.
+     */
+    public List<RecentTransactionStore.MerchantTotal> top(LocalDate fromDay, String currency, boolean byVolume, int n) {
+        long fromMicros = TimeUnit.SECONDS.toMicros(fromDay.atStartOfDay().toEpochSecond(ZoneOffset.UTC));
+        if (!store.isReady() || fromMicros < store.coverageStartMicros()) {
+            return null;
+        }
+        catchUp();
+
+        lock.readLock().lock();
+        try {
+            int currencyId = store.currencyIdOf(currency);
+            long[] counts = new long[0];
+            long[] volumes = new long[0];
+            for (DayTotals day : days.tailMap(fromDay.toEpochDay()).values()) {
+                counts = addInto(counts, day.counts);
+                if (currencyId >= 0 && currencyId < day.volumes.length && day.volumes[currencyId] != null) {
+                    volumes = addInto(volumes, day.volumes[currencyId]);
+                }
+            }
+
+            long[] ranking = byVolume ? volumes : counts;
+            PriorityQueue<Integer> best = new PriorityQueue<>(n + 1, Comparator.comparingLong(id -> ranking[id]));
+            for (int merchant = 0; merchant < ranking.length; merchant++) {
+                if (ranking[merchant] == 0) {
+                    continue;
+                }
+                if (best.size() < n) {
+                    best.add(merchant);
+                } else if (ranking[merchant] > ranking[best.peek()]) {
+                    best.poll();
+                    best.add(merchant);
+                }
+            }
+
+            List<RecentTransactionStore.MerchantTotal> top = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                int merchant = best.poll();
+                top.add(new RecentTransactionStore.MerchantTotal(
+                    store.merchantName(merchant),
+                    merchant < counts.length ? counts[merchant] : 0,
+                    merchant < volumes.length ? volumes[merchant] : 0
+                ));
+            }
+            top.sort(Comparator.comparingLong((RecentTransactionStore.MerchantTotal total) ->
+                byVolume ? total.getAmountMinor() : total.getCount()).reversed());
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    void onTransactionsAppended(TransactionsAppendedEvent event) {
+        if (appliedRow >= 0) {
+            catchUp();
+        }
+    }
+
+    /**
+     * Add rows published since the last call, building from every row the store holds the
+     * first time or when rows were overwritten before they were applied
+     */
+    private void catchUp() {
+        lock.writeLock().lock();
+        try {
+            long end = store.publishedRows();
+            if (appliedRow == end) {
+                return;
+            }
+            long keepFromDay = Math.floorDiv(System.currentTimeMillis(), TimeUnit.DAYS.toMillis(1)) - (DAYS_KEPT - 1);
+            long keepFromMicros = keepFromDay * MICROS_PER_DAY;
+            RecentTransactionStore.RowVisitor counter = (row, merchant, timestampMicros, amountMinor, currency, status) -> {
+                if (status == COMPLETED && timestampMicros >= keepFromMicros) {
+                    dayOf(timestampMicros).add(merchant, currency, amountMinor);
+                }
+            };
+            if (appliedRow < 0 || end < appliedRow || !store.forEachRow(appliedRow, end, -1, counter)) {
+                // A build scan can race with the writer overwriting the oldest rows; repeat it
+                do {
+                    days.clear();
+                    end = store.publishedRows();
+                } while (!store.forEachRow(store.oldestRow(end), end, -1, counter));
+            }
+            appliedRow = end;
+            days.headMap(keepFromDay).clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private DayTotals dayOf(long timestampMicros) {
+        return days.computeIfAbsent(Math.floorDiv(timestampMicros, MICROS_PER_DAY), day -> new DayTotals());
+    }
+
+    private static long[] addInto(long[] total, long[] day) {
+        long[] sum = total.length >= day.length ? total : Arrays.copyOf(total, day.length);
+        for (int i = 0; i < day.length; i++) {
+            sum[i] += day[i];
+        }
+        return sum;
+    }
+
+    /**
+     * One UTC day: completed count per merchant, and completed volume in minor units per
+     * currency and merchant
+     */
+    private static final class DayTotals {
+
+        private long[] counts = new long[64];
+        private long[][] volumes = new long[4][];
+
+        void add(int merchant, int currency, long amountMinor) {
+            if (merchant >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(merchant + 1, counts.length * 2));
+            }
+            counts[merchant]++;
+
+            if (currency >= volumes.length) {
+                volumes = Arrays.copyOf(volumes, Math.max(currency + 1, volumes.length * 2));
+            }
+            long[] byMerchant = volumes[currency];
+            if (byMerchant == null) {
+                byMerchant = new long[counts.length];
+                volumes[currency] = byMerchant;
+            } else if (merchant >= byMerchant.length) {
+                byMerchant = Arrays.copyOf(byMerchant, Math.max(merchant + 1, byMerchant.length * 2));
+                volumes[currency] = byMerchant;
+            }
+            byMerchant[merchant] += amountMinor;
+        }
+    }
+}
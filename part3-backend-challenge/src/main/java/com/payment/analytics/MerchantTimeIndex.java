@@ -0,0 +1,561 @@
+package com.payment.analytics;
+
+import com.payment.concurrent.SingleFlight;
+import com.payment.config.RecentTransactionsConfiguration;
+import com.payment.domain.MoneyTotals;
+import com.payment.domain.StatusCounts;
+import com.payment.domain.TransactionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-merchant index over the {@link RecentTransactionStore}: transaction times in a
+ * sorted primitive array with prefix sums of amount (per currency) and count (per
+ * currency and per status), so a range count or sum is two binary searches.
+ * <p>
+ * Indexes are built on first use from the store, kept current from
+ * {@link TransactionsAppendedEvent}s, and dropped least recently used first once their
+ * combined size passes index-memory-budget. Rows older than the last one in the sorted
+ * arrays go to a small unsorted delta that queries scan and that is merged in once it
+ * reaches an eighth of the index.
+ */
+@Singleton
+@Requires(beans = RecentTransactionStore.class)
+public class MerchantTimeIndex {
+
+    /** Status slot 0 counts unknown statuses, slot ordinal + 1 each {@link TransactionStatus} */
+    private static final int STATUS_SLOTS = TransactionStatus.count() + 1;
+    private static final int MIN_DELTA_MERGE = 1_024;
+
+    private final RecentTransactionStore store;
+    private final long memoryBudget;
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<Integer> oversized = ConcurrentHashMap.newKeySet();
+    private final Snapshot empty = new Entry(-1).snapshot;
+    private final SingleFlight<Integer, Entry> builds = new SingleFlight<>();
+    private final Object writeLock = new Object();
+    private final Counter evictions;
+    private volatile long memoryUsed;
+
+    public MerchantTimeIndex(
+        RecentTransactionStore store,
+        RecentTransactionsConfiguration configuration,
+        MeterRegistry meterRegistry
+    ) {
+        this.store = store;
+        this.memoryBudget = configuration.getIndexMemoryBudget();
+
+        Gauge.builder("payment.merchant-index.merchants", entries, Map::size)
+            .description("Merchants with a time index")
+            .register(meterRegistry);
+        Gauge.builder("payment.merchant-index.memory", this, index -> index.memoryUsed)
+            .description("Heap held by merchant time indexes")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("payment.merchant-index.evictions")
+            .description("Merchant time indexes dropped to stay within the memory budget")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Count, totals and status breakdown for one merchant between two times (inclusive),
+     * or null when the index cannot answer (range not covered, or a status filter, whose
+     * amounts are not indexed)
+     */
+    public RecentTransactionStore.Summary summarize(String merchantId, Instant from, Instant to, String status) {
+        if (status != null && !status.trim().isEmpty()) {
+            return null;
+        }
+        Snapshot snapshot = snapshot(merchantId, from);
+        return snapshot != null ? snapshot.summarize(RecentTransactionStore.microsOf(from), RecentTransactionStore.microsOf(to)) : null;
+    }
+
+    /**
+     * Number of the merchant's transactions between two times (inclusive), optionally with
+     * one status, or null when the index cannot answer
+     */
+    public Long count(String merchantId, Instant from, Instant to, String status) {
+        int statusSlot = -1;
+        if (status != null && !status.trim().isEmpty()) {
+            TransactionStatus transactionStatus = TransactionStatus.fromCode(status);
+            if (transactionStatus == null) {
+                return null;
+            }
+            statusSlot = transactionStatus.ordinal() + 1;
+        }
+        Snapshot snapshot = snapshot(merchantId, from);
+        return snapshot != null
+            ? snapshot.count(RecentTransactionStore.microsOf(from), RecentTransactionStore.microsOf(to), statusSlot)
+            : null;
+    }
+
+    @EventListener
+    void onTransactionsAppended(TransactionsAppendedEvent event) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            List<Entry> changed = new ArrayList<>();
+            boolean complete = store.forEachRow(event.getFromRow(), event.getToRow(), -1,
+                (row, merchant, timestampMicros, amountMinor, currency, status) -> {
+                    Entry entry = entries.get(merchant);
+                    if (entry != null && row >= entry.appliedThrough) {
+                        if (!entry.changed) {
+                            entry.changed = true;
+                            changed.add(entry);
+                        }
+                        entry.append(timestampMicros, amountMinor, currency, status);
+                    }
+                });
+            if (!complete) {
+                // The store wrapped past rows the indexes had not seen; rebuild on demand
+                entries.clear();
+                memoryUsed = 0;
+                return;
+            }
+            for (Entry entry : entries.values()) {
+                entry.appliedThrough = Math.max(entry.appliedThrough, event.getToRow());
+            }
+            for (Entry entry : changed) {
+                entry.changed = false;
+                entry.publish();
+            }
+            evictOverBudget(null);
+        }
+    }
+
+    private Snapshot snapshot(String merchantId, Instant from) {
+        if (!store.covers(from)) {
+            return null;
+        }
+        int merchant = store.merchantIdOf(merchantId);
+        if (merchant < 0) {
+            return empty;
+        }
+        Entry entry = entries.get(merchant);
+        if (entry == null) {
+            if (oversized.contains(merchant)) {
+                return null;
+            }
+            entry = builds.execute(merchant, () -> build(merchant), () -> { });
+            if (entry == null) {
+                return null;
+            }
+        }
+        if (RecentTransactionStore.microsOf(from) < entry.coveredFromMicros) {
+            return null;
+        }
+        entry.lastUsed = System.nanoTime();
+        return entry.snapshot;
+    }
+
+    /**
+     * Scan the store for the merchant's rows outside the lock, then catch up on rows
+     * published meanwhile and register the index under it
+     */
+    private Entry build(int merchant) {
+        Entry existing = entries.get(merchant);
+        if (existing != null) {
+            return existing;
+        }
+
+        // Coverage is read after a clean scan: anything evicted by then lies before the scanned rows
+        Entry entry;
+        long end;
+        do {
+            end = store.publishedRows();
+            entry = new Entry(merchant);
+            Entry target = entry;
+            if (store.forEachRow(store.oldestRow(end), end, merchant,
+                (row, rowMerchant, timestampMicros, amountMinor, currency, status) ->
+                    target.append(timestampMicros, amountMinor, currency, status))) {
+                entry.coveredFromMicros = store.coverageStartMicros();
+                break;
+            }
+        } while (true);
+
+        synchronized (writeLock) {
+            long published = store.publishedRows();
+            Entry target = entry;
+            if (!store.forEachRow(end, published, merchant,
+                (row, rowMerchant, timestampMicros, amountMinor, currency, status) ->
+                    target.append(timestampMicros, amountMinor, currency, status))) {
+                return null;
+            }
+            entry.appliedThrough = published;
+            entry.publish();
+            if (entry.bytes() > memoryBudget) {
+                oversized.add(merchant);
+                return null;
+            }
+            entry.lastUsed = System.nanoTime();
+            entries.put(merchant, entry);
+            evictOverBudget(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Drop least recently used indexes until the total fits the budget. Caller holds writeLock.
+     */
+    private void evictOverBudget(Entry keep) {
+        long used = 0;
+        for (Entry entry : entries.values()) {
+            used += entry.bytes();
+        }
+        while (used > memoryBudget) {
+            Entry oldest = null;
+            Iterator<Entry> candidates = entries.values().iterator();
+            while (candidates.hasNext()) {
+                Entry candidate = candidates.next();
+                if (candidate != keep && (oldest == null || candidate.lastUsed - oldest.lastUsed < 0)) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) {
+                break;
+            }
+            entries.remove(oldest.merchant);
+            used -= oldest.bytes();
+            evictions.increment();
+        }
+        memoryUsed = used;
+    }
+
+    private static int lowerBound(long[] values, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] values, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * One merchant's index. Mutated only under writeLock (or by the building thread before
+     * it is registered); readers use the published {@link Snapshot}. Appends write past the
+     * published sizes or into new arrays, so a snapshot never changes under a reader.
+     */
+    private final class Entry {
+
+        private final int merchant;
+        private long coveredFromMicros = Long.MIN_VALUE;
+        private long appliedThrough;
+        private boolean changed;
+        private volatile long lastUsed;
+        private volatile Snapshot snapshot;
+
+        // Currency dictionary IDs in the order first seen; arrays below are indexed by position here
+        private int[] currencies = new int[0];
+        private long[] times = new long[16];
+        private long[][] amountPrefix = new long[0][];
+        private int[][] currencyPrefix = new int[0][];
+        private final int[][] statusPrefix = new int[STATUS_SLOTS][17];
+        private int size;
+
+        private long[] deltaTimes = new long[16];
+        private long[] deltaAmounts = new long[16];
+        private byte[] deltaCurrencies = new byte[16];
+        private byte[] deltaStatuses = new byte[16];
+        private int deltaSize;
+
+        Entry(int merchant) {
+            this.merchant = merchant;
+            publish();
+        }
+
+        void append(long timestampMicros, long amountMinor, int currency, byte status) {
+            int currencyIndex = currencyIndex(currency);
+            if (size == 0 || timestampMicros >= times[size - 1]) {
+                appendSorted(timestampMicros, amountMinor, currencyIndex, status + 1);
+                return;
+            }
+            if (deltaSize == deltaTimes.length) {
+                int capacity = deltaSize * 2;
+                deltaTimes = Arrays.copyOf(deltaTimes, capacity);
+                deltaAmounts = Arrays.copyOf(deltaAmounts, capacity);
+                deltaCurrencies = Arrays.copyOf(deltaCurrencies, capacity);
+                deltaStatuses = Arrays.copyOf(deltaStatuses, capacity);
+            }
+            deltaTimes[deltaSize] = timestampMicros;
+            deltaAmounts[deltaSize] = amountMinor;
+            deltaCurrencies[deltaSize] = (byte) currencyIndex;
+            deltaStatuses[deltaSize] = status;
+            deltaSize++;
+            if (deltaSize >= Math.max(MIN_DELTA_MERGE, size >>> 3)) {
+                mergeDelta();
+            }
+        }
+
+        private int currencyIndex(int currency) {
+            for (int i = 0; i < currencies.length; i++) {
+                if (currencies[i] == currency) {
+                    return i;
+                }
+            }
+            if (currencies.length == Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many currencies for one merchant index");
+            }
+            // New outer arrays, so published snapshots keep their own
+            int index = currencies.length;
+            currencies = Arrays.copyOf(currencies, index + 1);
+            currencies[index] = currency;
+            amountPrefix = Arrays.copyOf(amountPrefix, index + 1);
+            amountPrefix[index] = new long[times.length + 1];
+            currencyPrefix = Arrays.copyOf(currencyPrefix, index + 1);
+            currencyPrefix[index] = new int[times.length + 1];
+            return index;
+        }
+
+        private void appendSorted(long timestampMicros, long amountMinor, int currencyIndex, int statusSlot) {
+            if (size == times.length) {
+                grow(size + (size >>> 1));
+            }
+            times[size] = timestampMicros;
+            for (int c = 0; c < currencies.length; c++) {
+                boolean match = c == currencyIndex;
+                amountPrefix[c][size + 1] = amountPrefix[c][size] + (match ? amountMinor : 0);
+                currencyPrefix[c][size + 1] = currencyPrefix[c][size] + (match ? 1 : 0);
+            }
+            for (int s = 0; s < STATUS_SLOTS; s++) {
+                statusPrefix[s][size + 1] = statusPrefix[s][size] + (s == statusSlot ? 1 : 0);
+            }
+            size++;
+        }
+
+        private void grow(int capacity) {
+            times = Arrays.copyOf(times, capacity);
+            long[][] amounts = new long[currencies.length][];
+            int[][] counts = new int[currencies.length][];
+            for (int c = 0; c < currencies.length; c++) {
+                amounts[c] = Arrays.copyOf(amountPrefix[c], capacity + 1);
+                counts[c] = Arrays.copyOf(currencyPrefix[c], capacity + 1);
+            }
+            amountPrefix = amounts;
+            currencyPrefix = counts;
+            for (int s = 0; s < STATUS_SLOTS; s++) {
+                statusPrefix[s] = Arrays.copyOf(statusPrefix[s], capacity + 1);
+            }
+        }
+
+        /**
+         * Rebuild the sorted arrays with the delta merged in. Everything is copied, since
+         * prefix sums change from the first merged row on.
+         */
+        private void mergeDelta() {
+            int[] order = sortedOrder(deltaTimes, deltaSize);
+            long[] oldTimes = times;
+            long[][] oldAmounts = amountPrefix;
+            int[][] oldCounts = currencyPrefix;
+            int[][] oldStatuses = new int[STATUS_SLOTS][];
+            for (int s = 0; s < STATUS_SLOTS; s++) {
+                oldStatuses[s] = statusPrefix[s];
+            }
+            int oldSize = size;
+            long[] mergeTimes = deltaTimes;
+            long[] mergeAmounts = deltaAmounts;
+            byte[] mergeCurrencies = deltaCurrencies;
+            byte[] mergeStatuses = deltaStatuses;
+            int mergeSize = deltaSize;
+
+            int capacity = oldSize + mergeSize + ((oldSize + mergeSize) >>> 2);
+            times = new long[capacity];
+            amountPrefix = new long[currencies.length][capacity + 1];
+            currencyPrefix = new int[currencies.length][capacity + 1];
+            for (int s = 0; s < STATUS_SLOTS; s++) {
+                statusPrefix[s] = new int[capacity + 1];
+            }
+            size = 0;
+            deltaTimes = new long[16];
+            deltaAmounts = new long[16];
+            deltaCurrencies = new byte[16];
+            deltaStatuses = new byte[16];
+            deltaSize = 0;
+
+            int i = 0;
+            int d = 0;
+            while (i < oldSize || d < mergeSize) {
+                if (d == mergeSize || (i < oldSize && oldTimes[i] <= mergeTimes[order[d]])) {
+                    int currency = currencyAt(oldCounts, i);
+                    long amount = oldAmounts[currency][i + 1] - oldAmounts[currency][i];
+                    appendSorted(oldTimes[i], amount, currency, statusAt(oldStatuses, i));
+                    i++;
+                } else {
+                    int row = order[d++];
+                    appendSorted(mergeTimes[row], mergeAmounts[row], mergeCurrencies[row], mergeStatuses[row] + 1);
+                }
+            }
+        }
+
+        private int currencyAt(int[][] prefix, int row) {
+            for (int c = 0; c < prefix.length; c++) {
+                if (prefix[c][row + 1] != prefix[c][row]) {
+                    return c;
+                }
+            }
+            return 0;
+        }
+
+        private int statusAt(int[][] prefix, int row) {
+            for (int s = 0; s < STATUS_SLOTS; s++) {
+                if (prefix[s][row + 1] != prefix[s][row]) {
+                    return s;
+                }
+            }
+            return 0;
+        }
+
+        void publish() {
+            snapshot = new Snapshot(this);
+        }
+
+        long bytes() {
+            long perRow = Long.BYTES + (long) currencies.length * (Long.BYTES + Integer.BYTES)
+                + (long) STATUS_SLOTS * Integer.BYTES;
+            return times.length * perRow + deltaTimes.length * (2L * Long.BYTES + 2);
+        }
+    }
+
+    /**
+     * Stable bottom-up merge sort of row positions by time
+     */
+    private static int[] sortedOrder(long[] times, int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int low = 0; low < size - width; low += 2 * width) {
+                int mid = low + width;
+                int high = Math.min(low + 2 * width, size);
+                int left = low;
+                int right = mid;
+                for (int k = low; k < high; k++) {
+                    if (right >= high || (left < mid && times[order[left]] <= times[order[right]])) {
+                        buffer[k] = order[left++];
+                    } else {
+                        buffer[k] = order[right++];
+                    }
+                }
+                System.arraycopy(buffer, low, order, low, high - low);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Immutable view of an {@link Entry} at one point
+     */
+    private final class Snapshot {
+
+        private final int[] currencies;
+        private final long[] times;
+        private final long[][] amountPrefix;
+        private final int[][] currencyPrefix;
+        private final int[][] statusPrefix;
+        private final int size;
+        private final long[] deltaTimes;
+        private final long[] deltaAmounts;
+        private final byte[] deltaCurrencies;
+        private final byte[] deltaStatuses;
+        private final int deltaSize;
+
+        Snapshot(Entry entry) {
+            this.currencies = entry.currencies;
+            this.times = entry.times;
+            this.amountPrefix = entry.amountPrefix;
+            this.currencyPrefix = entry.currencyPrefix;
+            this.statusPrefix = entry.statusPrefix.clone();
+            this.size = entry.size;
+            this.deltaTimes = entry.deltaTimes;
+            this.deltaAmounts = entry.deltaAmounts;
+            this.deltaCurrencies = entry.deltaCurrencies;
+            this.deltaStatuses = entry.deltaStatuses;
+            this.deltaSize = entry.deltaSize;
+        }
+
+        long count(long fromMicros, long toMicros, int statusSlot) {
+            int low = lowerBound(times, size, fromMicros);
+            int high = upperBound(times, size, toMicros);
+            long count = statusSlot < 0 ? high - low : statusPrefix[statusSlot][high] - statusPrefix[statusSlot][low];
+            for (int i = 0; i < deltaSize; i++) {
+                long time = deltaTimes[i];
+                if (time >= fromMicros && time <= toMicros && (statusSlot < 0 || deltaStatuses[i] + 1 == statusSlot)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        RecentTransactionStore.Summary summarize(long fromMicros, long toMicros) {
+            int low = lowerBound(times, size, fromMicros);
+            int high = upperBound(times, size, toMicros);
+            long count = high - low;
+            long[] amounts = new long[currencies.length];
+            long[] currencyRows = new long[currencies.length];
+            for (int c = 0; c < currencies.length; c++) {
+                amounts[c] = amountPrefix[c][high] - amountPrefix[c][low];
+                currencyRows[c] = currencyPrefix[c][high] - currencyPrefix[c][low];
+            }
+            long[] statusRows = new long[STATUS_SLOTS];
+            for (int s = 0; s < STATUS_SLOTS; s++) {
+                statusRows[s] = statusPrefix[s][high] - statusPrefix[s][low];
+            }
+            for (int i = 0; i < deltaSize; i++) {
+                long time = deltaTimes[i];
+                if (time >= fromMicros && time <= toMicros) {
+                    count++;
+                    amounts[deltaCurrencies[i]] += deltaAmounts[i];
+                    currencyRows[deltaCurrencies[i]]++;
+                    statusRows[deltaStatuses[i] + 1]++;
+                }
+            }
+
+            MoneyTotals totals = new MoneyTotals();
+            for (int c = 0; c < currencies.length; c++) {
+                if (currencyRows[c] > 0) {
+                    totals.add(store.currencyName(currencies[c]), amounts[c]);
+                }
+            }
+            StatusCounts byStatus = new StatusCounts();
+            byStatus.addUnknown(statusRows[0]);
+            for (int ordinal = 0; ordinal < TransactionStatus.count(); ordinal++) {
+                byStatus.add(TransactionStatus.ofOrdinal(ordinal), statusRows[ordinal + 1]);
+            }
+            return new RecentTransactionStore.Summary(count, totals, byStatus);
+        }
+    }
+}
@@ -0,0 +1,768 @@
+package com.payment.analytics;
+
+import com.payment.config.RecentTransactionsConfiguration;
+import com.payment.domain.MoneyTotals;
+import com.payment.domain.StatusCounts;
+import com.payment.domain.TransactionStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recent transaction_master rows held off-heap as primitive columns: transaction time
+ * (epoch micros), amount (minor units), merchant and currency dictionary IDs, status
+ * ordinal and a card key. Rows live in a ring of direct buffers, so millions of rows cost no heap
+ * objects and queries are plain loops over the columns.
+ * <p>
+ * There is a single writer ({@link TransactionTailer}) and any number of readers. Readers
+ * see rows up to the last {@link #publish()}; a scan that raced with the writer
+ * overwriting the oldest rows is detected and repeated.
+ */
+@Singleton
+@Requires(property = "payment.recent-transactions.enabled", value = "true")
+public class RecentTransactionStore {
+
+    /** Status column value for codes outside {@link TransactionStatus} */
+    static final byte UNKNOWN_STATUS = -1;
+    private static final byte ANY_STATUS = -2;
+    /** Card column value for rows without card type or last four digits */
+    static final int NO_CARD = 0;
+    private static final int ROW_BYTES = Long.BYTES * 2 + Integer.BYTES * 2 + Short.BYTES + Byte.BYTES;
+
+    private final int segmentRows;
+    private final Segment[] segments;
+    private final long capacity;
+    private final Dictionary merchants = new Dictionary(Integer.MAX_VALUE);
+    private final Dictionary currencies = new Dictionary(Short.MAX_VALUE);
+
+    // Written by the writer only; read by scans
+    private volatile long published;
+    private volatile long reserved;
+    private volatile long coveredFromMicros = Long.MAX_VALUE;
+    private volatile boolean ready;
+
+    // Writer state
+    private long next;
+    private long loadFromMicros;
+    private long maxEvictedMicros = Long.MIN_VALUE;
+
+    public RecentTransactionStore(RecentTransactionsConfiguration configuration, MeterRegistry meterRegistry) {
+        this.segmentRows = configuration.getSegmentRows();
+        int segmentCount = (int) ((configuration.getMaxRows() + (long) segmentRows - 1) / segmentRows);
+        this.segments = new Segment[segmentCount];
+        this.capacity = (long) segmentCount * segmentRows;
+
+        Gauge.builder("payment.recent-transactions.rows", this, store -> Math.min(store.published, store.capacity))
+            .description("Transactions held in the recent transaction store")
+            .register(meterRegistry);
+        Gauge.builder("payment.recent-transactions.memory", this, RecentTransactionStore::allocatedBytes)
+            .description("Direct memory allocated for the recent transaction store")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * True once the initial load has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Earliest transaction time for which the store holds every row, or null before the
+     * initial load has completed
+     */
+    public Instant coveredFrom() {
+        return ready ? instantOf(coveredFromMicros) : null;
+    }
+
+    /**
+     * True when every transaction at or after the given time is in the store
+     */
+    public boolean covers(Instant from) {
+        return ready && from != null && microsOf(from) >= coveredFromMicros;
+    }
+
+    /**
+     * Count, totals and status breakdown for one merchant between two times (inclusive),
+     * or null when the store does not cover the range or the status is not a known code
+     */
+    public Summary summarize(String merchantId, Instant from, Instant to, String status) {
+        byte statusFilter = statusFilter(status);
+        if (statusFilter == UNKNOWN_STATUS) {
+            return null;
+        }
+        SummaryScan scan = new SummaryScan(merchants.idOf(merchantId), microsOf(from), microsOf(to), statusFilter);
+        if (!read(scan)) {
+            return null;
+        }
+        return scan.toSummary();
+    }
+
+    /**
+     * Transactions per time bucket for one merchant, with amounts in the given currency,
+     * or null when the store does not cover the range
+     */
+    public Histogram histogram(String merchantId, Instant from, Instant to, long bucketMicros, String status, String currency) {
+        byte statusFilter = statusFilter(status);
+        long fromMicros = microsOf(from);
+        long toMicros = microsOf(to);
+        int bucketCount = (int) ((toMicros - fromMicros) / bucketMicros + 1);
+        HistogramScan scan = new HistogramScan(
+            merchants.idOf(merchantId), fromMicros, toMicros, bucketMicros, bucketCount,
+            statusFilter, currencies.idOf(currency)
+        );
+        if (statusFilter == UNKNOWN_STATUS) {
+            return covers(from) ? scan.toHistogram() : null;
+        }
+        if (!read(scan)) {
+            return null;
+        }
+        return scan.toHistogram();
+    }
+
+    /**
+     * Merchants with the most transactions (or the highest amount in the given currency)
+     * between two times, highest first, or null when the store does not cover the range
+     */
+    public List<MerchantTotal> topMerchants(
+        Instant from,
+        Instant to,
+        String status,
+        String currency,
+        boolean byAmount,
+        int limit
+    ) {
+        byte statusFilter = statusFilter(status);
+        if (statusFilter == UNKNOWN_STATUS) {
+            return covers(from) ? List.of() : null;
+        }
+        TopMerchantsScan scan = new TopMerchantsScan(microsOf(from), microsOf(to), statusFilter, currencies.idOf(currency));
+        if (!read(scan)) {
+            return null;
+        }
+
+        // Keep the best `limit` merchants in a min-heap instead of sorting every merchant
+        long[] ranking = byAmount ? scan.amounts : scan.counts;
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, Comparator.comparingLong(id -> ranking[id]));
+        for (int merchant = 0; merchant < ranking.length; merchant++) {
+            if (scan.counts[merchant] == 0 || (byAmount && scan.amounts[merchant] == 0)) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(merchant);
+            } else if (ranking[merchant] > ranking[best.peek()]) {
+                best.poll();
+                best.add(merchant);
+            }
+        }
+
+        List<MerchantTotal> top = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            int merchant = best.poll();
+            top.add(new MerchantTotal(merchants.name(merchant), scan.counts[merchant], scan.amounts[merchant]));
+        }
+        top.sort(Comparator.comparingLong((MerchantTotal total) -> byAmount ? total.amountMinor : total.count).reversed());
+        return top;
+    }
+
+    // ---- Row access for MerchantTimeIndex ----
+
+    /**
+     * Logical row number one past the last published row
+     */
+    long publishedRows() {
+        return published;
+    }
+
+    /**
+     * First row still held once rows up to end have been appended
+     */
+    long oldestRow(long end) {
+        return Math.max(0, end - capacity);
+    }
+
+    /**
+     * Start of the covered time range in epoch micros; Long.MAX_VALUE before the first load
+     */
+    long coverageStartMicros() {
+        return coveredFromMicros;
+    }
+
+    /**
+     * Dictionary ID of a merchant, or -1 if the store has no rows for it
+     */
+    int merchantIdOf(String merchantId) {
+        return merchants.idOf(merchantId);
+    }
+
+    String merchantName(int merchant) {
+        return merchants.name(merchant);
+    }
+
+    int currencyIdOf(String currency) {
+        return currencies.idOf(currency);
+    }
+
+    String currencyName(int currency) {
+        return currencies.name(currency);
+    }
+
+    /**
+     * Visit published rows in [fromRow, toRow), optionally only one merchant's (-1 for all).
+     * Returns false when some of those rows were overwritten before or while they were read.
+     */
+    boolean forEachRow(long fromRow, long toRow, int merchant, RowVisitor visitor) {
+        if (fromRow < toRow - capacity) {
+            return false;
+        }
+        for (long row = fromRow; row < toRow; ) {
+            Segment segment = segments[(int) ((row / segmentRows) % segments.length)];
+            int offset = (int) (row % segmentRows);
+            int count = (int) Math.min(segmentRows - offset, toRow - row);
+            for (int i = offset; i < offset + count; i++) {
+                int rowMerchant = segment.merchants.get(i);
+                if (merchant < 0 || rowMerchant == merchant) {
+                    visitor.visit(row + (i - offset), rowMerchant, segment.timestamps.get(i), segment.amounts.get(i),
+                        segment.currencies.get(i), segment.statuses.get(i));
+                }
+            }
+            row += count;
+        }
+        VarHandle.loadLoadFence();
+        return fromRow >= reserved - capacity;
+    }
+
+    /**
+     * Card key of a row, or {@link #NO_CARD}. Read it from a {@link RowVisitor}: the row is
+     * only known to be intact once the enclosing forEachRow returns true.
+     */
+    int cardOf(long row) {
+        return segments[(int) ((row / segmentRows) % segments.length)].cards.get((int) (row % segmentRows));
+    }
+
+    @FunctionalInterface
+    interface RowVisitor {
+
+        void visit(long row, int merchant, long timestampMicros, long amountMinor, int currency, byte status);
+    }
+
+    // ---- Writer side, used by TransactionTailer only ----
+
+    /**
+     * Start a fresh load of everything at or after the given time
+     */
+    void startLoad(Instant loadFrom) {
+        ready = false;
+        next = 0;
+        published = 0;
+        reserved = 0;
+        maxEvictedMicros = Long.MIN_VALUE;
+        loadFromMicros = microsOf(loadFrom);
+        coveredFromMicros = loadFromMicros;
+    }
+
+    void append(
+        long txnMicros,
+        long amountMinor,
+        String merchantId,
+        String currency,
+        String status,
+        String cardType,
+        String cardLast4
+    ) {
+        long row = next;
+        Segment segment = segmentFor(row);
+        int offset = (int) (row % segmentRows);
+
+        if (row >= capacity) {
+            // Overwriting the oldest row: readers must notice before the slot changes
+            long evictedMicros = segment.timestamps.get(offset);
+            if (evictedMicros > maxEvictedMicros) {
+                maxEvictedMicros = evictedMicros;
+                coveredFromMicros = Math.max(loadFromMicros, evictedMicros + 1);
+            }
+            reserved = row + 1;
+            VarHandle.storeStoreFence();
+        }
+
+        TransactionStatus transactionStatus = TransactionStatus.fromCode(status);
+        segment.timestamps.put(offset, txnMicros);
+        segment.amounts.put(offset, amountMinor);
+        segment.merchants.put(offset, merchants.add(merchantId));
+        segment.currencies.put(offset, (short) currencies.add(currency));
+        segment.statuses.put(offset, transactionStatus != null ? (byte) transactionStatus.ordinal() : UNKNOWN_STATUS);
+        segment.cards.put(offset, cardKey(cardType, cardLast4));
+        next = row + 1;
+    }
+
+    /**
+     * 32-bit hash of card type and last four digits. The schema holds no card number or
+     * fingerprint, so this is the closest identity a card has here.
+     */
+    private static int cardKey(String cardType, String cardLast4) {
+        if (cardType == null || cardLast4 == null) {
+            return NO_CARD;
+        }
+        int key = 31 * cardType.hashCode() + cardLast4.hashCode();
+        return key != NO_CARD ? key : 1;
+    }
+
+    /**
+     * Make appended rows visible to readers
+     */
+    void publish() {
+        published = next;
+    }
+
+    void markReady() {
+        publish();
+        ready = true;
+    }
+
+    private Segment segmentFor(long row) {
+        int index = (int) ((row / segmentRows) % segments.length);
+        Segment segment = segments[index];
+        if (segment == null) {
+            segment = new Segment(segmentRows);
+            segments[index] = segment;
+        }
+        return segment;
+    }
+
+    private long allocatedBytes() {
+        long allocated = 0;
+        for (Segment segment : segments) {
+            if (segment != null) {
+                allocated += (long) segmentRows * ROW_BYTES;
+            }
+        }
+        return allocated;
+    }
+
+    // ---- Scans ----
+
+    /**
+     * Run the scan over all published rows. Returns false when the store does not cover
+     * the scan's start time.
+     */
+    private boolean read(Scan scan) {
+        while (true) {
+            if (!ready || scan.fromMicros < coveredFromMicros) {
+                return false;
+            }
+            long end = published;
+            long start = Math.max(0, end - capacity);
+            scan.reset(merchants.size(), currencies.size());
+            scan.torn = false;
+            for (long row = start; row < end; ) {
+                int offset = (int) (row % segmentRows);
+                int count = (int) Math.min(segmentRows - offset, end - row);
+                scan.scan(segments[(int) ((row / segmentRows) % segments.length)], offset, offset + count);
+                row += count;
+            }
+            // Rows below reserved - capacity may have been overwritten while we read them
+            VarHandle.loadLoadFence();
+            if (!scan.torn && start >= reserved - capacity) {
+                return true;
+            }
+        }
+    }
+
+    private abstract static class Scan {
+
+        final long fromMicros;
+        final long toMicros;
+        final byte status;
+        /**
+         * Set when a row held a dictionary ID beyond the arrays sized for this pass: the
+         * writer overwrote it with a newer row mid-scan, so the pass is repeated
+         */
+        boolean torn;
+
+        Scan(long fromMicros, long toMicros, byte status) {
+            this.fromMicros = fromMicros;
+            this.toMicros = toMicros;
+            this.status = status;
+        }
+
+        abstract void reset(int merchantCount, int currencyCount);
+
+        abstract void scan(Segment segment, int from, int to);
+    }
+
+    private final class SummaryScan extends Scan {
+
+        private final int merchant;
+        private long count;
+        private long[] amountsByCurrency;
+        private long[] rowsByCurrency;
+        private long[] rowsByStatus;
+        private int firstCurrency;
+
+        SummaryScan(int merchant, long fromMicros, long toMicros, byte status) {
+            super(fromMicros, toMicros, status);
+            this.merchant = merchant;
+        }
+
+        @Override
+        void reset(int merchantCount, int currencyCount) {
+            count = 0;
+            amountsByCurrency = new long[currencyCount];
+            rowsByCurrency = new long[currencyCount];
+            rowsByStatus = new long[TransactionStatus.count() + 1];
+            firstCurrency = -1;
+        }
+
+        @Override
+        void scan(Segment segment, int from, int to) {
+            if (merchant < 0) {
+                return;
+            }
+            IntBuffer merchants = segment.merchants;
+            LongBuffer timestamps = segment.timestamps;
+            for (int i = from; i < to; i++) {
+                if (merchants.get(i) != merchant) {
+                    continue;
+                }
+                long timestamp = timestamps.get(i);
+                if (timestamp < fromMicros || timestamp > toMicros) {
+                    continue;
+                }
+                byte rowStatus = segment.statuses.get(i);
+                if (status != ANY_STATUS && rowStatus != status) {
+                    continue;
+                }
+                int currency = segment.currencies.get(i);
+                if (currency >= rowsByCurrency.length) {
+                    torn = true;
+                    return;
+                }
+                count++;
+                rowsByStatus[rowStatus + 1]++;
+                rowsByCurrency[currency]++;
+                amountsByCurrency[currency] += segment.amounts.get(i);
+                if (firstCurrency < 0) {
+                    firstCurrency = currency;
+                }
+            }
+        }
+
+        Summary toSummary() {
+            MoneyTotals totals = new MoneyTotals();
+            if (firstCurrency >= 0) {
+                totals.add(currencies.name(firstCurrency), amountsByCurrency[firstCurrency]);
+            }
+            for (int currency = 0; currency < rowsByCurrency.length; currency++) {
+                if (currency != firstCurrency && rowsByCurrency[currency] > 0) {
+                    totals.add(currencies.name(currency), amountsByCurrency[currency]);
+                }
+            }
+            StatusCounts byStatus = new StatusCounts();
+            byStatus.addUnknown(rowsByStatus[0]);
+            for (int ordinal = 0; ordinal < TransactionStatus.count(); ordinal++) {
+                byStatus.add(TransactionStatus.ofOrdinal(ordinal), rowsByStatus[ordinal + 1]);
+            }
+            return new Summary(count, totals, byStatus);
+        }
+    }
+
+    private static final class HistogramScan extends Scan {
+
+        private final int merchant;
+        private final long bucketMicros;
+        private final int bucketCount;
+        private final int currency;
+        private long[] counts;
+        private long[] amounts;
+
+        HistogramScan(int merchant, long fromMicros, long toMicros, long bucketMicros, int bucketCount, byte status, int currency) {
+            super(fromMicros, toMicros, status);
+            this.merchant = merchant;
+            this.bucketMicros = bucketMicros;
+            this.bucketCount = bucketCount;
+            this.currency = currency;
+            reset(0, 0);
+        }
+
+        @Override
+        void reset(int merchantCount, int currencyCount) {
+            counts = new long[bucketCount];
+            amounts = new long[bucketCount];
+        }
+
+        @Override
+        void scan(Segment segment, int from, int to) {
+            if (merchant < 0) {
+                return;
+            }
+            IntBuffer merchants = segment.merchants;
+            LongBuffer timestamps = segment.timestamps;
+            for (int i = from; i < to; i++) {
+                if (merchants.get(i) != merchant) {
+                    continue;
+                }
+                long timestamp = timestamps.get(i);
+                if (timestamp < fromMicros || timestamp > toMicros) {
+                    continue;
+                }
+                if (status != ANY_STATUS && segment.statuses.get(i) != status) {
+                    continue;
+                }
+                int bucket = (int) ((timestamp - fromMicros) / bucketMicros);
+                counts[bucket]++;
+                if (segment.currencies.get(i) == currency) {
+                    amounts[bucket] += segment.amounts.get(i);
+                }
+            }
+        }
+
+        Histogram toHistogram() {
+            return new Histogram(fromMicros, bucketMicros, counts, amounts);
+        }
+    }
+
+    private static final class TopMerchantsScan extends Scan {
+
+        private final int currency;
+        private long[] counts;
+        private long[] amounts;
+
+        TopMerchantsScan(long fromMicros, long toMicros, byte status, int currency) {
+            super(fromMicros, toMicros, status);
+            this.currency = currency;
+        }
+
+        @Override
+        void reset(int merchantCount, int currencyCount) {
+            counts = new long[merchantCount];
+            amounts = new long[merchantCount];
+        }
+
+        @Override
+        void scan(Segment segment, int from, int to) {
+            LongBuffer timestamps = segment.timestamps;
+            for (int i = from; i < to; i++) {
+                long timestamp = timestamps.get(i);
+                if (timestamp < fromMicros || timestamp > toMicros) {
+                    continue;
+                }
+                if (status != ANY_STATUS && segment.statuses.get(i) != status) {
+                    continue;
+                }
+                int merchant = segment.merchants.get(i);
+                if (merchant >= counts.length) {
+                    torn = true;
+                    return;
+                }
+                counts[merchant]++;
+                if (segment.currencies.get(i) == currency) {
+                    amounts[merchant] += segment.amounts.get(i);
+                }
+            }
+        }
+    }
+
+    private static byte statusFilter(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            return ANY_STATUS;
+        }
+        TransactionStatus transactionStatus = TransactionStatus.fromCode(status);
+        return transactionStatus != null ? (byte) transactionStatus.ordinal() : UNKNOWN_STATUS;
+    }
+
+    static long microsOf(Instant instant) {
+        return TimeUnit.SECONDS.toMicros(instant.getEpochSecond()) + instant.getNano() / 1_000;
+    }
+
+    static Instant instantOf(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    // ---- Storage ----
+
+    private static final class Segment {
+
+        private final LongBuffer timestamps;
+        private final LongBuffer amounts;
+        private final IntBuffer merchants;
+        private final ShortBuffer currencies;
+        private final ByteBuffer statuses;
+        private final IntBuffer cards;
+
+        Segment(int rows) {
+            this.timestamps = allocate(rows * Long.BYTES).asLongBuffer();
+            this.amounts = allocate(rows * Long.BYTES).asLongBuffer();
+            this.merchants = allocate(rows * Integer.BYTES).asIntBuffer();
+            this.currencies = allocate(rows * Short.BYTES).asShortBuffer();
+            this.statuses = allocate(rows);
+            this.cards = allocate(rows * Integer.BYTES).asIntBuffer();
+        }
+
+        private static ByteBuffer allocate(int bytes) {
+            return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Dense IDs for repeated strings. Only the writer adds entries; readers see every
+     * entry used by a published row.
+     */
+    private static final class Dictionary {
+
+        private final int maxSize;
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private volatile String[] names = new String[64];
+        private volatile int size;
+
+        Dictionary(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        int idOf(String name) {
+            Integer id = name != null ? ids.get(name) : null;
+            return id != null ? id : -1;
+        }
+
+        int add(String name) {
+            Integer id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            int newId = size;
+            if (newId >= maxSize) {
+                throw new IllegalStateException("Too many distinct values for the recent transaction store");
+            }
+            String[] current = names;
+            if (newId == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[newId] = name;
+            names = current;
+            size = newId + 1;
+            ids.put(name, newId);
+            return newId;
+        }
+
+        String name(int id) {
+            return names[id];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    // ---- Results ----
+
+    /**
+     * Result of {@link #summarize}
+     */
+    public static final class Summary {
+
+        private final long count;
+        private final MoneyTotals totals;
+        private final StatusCounts byStatus;
+
+        Summary(long count, MoneyTotals totals, StatusCounts byStatus) {
+            this.count = count;
+            this.totals = totals;
+            this.byStatus = byStatus;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Totals per currency, first currency seen first
+         */
+        public MoneyTotals getTotals() {
+            return totals;
+        }
+
+        public StatusCounts getByStatus() {
+            return byStatus;
+        }
+    }
+
+    /**
+     * Result of {@link #histogram}: bucket i starts at from + i * bucket width
+     */
+    public static final class Histogram {
+
+        private final long fromMicros;
+        private final long bucketMicros;
+        private final long[] counts;
+        private final long[] amounts;
+
+        Histogram(long fromMicros, long bucketMicros, long[] counts, long[] amounts) {
+            this.fromMicros = fromMicros;
+            this.bucketMicros = bucketMicros;
+            this.counts = counts;
+            this.amounts = amounts;
+        }
+
+        public int size() {
+            return counts.length;
+        }
+
+        public Instant bucketStart(int bucket) {
+            return instantOf(fromMicros + bucket * bucketMicros);
+        }
+
+        public long count(int bucket) {
+            return counts[bucket];
+        }
+
+        public long amountMinor(int bucket) {
+            return amounts[bucket];
+        }
+    }
+
+    /**
+     * One entry of {@link #topMerchants}
+     */
+    public static final class MerchantTotal {
+
+        private final String merchantId;
+        private final long count;
+        private final long amountMinor;
+
+        MerchantTotal(String merchantId, long count, long amountMinor) {
+            this.merchantId = merchantId;
+            this.count = count;
+            this.amountMinor = amountMinor;
+        }
+
+        public String getMerchantId() {
+            return merchantId;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getAmountMinor() {
+            return amountMinor;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.payment.analytics;
+
+import com.payment.config.RecentTransactionsConfiguration;
+import com.payment.domain.Money;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fills the {@link RecentTransactionStore}: loads the configured window on the first run,
+ * then appends rows with a transaction ID above the highest one seen. IDs skipped by a
+ * poll (inserts that commit out of order) are re-checked until they show up or gap-timeout
+ * passes, after which they are treated as rolled back.
+ * <p>
+ * Only inserts are picked up; transaction rows are not updated by this service.
+ * Runs on the scheduler thread and reads through the reporting datasource.
+ */
+@Singleton
+@Requires(beans = RecentTransactionStore.class)
+public class TransactionTailer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionTailer.class);
+    private static final int MAX_PENDING_GAPS = 10_000;
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final int LOAD_PUBLISH_ROWS = 100_000;
+
+    /** Time and amount are converted in SQL so rows map to primitives without per-row objects */
+    private static final String COLUMNS = "SELECT txn_id, merchant_id, currency, status, card_type, card_last4, "
+        + "CAST(EXTRACT(EPOCH FROM local_txn_date_time) * 1000000 AS BIGINT) AS txn_micros, "
+        + "CAST(amount * 100 AS BIGINT) AS amount_unscaled "
+        + "FROM operators.transaction_master ";
+    private static final String LOAD_QUERY = COLUMNS + "WHERE txn_id <= ? AND local_txn_date_time >= ? ORDER BY txn_id";
+    private static final String TAIL_QUERY = COLUMNS + "WHERE txn_id > ? ORDER BY txn_id LIMIT ?";
+    private static final String GAP_QUERY = COLUMNS + "WHERE txn_id = ANY(?)";
+    private static final int AMOUNT_SCALE = 2;
+
+    private final RecentTransactionStore store;
+    private final RecentTransactionsConfiguration configuration;
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher<TransactionsAppendedEvent> eventPublisher;
+
+    // Only touched from the scheduler thread
+    private boolean loaded;
+    private long highWaterMark;
+    private final TreeMap<Long, Long> pendingGaps = new TreeMap<>();
+
+    public TransactionTailer(
+        RecentTransactionStore store,
+        RecentTransactionsConfiguration configuration,
+        @Named("reporting") DataSource dataSource,
+        ApplicationEventPublisher<TransactionsAppendedEvent> eventPublisher
+    ) {
+        this.store = store;
+        this.configuration = configuration;
+        this.dataSource = dataSource;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(fixedDelay = "${payment.recent-transactions.poll-interval:1s}")
+    void poll() {
+        try {
+            if (!loaded) {
+                load();
+            } else {
+                recheckGaps();
+                tail();
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOG.warn("Recent transaction store update failed, retrying on the next poll: {}", e.getMessage());
+        }
+    }
+
+    private void load() throws SQLException {
+        Instant loadFrom = Instant.now().minus(configuration.getWindow());
+        long started = System.nanoTime();
+        store.startLoad(loadFrom);
+
+        try (Connection connection = dataSource.getConnection()) {
+            long maxTxnId;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(
+                     "SELECT COALESCE(MAX(txn_id), 0) FROM operators.transaction_master")) {
+                resultSet.next();
+                maxTxnId = resultSet.getLong(1);
+            }
+
+            // PostgreSQL only streams with a fetch size inside a transaction
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(LOAD_QUERY)) {
+                statement.setFetchSize(LOAD_FETCH_SIZE);
+                statement.setLong(1, maxTxnId);
+                statement.setTimestamp(2, Timestamp.from(loadFrom));
+                long rows = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        append(resultSet);
+                        if (++rows % LOAD_PUBLISH_ROWS == 0) {
+                            store.publish();
+                        }
+                    }
+                }
+                connection.commit();
+                LOG.info("Recent transaction store loaded {} rows since {} in {} ms",
+                    rows, loadFrom, (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            highWaterMark = maxTxnId;
+        }
+        pendingGaps.clear();
+        loaded = true;
+        store.markReady();
+    }
+
+    private void tail() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(TAIL_QUERY)) {
+            int rows;
+            do {
+                statement.setLong(1, highWaterMark);
+                statement.setInt(2, configuration.getPollBatchSize());
+                rows = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        long txnId = resultSet.getLong("txn_id");
+                        recordGaps(txnId);
+                        append(resultSet);
+                        highWaterMark = txnId;
+                        rows++;
+                    }
+                }
+                publish();
+            } while (rows == configuration.getPollBatchSize());
+        }
+    }
+
+    /**
+     * IDs between the high-water mark and a new row may belong to inserts that have not
+     * committed yet
+     */
+    private void recordGaps(long txnId) {
+        long now = System.nanoTime();
+        for (long missing = highWaterMark + 1; missing < txnId; missing++) {
+            if (pendingGaps.size() >= MAX_PENDING_GAPS) {
+                LOG.warn("More than {} transaction IDs pending, not tracking IDs {} to {}",
+                    MAX_PENDING_GAPS, missing, txnId - 1);
+                return;
+            }
+            pendingGaps.put(missing, now);
+        }
+    }
+
+    private void recheckGaps() throws SQLException {
+        if (pendingGaps.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(GAP_QUERY)) {
+            Array ids = connection.createArrayOf("bigint", pendingGaps.keySet().toArray());
+            statement.setArray(1, ids);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    pendingGaps.remove(resultSet.getLong("txn_id"));
+                    append(resultSet);
+                }
+            }
+            publish();
+        }
+
+        long expiredBefore = System.nanoTime() - configuration.getGapTimeout().toNanos();
+        Iterator<Map.Entry<Long, Long>> gaps = pendingGaps.entrySet().iterator();
+        while (gaps.hasNext()) {
+            if (gaps.next().getValue() - expiredBefore < 0) {
+                gaps.remove();
+            }
+        }
+    }
+
+    /**
+     * Make appended rows visible and tell listeners which rows are new
+     */
+    private void publish() {
+        long fromRow = store.publishedRows();
+        store.publish();
+        long toRow = store.publishedRows();
+        if (toRow > fromRow) {
+            eventPublisher.publishEvent(new TransactionsAppendedEvent(fromRow, toRow));
+        }
+    }
+
+    private void append(ResultSet resultSet) throws SQLException {
+        String currency = resultSet.getString("currency");
+        store.append(
+            resultSet.getLong("txn_micros"),
+            Money.toMinorUnits(resultSet.getLong("amount_unscaled"), AMOUNT_SCALE, currency),
+            resultSet.getString("merchant_id"),
+            currency,
+            resultSet.getString("status"),
+            resultSet.getString("card_type"),
+            resultSet.getString("card_last4")
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.payment.analytics;
+
+/**
+ * Published by {@link TransactionTailer} after new rows become visible in the
+ * {@link RecentTransactionStore}; rows are identified by store row number
+ */
+public class TransactionsAppendedEvent {
+
+    private final long fromRow;
+    private final long toRow;
+
+    public TransactionsAppendedEvent(long fromRow, long toRow) {
+        this.fromRow = fromRow;
+        this.toRow = toRow;
+    }
+
+    /**
+     * First new row
+     */
+    public long getFromRow() {
+        return fromRow;
+    }
+
+    /**
+     * One past the last new row
+     */
+    public long getToRow() {
+        return toRow;
+    }
+}
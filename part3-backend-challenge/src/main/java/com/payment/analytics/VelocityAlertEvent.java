@@ -0,0 +1,63 @@
+package com.payment.analytics;
+
+import java.time.Instant;
+
+/**
+ * Published by {@link VelocityEngine} when a card or merchant goes over a velocity rule's
+ * threshold; at most once per rule window for each card or merchant
+ */
+public class VelocityAlertEvent {
+
+    private final String rule;
+    private final String merchantId;
+    private final int cardKey;
+    private final long total;
+    private final long threshold;
+    private final Instant at;
+
+    public VelocityAlertEvent(String rule, String merchantId, int cardKey, long total, long threshold, Instant at) {
+        this.rule = rule;
+        this.merchantId = merchantId;
+        this.cardKey = cardKey;
+        this.total = total;
+        this.threshold = threshold;
+        this.at = at;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+
+    /**
+     * Merchant of the transaction that crossed the threshold
+     */
+    public String getMerchantId() {
+        return merchantId;
+    }
+
+    /**
+     * Hash of the card type and last four digits, or 0 when the transaction had no card
+     * details
+     */
+    public int getCardKey() {
+        return cardKey;
+    }
+
+    /**
+     * Count or amount (minor units) in the window, including the transaction
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Time of the transaction that crossed the threshold
+     */
+    public Instant getAt() {
+        return at;
+    }
+}
@@ -0,0 +1,156 @@
+package com.payment.analytics;
+
+import com.payment.config.VelocityConfiguration;
+import com.payment.config.VelocityRule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the {@link VelocityEvaluator} over transactions as the {@link TransactionTailer}
+ * ingests them. The tailer only hands over the row range of each batch through a bounded
+ * queue, so ingestion never waits on the checks; a dedicated thread reads the rows back
+ * from the {@link RecentTransactionStore} and evaluates them. Alerts are logged, counted
+ * per rule and published as {@link VelocityAlertEvent}s.
+ */
+@Singleton
+@Requires(beans = RecentTransactionStore.class)
+@Requires(property = "payment.velocity.enabled", value = "true")
+public class VelocityEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VelocityEngine.class);
+    private static final long POLL_TIMEOUT_MILLIS = 1_000;
+
+    private final RecentTransactionStore store;
+    private final VelocityEvaluator evaluator;
+    private final BlockingQueue<TransactionsAppendedEvent> queue;
+    private final ApplicationEventPublisher<VelocityAlertEvent> alertPublisher;
+    private final Map<String, Counter> alerts = new HashMap<>();
+    private final Counter skipped;
+    private final Counter evictions;
+    private volatile boolean running;
+    private Thread thread;
+
+    public VelocityEngine(
+        RecentTransactionStore store,
+        VelocityConfiguration configuration,
+        List<VelocityRule> rules,
+        ApplicationEventPublisher<VelocityAlertEvent> alertPublisher,
+        MeterRegistry meterRegistry
+    ) {
+        this.store = store;
+        this.evaluator = new VelocityEvaluator(rules, configuration.getBuckets());
+        this.queue = new ArrayBlockingQueue<>(configuration.getQueueCapacity());
+        this.alertPublisher = alertPublisher;
+
+        for (VelocityRule rule : rules) {
+            alerts.put(rule.getName(), Counter.builder("payment.velocity.alerts")
+                .description("Cards or merchants that went over a velocity rule")
+                .tag("rule", rule.getName())
+                .register(meterRegistry));
+        }
+        this.skipped = Counter.builder("payment.velocity.skipped")
+            .description("Ingested transactions not checked because the queue was full or the rows were overwritten")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("payment.velocity.evictions")
+            .description("Idle velocity counters dropped")
+            .register(meterRegistry);
+        Gauge.builder("payment.velocity.counters", evaluator, VelocityEvaluator::size)
+            .description("Live velocity counters across all rules")
+            .register(meterRegistry);
+        Gauge.builder("payment.velocity.queue", queue, BlockingQueue::size)
+            .description("Ingested batches waiting for velocity checks")
+            .register(meterRegistry);
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        running = true;
+        thread = new Thread(this::run, "velocity-engine");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Called on the tailer's thread; must not block
+     */
+    @EventListener
+    void onTransactionsAppended(TransactionsAppendedEvent event) {
+        if (!queue.offer(event)) {
+            skipped.increment(event.getToRow() - event.getFromRow());
+        }
+    }
+
+    @Scheduled(fixedDelay = "${payment.velocity.eviction-interval:1m}")
+    void evictIdle() {
+        evictions.increment(evaluator.evictIdle());
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                TransactionsAppendedEvent event = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    check(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.warn("Velocity check failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void check(TransactionsAppendedEvent event) {
+        boolean complete = store.forEachRow(event.getFromRow(), event.getToRow(), -1,
+            (row, merchant, timestampMicros, amountMinor, currency, status) -> evaluator.evaluate(
+                merchant,
+                store.cardOf(row),
+                Math.floorDiv(timestampMicros, 1_000),
+                amountMinor,
+                store.currencyName(currency),
+                this::alert
+            ));
+        if (!complete) {
+            // The check fell a whole store behind; some of the rows read were already replaced
+            skipped.increment(event.getToRow() - event.getFromRow());
+            LOG.warn("Velocity checks fell behind ingestion; rows {} to {} were overwritten before they were checked",
+                event.getFromRow(), event.getToRow());
+        }
+    }
+
+    private void alert(VelocityRule rule, int merchant, int card, long total, long timestampMillis) {
+        String merchantId = store.merchantName(merchant);
+        LOG.warn("Velocity rule {} exceeded for merchant {} (card key {}): {} over {} within {}",
+            rule.getName(), merchantId, card, total, rule.getThreshold(), rule.getWindow());
+        alerts.get(rule.getName()).increment();
+        alertPublisher.publishEvent(new VelocityAlertEvent(
+            rule.getName(), merchantId, card, total, rule.getThreshold(), Instant.ofEpochMilli(timestampMillis)));
+    }
+}
@@ -0,0 +1,162 @@
+package com.payment.analytics;
+
+import com.payment.concurrent.SlidingWindowCounter;
+import com.payment.config.VelocityRule;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Velocity rules over a stream of transactions: one {@link SlidingWindowCounter} per rule
+ * and merchant, or merchant and card, created on the key's first transaction and dropped
+ * once it has been idle for a whole window. Checking a transaction is one map lookup and one counter
+ * update per rule; nothing locks, so any number of threads may evaluate at once.
+ * <p>
+ * Windows run on transaction time, so replayed or late rows count where they belong.
+ */
+public class VelocityEvaluator {
+
+    private final Rule[] rules;
+    private volatile long latestMillis;
+
+    /**
+     * @param buckets buckets each rule window is split into
+     */
+    public VelocityEvaluator(List<VelocityRule> rules, int buckets) {
+        this.rules = new Rule[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            this.rules[i] = new Rule(rules.get(i), buckets);
+        }
+    }
+
+    /**
+     * Add one transaction to every rule it falls under and report each rule it takes over
+     * the threshold
+     *
+     * @param merchant merchant key
+     * @param card     card key, or 0 when the transaction has no card details
+     */
+    public void evaluate(
+        int merchant,
+        int card,
+        long timestampMillis,
+        long amountMinor,
+        String currency,
+        AlertListener listener
+    ) {
+        if (timestampMillis > latestMillis) {
+            latestMillis = timestampMillis;
+        }
+        for (Rule rule : rules) {
+            long key = rule.perCard ? cardKey(merchant, card) : merchant;
+            if ((rule.perCard && card == 0) || (rule.byAmount && !rule.currency.equals(currency))) {
+                continue;
+            }
+            Tracker tracker = rule.trackers.get(key);
+            if (tracker == null) {
+                tracker = rule.trackers.computeIfAbsent(key, k -> new Tracker(rule.windowMillis, rule.buckets));
+            }
+            long total = tracker.counter.add(timestampMillis, rule.byAmount ? Math.max(0, amountMinor) : 1);
+            if (total > rule.config.getThreshold() && tracker.claimAlert(timestampMillis, rule.windowMillis)) {
+                listener.onAlert(rule.config, merchant, card, total, timestampMillis);
+            }
+        }
+    }
+
+    /**
+     * Drop counters with nothing in their window, judged against the latest transaction
+     * time seen
+     *
+     * @return counters dropped
+     */
+    public int evictIdle() {
+        long now = latestMillis;
+        int evicted = 0;
+        for (Rule rule : rules) {
+            for (Map.Entry<Long, Tracker> entry : rule.trackers.entrySet()) {
+                if (entry.getValue().counter.isIdle(now) && rule.trackers.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Counters currently held across all rules
+     */
+    public int size() {
+        int size = 0;
+        for (Rule rule : rules) {
+            size += rule.trackers.size();
+        }
+        return size;
+    }
+
+    /**
+     * A card is counted per merchant, so one card at two merchants has two windows. The
+     * packed pair goes through a bijective mix: the key stays unique, but its hash no longer
+     * reduces to merchant ^ card, which maps most live pairs onto a few thousand map bins
+     */
+    static long cardKey(int merchant, int card) {
+        long key = (long) merchant << Integer.SIZE | (card & 0xFFFFFFFFL);
+        key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+        key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+        return key ^ (key >>> 31);
+    }
+
+    @FunctionalInterface
+    public interface AlertListener {
+
+        void onAlert(VelocityRule rule, int merchant, int card, long total, long timestampMillis);
+    }
+
+    private static final class Rule {
+
+        private final VelocityRule config;
+        private final boolean perCard;
+        private final boolean byAmount;
+        private final String currency;
+        private final long windowMillis;
+        private final int buckets;
+        private final Map<Long, Tracker> trackers = new ConcurrentHashMap<>();
+
+        private Rule(VelocityRule config, int buckets) {
+            if (!VelocityRule.SCOPE_CARD.equals(config.getScope()) && !VelocityRule.SCOPE_MERCHANT.equals(config.getScope())) {
+                throw new IllegalStateException("Velocity rule '" + config.getName() + "' has unknown scope " + config.getScope());
+            }
+            if (!VelocityRule.MEASURE_COUNT.equals(config.getMeasure()) && !VelocityRule.MEASURE_AMOUNT.equals(config.getMeasure())) {
+                throw new IllegalStateException("Velocity rule '" + config.getName() + "' has unknown measure " + config.getMeasure());
+            }
+            this.config = config;
+            this.perCard = VelocityRule.SCOPE_CARD.equals(config.getScope());
+            this.byAmount = VelocityRule.MEASURE_AMOUNT.equals(config.getMeasure());
+            if (byAmount && config.getCurrency() == null) {
+                throw new IllegalStateException("Velocity rule '" + config.getName() + "' measures amount but has no currency");
+            }
+            this.currency = config.getCurrency();
+            this.windowMillis = config.getWindow().toMillis();
+            this.buckets = buckets;
+        }
+    }
+
+    /**
+     * One key's counter, and the time until which it stays quiet after an alert
+     */
+    private static final class Tracker {
+
+        private final SlidingWindowCounter counter;
+        private final AtomicLong quietUntil = new AtomicLong(Long.MIN_VALUE);
+
+        private Tracker(long windowMillis, int buckets) {
+            this.counter = new SlidingWindowCounter(windowMillis, buckets);
+        }
+
+        boolean claimAlert(long timestampMillis, long windowMillis) {
+            long until = quietUntil.get();
+            return timestampMillis >= until && quietUntil.compareAndSet(until, timestampMillis + windowMillis);
+        }
+    }
+}
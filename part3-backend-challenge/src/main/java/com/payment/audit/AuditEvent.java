@@ -0,0 +1,46 @@
+package com.payment.audit;
+
+import java.time.Instant;
+
+/**
+ * One audited write, as stored in operators.audit_log
+ */
+public class AuditEvent {
+
+    private final Instant occurredAt;
+    private final String action;
+    private final String entityType;
+    private final String entityId;
+    private final String details;
+
+    public AuditEvent(Instant occurredAt, String action, String entityType, String entityId, String details) {
+        this.occurredAt = occurredAt;
+        this.action = action;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.details = details;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    /**
+     * What was done, e.g. create, update or delete
+     */
+    public String getAction() {
+        return action;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+}
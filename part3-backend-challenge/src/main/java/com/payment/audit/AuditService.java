@@ -0,0 +1,220 @@
+package com.payment.audit;
+
+import com.payment.config.AuditConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audit trail of API writes, kept off the request path: {@link #log} only puts the event
+ * in a bounded buffer, and a dedicated writer thread inserts buffered events into
+ * operators.audit_log in batches of up to flush-size, at least every flush-interval.
+ * <p>
+ * A full buffer is handled by the configured {@link AuditConfiguration.OverflowPolicy}.
+ * A batch that fails to insert is logged and counted, not retried. On shutdown the
+ * writer drains the buffer before the datasource closes, for up to shutdown-timeout.
+ */
+@Singleton
+public class AuditService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditService.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long DROP_WARNING_INTERVAL_MILLIS = 10_000;
+    private static final String INSERT = "INSERT INTO operators.audit_log "
+        + "(occurred_at, action, entity_type, entity_id, details) VALUES (?, ?, ?, ?, ?)";
+
+    private final AuditConfiguration configuration;
+    private final DataSource dataSource;
+    private final BlockingQueue<AuditEvent> buffer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final AtomicLong lastDropWarning = new AtomicLong();
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public AuditService(AuditConfiguration configuration, DataSource dataSource, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.dataSource = dataSource;
+        this.buffer = new ArrayBlockingQueue<>(configuration.getBufferSize());
+        this.written = outcomeCounter(meterRegistry, "written");
+        this.dropped = outcomeCounter(meterRegistry, "dropped");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        Gauge.builder("payment.audit.buffered", buffer, BlockingQueue::size)
+            .description("Audit events waiting to be written")
+            .register(meterRegistry);
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(configuration.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            LOG.warn("Audit writer did not finish within {}; {} events not written",
+                configuration.getShutdownTimeout(), buffer.size());
+            return;
+        }
+        // Events buffered while the writer was exiting
+        List<AuditEvent> rest = new ArrayList<>();
+        buffer.drainTo(rest);
+        if (!rest.isEmpty()) {
+            write(rest);
+        }
+    }
+
+    /**
+     * Record a write. Returns once the event is buffered; under the BLOCK policy that can
+     * take up to block-timeout when the buffer is full.
+     */
+    public void log(String action, String entityType, String entityId, String details) {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(Instant.now(), action, entityType, entityId, details);
+        switch (configuration.getOverflowPolicy()) {
+            case BLOCK:
+                try {
+                    if (!buffer.offer(event, configuration.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                        drop(1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(1);
+                }
+                break;
+            case DROP_OLDEST:
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null) {
+                        drop(1);
+                    }
+                }
+                break;
+            default:
+                if (!buffer.offer(event)) {
+                    drop(1);
+                }
+        }
+    }
+
+    private void run() {
+        int flushSize = configuration.getFlushSize();
+        long flushIntervalNanos = configuration.getFlushInterval().toNanos();
+        List<AuditEvent> batch = new ArrayList<>(flushSize);
+        while (true) {
+            try {
+                AuditEvent first = buffer.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+
+                // Fill the batch until it is full or the first event has waited flush-interval
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < flushSize) {
+                    buffer.drainTo(batch, flushSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    AuditEvent next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Insert the batch in one transaction
+     */
+    private void write(List<AuditEvent> batch) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (AuditEvent event : batch) {
+                    statement.setTimestamp(1, Timestamp.from(event.getOccurredAt()));
+                    statement.setString(2, event.getAction());
+                    statement.setString(3, event.getEntityType());
+                    statement.setString(4, event.getEntityId());
+                    statement.setString(5, event.getDetails());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            written.increment(batch.size());
+        } catch (SQLException | RuntimeException e) {
+            failed.increment(batch.size());
+            LOG.warn("Failed to write {} audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void drop(int events) {
+        dropped.increment(events);
+        long now = System.currentTimeMillis();
+        long last = lastDropWarning.get();
+        if (now - last >= DROP_WARNING_INTERVAL_MILLIS && lastDropWarning.compareAndSet(last, now)) {
+            LOG.warn("Audit buffer full, dropping events (overflow policy {})", configuration.getOverflowPolicy());
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("payment.audit.events")
+            .description("Audit events by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.payment.cache;
+
+import java.util.Set;
+
+/**
+ * Published by {@link CacheInvalidationBus} for each cache named in a notification,
+ * whether it came from this node, another node or a database trigger
+ */
+public class CacheInvalidatedEvent {
+
+    private final String cache;
+    private final Set<String> keys;
+
+    public CacheInvalidatedEvent(String cache, Set<String> keys) {
+        this.cache = cache;
+        this.keys = keys;
+    }
+
+    public String getCache() {
+        return cache;
+    }
+
+    /**
+     * Invalidated keys, or just {@code *} for the whole cache
+     */
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    public boolean isWholeCache() {
+        return keys.contains(CacheInvalidationBus.ALL_KEYS);
+    }
+}
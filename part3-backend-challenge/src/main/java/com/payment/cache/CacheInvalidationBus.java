@@ -0,0 +1,235 @@
+package com.payment.cache;
+
+import com.payment.config.CacheInvalidationConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evicts cache entries on this node straight away and on every other node through
+ * PostgreSQL NOTIFY. Invalidations are coalesced for batch-delay and sent as one
+ * notification per batch; {@link PgNotificationListener} applies what arrives and each
+ * cache named in it is announced as a {@link CacheInvalidatedEvent}.
+ * <p>
+ * Messages are lines of {@code <cache>|<key>,<key>,...}, with {@code *} for the whole
+ * cache. An entry matches a key when its cache key, or the first element of a list
+ * cache key, has that string form.
+ */
+@Singleton
+public class CacheInvalidationBus {
+
+    public static final String MERCHANTS = "merchants";
+    public static final String MEMBERS = "members";
+    public static final String SUMMARIES = "summaries";
+
+    static final String ALL_KEYS = "*";
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    /** NOTIFY payloads must stay below 8000 bytes */
+    private static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    private final CacheManager<?> cacheManager;
+    private final DataSource dataSource;
+    private final TaskScheduler scheduler;
+    private final CacheInvalidationConfiguration configuration;
+    private final ApplicationEventPublisher<CacheInvalidatedEvent> eventPublisher;
+    private final Counter sent;
+    private final Counter received;
+
+    private final Object lock = new Object();
+    private Map<String, Set<String>> pending = new HashMap<>();
+    private boolean flushScheduled;
+
+    public CacheInvalidationBus(
+        CacheManager<?> cacheManager,
+        DataSource dataSource,
+        @Named(TaskExecutors.SCHEDULED) TaskScheduler scheduler,
+        CacheInvalidationConfiguration configuration,
+        ApplicationEventPublisher<CacheInvalidatedEvent> eventPublisher,
+        MeterRegistry meterRegistry
+    ) {
+        this.cacheManager = cacheManager;
+        this.dataSource = dataSource;
+        this.scheduler = scheduler;
+        this.configuration = configuration;
+        this.eventPublisher = eventPublisher;
+        this.sent = Counter.builder("payment.cache.notifications")
+            .description("Cache invalidation notifications")
+            .tag("direction", "sent")
+            .register(meterRegistry);
+        this.received = Counter.builder("payment.cache.notifications")
+            .description("Cache invalidation notifications")
+            .tag("direction", "received")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Evict the entry here now and on the other nodes with the next batch. Call after the
+     * write has committed.
+     */
+    public void invalidate(String cache, Object key) {
+        Map<String, Set<String>> eviction = Map.of(cache, Set.of(String.valueOf(key)));
+        evict(eviction);
+        scheduler.schedule(configuration.getRepeatAfter(), () -> evict(eviction));
+        if (!configuration.isEnabled()) {
+            return;
+        }
+
+        synchronized (lock) {
+            Set<String> keys = pending.computeIfAbsent(cache, name -> new LinkedHashSet<>());
+            if (!keys.contains(ALL_KEYS)) {
+                keys.add(String.valueOf(key));
+                if (keys.size() > configuration.getMaxKeysPerCache()) {
+                    keys.clear();
+                    keys.add(ALL_KEYS);
+                }
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(configuration.getBatchDelay(), this::flush);
+            }
+        }
+    }
+
+    /**
+     * Apply a notification payload from any node, this one included
+     */
+    void onNotification(String payload) {
+        received.increment();
+        Map<String, Set<String>> eviction = decode(payload);
+        evict(eviction);
+        scheduler.schedule(configuration.getRepeatAfter(), () -> evict(eviction));
+        eviction.forEach((cache, keys) -> eventPublisher.publishEvent(new CacheInvalidatedEvent(cache, keys)));
+    }
+
+    /**
+     * Evict everything, for when notifications may have been missed
+     */
+    void invalidateAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            cacheManager.getCache(name).invalidateAll();
+        }
+    }
+
+    private void flush() {
+        Map<String, Set<String>> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new HashMap<>();
+            flushScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : encode(batch)) {
+                statement.setString(1, configuration.getChannel());
+                statement.setString(2, payload);
+                try (ResultSet ignored = statement.executeQuery()) {
+                    sent.increment();
+                }
+            }
+        } catch (SQLException e) {
+            // Other nodes fall back to the cache TTLs for this batch
+            LOG.warn("Could not send cache invalidations {}: {}", batch.keySet(), e.getMessage());
+        }
+    }
+
+    private void evict(Map<String, Set<String>> eviction) {
+        eviction.forEach((name, keys) -> {
+            SyncCache<?> cache;
+            try {
+                cache = cacheManager.getCache(name);
+            } catch (RuntimeException e) {
+                LOG.debug("Ignoring invalidation for unknown cache {}", name);
+                return;
+            }
+            if (keys.contains(ALL_KEYS)) {
+                cache.invalidateAll();
+            } else if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                nativeCache.asMap().keySet().removeIf(cacheKey -> keys.contains(keyOf(cacheKey)));
+            } else {
+                keys.forEach(cache::invalidate);
+            }
+        });
+    }
+
+    private static String keyOf(Object cacheKey) {
+        if (cacheKey instanceof List<?> list && !list.isEmpty()) {
+            return String.valueOf(list.get(0));
+        }
+        return String.valueOf(cacheKey);
+    }
+
+    /**
+     * Split into payloads below the NOTIFY limit; a cache whose keys alone exceed it is
+     * sent as a whole-cache eviction
+     */
+    static List<String> encode(Map<String, Set<String>> batch) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        int payloadBytes = 0;
+        for (Map.Entry<String, Set<String>> entry : batch.entrySet()) {
+            String line = entry.getKey() + "|" + String.join(",", entry.getValue());
+            int lineBytes = line.getBytes(StandardCharsets.UTF_8).length;
+            if (lineBytes > MAX_PAYLOAD_BYTES) {
+                line = entry.getKey() + "|" + ALL_KEYS;
+                lineBytes = line.getBytes(StandardCharsets.UTF_8).length;
+            }
+            if (payloadBytes > 0 && payloadBytes + 1 + lineBytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+                payloadBytes = 0;
+            }
+            if (payloadBytes > 0) {
+                payload.append('\n');
+                payloadBytes++;
+            }
+            payload.append(line);
+            payloadBytes += lineBytes;
+        }
+        if (payloadBytes > 0) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    static Map<String, Set<String>> decode(String payload) {
+        Map<String, Set<String>> eviction = new HashMap<>();
+        for (String line : payload.split("\n")) {
+            int separator = line.indexOf('|');
+            if (separator <= 0) {
+                continue;
+            }
+            Set<String> keys = eviction.computeIfAbsent(line.substring(0, separator), name -> new LinkedHashSet<>());
+            for (String key : line.substring(separator + 1).split(",")) {
+                if (!key.isEmpty()) {
+                    keys.add(key);
+                }
+            }
+        }
+        return eviction;
+    }
+}
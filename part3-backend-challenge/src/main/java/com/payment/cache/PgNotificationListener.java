@@ -0,0 +1,122 @@
+package com.payment.cache;
+
+import com.payment.config.CacheInvalidationConfiguration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens on the cache invalidation channel and hands notifications to the
+ * {@link CacheInvalidationBus}. Holds its own connection to the primary rather than a pool
+ * slot. Each (re)connect evicts every cache, since notifications sent while disconnected
+ * are lost.
+ */
+@Singleton
+@Requires(property = "payment.cache-invalidation.enabled", notEquals = "false")
+public class PgNotificationListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PgNotificationListener.class);
+    private static final int POLL_TIMEOUT_MILLIS = 1_000;
+
+    private final CacheInvalidationBus bus;
+    private final CacheInvalidationConfiguration configuration;
+    private final String url;
+    private final String username;
+    private final String password;
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public PgNotificationListener(
+        CacheInvalidationBus bus,
+        CacheInvalidationConfiguration configuration,
+        @Value("${datasources.default.url}") String url,
+        @Value("${datasources.default.username}") String username,
+        @Value("${datasources.default.password}") String password
+    ) {
+        if (!configuration.getChannel().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + configuration.getChannel());
+        }
+        this.bus = bus;
+        this.configuration = configuration;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        running = true;
+        thread = new Thread(this::listen, "pg-notification-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        closeQuietly(connection);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listening = DriverManager.getConnection(url, username, password)) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + configuration.getChannel());
+                }
+                bus.invalidateAll();
+                LOG.info("Listening for cache invalidations on {}", configuration.getChannel());
+
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            bus.onNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                LOG.warn("Cache invalidation listener disconnected, reconnecting in {}: {}",
+                    configuration.getReconnectDelay(), e.getMessage());
+                try {
+                    Thread.sleep(configuration.getReconnectDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // shutting down
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.payment.concurrent;
+
+import com.payment.config.BulkheadConfiguration;
+import com.payment.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.EachBean;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Semaphore bulkhead: at most maxConcurrent calls run at once, at most maxWaiting calls
+ * queue for a permit, and queued calls give up after maxWait. One bean per entry under
+ * payment.bulkheads, injectable with {@code @Named("<name>")}.
+ */
+@EachBean(BulkheadConfiguration.class)
+public class Bulkhead {
+
+    private final String name;
+    private final int maxWaiting;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public Bulkhead(BulkheadConfiguration configuration, MeterRegistry meterRegistry) {
+        this.name = configuration.getName();
+        this.maxWaiting = configuration.getMaxWaiting();
+        this.maxWaitNanos = configuration.getMaxWait().toNanos();
+        this.permits = new Semaphore(configuration.getMaxConcurrent());
+
+        int maxConcurrent = configuration.getMaxConcurrent();
+        Gauge.builder("payment.bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+            .description("Calls currently running in the bulkhead")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+        Gauge.builder("payment.bulkhead.waiting", waiting, AtomicInteger::get)
+            .description("Calls queued for a bulkhead permit")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+        this.rejected = Counter.builder("payment.bulkhead.rejected")
+            .description("Calls rejected because the bulkhead was full")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("payment.bulkhead.wait")
+            .description("Time spent waiting for a bulkhead permit")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Run the work inside the bulkhead
+     *
+     * @throws BulkheadFullException if no permit could be obtained
+     */
+    public <T> T execute(Supplier<T> work) {
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new BulkheadFullException(name);
+        }
+
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException(name);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.payment.concurrent;
+
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.BeanContext;
+import io.micronaut.inject.qualifiers.Qualifiers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies {@link WithBulkhead} by resolving the named {@link Bulkhead} bean
+ */
+@InterceptorBean(WithBulkhead.class)
+public class BulkheadInterceptor implements MethodInterceptor<Object, Object> {
+
+    private final BeanContext beanContext;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadInterceptor(BeanContext beanContext) {
+        this.beanContext = beanContext;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        String name = context.stringValue(WithBulkhead.class)
+            .orElseThrow(() -> new IllegalStateException("@WithBulkhead requires a bulkhead name"));
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(name,
+            n -> beanContext.getBean(Bulkhead.class, Qualifiers.byName(n)));
+        return bulkhead.execute(context::proceed);
+    }
+}
@@ -0,0 +1,146 @@
+package com.payment.concurrent;
+
+import com.payment.config.RateLimitConfiguration;
+import com.payment.config.RateLimitTier;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission control: one global {@link TokenBucket} plus one per active merchant, sized by
+ * the merchant's tier. Buckets exist only for merchants sending traffic, are dropped once
+ * they have refilled, and are capped in number: merchants arriving while the cap is reached
+ * share one overflow bucket.
+ */
+@Singleton
+@Requires(property = "payment.rate-limits.enabled", notEquals = "false")
+public class MerchantRateLimiter {
+
+    public static final String SCOPE_MERCHANT = "merchant";
+    public static final String SCOPE_GLOBAL = "global";
+
+    private final Map<String, RateLimitTier> tierByMerchant = new HashMap<>();
+    private final RateLimitTier defaultTier;
+    private final TokenBucket global;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final TokenBucket overflow;
+    private final MeterRegistry meterRegistry;
+
+    public MerchantRateLimiter(
+        RateLimitConfiguration configuration,
+        List<RateLimitTier> tiers,
+        MeterRegistry meterRegistry
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.defaultTier = tiers.stream()
+            .filter(tier -> tier.getName().equals(configuration.getDefaultTier()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException(
+                "payment.rate-limits.default-tier '" + configuration.getDefaultTier() + "' is not configured"));
+        for (RateLimitTier tier : tiers) {
+            tier.getMerchants().forEach(merchantId -> tierByMerchant.put(merchantId, tier));
+        }
+        this.global = new TokenBucket(configuration.getGlobalRequestsPerSecond(), configuration.getGlobalBurst(), System.nanoTime());
+        this.maxBuckets = configuration.getMaxMerchantBuckets();
+        this.overflow = new TokenBucket(defaultTier.getRequestsPerSecond(), defaultTier.getBurst(), System.nanoTime());
+
+        Gauge.builder("payment.rate-limit.buckets", buckets, Map::size)
+            .description("Merchants with a live rate-limit bucket")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Admit one request. The global bucket is checked first, so traffic over the global
+     * limit never creates merchant buckets; its token is given back when the merchant bucket
+     * then refuses, so a merchant over its own limit does not use up global capacity.
+     *
+     * @param merchantId merchant the request is for, or null for requests not tied to one
+     * @return null if admitted, otherwise the rejection
+     */
+    public Rejection tryAcquire(String merchantId) {
+        long now = System.nanoTime();
+        long waitNanos = global.tryAcquire(now);
+        if (waitNanos > 0) {
+            return reject(SCOPE_GLOBAL, "all", waitNanos);
+        }
+        if (merchantId == null) {
+            return null;
+        }
+
+        RateLimitTier tier = tierByMerchant.get(merchantId);
+        waitNanos = bucketFor(merchantId, tier, now).tryAcquire(now);
+        if (waitNanos > 0) {
+            global.refund();
+            return reject(SCOPE_MERCHANT, tier != null ? tier.getName() : defaultTier.getName(), waitNanos);
+        }
+        return null;
+    }
+
+    private TokenBucket bucketFor(String merchantId, RateLimitTier tier, long now) {
+        TokenBucket bucket = buckets.get(merchantId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (tier == null && buckets.size() >= maxBuckets) {
+            return overflow;
+        }
+        RateLimitTier limits = tier != null ? tier : defaultTier;
+        return buckets.computeIfAbsent(merchantId,
+            id -> new TokenBucket(limits.getRequestsPerSecond(), limits.getBurst(), now));
+    }
+
+    private Rejection reject(String scope, String tier, long waitNanos) {
+        meterRegistry.counter("payment.rate-limit.rejected", "scope", scope, "tier", tier).increment();
+        return new Rejection(scope, waitNanos);
+    }
+
+    /**
+     * A full bucket is indistinguishable from a new one, so dropping it loses nothing.
+     * A request racing with removal may update the dropped bucket; the merchant then gets
+     * at most one extra burst.
+     */
+    @Scheduled(
+        fixedDelay = "${payment.rate-limits.eviction-interval:1m}",
+        initialDelay = "${payment.rate-limits.eviction-interval:1m}"
+    )
+    void evictFullBuckets() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+    }
+
+    /**
+     * Why a request was not admitted and when to retry
+     */
+    public static final class Rejection {
+
+        private final String scope;
+        private final long waitNanos;
+
+        Rejection(String scope, long waitNanos) {
+            this.scope = scope;
+            this.waitNanos = waitNanos;
+        }
+
+        /**
+         * {@link #SCOPE_MERCHANT} or {@link #SCOPE_GLOBAL}
+         */
+        public String getScope() {
+            return scope;
+        }
+
+        /**
+         * Whole seconds for the Retry-After header, at least 1
+         */
+        public long getRetryAfterSeconds() {
+            return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        }
+    }
+}
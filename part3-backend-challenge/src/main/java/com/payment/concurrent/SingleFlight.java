@@ -0,0 +1,79 @@
+package com.payment.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller runs the work, callers
+ * arriving while it is in flight wait for and share its result or exception, each for no
+ * longer than it can afford. Nothing is cached; once the call completes the next caller
+ * runs the work again.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Run the work, or join an identical call already in flight and wait for it however
+     * long it takes
+     *
+     * @param onShared called when this caller joins another caller's flight
+     */
+    public V execute(K key, Supplier<V> work, Runnable onShared) {
+        try {
+            return execute(key, work, onShared, Long.MAX_VALUE);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Unbounded wait timed out", e);
+        }
+    }
+
+    /**
+     * Run the work, or join an identical call already in flight
+     *
+     * @param onShared     called when this caller joins another caller's flight
+     * @param maxWaitNanos longest this caller waits for a flight it joined
+     * @throws TimeoutException if the joined flight did not finish within maxWaitNanos
+     */
+    public V execute(K key, Supplier<V> work, Runnable onShared, long maxWaitNanos) throws TimeoutException {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            onShared.run();
+            return await(existing, maxWaitNanos);
+        }
+
+        try {
+            V result = work.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> flight, long maxWaitNanos) throws TimeoutException {
+        try {
+            return flight.get(Math.max(0, maxWaitNanos), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+}
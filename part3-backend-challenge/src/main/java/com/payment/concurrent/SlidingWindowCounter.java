@@ -0,0 +1,94 @@
+package com.payment.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding-window sum: the window is split into buckets held in a ring, and each
+ * slot packs the bucket's epoch with its running total so one CAS both adds to a bucket
+ * and recycles a slot left over from an older one. The sum covers the current bucket and
+ * the buckets before it, so the window is exact to within one bucket.
+ * <p>
+ * Time is supplied by the caller in epoch millis. Values older than the window are
+ * ignored. Bucket totals saturate at 2^40 - 1. A slot that is all zero is unused and is
+ * always claimed, whatever the current epoch.
+ */
+public class SlidingWindowCounter {
+
+    private static final int VALUE_BITS = 40;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+    private static final long EPOCH_MASK = (1L << (Long.SIZE - VALUE_BITS)) - 1;
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final AtomicLongArray slots;
+    private volatile long lastAddMillis;
+
+    /**
+     * @param windowMillis length of the window
+     * @param buckets      slots the window is split into; more buckets slide more smoothly
+     */
+    public SlidingWindowCounter(long windowMillis, int buckets) {
+        if (buckets < 1 || windowMillis < buckets) {
+            throw new IllegalArgumentException("Window must be at least one millisecond per bucket");
+        }
+        this.bucketMillis = windowMillis / buckets;
+        this.buckets = buckets;
+        this.slots = new AtomicLongArray(buckets);
+    }
+
+    /**
+     * Add a non-negative value at the given time
+     *
+     * @return the window total at that time, including the value
+     */
+    public long add(long nowMillis, long value) {
+        long epoch = Math.floorDiv(nowMillis, bucketMillis);
+        long stamp = epoch & EPOCH_MASK;
+        int index = Math.floorMod(epoch, buckets);
+        while (true) {
+            long slot = slots.get(index);
+            long slotStamp = slot >>> VALUE_BITS;
+            long total;
+            if (slotStamp == stamp) {
+                total = Math.min(VALUE_MASK, (slot & VALUE_MASK) + value);
+            } else if (slot == 0 || ((stamp - slotStamp) & EPOCH_MASK) <= EPOCH_MASK / 2) {
+                // The slot is unused, or holds a bucket that has slid out of the window.
+                // Stamps wrap, so an unused slot's zero stamp can look like a later bucket
+                total = Math.min(VALUE_MASK, value);
+            } else {
+                // The slot already holds a later bucket; the value is older than the window
+                break;
+            }
+            if (slots.compareAndSet(index, slot, stamp << VALUE_BITS | total)) {
+                break;
+            }
+        }
+        if (nowMillis > lastAddMillis) {
+            lastAddMillis = nowMillis;
+        }
+        return sum(nowMillis);
+    }
+
+    /**
+     * Window total at the given time
+     */
+    public long sum(long nowMillis) {
+        long stamp = Math.floorDiv(nowMillis, bucketMillis) & EPOCH_MASK;
+        long sum = 0;
+        for (int i = 0; i < buckets; i++) {
+            long slot = slots.get(i);
+            if (((stamp - (slot >>> VALUE_BITS)) & EPOCH_MASK) < buckets) {
+                sum += slot & VALUE_MASK;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * True once nothing has been added for a whole window; the counter then sums to zero
+     * and can be dropped
+     */
+    public boolean isIdle(long nowMillis) {
+        return nowMillis - lastAddMillis >= bucketMillis * buckets;
+    }
+}
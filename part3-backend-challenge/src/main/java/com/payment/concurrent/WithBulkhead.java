@@ -0,0 +1,25 @@
+package com.payment.concurrent;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method (or every public method of the annotated bean) inside the
+ * named {@link Bulkhead}
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface WithBulkhead {
+
+    /**
+     * Bulkhead name, as configured under payment.bulkheads
+     */
+    String value();
+}
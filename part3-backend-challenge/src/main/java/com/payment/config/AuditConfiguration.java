@@ -0,0 +1,100 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the audit log writer
+ */
+@ConfigurationProperties("payment.audit")
+public class AuditConfiguration {
+
+    private boolean enabled = true;
+    private int bufferSize = 8_192;
+    private int flushSize = 500;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private Duration blockTimeout = Duration.ofMillis(100);
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * What happens to an event logged while the buffer is full
+     */
+    public enum OverflowPolicy {
+        /** Wait up to block-timeout for space, then drop the event */
+        BLOCK,
+        /** Drop the event being logged */
+        DROP_NEWEST,
+        /** Drop the oldest buffered event to make room */
+        DROP_OLDEST
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Events buffered for the writer
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Most events written in one batch insert
+     */
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    public void setFlushSize(int flushSize) {
+        this.flushSize = flushSize;
+    }
+
+    /**
+     * Longest an event waits for its batch to fill before the batch is written anyway
+     */
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public Duration getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    public void setBlockTimeout(Duration blockTimeout) {
+        this.blockTimeout = blockTimeout;
+    }
+
+    /**
+     * How long shutdown waits for buffered events to be written
+     */
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
@@ -0,0 +1,59 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+
+import java.time.Duration;
+
+/**
+ * Limits for a named bulkhead, configured under payment.bulkheads.{name}
+ */
+@EachProperty("payment.bulkheads")
+public class BulkheadConfiguration {
+
+    private final String name;
+    private int maxConcurrent = 10;
+    private int maxWaiting = 20;
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    public BulkheadConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Calls allowed to run at once; keep at or below the matching connection pool size
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * Calls allowed to queue for a permit; beyond this calls are rejected immediately
+     */
+    public int getMaxWaiting() {
+        return maxWaiting;
+    }
+
+    public void setMaxWaiting(int maxWaiting) {
+        this.maxWaiting = maxWaiting;
+    }
+
+    /**
+     * How long a queued call waits for a permit before it is rejected
+     */
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+}
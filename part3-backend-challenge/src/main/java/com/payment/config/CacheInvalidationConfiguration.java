@@ -0,0 +1,77 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for cluster-wide cache invalidation over PostgreSQL LISTEN/NOTIFY
+ */
+@ConfigurationProperties("payment.cache-invalidation")
+public class CacheInvalidationConfiguration {
+
+    private boolean enabled = true;
+    private String channel = "payment_cache";
+    private Duration batchDelay = Duration.ofMillis(5);
+    private int maxKeysPerCache = 200;
+    private Duration repeatAfter = Duration.ofSeconds(2);
+    private Duration reconnectDelay = Duration.ofSeconds(2);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Invalidations within this window are coalesced into one notification
+     */
+    public Duration getBatchDelay() {
+        return batchDelay;
+    }
+
+    public void setBatchDelay(Duration batchDelay) {
+        this.batchDelay = batchDelay;
+    }
+
+    /**
+     * Beyond this many keys in one batch the whole cache is evicted instead
+     */
+    public int getMaxKeysPerCache() {
+        return maxKeysPerCache;
+    }
+
+    public void setMaxKeysPerCache(int maxKeysPerCache) {
+        this.maxKeysPerCache = maxKeysPerCache;
+    }
+
+    /**
+     * Evictions are applied a second time after this delay, removing entries refilled by
+     * reads that started before the write or were served by a lagging replica
+     */
+    public Duration getRepeatAfter() {
+        return repeatAfter;
+    }
+
+    public void setRepeatAfter(Duration repeatAfter) {
+        this.repeatAfter = repeatAfter;
+    }
+
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+}
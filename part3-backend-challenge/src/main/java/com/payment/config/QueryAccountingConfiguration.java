@@ -0,0 +1,44 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * Settings for per-request query accounting and N+1 detection
+ */
+@ConfigurationProperties("payment.query-accounting")
+public class QueryAccountingConfiguration {
+
+    private boolean enabled = true;
+    private int repeatedStatementThreshold = 10;
+    private boolean failOnRepeatedStatements = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * A request running the same statement shape more than this many times is reported as N+1
+     */
+    public int getRepeatedStatementThreshold() {
+        return repeatedStatementThreshold;
+    }
+
+    public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    /**
+     * Throw instead of logging a warning; meant for the test environment
+     */
+    public boolean isFailOnRepeatedStatements() {
+        return failOnRepeatedStatements;
+    }
+
+    public void setFailOnRepeatedStatements(boolean failOnRepeatedStatements) {
+        this.failOnRepeatedStatements = failOnRepeatedStatements;
+    }
+}
@@ -0,0 +1,60 @@
+package com.payment.config;
+
+import com.payment.jdbc.QueryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attaches a {@link QueryStats} to each API request and reports it back as a
+ * Server-Timing header and as per-route metrics
+ */
+@Filter("/api/**")
+@Requires(property = "payment.query-accounting.enabled", notEquals = "false")
+public class QueryAccountingFilter implements HttpServerFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryAccountingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        QueryStats stats = new QueryStats();
+        request.setAttribute(QueryStats.REQUEST_ATTRIBUTE, stats);
+
+        return Flux.from(chain.proceed(request))
+            .doOnNext(response -> {
+                response.header("Server-Timing", stats.toServerTiming());
+
+                String uri = request.getAttribute(HttpAttributes.URI_TEMPLATE, String.class).orElse("UNMATCHED");
+                DistributionSummary.builder("http.server.db.queries")
+                    .description("Statements executed per request")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.getQueryCount());
+                DistributionSummary.builder("http.server.db.rows")
+                    .description("Rows fetched per request")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.getRowsFetched());
+                Timer.builder("http.server.db.time")
+                    .description("Database time per request")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+            });
+    }
+}
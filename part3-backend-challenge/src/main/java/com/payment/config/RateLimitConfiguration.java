@@ -0,0 +1,80 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for per-merchant and global admission control on the API
+ */
+@ConfigurationProperties("payment.rate-limits")
+public class RateLimitConfiguration {
+
+    private boolean enabled = true;
+    private String defaultTier = "standard";
+    private double globalRequestsPerSecond = 500;
+    private int globalBurst = 1000;
+    private Duration evictionInterval = Duration.ofMinutes(1);
+    private int maxMerchantBuckets = 100_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Tier for merchants not listed in any tier
+     */
+    public String getDefaultTier() {
+        return defaultTier;
+    }
+
+    public void setDefaultTier(String defaultTier) {
+        this.defaultTier = defaultTier;
+    }
+
+    /**
+     * Sustained requests per second across all API clients
+     */
+    public double getGlobalRequestsPerSecond() {
+        return globalRequestsPerSecond;
+    }
+
+    public void setGlobalRequestsPerSecond(double globalRequestsPerSecond) {
+        this.globalRequestsPerSecond = globalRequestsPerSecond;
+    }
+
+    public int getGlobalBurst() {
+        return globalBurst;
+    }
+
+    public void setGlobalBurst(int globalBurst) {
+        this.globalBurst = globalBurst;
+    }
+
+    /**
+     * How often buckets of merchants that went quiet are dropped
+     */
+    public Duration getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    public void setEvictionInterval(Duration evictionInterval) {
+        this.evictionInterval = evictionInterval;
+    }
+
+    /**
+     * Merchant buckets held at most; further merchants share one default-tier bucket until
+     * eviction makes room. Merchants listed in a tier always get their own.
+     */
+    public int getMaxMerchantBuckets() {
+        return maxMerchantBuckets;
+    }
+
+    public void setMaxMerchantBuckets(int maxMerchantBuckets) {
+        this.maxMerchantBuckets = maxMerchantBuckets;
+    }
+}
@@ -0,0 +1,80 @@
+package com.payment.config;
+
+import com.payment.concurrent.MerchantRateLimiter;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rejects API requests with 429 once the merchant's or the global token bucket is empty.
+ * Runs after {@link CorsFilter} so rejections still carry CORS headers.
+ */
+@Filter("/api/**")
+@Requires(property = "payment.rate-limits.enabled", notEquals = "false")
+public class RateLimitFilter implements HttpServerFilter, Ordered {
+
+    /**
+     * A merchant and its sub-resources: /api/v1/merchants/{id}, .../{id}/transactions and
+     * /api/v1/analytics/merchants/{id}/histogram
+     */
+    private static final Pattern MERCHANT_PATH = Pattern.compile("^/api/v1/(?:analytics/)?merchants/([^/]+)(?:/.*)?$");
+
+    /**
+     * Collection routes that sit where a merchant ID would
+     */
+    private static final Set<String> NOT_MERCHANT_IDS = Set.of("top", "summaries");
+
+    private final MerchantRateLimiter rateLimiter;
+
+    public RateLimitFilter(MerchantRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        MerchantRateLimiter.Rejection rejection = rateLimiter.tryAcquire(merchantId(request.getPath()));
+        if (rejection == null) {
+            return chain.proceed(request);
+        }
+
+        String message = MerchantRateLimiter.SCOPE_MERCHANT.equals(rejection.getScope())
+            ? "Request rate limit exceeded for this merchant"
+            : "The API is receiving too many requests";
+        return Flux.just(HttpResponse.<Map<String, Object>>status(HttpStatus.TOO_MANY_REQUESTS)
+            .header("Retry-After", Long.toString(rejection.getRetryAfterSeconds()))
+            .body(Map.of(
+                "timestamp", Instant.now().toString(),
+                "status", HttpStatus.TOO_MANY_REQUESTS.getCode(),
+                "error", "Too Many Requests",
+                "message", message,
+                "path", request.getPath()
+            )));
+    }
+
+    static String merchantId(String path) {
+        Matcher matcher = MERCHANT_PATH.matcher(path);
+        if (!matcher.matches() || NOT_MERCHANT_IDS.contains(matcher.group(1))) {
+            return null;
+        }
+        return matcher.group(1);
+    }
+
+    @Override
+    public int getOrder() {
+        return 10;
+    }
+}
@@ -0,0 +1,60 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-merchant request limits for one tier, configured under payment.rate-limits.tiers.{name}
+ */
+@EachProperty("payment.rate-limits.tiers")
+public class RateLimitTier {
+
+    private final String name;
+    private double requestsPerSecond = 20;
+    private int burst = 40;
+    private List<String> merchants = new ArrayList<>();
+
+    public RateLimitTier(@Parameter String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sustained requests per second for each merchant in the tier
+     */
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    /**
+     * Requests a merchant may send back to back after being idle
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    /**
+     * Merchant IDs in this tier; merchants not listed anywhere use the default tier
+     */
+    public List<String> getMerchants() {
+        return merchants;
+    }
+
+    public void setMerchants(List<String> merchants) {
+        this.merchants = merchants;
+    }
+}
@@ -0,0 +1,117 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.convert.format.ReadableBytes;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process columnar store of recent transactions
+ */
+@ConfigurationProperties("payment.recent-transactions")
+public class RecentTransactionsConfiguration {
+
+    private boolean enabled = false;
+    private Duration window = Duration.ofDays(30);
+    private int maxRows = 4_000_000;
+    private int segmentRows = 1 << 20;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private int pollBatchSize = 10_000;
+    private Duration gapTimeout = Duration.ofSeconds(30);
+    private long indexMemoryBudget = 64L * 1024 * 1024;
+    private long sketchMemoryBudget = 32L * 1024 * 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * How far back from startup the store is loaded
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * Rows kept off-heap; beyond this the oldest loaded rows are overwritten.
+     * Each row takes 27 bytes of direct memory.
+     */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public void setMaxRows(int maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Rows per column buffer; buffers are allocated as the store fills up
+     */
+    public int getSegmentRows() {
+        return segmentRows;
+    }
+
+    public void setSegmentRows(int segmentRows) {
+        this.segmentRows = segmentRows;
+    }
+
+    /**
+     * How often new inserts are picked up
+     */
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getPollBatchSize() {
+        return pollBatchSize;
+    }
+
+    public void setPollBatchSize(int pollBatchSize) {
+        this.pollBatchSize = pollBatchSize;
+    }
+
+    /**
+     * How long a skipped transaction ID is re-checked before it is treated as a rolled-back insert
+     */
+    public Duration getGapTimeout() {
+        return gapTimeout;
+    }
+
+    public void setGapTimeout(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+
+    /**
+     * Heap for per-merchant time indexes; least recently used merchants are dropped beyond it
+     */
+    public long getIndexMemoryBudget() {
+        return indexMemoryBudget;
+    }
+
+    public void setIndexMemoryBudget(@ReadableBytes long indexMemoryBudget) {
+        this.indexMemoryBudget = indexMemoryBudget;
+    }
+
+    /**
+     * Heap for per-merchant amount sketches; least recently used merchants are dropped beyond it
+     */
+    public long getSketchMemoryBudget() {
+        return sketchMemoryBudget;
+    }
+
+    public void setSketchMemoryBudget(@ReadableBytes long sketchMemoryBudget) {
+        this.sketchMemoryBudget = sketchMemoryBudget;
+    }
+}
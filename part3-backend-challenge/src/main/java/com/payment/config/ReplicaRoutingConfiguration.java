@@ -0,0 +1,81 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for routing read-only service methods to replica datasources
+ */
+@ConfigurationProperties("payment.replica-routing")
+public class ReplicaRoutingConfiguration {
+
+    private boolean enabled = false;
+    private List<String> replicas = new ArrayList<>();
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private int recoveryChecks = 2;
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Names of the replica datasources, as configured under datasources
+     */
+    public List<String> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<String> replicas) {
+        this.replicas = replicas;
+    }
+
+    /**
+     * Replicas lagging further behind the primary than this stop receiving reads
+     */
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(Duration healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    /**
+     * Consecutive passing health checks before an unhealthy replica receives reads again
+     */
+    public int getRecoveryChecks() {
+        return recoveryChecks;
+    }
+
+    public void setRecoveryChecks(int recoveryChecks) {
+        this.recoveryChecks = recoveryChecks;
+    }
+
+    /**
+     * How long a client's reads stay on the primary after it made a write
+     */
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+}
@@ -0,0 +1,66 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.cookie.Cookie;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * Read-your-writes for replica routing: a successful write sets a short-lived cookie,
+ * and requests carrying it are pinned to the primary until it expires
+ */
+@Filter("/api/**")
+@Requires(property = "payment.replica-routing.enabled", value = "true")
+public class ReplicaRoutingFilter implements HttpServerFilter {
+
+    public static final String PIN_PRIMARY_ATTRIBUTE = ReplicaRoutingFilter.class.getName() + ".pinPrimary";
+    private static final String COOKIE_NAME = "payment-primary-until";
+
+    private final Duration window;
+
+    public ReplicaRoutingFilter(ReplicaRoutingConfiguration configuration) {
+        this.window = configuration.getReadYourWritesWindow();
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (pinnedUntil(request) > System.currentTimeMillis()) {
+            request.setAttribute(PIN_PRIMARY_ATTRIBUTE, true);
+        }
+
+        return Flux.from(chain.proceed(request))
+            .doOnNext(response -> {
+                if (isWrite(request.getMethod()) && response.getStatus().getCode() < 400) {
+                    long until = System.currentTimeMillis() + window.toMillis();
+                    response.cookie(Cookie.of(COOKIE_NAME, Long.toString(until))
+                        .path("/api")
+                        .httpOnly(true)
+                        .maxAge(window));
+                }
+            });
+    }
+
+    private static long pinnedUntil(HttpRequest<?> request) {
+        return request.getCookies().findCookie(COOKIE_NAME)
+            .map(cookie -> {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0L;
+                }
+            })
+            .orElse(0L);
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS;
+    }
+}
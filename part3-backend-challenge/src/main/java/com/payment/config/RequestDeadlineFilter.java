@@ -0,0 +1,48 @@
+package com.payment.config;
+
+import com.payment.jdbc.RequestDeadline;
+import com.payment.jdbc.StatementTimeout;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.web.router.RouteMatch;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives each API request a {@link RequestDeadline} from the route's
+ * {@link StatementTimeout} (or the default) and cancels its running statements when the
+ * client disconnects before the response is written
+ */
+@Filter("/api/**")
+@Requires(property = "payment.statement-timeouts.enabled", notEquals = "false")
+public class RequestDeadlineFilter implements HttpServerFilter {
+
+    private final long defaultTimeoutNanos;
+
+    public RequestDeadlineFilter(StatementTimeoutConfiguration configuration) {
+        this.defaultTimeoutNanos = configuration.getDefaultTimeout().toNanos();
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        long timeoutNanos = request.getAttribute(HttpAttributes.ROUTE_MATCH, RouteMatch.class)
+            .map(route -> route.getAnnotationMetadata().intValue(StatementTimeout.class))
+            .filter(OptionalInt::isPresent)
+            .map(seconds -> TimeUnit.SECONDS.toNanos(seconds.getAsInt()))
+            .orElse(defaultTimeoutNanos);
+
+        RequestDeadline deadline = new RequestDeadline(System.nanoTime() + timeoutNanos);
+        request.setAttribute(RequestDeadline.REQUEST_ATTRIBUTE, deadline);
+
+        return Flux.from(chain.proceed(request))
+            .doOnCancel(() -> deadline.cancel("client disconnected"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for per-request statement deadlines and cancellation
+ */
+@ConfigurationProperties("payment.statement-timeouts")
+public class StatementTimeoutConfiguration {
+
+    private boolean enabled = true;
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Database time budget for API endpoints without {@code @StatementTimeout}
+     */
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+}
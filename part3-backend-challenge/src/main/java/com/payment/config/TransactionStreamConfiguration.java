@@ -0,0 +1,93 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the live transaction feed served over Server-Sent Events
+ */
+@ConfigurationProperties("payment.transaction-stream")
+public class TransactionStreamConfiguration {
+
+    private boolean enabled = true;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private int pollBatchSize = 1_000;
+    private int bufferSize = 256;
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private int maxSubscribers = 10_000;
+    private Duration gapTimeout = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * How often new inserts are looked for while anyone is subscribed. Notifications from
+     * the cache invalidation triggers wake the poller sooner.
+     */
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getPollBatchSize() {
+        return pollBatchSize;
+    }
+
+    public void setPollBatchSize(int pollBatchSize) {
+        this.pollBatchSize = pollBatchSize;
+    }
+
+    /**
+     * Events held per connection; a subscriber that falls this far behind is disconnected
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Idle connections get a heartbeat event this often, so proxies keep them open
+     */
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * Open streams per node before the endpoint answers 503. An idle stream holds about 1.8 KB
+     * of heap in the hub with 256 buffered events, plus its connection
+     */
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /**
+     * How long a skipped transaction ID is re-checked before it is treated as a rolled-back insert
+     */
+    public Duration getGapTimeout() {
+        return gapTimeout;
+    }
+
+    public void setGapTimeout(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+}
@@ -0,0 +1,60 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for velocity checks on newly ingested transactions; the rules themselves are
+ * {@link VelocityRule}s
+ */
+@ConfigurationProperties("payment.velocity")
+public class VelocityConfiguration {
+
+    private boolean enabled = false;
+    private int queueCapacity = 1_024;
+    private int buckets = 12;
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Batches of new rows waiting to be checked. When it is full, further batches are
+     * skipped and counted rather than holding up ingestion.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Buckets each rule window is split into; a window slides one bucket at a time
+     */
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(int buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * How often counters idle for a whole window are dropped
+     */
+    public Duration getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    public void setEvictionInterval(Duration evictionInterval) {
+        this.evictionInterval = evictionInterval;
+    }
+}
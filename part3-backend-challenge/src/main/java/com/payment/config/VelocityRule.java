@@ -0,0 +1,88 @@
+package com.payment.config;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+
+import java.time.Duration;
+
+/**
+ * One velocity check, configured under payment.velocity.rules.{name}: flags a card or
+ * merchant whose transaction count or amount within the window goes over the threshold
+ */
+@EachProperty("payment.velocity.rules")
+public class VelocityRule {
+
+    public static final String SCOPE_CARD = "card";
+    public static final String SCOPE_MERCHANT = "merchant";
+    public static final String MEASURE_COUNT = "count";
+    public static final String MEASURE_AMOUNT = "amount";
+
+    private final String name;
+    private String scope = SCOPE_CARD;
+    private String measure = MEASURE_COUNT;
+    private Duration window = Duration.ofMinutes(1);
+    private long threshold = 10;
+    private String currency;
+
+    public VelocityRule(@Parameter String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * What is counted separately: card (card type and last four digits, per merchant) or
+     * merchant
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * count of transactions, or amount in minor units of the rule's currency
+     */
+    public String getMeasure() {
+        return measure;
+    }
+
+    public void setMeasure(String measure) {
+        this.measure = measure;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * Highest allowed total within the window; going over it raises an alert, at most once
+     * per window for each card or merchant
+     */
+    public long getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(long threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Currency an amount rule adds up; required for amount rules, ignored for count rules
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+}
@@ -0,0 +1,85 @@
+package com.payment.controller;
+
+import com.payment.dto.TopMerchantsResponse;
+import com.payment.dto.TransactionHistogramResponse;
+import com.payment.service.AnalyticsService;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.*;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.Optional;
+
+/**
+ * Controller for dashboard analytics over recent transactions. Only present when the
+ * recent transaction store is enabled.
+ */
+@Controller("/api/v1/analytics")
+@Tag(name = "Analytics", description = "Recent transaction analytics API")
+@ExecuteOn("interactive")
+@Requires(beans = AnalyticsService.class)
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @Get("/merchants/{merchantId}/histogram")
+    @Operation(
+        summary = "Get merchant transaction histogram",
+        description = "Transaction count and amount per hour or day for a merchant, over the recent transaction window"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved histogram")
+    @ApiResponse(responseCode = "400", description = "Invalid input parameters or range outside the recent window")
+    @ApiResponse(responseCode = "404", description = "Merchant not found")
+    @ApiResponse(responseCode = "503", description = "Recent transactions are still loading")
+    public HttpResponse<TransactionHistogramResponse> getHistogram(
+        @Parameter(description = "Merchant ID", example = "MCH-00001") @PathVariable String merchantId,
+        @Parameter(description = "Start date (ISO format or YYYY-MM-DD), defaults to 7 days ago") @QueryValue Optional<String> startDate,
+        @Parameter(description = "End date (ISO format or YYYY-MM-DD), defaults to now") @QueryValue Optional<String> endDate,
+        @Parameter(description = "Bucket size (hour, day)", example = "day") @QueryValue(defaultValue = "day") String interval,
+        @Parameter(description = "Filter by status") @QueryValue Optional<String> status,
+        @Parameter(description = "Currency of the bucket amounts", example = "USD") @QueryValue(defaultValue = "USD") String currency
+    ) {
+        return HttpResponse.ok(analyticsService.getTransactionHistogram(
+            merchantId,
+            startDate.orElse(null),
+            endDate.orElse(null),
+            interval,
+            status.orElse(null),
+            currency
+        ));
+    }
+
+    @Get("/top-merchants")
+    @Operation(
+        summary = "Get top merchants",
+        description = "Merchants with the most transactions or the highest amount, over the recent transaction window"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved ranking")
+    @ApiResponse(responseCode = "400", description = "Invalid input parameters or range outside the recent window")
+    @ApiResponse(responseCode = "503", description = "Recent transactions are still loading")
+    public HttpResponse<TopMerchantsResponse> getTopMerchants(
+        @Parameter(description = "Start date (ISO format or YYYY-MM-DD), defaults to 7 days ago") @QueryValue Optional<String> startDate,
+        @Parameter(description = "End date (ISO format or YYYY-MM-DD), defaults to now") @QueryValue Optional<String> endDate,
+        @Parameter(description = "Filter by status") @QueryValue Optional<String> status,
+        @Parameter(description = "Currency of the ranked amounts", example = "USD") @QueryValue(defaultValue = "USD") String currency,
+        @Parameter(description = "Rank by count or amount", example = "amount") @QueryValue(defaultValue = "amount") String rankBy,
+        @Parameter(description = "Number of merchants", example = "10") @QueryValue(defaultValue = "10") int limit
+    ) {
+        return HttpResponse.ok(analyticsService.getTopMerchants(
+            startDate.orElse(null),
+            endDate.orElse(null),
+            status.orElse(null),
+            currency,
+            rankBy,
+            limit
+        ));
+    }
+}
@@ -3,9 +3,11 @@ package com.payment.controller;
 import com.payment.dto.MerchantRequest;
 import com.payment.dto.MerchantResponse;
 import com.payment.dto.PaginatedResponse;
+import com.payment.jdbc.StatementTimeout;
 import com.payment.service.MerchantService;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.annotation.*;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.validation.Validated;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,6 +23,8 @@ import java.util.Optional;
 @Controller("/api/v1/merchants")
 @Tag(name = "Merchants", description = "Merchant management API")
 @Validated
+@ExecuteOn("interactive")
+@StatementTimeout(5)
 public class MerchantController {
 
     private final MerchantService merchantService;
@@ -0,0 +1,47 @@
+package com.payment.controller;
+
+import com.payment.dto.TopMerchantsResponse;
+import com.payment.service.AnalyticsService;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.*;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controller for the live top merchants view. Only present when the recent transaction
+ * store is enabled.
+ */
+@Controller("/api/v1/merchants")
+@Tag(name = "Analytics", description = "Recent transaction analytics API")
+@ExecuteOn("interactive")
+@Requires(beans = AnalyticsService.class)
+public class MerchantLeaderboardController {
+
+    private final AnalyticsService analyticsService;
+
+    public MerchantLeaderboardController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @Get("/top")
+    @Operation(
+        summary = "Get merchant leaderboard",
+        description = "Merchants with the highest completed volume or count since the start of today or this week (UTC), "
+            + "from counters updated as transactions arrive"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved leaderboard")
+    @ApiResponse(responseCode = "400", description = "Invalid input parameters or window outside the recent window")
+    @ApiResponse(responseCode = "503", description = "Recent transactions are still loading")
+    public HttpResponse<TopMerchantsResponse> getLeaderboard(
+        @Parameter(description = "Rank by volume or count", example = "volume") @QueryValue(defaultValue = "volume") String metric,
+        @Parameter(description = "today or week (since Monday)", example = "today") @QueryValue(defaultValue = "today") String window,
+        @Parameter(description = "Currency of the ranked volume", example = "USD") @QueryValue(defaultValue = "USD") String currency,
+        @Parameter(description = "Number of merchants", example = "10") @QueryValue(defaultValue = "10") int n
+    ) {
+        return HttpResponse.ok(analyticsService.getLeaderboard(metric, window, currency, n));
+    }
+}
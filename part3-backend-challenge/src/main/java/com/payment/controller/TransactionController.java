@@ -1,14 +1,21 @@
 package com.payment.controller;
 
+import com.payment.dto.MerchantSummariesRequest;
+import com.payment.dto.MerchantSummariesResponse;
 import com.payment.dto.MerchantTransactionsResponse;
+import com.payment.jdbc.StatementTimeout;
+import com.payment.service.TransactionQueryCoalescer;
+import com.payment.service.TransactionQueryOptions;
 import com.payment.service.TransactionService;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.annotation.*;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.validation.Validated;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 
@@ -20,18 +27,23 @@ import java.util.Optional;
 @Controller("/api/v1/merchants")
 @Tag(name = "Transactions", description = "Merchant transaction management API")
 @Validated
+@ExecuteOn("interactive")
 public class TransactionController {
 
+    private final TransactionQueryCoalescer transactionQueries;
     private final TransactionService transactionService;
     
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionQueryCoalescer transactionQueries, TransactionService transactionService) {
+        this.transactionQueries = transactionQueries;
         this.transactionService = transactionService;
     }
 
     @Get("/{merchantId}/transactions")
+    @StatementTimeout(10)
     @Operation(
         summary = "Get merchant transactions",
-        description = "Returns paginated list of transactions for a merchant with optional filtering by date range and status"
+        description = "Returns paginated list of transactions for a merchant with optional filtering by date range and status. "
+            + "include= and fields= limit the response, and the queries behind it, to what the client shows"
     )
     @ApiResponse(responseCode = "200", description = "Successfully retrieved transactions")
     @ApiResponse(responseCode = "400", description = "Invalid input parameters")
@@ -60,7 +72,15 @@ public class TransactionController {
         
         @Parameter(description = "Filter by status (pending, completed, failed, reversed)") 
         @QueryValue 
-        Optional<String> status
+        Optional<String> status,
+
+        @Parameter(description = "Optional parts to compute: details, members, summary, total (default: all)", example = "summary,total")
+        @QueryValue
+        Optional<String> include,
+
+        @Parameter(description = "Transaction fields to return (default: all)", example = "txnId,amount,status,timestamp")
+        @QueryValue
+        Optional<String> fields
     ) {
         // Validate date range if both dates are provided
         if (startDate.isPresent() && endDate.isPresent()) {
@@ -80,14 +100,39 @@ public class TransactionController {
             }
         }
         
-        MerchantTransactionsResponse response = transactionService.getMerchantTransactions(
+        TransactionQueryOptions options = TransactionQueryOptions.parse(include.orElse(null), fields.orElse(null));
+
+        MerchantTransactionsResponse response = transactionQueries.getMerchantTransactions(
             merchantId,
             page,
             size,
             startDate.orElse(null),
             endDate.orElse(null),
-            status.orElse(null)
+            status.orElse(null),
+            options
         );
         return HttpResponse.ok(response);
     }
+
+    @Post("/summaries")
+    @StatementTimeout(15)
+    @Operation(
+        summary = "Summarize several merchants",
+        description = "Returns the transaction summary of up to payment.transactions.max-summary-merchants merchants "
+            + "for one date range, keyed by merchantId. Computed with one grouped query instead of a "
+            + "/transactions call per merchant"
+    )
+    @ApiResponse(responseCode = "200", description = "Summaries keyed by merchant ID")
+    @ApiResponse(responseCode = "400", description = "No merchant IDs, too many, or an invalid date range or status")
+    public HttpResponse<MerchantSummariesResponse> getMerchantSummaries(@Body @Valid MerchantSummariesRequest request) {
+        if (request.getStatus() != null && !request.getStatus().matches("^(pending|completed|failed|reversed)$")) {
+            throw new IllegalArgumentException("Status must be one of: pending, completed, failed, reversed");
+        }
+        return HttpResponse.ok(new MerchantSummariesResponse(transactionService.getMerchantSummaries(
+            request.getMerchantIds(),
+            request.getStartDate(),
+            request.getEndDate(),
+            request.getStatus()
+        )));
+    }
 }
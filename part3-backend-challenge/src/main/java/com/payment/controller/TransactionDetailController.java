@@ -0,0 +1,45 @@
+package com.payment.controller;
+
+import com.payment.dto.TransactionDetailsBatchRequest;
+import com.payment.dto.TransactionDetailsBatchResponse;
+import com.payment.jdbc.StatementTimeout;
+import com.payment.service.TransactionService;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.*;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.micronaut.validation.Validated;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+/**
+ * Controller for loading transaction details on demand
+ */
+@Controller("/api/v1/transactions")
+@Tag(name = "Transactions", description = "Merchant transaction management API")
+@Validated
+@ExecuteOn("interactive")
+public class TransactionDetailController {
+
+    private final TransactionService transactionService;
+
+    public TransactionDetailController(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    @Post("/details:batchGet")
+    @StatementTimeout(5)
+    @Operation(
+        summary = "Batch get transaction details",
+        description = "Returns the details of up to payment.transactions.max-batch-get-ids transactions in one call, "
+            + "keyed by txnId. Lets the transaction list skip details (include=) and load them when a row is expanded."
+    )
+    @ApiResponse(responseCode = "200", description = "Details grouped by transaction ID")
+    @ApiResponse(responseCode = "400", description = "No IDs or too many IDs")
+    public HttpResponse<TransactionDetailsBatchResponse> batchGetDetails(@Body @Valid TransactionDetailsBatchRequest request) {
+        return HttpResponse.ok(new TransactionDetailsBatchResponse(
+            transactionService.getTransactionDetails(request.getTxnIds())
+        ));
+    }
+}
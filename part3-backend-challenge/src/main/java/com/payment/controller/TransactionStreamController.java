@@ -0,0 +1,52 @@
+package com.payment.controller;
+
+import com.payment.service.MerchantService;
+import com.payment.stream.TransactionStreamHub;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.sse.Event;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.reactivestreams.Publisher;
+
+/**
+ * Live feed of a merchant's new transactions over Server-Sent Events
+ */
+@Controller("/api/v1/merchants")
+@Tag(name = "Transactions", description = "Merchant transaction management API")
+@Requires(beans = TransactionStreamHub.class)
+public class TransactionStreamController {
+
+    private final TransactionStreamHub transactionStreamHub;
+    private final MerchantService merchantService;
+
+    public TransactionStreamController(TransactionStreamHub transactionStreamHub, MerchantService merchantService) {
+        this.transactionStreamHub = transactionStreamHub;
+        this.merchantService = merchantService;
+    }
+
+    @Get(value = "/{merchantId}/transactions/stream", produces = MediaType.TEXT_EVENT_STREAM)
+    @ExecuteOn("interactive")
+    @Operation(
+        summary = "Stream merchant transactions",
+        description = "Pushes each new transaction as a `transaction` event with the transaction ID as event ID. "
+            + "A `heartbeat` event keeps idle connections open. Clients that fall behind are disconnected "
+            + "and should reload the page from /transactions when they reconnect"
+    )
+    @ApiResponse(responseCode = "200", description = "Event stream opened")
+    @ApiResponse(responseCode = "404", description = "Merchant not found")
+    @ApiResponse(responseCode = "503", description = "Too many open streams on this node")
+    public Publisher<Event<?>> streamTransactions(
+        @Parameter(description = "Merchant ID", example = "MCH-00001") @PathVariable String merchantId
+    ) {
+        // Cached lookup; rejects unknown merchants before a subscription is opened
+        merchantService.getMerchantById(merchantId);
+        return transactionStreamHub.subscribe(merchantId);
+    }
+}
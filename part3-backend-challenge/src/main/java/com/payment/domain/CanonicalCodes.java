@@ -0,0 +1,48 @@
+package com.payment.domain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances for low-cardinality code columns (status, currency, card type,
+ * detail type). Mapped rows keep the shared instance instead of their own copy, so
+ * cached or streamed rows do not each hold the same few strings.
+ */
+public final class CanonicalCodes {
+
+    /** Codes beyond this many are returned as is, so unexpected data cannot grow the table without bound */
+    private static final int MAX_CODES = 1_024;
+
+    private static final Map<String, String> CODES = new ConcurrentHashMap<>();
+
+    static {
+        for (TransactionStatus status : TransactionStatus.values()) {
+            CODES.put(status.code(), status.code());
+        }
+        for (String code : new String[]{
+            "USD", "EUR", "GBP", "JPY", "CAD", "AUD",
+            "VISA", "MASTERCARD", "AMEX", "DISCOVER",
+            "fee", "tax", "adjustment", "refund", "chargeback"
+        }) {
+            CODES.put(code, code);
+        }
+    }
+
+    private CanonicalCodes() {
+    }
+
+    public static String of(String code) {
+        if (code == null) {
+            return null;
+        }
+        String canonical = CODES.get(code);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (CODES.size() >= MAX_CODES) {
+            return code;
+        }
+        canonical = CODES.putIfAbsent(code, code);
+        return canonical != null ? canonical : code;
+    }
+}
@@ -0,0 +1,155 @@
+package com.payment.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Amount of money as a count of the currency's minor units (cents for USD, yen for JPY).
+ * Used for in-process arithmetic so aggregation adds longs instead of allocating a
+ * {@link BigDecimal} per value; convert back with {@link #toBigDecimal()} at the API boundary.
+ */
+public final class Money implements Comparable<Money> {
+
+    private static final int DEFAULT_SCALE = 2;
+    private static final Map<String, Integer> SCALES = new ConcurrentHashMap<>();
+
+    private final long minorUnits;
+    private final String currency;
+
+    private Money(long minorUnits, String currency) {
+        this.minorUnits = minorUnits;
+        this.currency = Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0, currency);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the amount has more decimals than the currency allows
+     * @throws ArithmeticException if the amount does not fit in a long of minor units
+     */
+    public static Money of(BigDecimal amount, String currency) {
+        int scale = scaleOf(currency);
+        if (amount.stripTrailingZeros().scale() > scale) {
+            throw new IllegalArgumentException(
+                amount.toPlainString() + " has more decimals than " + currency + " allows (" + scale + ")");
+        }
+        return new Money(amount.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(), currency);
+    }
+
+    /**
+     * Number of minor-unit digits of an ISO 4217 currency; 2 for unknown codes
+     */
+    public static int scaleOf(String currency) {
+        return SCALES.computeIfAbsent(currency, code -> {
+            try {
+                int digits = Currency.getInstance(code).getDefaultFractionDigits();
+                return digits >= 0 ? digits : DEFAULT_SCALE;
+            } catch (IllegalArgumentException e) {
+                return DEFAULT_SCALE;
+            }
+        });
+    }
+
+    /**
+     * Convert an unscaled value with the given scale (e.g. a DECIMAL(15,2) column times 100)
+     * to minor units of the currency. Stored amounts may carry more decimals than the
+     * currency has (cents on a JPY row); those are rounded half-even, as
+     * {@link RoundingMode#HALF_EVEN} would.
+     *
+     * @throws ArithmeticException on overflow
+     */
+    public static long toMinorUnits(long unscaled, int scale, String currency) {
+        int currencyScale = scaleOf(currency);
+        if (scale == currencyScale) {
+            return unscaled;
+        }
+        if (scale < currencyScale) {
+            return Math.multiplyExact(unscaled, pow10(currencyScale - scale));
+        }
+        long divisor = pow10(scale - currencyScale);
+        long quotient = Math.floorDiv(unscaled, divisor);
+        long twiceRemainder = Math.floorMod(unscaled, divisor) * 2;
+        if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) != 0)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result = Math.multiplyExact(result, 10);
+        }
+        return result;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the currencies differ
+     * @throws ArithmeticException on overflow
+     */
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " and " + other.currency);
+        }
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scaleOf(currency));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        Money money = (Money) o;
+        return minorUnits == money.minorUnits && currency.equals(money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minorUnits, currency);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+}
@@ -0,0 +1,85 @@
+package com.payment.domain;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutable running totals per currency in minor units. Adding an amount is a long addition
+ * on the current currency's slot; nothing is allocated per value once a currency has been
+ * seen. Not thread-safe: use one per aggregation and {@link #addAll} to combine.
+ */
+public final class MoneyTotals {
+
+    private final Map<String, Slot> totals = new LinkedHashMap<>(4);
+    private Slot last;
+
+    public void add(String currency, long minorUnits) {
+        Slot slot = slot(currency);
+        slot.total = Math.addExact(slot.total, minorUnits);
+    }
+
+    /**
+     * Add a value given as unscaled digits with its scale, e.g. a DECIMAL(15,2) amount times 100
+     */
+    public void addUnscaled(String currency, long unscaled, int scale) {
+        Slot slot = slot(currency);
+        long minorUnits = scale == slot.scale ? unscaled : Money.toMinorUnits(unscaled, scale, currency);
+        slot.total = Math.addExact(slot.total, minorUnits);
+    }
+
+    public void add(Money amount) {
+        add(amount.getCurrency(), amount.getMinorUnits());
+    }
+
+    public void addAll(MoneyTotals other) {
+        other.totals.forEach((currency, slot) -> add(currency, slot.total));
+    }
+
+    /**
+     * Rows of one aggregation are almost always in one currency, so the last slot is
+     * checked before the map
+     */
+    private Slot slot(String currency) {
+        Slot slot = last;
+        if (slot != null && slot.currency.equals(currency)) {
+            return slot;
+        }
+        slot = totals.get(currency);
+        if (slot == null) {
+            slot = new Slot(currency);
+            totals.put(currency, slot);
+        }
+        last = slot;
+        return slot;
+    }
+
+    public Money get(String currency) {
+        Slot slot = totals.get(currency);
+        return Money.ofMinor(slot != null ? slot.total : 0, currency);
+    }
+
+    /**
+     * Currencies in the order they were first added
+     */
+    public Set<String> currencies() {
+        return Collections.unmodifiableSet(totals.keySet());
+    }
+
+    public boolean isEmpty() {
+        return totals.isEmpty();
+    }
+
+    private static final class Slot {
+
+        private final String currency;
+        private final int scale;
+        private long total;
+
+        Slot(String currency) {
+            this.currency = currency;
+            this.scale = Money.scaleOf(currency);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.payment.domain;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-status counters in a primitive array indexed by {@link TransactionStatus} ordinal,
+ * plus one counter for rows with an unknown status. Not thread-safe.
+ */
+public final class StatusCounts {
+
+    public static final String UNKNOWN = "unknown";
+
+    private final long[] counts = new long[TransactionStatus.count()];
+    private long unknown;
+
+    public void increment(String statusCode) {
+        TransactionStatus status = TransactionStatus.fromCode(statusCode);
+        if (status != null) {
+            counts[status.ordinal()]++;
+        } else {
+            unknown++;
+        }
+    }
+
+    public void add(TransactionStatus status, long count) {
+        counts[status.ordinal()] += count;
+    }
+
+    public void addUnknown(long count) {
+        unknown += count;
+    }
+
+    public void addAll(StatusCounts other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        unknown += other.unknown;
+    }
+
+    public long get(TransactionStatus status) {
+        return counts[status.ordinal()];
+    }
+
+    public long total() {
+        long total = unknown;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Status code to count for the API, leaving out statuses that did not occur
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                byStatus.put(TransactionStatus.ofOrdinal(i).code(), counts[i]);
+            }
+        }
+        if (unknown > 0) {
+            byStatus.put(UNKNOWN, unknown);
+        }
+        return byStatus;
+    }
+}
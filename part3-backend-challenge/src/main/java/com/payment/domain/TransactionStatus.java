@@ -0,0 +1,56 @@
+package com.payment.domain;
+
+/**
+ * Transaction lifecycle states, as stored in transaction_master.status
+ */
+public enum TransactionStatus {
+
+    PENDING("pending"),
+    COMPLETED("completed"),
+    FAILED("failed"),
+    REVERSED("reversed");
+
+    private static final TransactionStatus[] VALUES = values();
+
+    private final String code;
+
+    TransactionStatus(String code) {
+        this.code = code;
+    }
+
+    /**
+     * Lower-case value used in the database and the API
+     */
+    public String code() {
+        return code;
+    }
+
+    /**
+     * Status for a database/API code, or null if the code is unknown
+     */
+    public static TransactionStatus fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        switch (code) {
+            case "pending":
+                return PENDING;
+            case "completed":
+                return COMPLETED;
+            case "failed":
+                return FAILED;
+            case "reversed":
+                return REVERSED;
+            default:
+                return null;
+        }
+    }
+
+    public static TransactionStatus ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    public static int count() {
+        return VALUES.length;
+    }
+}
@@ -0,0 +1,63 @@
+package com.payment.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for ticket size percentiles in one currency, estimated from mergeable sketches
+ * (rank error within 0.5%). From the recent transaction store they cover the whole UTC
+ * days of the requested range.
+ */
+@Serdeable
+public class AmountPercentiles {
+
+    private String currency;
+    private BigDecimal p50;
+    private BigDecimal p95;
+    private BigDecimal p99;
+
+    // Constructors
+    public AmountPercentiles() {
+    }
+
+    public AmountPercentiles(String currency, BigDecimal p50, BigDecimal p95, BigDecimal p99) {
+        this.currency = currency;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+
+    // Getters and Setters
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getP50() {
+        return p50;
+    }
+
+    public void setP50(BigDecimal p50) {
+        this.p50 = p50;
+    }
+
+    public BigDecimal getP95() {
+        return p95;
+    }
+
+    public void setP95(BigDecimal p95) {
+        this.p95 = p95;
+    }
+
+    public BigDecimal getP99() {
+        return p99;
+    }
+
+    public void setP99(BigDecimal p99) {
+        this.p99 = p99;
+    }
+}
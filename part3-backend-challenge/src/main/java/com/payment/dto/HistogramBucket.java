@@ -0,0 +1,52 @@
+package com.payment.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO for one time bucket of a transaction histogram
+ */
+@Serdeable
+public class HistogramBucket {
+
+    private Instant start;
+    private Long transactions;
+    private BigDecimal amount;
+
+    // Constructors
+    public HistogramBucket() {
+    }
+
+    public HistogramBucket(Instant start, Long transactions, BigDecimal amount) {
+        this.start = start;
+        this.transactions = transactions;
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public Instant getStart() {
+        return start;
+    }
+
+    public void setStart(Instant start) {
+        this.start = start;
+    }
+
+    public Long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(Long transactions) {
+        this.transactions = transactions;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
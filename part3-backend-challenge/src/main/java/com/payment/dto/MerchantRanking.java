@@ -0,0 +1,51 @@
+package com.payment.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one merchant in a top-merchants ranking
+ */
+@Serdeable
+public class MerchantRanking {
+
+    private String merchantId;
+    private Long transactions;
+    private BigDecimal amount;
+
+    // Constructors
+    public MerchantRanking() {
+    }
+
+    public MerchantRanking(String merchantId, Long transactions, BigDecimal amount) {
+        this.merchantId = merchantId;
+        this.transactions = transactions;
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public String getMerchantId() {
+        return merchantId;
+    }
+
+    public void setMerchantId(String merchantId) {
+        this.merchantId = merchantId;
+    }
+
+    public Long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(Long transactions) {
+        this.transactions = transactions;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,71 @@
+package com.payment.dto;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO for summarizing several merchants' transactions over one date range
+ */
+@Serdeable
+@Introspected
+public class MerchantSummariesRequest {
+
+    @NotEmpty(message = "merchantIds is required")
+    private List<String> merchantIds;
+
+    @NotBlank(message = "startDate is required")
+    private String startDate;
+
+    @NotBlank(message = "endDate is required")
+    private String endDate;
+
+    private String status;
+
+    // Constructors
+    public MerchantSummariesRequest() {
+    }
+
+    public MerchantSummariesRequest(List<String> merchantIds, String startDate, String endDate, String status) {
+        this.merchantIds = merchantIds;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public List<String> getMerchantIds() {
+        return merchantIds;
+    }
+
+    public void setMerchantIds(List<String> merchantIds) {
+        this.merchantIds = merchantIds;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(String endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
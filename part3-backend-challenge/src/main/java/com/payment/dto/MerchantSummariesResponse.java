@@ -0,0 +1,32 @@
+package com.payment.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.Map;
+
+/**
+ * DTO for multi-merchant summaries: every requested merchant ID maps to its summary,
+ * with zero totals when it has no transactions in the range or does not exist
+ */
+@Serdeable
+public class MerchantSummariesResponse {
+
+    private Map<String, TransactionSummary> summaries;
+
+    // Constructors
+    public MerchantSummariesResponse() {
+    }
+
+    public MerchantSummariesResponse(Map<String, TransactionSummary> summaries) {
+        this.summaries = summaries;
+    }
+
+    // Getters and Setters
+    public Map<String, TransactionSummary> getSummaries() {
+        return summaries;
+    }
+
+    public void setSummaries(Map<String, TransactionSummary> summaries) {
+        this.summaries = summaries;
+    }
+}
@@ -1,13 +1,15 @@
 package com.payment.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.micronaut.serde.annotation.Serdeable;
 
 import java.util.List;
 
 /**
- * DTO for merchant transactions response
+ * DTO for merchant transactions response. The summary is omitted when not requested.
  */
 @Serdeable
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MerchantTransactionsResponse {
 
     private String merchantId;
@@ -1,23 +1,25 @@
 package com.payment.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.micronaut.serde.annotation.Serdeable;
 
 /**
- * DTO for pagination information
+ * DTO for pagination information. Totals are omitted when the client did not ask for them.
  */
 @Serdeable
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PaginationInfo {
 
     private int page;
     private int size;
-    private int totalPages;
-    private long totalElements;
+    private Integer totalPages;
+    private Long totalElements;
 
     // Constructors
     public PaginationInfo() {
     }
 
-    public PaginationInfo(int page, int size, int totalPages, long totalElements) {
+    public PaginationInfo(int page, int size, Integer totalPages, Long totalElements) {
         this.page = page;
         this.size = size;
         this.totalPages = totalPages;
@@ -41,19 +43,19 @@ public class PaginationInfo {
         this.size = size;
     }
 
-    public int getTotalPages() {
+    public Integer getTotalPages() {
         return totalPages;
     }
 
-    public void setTotalPages(int totalPages) {
+    public void setTotalPages(Integer totalPages) {
         this.totalPages = totalPages;
     }
 
-    public long getTotalElements() {
+    public Long getTotalElements() {
         return totalElements;
     }
 
-    public void setTotalElements(long totalElements) {
+    public void setTotalElements(Long totalElements) {
         this.totalElements = totalElements;
     }
 }
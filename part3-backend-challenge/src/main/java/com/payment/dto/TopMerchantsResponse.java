@@ -0,0 +1,54 @@
+package com.payment.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+/**
+ * DTO for the merchants with the most transactions or the highest amount in a date range
+ */
+@Serdeable
+public class TopMerchantsResponse {
+
+    private DateRange dateRange;
+    private String rankBy;
+    private String currency;
+    private List<MerchantRanking> merchants;
+
+    // Constructors
+    public TopMerchantsResponse() {
+    }
+
+    // Getters and Setters
+    public DateRange getDateRange() {
+        return dateRange;
+    }
+
+    public void setDateRange(DateRange dateRange) {
+        this.dateRange = dateRange;
+    }
+
+    public String getRankBy() {
+        return rankBy;
+    }
+
+    public void setRankBy(String rankBy) {
+        this.rankBy = rankBy;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public List<MerchantRanking> getMerchants() {
+        return merchants;
+    }
+
+    public void setMerchants(List<MerchantRanking> merchants) {
+        this.merchants = merchants;
+    }
+}
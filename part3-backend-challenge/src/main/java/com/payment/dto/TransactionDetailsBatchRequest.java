@@ -0,0 +1,35 @@
+package com.payment.dto;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO for fetching details of several transactions at once
+ */
+@Serdeable
+@Introspected
+public class TransactionDetailsBatchRequest {
+
+    @NotEmpty(message = "txnIds is required")
+    private List<Long> txnIds;
+
+    // Constructors
+    public TransactionDetailsBatchRequest() {
+    }
+
+    public TransactionDetailsBatchRequest(List<Long> txnIds) {
+        this.txnIds = txnIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getTxnIds() {
+        return txnIds;
+    }
+
+    public void setTxnIds(List<Long> txnIds) {
+        this.txnIds = txnIds;
+    }
+}
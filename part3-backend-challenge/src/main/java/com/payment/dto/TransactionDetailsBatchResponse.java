@@ -0,0 +1,33 @@
+package com.payment.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for batch transaction details: every requested txnId maps to its details,
+ * empty when the transaction has none or does not exist
+ */
+@Serdeable
+public class TransactionDetailsBatchResponse {
+
+    private Map<Long, List<TransactionDetailResponse>> details;
+
+    // Constructors
+    public TransactionDetailsBatchResponse() {
+    }
+
+    public TransactionDetailsBatchResponse(Map<Long, List<TransactionDetailResponse>> details) {
+        this.details = details;
+    }
+
+    // Getters and Setters
+    public Map<Long, List<TransactionDetailResponse>> getDetails() {
+        return details;
+    }
+
+    public void setDetails(Map<Long, List<TransactionDetailResponse>> details) {
+        this.details = details;
+    }
+}
@@ -0,0 +1,63 @@
+package com.payment.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+/**
+ * DTO for a merchant's transactions per time bucket
+ */
+@Serdeable
+public class TransactionHistogramResponse {
+
+    private String merchantId;
+    private DateRange dateRange;
+    private String interval;
+    private String currency;
+    private List<HistogramBucket> buckets;
+
+    // Constructors
+    public TransactionHistogramResponse() {
+    }
+
+    // Getters and Setters
+    public String getMerchantId() {
+        return merchantId;
+    }
+
+    public void setMerchantId(String merchantId) {
+        this.merchantId = merchantId;
+    }
+
+    public DateRange getDateRange() {
+        return dateRange;
+    }
+
+    public void setDateRange(DateRange dateRange) {
+        this.dateRange = dateRange;
+    }
+
+    public String getInterval() {
+        return interval;
+    }
+
+    public void setInterval(String interval) {
+        this.interval = interval;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public List<HistogramBucket> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<HistogramBucket> buckets) {
+        this.buckets = buckets;
+    }
+}
@@ -1,5 +1,6 @@
 package com.payment.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.micronaut.serde.annotation.Serdeable;
 
 import java.math.BigDecimal;
@@ -7,9 +8,10 @@ import java.time.Instant;
 import java.util.List;
 
 /**
- * DTO for transaction response
+ * DTO for transaction response. Fields left out by fields= or include= are omitted.
  */
 @Serdeable
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TransactionResponse {
 
     private Long txnId;
@@ -1,5 +1,6 @@
 package com.payment.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.micronaut.serde.annotation.Serdeable;
 
 import java.math.BigDecimal;
@@ -15,6 +16,10 @@ public class TransactionSummary {
     private BigDecimal totalAmount;
     private String currency;
     private Map<String, Long> byStatus;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private AmountPercentiles percentiles;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long distinctCards;
 
     // Constructors
     public TransactionSummary() {
@@ -59,5 +64,28 @@ public class TransactionSummary {
     public void setByStatus(Map<String, Long> byStatus) {
         this.byStatus = byStatus;
     }
-}
 
+    /**
+     * Ticket size percentiles in the summary currency; absent for multi-merchant summaries
+     * and status-filtered summaries from the recent transaction store
+     */
+    public AmountPercentiles getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(AmountPercentiles percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    /**
+     * Estimated number of distinct cards (type and last four digits); only in unfiltered
+     * summaries from the recent transaction store
+     */
+    public Long getDistinctCards() {
+        return distinctCards;
+    }
+
+    public void setDistinctCards(Long distinctCards) {
+        this.distinctCards = distinctCards;
+    }
+}
@@ -1,5 +1,6 @@
 package com.payment.entity;
 
+import com.payment.domain.CanonicalCodes;
 import io.micronaut.data.annotation.*;
 import io.micronaut.serde.annotation.Serdeable;
 
@@ -50,7 +51,7 @@ public class TransactionDetail {
     }
 
     public void setDetailType(String detailType) {
-        this.detailType = detailType;
+        this.detailType = CanonicalCodes.of(detailType);
     }
 
     public BigDecimal getAmount() {
@@ -66,7 +67,7 @@ public class TransactionDetail {
     }
 
     public void setCurrency(String currency) {
-        this.currency = currency;
+        this.currency = CanonicalCodes.of(currency);
     }
 
     public String getDescription() {
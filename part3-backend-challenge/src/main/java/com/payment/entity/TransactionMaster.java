@@ -1,5 +1,6 @@
 package com.payment.entity;
 
+import com.payment.domain.CanonicalCodes;
 import io.micronaut.data.annotation.*;
 import io.micronaut.serde.annotation.Serdeable;
 
@@ -96,7 +97,7 @@ public class TransactionMaster {
     }
 
     public void setCurrency(String currency) {
-        this.currency = currency;
+        this.currency = CanonicalCodes.of(currency);
     }
 
     public String getStatus() {
@@ -104,7 +105,7 @@ public class TransactionMaster {
     }
 
     public void setStatus(String status) {
-        this.status = status;
+        this.status = CanonicalCodes.of(status);
     }
 
     public String getCardType() {
@@ -112,7 +113,7 @@ public class TransactionMaster {
     }
 
     public void setCardType(String cardType) {
-        this.cardType = cardType;
+        this.cardType = CanonicalCodes.of(cardType);
     }
 
     public String getCardLast4() {
@@ -0,0 +1,11 @@
+package com.payment.exception;
+
+/**
+ * Thrown when analytics are requested before the recent transaction store has loaded
+ */
+public class AnalyticsUnavailableException extends RuntimeException {
+
+    public AnalyticsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.payment.exception;
+
+/**
+ * Thrown when a bulkhead has no free permit and its wait queue is full or the wait timed out
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String bulkheadName) {
+        super(String.format("The %s workload is at capacity, please retry shortly", bulkheadName));
+    }
+}
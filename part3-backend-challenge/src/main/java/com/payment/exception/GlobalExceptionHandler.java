@@ -1,5 +1,6 @@
 package com.payment.exception;
 
+import com.payment.jdbc.RequestDeadline;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
@@ -10,6 +11,7 @@ import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.SQLTransientConnectionException;
 import java.time.Instant;
 import java.util.Map;
 
@@ -26,8 +28,27 @@ public class GlobalExceptionHandler implements ExceptionHandler<Exception, HttpR
 
     @Override
     public HttpResponse<Map<String, Object>> handle(HttpRequest request, Exception exception) {
-        LOG.error("Exception occurred: ", exception);
+        HttpResponse<Map<String, Object>> response = toResponse(request, exception);
+        log(request, response.getStatus(), exception);
+        return response;
+    }
 
+    /**
+     * Only unexpected failures get a stack trace. Client errors are expected under load, so
+     * they are logged at DEBUG without one, and 503/504s at WARN with the message only; both
+     * are rate limited in logback.xml.
+     */
+    private static void log(HttpRequest<?> request, HttpStatus status, Exception exception) {
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR) {
+            LOG.error("Unhandled exception for {} {}", request.getMethod(), request.getPath(), exception);
+        } else if (status.getCode() >= 500) {
+            LOG.warn("{} {} answered {}: {}", request.getMethod(), request.getPath(), status.getCode(), exception.toString());
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debug("{} {} answered {}: {}", request.getMethod(), request.getPath(), status.getCode(), exception.getMessage());
+        }
+    }
+
+    private HttpResponse<Map<String, Object>> toResponse(HttpRequest<?> request, Exception exception) {
         if (exception instanceof NotFoundException) {
             return HttpResponse.notFound(buildErrorResponse(
                 HttpStatus.NOT_FOUND.getCode(),
@@ -46,6 +67,29 @@ public class GlobalExceptionHandler implements ExceptionHandler<Exception, HttpR
             ));
         }
 
+        if (exception instanceof BulkheadFullException) {
+            return serviceUnavailable(request, exception.getMessage(), 1);
+        }
+
+        if (exception instanceof AnalyticsUnavailableException || exception instanceof StreamCapacityException) {
+            return serviceUnavailable(request, exception.getMessage(), 5);
+        }
+
+        if (RequestDeadline.isCancellation(exception)) {
+            return HttpResponse.<Map<String, Object>>status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(buildErrorResponse(
+                    HttpStatus.GATEWAY_TIMEOUT.getCode(),
+                    "Gateway Timeout",
+                    "The query took longer than this request allows",
+                    request.getPath()
+                ));
+        }
+
+        if (hasCause(exception, SQLTransientConnectionException.class)) {
+            return serviceUnavailable(request,
+                "No database connection became available in time, please retry shortly", 1);
+        }
+
         // Default to 500 Internal Server Error
         return HttpResponse.serverError(buildErrorResponse(
             HttpStatus.INTERNAL_SERVER_ERROR.getCode(),
@@ -55,6 +99,29 @@ public class GlobalExceptionHandler implements ExceptionHandler<Exception, HttpR
         ));
     }
 
+    /**
+     * 503 with a Retry-After hint, for load shedding that clears up on its own
+     */
+    private HttpResponse<Map<String, Object>> serviceUnavailable(HttpRequest<?> request, String message, int retryAfterSeconds) {
+        return HttpResponse.<Map<String, Object>>status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", String.valueOf(retryAfterSeconds))
+            .body(buildErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.getCode(),
+                "Service Unavailable",
+                message,
+                request.getPath()
+            ));
+    }
+
+    private static boolean hasCause(Throwable failure, Class<? extends Throwable> type) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Map<String, Object> buildErrorResponse(int status, String error, String message, String path) {
         return Map.of(
             "timestamp", Instant.now().toString(),
@@ -1,15 +1,16 @@
 package com.payment.exception;
 
 /**
- * Custom exception for resource not found scenarios
+ * Custom exception for resource not found scenarios. It is an expected outcome that is never
+ * logged with a stack trace, so none is captured.
  */
 public class NotFoundException extends RuntimeException {
 
     public NotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public NotFoundException(String resourceType, String identifier) {
-        super(String.format("%s not found with identifier: %s", resourceType, identifier));
+        super(String.format("%s not found with identifier: %s", resourceType, identifier), null, false, false);
     }
 }
@@ -0,0 +1,12 @@
+package com.payment.exception;
+
+/**
+ * Thrown when a request executes the same statement shape more often than allowed (N+1 queries).
+ * Only raised when query accounting is configured to fail, which is the case in tests.
+ */
+public class RepeatedStatementException extends RuntimeException {
+
+    public RepeatedStatementException(String shape, int executions) {
+        super(String.format("Statement executed %d times in one request (possible N+1): %s", executions, shape));
+    }
+}
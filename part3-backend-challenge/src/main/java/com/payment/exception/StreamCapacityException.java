@@ -0,0 +1,12 @@
+package com.payment.exception;
+
+/**
+ * Thrown when a transaction stream is requested while the node already serves the
+ * configured maximum number of subscribers
+ */
+public class StreamCapacityException extends RuntimeException {
+
+    public StreamCapacityException(String message) {
+        super(message);
+    }
+}
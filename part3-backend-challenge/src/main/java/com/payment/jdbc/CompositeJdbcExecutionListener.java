@@ -0,0 +1,45 @@
+package com.payment.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Forwards every callback to each listener in order
+ */
+public class CompositeJdbcExecutionListener implements JdbcExecutionListener {
+
+    private final List<JdbcExecutionListener> listeners;
+
+    public CompositeJdbcExecutionListener(List<JdbcExecutionListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public void beforeExecute(Statement statement) throws SQLException {
+        for (JdbcExecutionListener listener : listeners) {
+            listener.beforeExecute(statement);
+        }
+    }
+
+    @Override
+    public void afterExecute(Statement statement) {
+        for (JdbcExecutionListener listener : listeners) {
+            listener.afterExecute(statement);
+        }
+    }
+
+    @Override
+    public void statementExecuted(String sql, long elapsedNanos) {
+        for (JdbcExecutionListener listener : listeners) {
+            listener.statementExecuted(sql, elapsedNanos);
+        }
+    }
+
+    @Override
+    public void rowsFetched(String sql, long rows) {
+        for (JdbcExecutionListener listener : listeners) {
+            listener.rowsFetched(sql, rows);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.payment.jdbc;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound routing decision read by {@link RoutingDataSource} when a connection is
+ * opened. Anything not explicitly marked as a replica read goes to the primary.
+ */
+public final class DataSourceRoute {
+
+    private static final ThreadLocal<Boolean> REPLICA = new ThreadLocal<>();
+
+    private DataSourceRoute() {
+    }
+
+    public static boolean isReplica() {
+        return Boolean.TRUE.equals(REPLICA.get());
+    }
+
+    /**
+     * Run the work with connections routed to a replica (true) or the primary (false),
+     * restoring the previous route afterwards
+     */
+    public static <T> T call(boolean replica, Supplier<T> work) {
+        Boolean previous = REPLICA.get();
+        REPLICA.set(replica);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                REPLICA.remove();
+            } else {
+                REPLICA.set(previous);
+            }
+        }
+    }
+}
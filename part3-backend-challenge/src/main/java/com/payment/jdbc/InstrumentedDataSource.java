@@ -0,0 +1,228 @@
+package com.payment.jdbc;
+
+import io.micronaut.jdbc.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+/**
+ * DataSource wrapper that reports statement timings and fetched row counts to a listener.
+ * Connections, statements and result sets are wrapped in lightweight JDK proxies; every
+ * other call, including unwrap, goes straight to the pooled object. Declared as a
+ * {@link DelegatingDataSource} so Micronaut can find the pool behind the wrapper.
+ */
+public class InstrumentedDataSource implements DelegatingDataSource {
+
+    private final DataSource target;
+    private final JdbcExecutionListener listener;
+
+    public InstrumentedDataSource(DataSource target, JdbcExecutionListener listener) {
+        this.target = target;
+        this.listener = listener;
+    }
+
+    @Override
+    public DataSource getTargetDataSource() {
+        return target;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(target.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(target.getConnection(username, password));
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(target)) {
+            return iface.cast(target);
+        }
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(target) || target.isWrapperFor(iface);
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            InstrumentedDataSource.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            new ConnectionHandler(connection)
+        );
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(connection, method, args);
+            switch (method.getName()) {
+                case "createStatement":
+                    return wrapStatement(Statement.class, (Statement) result, null);
+                case "prepareStatement":
+                    return wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall":
+                    return wrapStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private Statement wrapStatement(Class<? extends Statement> type, Statement statement, String sql) {
+        return (Statement) Proxy.newProxyInstance(
+            InstrumentedDataSource.class.getClassLoader(),
+            new Class<?>[]{type},
+            new StatementHandler(statement, sql)
+        );
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private String lastSql;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = InstrumentedDataSource.invoke(statement, method, args);
+                if ("getResultSet".equals(name) && result != null) {
+                    return wrapResultSet((ResultSet) result, lastSql != null ? lastSql : sqlFor(args));
+                }
+                return result;
+            }
+
+            String sql = sqlFor(args);
+            lastSql = sql;
+            listener.beforeExecute(statement);
+            long start = System.nanoTime();
+            try {
+                Object result = InstrumentedDataSource.invoke(statement, method, args);
+                if (result instanceof ResultSet) {
+                    return wrapResultSet((ResultSet) result, sql);
+                }
+                return result;
+            } finally {
+                listener.afterExecute(statement);
+                listener.statementExecuted(sql, System.nanoTime() - start);
+            }
+        }
+
+        private String sqlFor(Object[] args) {
+            if (preparedSql != null) {
+                return preparedSql;
+            }
+            return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : "<batch>";
+        }
+    }
+
+    private ResultSet wrapResultSet(ResultSet resultSet, String sql) {
+        return (ResultSet) Proxy.newProxyInstance(
+            InstrumentedDataSource.class.getClassLoader(),
+            new Class<?>[]{ResultSet.class},
+            new ResultSetHandler(resultSet, sql)
+        );
+    }
+
+    private class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final String sql;
+        private long rows;
+        private boolean reported;
+
+        ResultSetHandler(ResultSet resultSet, String sql) {
+            this.resultSet = resultSet;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("next".equals(name)) {
+                boolean hasRow = (Boolean) InstrumentedDataSource.invoke(resultSet, method, args);
+                if (hasRow) {
+                    rows++;
+                } else {
+                    report();
+                }
+                return hasRow;
+            }
+            if ("close".equals(name)) {
+                report();
+            }
+            return InstrumentedDataSource.invoke(resultSet, method, args);
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                listener.rowsFetched(sql, rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.payment.jdbc;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.order.Ordered;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps every configured DataSource so the registered {@link JdbcExecutionListener}s
+ * (query accounting, statement deadlines) see each statement. Runs first, so the wrapper
+ * sits directly on the connection pool, inside Micronaut's transaction-aware proxy.
+ */
+@Singleton
+@Requires(beans = JdbcExecutionListener.class)
+public class InstrumentingDataSourceListener implements BeanCreatedEventListener<DataSource>, Ordered {
+
+    private final JdbcExecutionListener listener;
+
+    public InstrumentingDataSourceListener(List<JdbcExecutionListener> listeners) {
+        this.listener = listeners.size() == 1 ? listeners.get(0) : new CompositeJdbcExecutionListener(listeners);
+    }
+
+    @Override
+    public DataSource onCreated(BeanCreatedEvent<DataSource> event) {
+        return new InstrumentedDataSource(event.getBean(), listener);
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,36 @@
+package com.payment.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Callback for statements executed through an {@link InstrumentedDataSource}
+ */
+public interface JdbcExecutionListener {
+
+    /**
+     * Called just before a statement executes; may configure the statement or refuse to
+     * run it by throwing
+     */
+    default void beforeExecute(Statement statement) throws SQLException {
+    }
+
+    /**
+     * Called when execution ends, successfully or not, for every statement that passed
+     * {@link #beforeExecute}
+     */
+    default void afterExecute(Statement statement) {
+    }
+
+    /**
+     * Called after a statement (or batch) finished executing, successfully or not
+     */
+    default void statementExecuted(String sql, long elapsedNanos) {
+    }
+
+    /**
+     * Called once per result set with the number of rows the caller consumed
+     */
+    default void rowsFetched(String sql, long rows) {
+    }
+}
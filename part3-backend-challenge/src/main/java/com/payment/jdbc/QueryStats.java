@@ -0,0 +1,55 @@
+package com.payment.jdbc;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statement accounting for a single HTTP request: how many statements ran, how long
+ * they spent in the database, how many rows were read, and how often each statement
+ * shape was executed (to spot N+1 patterns).
+ */
+public class QueryStats {
+
+    public static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    private final AtomicInteger queryCount = new AtomicInteger();
+    private final AtomicLong dbNanos = new AtomicLong();
+    private final AtomicLong rowsFetched = new AtomicLong();
+    private final Map<String, AtomicInteger> executionsByShape = new ConcurrentHashMap<>();
+
+    /**
+     * Record one execution; returns how many times this statement shape has now run
+     */
+    public int recordExecution(String shape, long elapsedNanos) {
+        queryCount.incrementAndGet();
+        dbNanos.addAndGet(elapsedNanos);
+        return executionsByShape.computeIfAbsent(shape, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void recordRows(long rows) {
+        rowsFetched.addAndGet(rows);
+    }
+
+    public int getQueryCount() {
+        return queryCount.get();
+    }
+
+    public long getDbNanos() {
+        return dbNanos.get();
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched.get();
+    }
+
+    /**
+     * Value for the Server-Timing response header
+     */
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d queries, %d rows\"",
+            dbNanos.get() / 1_000_000.0, queryCount.get(), rowsFetched.get());
+    }
+}
@@ -0,0 +1,171 @@
+package com.payment.jdbc;
+
+import com.payment.config.ReplicaRoutingConfiguration;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks which replicas may serve reads. A replica is taken out of rotation when a
+ * health check or connection attempt fails or its replay lag exceeds max-lag, and is put
+ * back after recovery-checks consecutive passing checks.
+ */
+@Singleton
+@Requires(property = "payment.replica-routing.enabled", value = "true")
+public class ReplicaHealthMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    /**
+     * Seconds since the last replayed transaction, or 0 when everything received has been
+     * replayed (an idle primary would otherwise look like growing lag)
+     */
+    private static final String LAG_QUERY =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+        "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final ReplicaRoutingConfiguration configuration;
+    private final BeanContext beanContext;
+    private final List<Replica> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaHealthMonitor(
+        ReplicaRoutingConfiguration configuration,
+        BeanContext beanContext,
+        MeterRegistry meterRegistry
+    ) {
+        this.configuration = configuration;
+        this.beanContext = beanContext;
+        this.replicas = configuration.getReplicas().stream().map(Replica::new).toList();
+
+        for (Replica replica : replicas) {
+            Gauge.builder("payment.replica.lag", replica, r -> r.lagMillis / 1000.0)
+                .description("Replay lag of the replica in seconds, as of the last health check")
+                .baseUnit("seconds")
+                .tag("replica", replica.name)
+                .register(meterRegistry);
+            Gauge.builder("payment.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                .description("1 while the replica is serving reads")
+                .tag("replica", replica.name)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Next healthy replica in round-robin order, if any
+     */
+    public Optional<Replica> nextHealthyReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return Optional.empty();
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return Optional.of(replica);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Take a replica out of rotation straight away, e.g. after a failed connection attempt
+     */
+    public void markFailed(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            LOG.warn("Replica {} taken out of rotation: {}", replica.name, cause.getMessage());
+        }
+        replica.healthy = false;
+        replica.passedChecks = 0;
+    }
+
+    @Scheduled(
+        fixedDelay = "${payment.replica-routing.health-check-interval:5s}",
+        initialDelay = "${payment.replica-routing.health-check-interval:5s}"
+    )
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+    }
+
+    private void check(Replica replica) {
+        double lagSeconds;
+        try (Connection connection = replica.dataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            lagSeconds = resultSet.getDouble(1);
+        } catch (SQLException | RuntimeException e) {
+            markFailed(replica, e);
+            return;
+        }
+
+        replica.lagMillis = (long) (lagSeconds * 1000);
+        if (replica.lagMillis > configuration.getMaxLag().toMillis()) {
+            if (replica.healthy) {
+                LOG.warn("Replica {} taken out of rotation: lag {} ms exceeds {}",
+                    replica.name, replica.lagMillis, configuration.getMaxLag());
+            }
+            replica.healthy = false;
+            replica.passedChecks = 0;
+            return;
+        }
+
+        if (!replica.healthy && ++replica.passedChecks >= configuration.getRecoveryChecks()) {
+            LOG.info("Replica {} back in rotation, lag {} ms", replica.name, replica.lagMillis);
+            replica.healthy = true;
+        }
+    }
+
+    /**
+     * Routing state of one replica datasource. Replicas start out of rotation and join
+     * after their first passing checks.
+     */
+    public final class Replica {
+
+        private final String name;
+        private volatile DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+        private int passedChecks;
+
+        private Replica(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Resolved on first use so the replica pools are not created while the primary
+         * datasource bean is still being built
+         */
+        public DataSource dataSource() {
+            DataSource resolved = dataSource;
+            if (resolved == null) {
+                resolved = beanContext.getBean(DataSource.class, Qualifiers.byName(name));
+                dataSource = resolved;
+            }
+            return resolved;
+        }
+    }
+}
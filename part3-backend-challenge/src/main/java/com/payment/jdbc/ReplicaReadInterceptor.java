@@ -0,0 +1,23 @@
+package com.payment.jdbc;
+
+import com.payment.config.ReplicaRoutingFilter;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.http.context.ServerRequestContext;
+
+/**
+ * Applies {@link ReplicaRead}: routes the call to a replica unless the current request
+ * is pinned to the primary for read-your-writes
+ */
+@InterceptorBean(ReplicaRead.class)
+public class ReplicaReadInterceptor implements MethodInterceptor<Object, Object> {
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        boolean pinned = ServerRequestContext.currentRequest()
+            .flatMap(request -> request.getAttribute(ReplicaRoutingFilter.PIN_PRIMARY_ATTRIBUTE, Boolean.class))
+            .orElse(false);
+        return DataSourceRoute.call(!pinned, context::proceed);
+    }
+}
@@ -0,0 +1,45 @@
+package com.payment.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.order.Ordered;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the default datasource in a {@link RoutingDataSource}. Runs right after
+ * {@link InstrumentingDataSourceListener}, so primary and replica connections are each
+ * instrumented once by their own datasource beans, and before Micronaut's transaction-aware
+ * proxy: a transaction opens one connection through the router and keeps it until commit,
+ * so the route cannot change halfway through.
+ */
+@Singleton
+@Requires(property = "payment.replica-routing.enabled", value = "true")
+public class ReplicaRoutingDataSourceListener implements BeanCreatedEventListener<DataSource>, Ordered {
+
+    private static final String PRIMARY = "default";
+
+    private final ReplicaHealthMonitor monitor;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSourceListener(ReplicaHealthMonitor monitor, MeterRegistry meterRegistry) {
+        this.monitor = monitor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public DataSource onCreated(BeanCreatedEvent<DataSource> event) {
+        if (!PRIMARY.equals(event.getBeanIdentifier().getName())) {
+            return event.getBean();
+        }
+        return new RoutingDataSource(event.getBean(), monitor, meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.payment.jdbc;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deadline and running statements of one HTTP request. Cancelling it cancels the running
+ * statements and makes any further statement fail before it reaches the database.
+ */
+public class RequestDeadline {
+
+    public static final String REQUEST_ATTRIBUTE = RequestDeadline.class.getName();
+
+    /** PostgreSQL query_canceled, also used when a statement is refused before it runs */
+    public static final String QUERY_CANCELED = "57014";
+
+    private final long deadlineNanos;
+    private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+    private volatile String cancelReason;
+
+    public RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Register a statement about to run and give it the remaining time as query timeout
+     *
+     * @throws SQLTimeoutException if the request was cancelled or its deadline has passed
+     */
+    void start(Statement statement) throws SQLException {
+        if (cancelReason != null) {
+            throw new SQLTimeoutException("Statement not started: " + cancelReason, QUERY_CANCELED);
+        }
+        long remainingNanos = remainingNanos();
+        if (remainingNanos <= 0) {
+            throw new SQLTimeoutException("Statement not started: request deadline exceeded", QUERY_CANCELED);
+        }
+        // JDBC timeouts are whole seconds; round up so short budgets are not turned into "no timeout"
+        statement.setQueryTimeout((int) Math.max(1, (remainingNanos + 999_999_999L) / 1_000_000_000L));
+        running.add(statement);
+        if (cancelReason != null) {
+            cancelQuietly(statement);
+        }
+    }
+
+    void finish(Statement statement) {
+        running.remove(statement);
+    }
+
+    /**
+     * Cancel the running statements, e.g. because the client disconnected
+     */
+    public void cancel(String reason) {
+        cancelReason = reason;
+        for (Statement statement : running) {
+            cancelQuietly(statement);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelReason != null;
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Time left before the deadline; zero or negative once it has passed
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * True if the failure, or any of its causes, is a cancelled or timed-out statement
+     */
+    public static boolean isCancellation(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && QUERY_CANCELED.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void cancelQuietly(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            // Statement already finished or connection gone; nothing left to cancel
+        }
+    }
+}
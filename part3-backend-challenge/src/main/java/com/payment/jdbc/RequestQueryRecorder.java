@@ -0,0 +1,78 @@
+package com.payment.jdbc;
+
+import com.payment.config.QueryAccountingConfiguration;
+import com.payment.exception.RepeatedStatementException;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.context.ServerRequestContext;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attributes executed statements to the current HTTP request's {@link QueryStats}
+ * and reports statement shapes that repeat beyond the configured threshold.
+ * Statements run outside a request (startup, scheduled jobs) are ignored.
+ */
+@Singleton
+@Requires(property = "payment.query-accounting.enabled", notEquals = "false")
+public class RequestQueryRecorder implements JdbcExecutionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestQueryRecorder.class);
+    private static final int MAX_CACHED_SHAPES = 1_000;
+
+    private final QueryAccountingConfiguration configuration;
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+
+    public RequestQueryRecorder(QueryAccountingConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public void statementExecuted(String sql, long elapsedNanos) {
+        Optional<QueryStats> current = currentStats();
+        if (current.isEmpty()) {
+            return;
+        }
+
+        String shape = shapeOf(sql);
+        int executions = current.get().recordExecution(shape, elapsedNanos);
+        if (executions == configuration.getRepeatedStatementThreshold() + 1) {
+            String path = ServerRequestContext.currentRequest().map(HttpRequest::getPath).orElse("?");
+            if (configuration.isFailOnRepeatedStatements()) {
+                throw new RepeatedStatementException(shape, executions);
+            }
+            LOG.warn("Possible N+1 on {}: statement executed more than {} times: {}",
+                path, configuration.getRepeatedStatementThreshold(), shape);
+        }
+    }
+
+    @Override
+    public void rowsFetched(String sql, long rows) {
+        currentStats().ifPresent(stats -> stats.recordRows(rows));
+    }
+
+    private Optional<QueryStats> currentStats() {
+        return ServerRequestContext.currentRequest()
+            .flatMap(request -> request.getAttribute(QueryStats.REQUEST_ATTRIBUTE, QueryStats.class));
+    }
+
+    /**
+     * Micronaut Data reuses the same generated SQL strings, so shapes are cached by statement text
+     */
+    private String shapeOf(String sql) {
+        String shape = shapeCache.get(sql);
+        if (shape == null) {
+            shape = SqlShape.of(sql);
+            if (shapeCache.size() >= MAX_CACHED_SHAPES) {
+                shapeCache.clear();
+            }
+            shapeCache.put(sql, shape);
+        }
+        return shape;
+    }
+}
@@ -0,0 +1,101 @@
+package com.payment.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.jdbc.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Primary datasource that hands out replica connections while the calling thread is
+ * inside a {@link ReplicaRead} method. Falls back to the primary when no replica is
+ * healthy or the replica connection attempt fails.
+ */
+public class RoutingDataSource implements DelegatingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaHealthMonitor monitor;
+    private final MeterRegistry meterRegistry;
+    private final Counter primaryFallbacks;
+
+    public RoutingDataSource(DataSource primary, ReplicaHealthMonitor monitor, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.monitor = monitor;
+        this.meterRegistry = meterRegistry;
+        this.primaryFallbacks = Counter.builder("payment.replica.fallbacks")
+            .description("Replica reads served by the primary because no replica was usable")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public DataSource getTargetDataSource() {
+        return primary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (DataSourceRoute.isReplica()) {
+            Optional<ReplicaHealthMonitor.Replica> replica = monitor.nextHealthyReplica();
+            if (replica.isPresent()) {
+                try {
+                    Connection connection = replica.get().dataSource().getConnection();
+                    meterRegistry.counter("payment.replica.reads", "replica", replica.get().getName()).increment();
+                    return connection;
+                } catch (SQLException e) {
+                    monitor.markFailed(replica.get(), e);
+                }
+            }
+            primaryFallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(primary)) {
+            return iface.cast(primary);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(primary) || primary.isWrapperFor(iface);
+    }
+}
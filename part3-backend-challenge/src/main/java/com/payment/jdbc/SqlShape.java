@@ -0,0 +1,103 @@
+package com.payment.jdbc;
+
+/**
+ * Reduces a SQL string to its "shape" so repeated executions of the same statement
+ * with different literals or IN-list lengths are recognised as one statement.
+ */
+public final class SqlShape {
+
+    private SqlShape() {
+    }
+
+    /**
+     * Normalise whitespace, replace literals with '?' and collapse IN lists to a single '?'
+     */
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        StringBuilder shape = new StringBuilder(Math.min(sql.length(), 512));
+        int length = sql.length();
+        int i = 0;
+        boolean pendingSpace = false;
+
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = shape.length() > 0;
+                i++;
+                continue;
+            }
+            if (pendingSpace) {
+                shape.append(' ');
+                pendingSpace = false;
+            }
+
+            if (c == '\'') {
+                // String literal, '' is an escaped quote
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                shape.append('?');
+                i++;
+            } else if (Character.isDigit(c) && !isIdentifierPart(shape)) {
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                shape.append('?');
+            } else {
+                shape.append(c);
+                i++;
+            }
+        }
+        return collapseLists(shape);
+    }
+
+    private static boolean isIdentifierPart(StringBuilder shape) {
+        if (shape.length() == 0) {
+            return false;
+        }
+        char previous = shape.charAt(shape.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$';
+    }
+
+    /**
+     * Turn "(?, ?, ?)" and "(?,?)" into "(?)"
+     */
+    private static String collapseLists(StringBuilder shape) {
+        StringBuilder collapsed = new StringBuilder(shape.length());
+        int i = 0;
+        while (i < shape.length()) {
+            char c = shape.charAt(i);
+            if (c == '(') {
+                int j = i + 1;
+                boolean onlyPlaceholders = false;
+                while (j < shape.length()) {
+                    char inner = shape.charAt(j);
+                    if (inner == '?') {
+                        onlyPlaceholders = true;
+                    } else if (inner != ',' && inner != ' ') {
+                        break;
+                    }
+                    j++;
+                }
+                if (onlyPlaceholders && j < shape.length() && shape.charAt(j) == ')') {
+                    collapsed.append("(?)");
+                    i = j + 1;
+                    continue;
+                }
+            }
+            collapsed.append(c);
+            i++;
+        }
+        return collapsed.toString();
+    }
+}
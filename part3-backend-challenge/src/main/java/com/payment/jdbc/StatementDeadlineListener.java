@@ -0,0 +1,36 @@
+package com.payment.jdbc;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.context.ServerRequestContext;
+import jakarta.inject.Singleton;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+/**
+ * Applies the current request's {@link RequestDeadline} to each statement. Statements run
+ * outside a request (startup, scheduled jobs) keep the driver defaults.
+ */
+@Singleton
+@Requires(property = "payment.statement-timeouts.enabled", notEquals = "false")
+public class StatementDeadlineListener implements JdbcExecutionListener {
+
+    @Override
+    public void beforeExecute(Statement statement) throws SQLException {
+        Optional<RequestDeadline> deadline = currentDeadline();
+        if (deadline.isPresent()) {
+            deadline.get().start(statement);
+        }
+    }
+
+    @Override
+    public void afterExecute(Statement statement) {
+        currentDeadline().ifPresent(deadline -> deadline.finish(statement));
+    }
+
+    private Optional<RequestDeadline> currentDeadline() {
+        return ServerRequestContext.currentRequest()
+            .flatMap(request -> request.getAttribute(RequestDeadline.REQUEST_ATTRIBUTE, RequestDeadline.class));
+    }
+}
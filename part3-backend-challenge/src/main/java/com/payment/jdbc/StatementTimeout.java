@@ -0,0 +1,23 @@
+package com.payment.jdbc;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Database time budget for an endpoint. Every statement the request runs gets the time
+ * left until the deadline as its query timeout; endpoints without the annotation use
+ * payment.statement-timeouts.default-timeout.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface StatementTimeout {
+
+    /**
+     * Seconds from the start of the request
+     */
+    int value();
+}
@@ -0,0 +1,63 @@
+package com.payment.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+
+/**
+ * Publishes the state of the logging pipeline configured in logback.xml:
+ * payment.logging.queue for each async appender on the root logger and
+ * payment.logging.suppressed for each {@link SamplingTurboFilter}
+ */
+@Singleton
+public class LoggingMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public LoggingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+            return;
+        }
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        Iterator<Appender<ILoggingEvent>> appenders =
+            context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            Appender<ILoggingEvent> appender = appenders.next();
+            if (appender instanceof AsyncAppenderBase) {
+                AsyncAppenderBase<ILoggingEvent> async = (AsyncAppenderBase<ILoggingEvent>) appender;
+                Gauge.builder("payment.logging.queue", async, AsyncAppenderBase::getNumberOfElementsInQueue)
+                    .description("Log events waiting for the async appender")
+                    .tag("appender", async.getName())
+                    .register(meterRegistry);
+            }
+        }
+
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter) {
+                SamplingTurboFilter sampling = (SamplingTurboFilter) filter;
+                FunctionCounter.builder("payment.logging.suppressed", sampling, SamplingTurboFilter::getSuppressed)
+                    .description("Log events dropped by sampling or rate limiting")
+                    .tag("logger", sampling.getLoggerPrefix())
+                    .register(meterRegistry);
+            }
+        }
+    }
+}
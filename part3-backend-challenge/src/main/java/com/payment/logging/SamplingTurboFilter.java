@@ -0,0 +1,131 @@
+package com.payment.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.payment.concurrent.TokenBucket;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback turbo filter that thins out the events of one logger and its children: only
+ * one in keep-one-in enabled events is kept, and the kept events are rate limited with a
+ * {@link TokenBucket}. Events above max-level are never touched, so warnings can be
+ * sampled while errors always get through.
+ * <p>
+ * Turbo filters run before the appender queue and before the message is formatted, so a
+ * suppressed event is never formatted or queued. isDebugEnabled() style checks
+ * are passed through; only the logging call itself is sampled.
+ *
+ * <pre>
+ * &lt;turboFilter class="com.payment.logging.SamplingTurboFilter"&gt;
+ *     &lt;loggerPrefix&gt;io.micronaut.data&lt;/loggerPrefix&gt;
+ *     &lt;ratePerSecond&gt;50&lt;/ratePerSecond&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String loggerPrefix;
+    private Level maxLevel = Level.INFO;
+    private int keepOneIn = 1;
+    private double ratePerSecond;
+    private int burst = 100;
+
+    private final AtomicLong seen = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    private volatile TokenBucket bucket;
+
+    @Override
+    public void start() {
+        if (loggerPrefix == null || loggerPrefix.isEmpty()) {
+            addError("loggerPrefix is required");
+            return;
+        }
+        if (keepOneIn < 1) {
+            addError("keepOneIn must be at least 1");
+            return;
+        }
+        if (ratePerSecond > 0) {
+            bucket = new TokenBucket(ratePerSecond, burst, System.nanoTime());
+        }
+        if (getName() == null) {
+            setName(loggerPrefix);
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level.levelInt > maxLevel.levelInt || format == null || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        // Disabled events are discarded by the level check anyway and must not use up a sample
+        if (level.levelInt < logger.getEffectiveLevel().levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        if (keepOneIn > 1 && seen.getAndIncrement() % keepOneIn != 0) {
+            suppressed.incrementAndGet();
+            return FilterReply.DENY;
+        }
+        TokenBucket limit = bucket;
+        if (limit != null && limit.tryAcquire(System.nanoTime()) != 0) {
+            suppressed.incrementAndGet();
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private boolean matches(String loggerName) {
+        return loggerName.startsWith(loggerPrefix)
+            && (loggerName.length() == loggerPrefix.length() || loggerName.charAt(loggerPrefix.length()) == '.');
+    }
+
+    /**
+     * Events dropped by sampling or rate limiting since startup
+     */
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+
+    public String getLoggerPrefix() {
+        return loggerPrefix;
+    }
+
+    /**
+     * Logger name to filter; its child loggers are filtered too
+     */
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    /**
+     * Highest level that is sampled, INFO by default
+     */
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+
+    /**
+     * Keep one in this many events; 1 keeps all of them
+     */
+    public void setKeepOneIn(int keepOneIn) {
+        this.keepOneIn = keepOneIn;
+    }
+
+    /**
+     * Sustained events per second let through; 0 means no limit
+     */
+    public void setRatePerSecond(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    /**
+     * Events let through back to back after a quiet period
+     */
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+}
@@ -6,6 +6,7 @@ import io.micronaut.data.jdbc.annotation.JdbcRepository;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.repository.CrudRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,4 +17,6 @@ import java.util.Optional;
 public interface MemberRepository extends CrudRepository<Member, Long> {
 
     Optional<Member> findByMemberCode(String memberCode);
+
+    List<Member> findByMemberIdInList(List<Long> memberIds);
 }
@@ -0,0 +1,50 @@
+package com.payment.repository;
+
+import com.payment.domain.CanonicalCodes;
+import io.micronaut.core.annotation.Introspected;
+
+/**
+ * One group of a grouped summary query: the count and amount total of a merchant's
+ * transactions with one status and currency. The total is read already scaled by the
+ * column scale, like {@link TransactionAmount}.
+ */
+@Introspected
+public class MerchantAmountGroup {
+
+    private final String merchantId;
+    private final String status;
+    private final String currency;
+    private final long txnCount;
+    private final long amountUnscaled;
+
+    public MerchantAmountGroup(String merchantId, String status, String currency, long txnCount, long amountUnscaled) {
+        this.merchantId = merchantId;
+        this.status = CanonicalCodes.of(status);
+        this.currency = CanonicalCodes.of(currency);
+        this.txnCount = txnCount;
+        this.amountUnscaled = amountUnscaled;
+    }
+
+    public String getMerchantId() {
+        return merchantId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public long getTxnCount() {
+        return txnCount;
+    }
+
+    /**
+     * Sum of amount × 10^{@value TransactionAmount#AMOUNT_SCALE}
+     */
+    public long getAmountUnscaled() {
+        return amountUnscaled;
+    }
+}
@@ -0,0 +1,91 @@
+package com.payment.repository;
+
+import com.payment.entity.TransactionMaster;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.repository.GenericRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read-only transaction queries for reporting workloads (summaries, unpaged scans).
+ * Bound to the "reporting" datasource so heavy scans cannot exhaust the interactive pool.
+ */
+@Repository("reporting")
+@JdbcRepository(dialect = Dialect.POSTGRES)
+public interface ReportingTransactionRepository extends GenericRepository<TransactionMaster, Long> {
+
+    String AMOUNT_COLUMNS = "SELECT status, currency, CAST(amount * 100 AS BIGINT) AS amount_unscaled "
+        + "FROM operators.transaction_master ";
+
+    String GROUP_COLUMNS = "SELECT merchant_id, status, currency, COUNT(*) AS txn_count, "
+        + "CAST(SUM(amount) * 100 AS BIGINT) AS amount_unscaled "
+        + "FROM operators.transaction_master ";
+
+    /**
+     * Amounts of all transactions by merchant ID
+     */
+    @Query(value = AMOUNT_COLUMNS + "WHERE merchant_id = :merchantId", nativeQuery = true)
+    List<TransactionAmount> findAmountsByMerchantId(String merchantId);
+
+    /**
+     * Amounts of all transactions by merchant ID and status
+     */
+    @Query(value = AMOUNT_COLUMNS + "WHERE merchant_id = :merchantId AND status = :status", nativeQuery = true)
+    List<TransactionAmount> findAmountsByMerchantIdAndStatus(String merchantId, String status);
+
+    /**
+     * Amounts of all transactions by merchant ID and date range
+     */
+    @Query(value = AMOUNT_COLUMNS
+        + "WHERE merchant_id = :merchantId AND local_txn_date_time BETWEEN :startDate AND :endDate", nativeQuery = true)
+    List<TransactionAmount> findAmountsByMerchantIdAndLocalTxnDateTimeBetween(
+        String merchantId,
+        Instant startDate,
+        Instant endDate
+    );
+
+    /**
+     * Amounts of all transactions by merchant ID, status, and date range
+     */
+    @Query(value = AMOUNT_COLUMNS
+        + "WHERE merchant_id = :merchantId AND status = :status "
+        + "AND local_txn_date_time BETWEEN :startDate AND :endDate", nativeQuery = true)
+    List<TransactionAmount> findAmountsByMerchantIdAndStatusAndLocalTxnDateTimeBetween(
+        String merchantId,
+        String status,
+        Instant startDate,
+        Instant endDate
+    );
+
+    /**
+     * Counts and amount totals per merchant, status and currency for several merchants and a
+     * date range; at most merchants × statuses × currencies rows whatever the volume
+     */
+    @Query(value = GROUP_COLUMNS
+        + "WHERE merchant_id IN (:merchantIds) AND local_txn_date_time BETWEEN :startDate AND :endDate "
+        + "GROUP BY merchant_id, status, currency", nativeQuery = true)
+    List<MerchantAmountGroup> findAmountGroupsByMerchantIdInListAndLocalTxnDateTimeBetween(
+        List<String> merchantIds,
+        Instant startDate,
+        Instant endDate
+    );
+
+    /**
+     * Counts and amount totals per merchant, status and currency for several merchants, a
+     * status and a date range
+     */
+    @Query(value = GROUP_COLUMNS
+        + "WHERE merchant_id IN (:merchantIds) AND status = :status "
+        + "AND local_txn_date_time BETWEEN :startDate AND :endDate "
+        + "GROUP BY merchant_id, status, currency", nativeQuery = true)
+    List<MerchantAmountGroup> findAmountGroupsByMerchantIdInListAndStatusAndLocalTxnDateTimeBetween(
+        List<String> merchantIds,
+        String status,
+        Instant startDate,
+        Instant endDate
+    );
+}
@@ -0,0 +1,40 @@
+package com.payment.repository;
+
+import com.payment.domain.CanonicalCodes;
+import io.micronaut.core.annotation.Introspected;
+
+/**
+ * Projection of the columns a summary needs. The amount is read as a long already scaled
+ * by the column scale, so no BigDecimal is created per row.
+ */
+@Introspected
+public class TransactionAmount {
+
+    /** Scale of transaction_master.amount, DECIMAL(15,2) */
+    public static final int AMOUNT_SCALE = 2;
+
+    private final String status;
+    private final String currency;
+    private final long amountUnscaled;
+
+    public TransactionAmount(String status, String currency, long amountUnscaled) {
+        this.status = CanonicalCodes.of(status);
+        this.currency = CanonicalCodes.of(currency);
+        this.amountUnscaled = amountUnscaled;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * amount × 10^{@value #AMOUNT_SCALE}
+     */
+    public long getAmountUnscaled() {
+        return amountUnscaled;
+    }
+}
@@ -54,6 +54,52 @@ public interface TransactionRepository extends CrudRepository<TransactionMaster,
         Pageable pageable
     );
 
+    /**
+     * Page of transactions by merchant ID without the count query
+     */
+    List<TransactionMaster> queryByMerchantId(String merchantId, Pageable pageable);
+
+    /**
+     * Page of transactions by merchant ID and status without the count query
+     */
+    List<TransactionMaster> queryByMerchantIdAndStatus(String merchantId, String status, Pageable pageable);
+
+    /**
+     * Page of transactions by merchant ID and date range without the count query
+     */
+    List<TransactionMaster> queryByMerchantIdAndLocalTxnDateTimeBetween(
+        String merchantId,
+        Instant startDate,
+        Instant endDate,
+        Pageable pageable
+    );
+
+    /**
+     * Page of transactions by merchant ID, status, and date range without the count query
+     */
+    List<TransactionMaster> queryByMerchantIdAndStatusAndLocalTxnDateTimeBetween(
+        String merchantId,
+        String status,
+        Instant startDate,
+        Instant endDate,
+        Pageable pageable
+    );
+
+    /**
+     * Highest transaction ID, or null when there are none
+     */
+    Long findMaxTxnId();
+
+    /**
+     * Transactions inserted after the given ID, for the live feed; pass a pageable sorted by txnId
+     */
+    List<TransactionMaster> queryByTxnIdGreaterThan(Long txnId, Pageable pageable);
+
+    /**
+     * Transactions by ID, for IDs the live feed skipped while their inserts were uncommitted
+     */
+    List<TransactionMaster> queryByTxnIdInList(List<Long> txnIds);
+
     /**
      * Count transactions by merchant ID
      */
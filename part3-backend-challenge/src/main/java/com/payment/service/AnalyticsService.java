@@ -0,0 +1,39 @@
+package com.payment.service;
+
+import com.payment.dto.TopMerchantsResponse;
+import com.payment.dto.TransactionHistogramResponse;
+
+/**
+ * Service interface for analytics over recent transactions
+ */
+public interface AnalyticsService {
+
+    /**
+     * Transactions per hour or day for a merchant
+     */
+    TransactionHistogramResponse getTransactionHistogram(
+        String merchantId,
+        String startDate,
+        String endDate,
+        String interval,
+        String status,
+        String currency
+    );
+
+    /**
+     * Merchants ranked by transaction count or amount
+     */
+    TopMerchantsResponse getTopMerchants(
+        String startDate,
+        String endDate,
+        String status,
+        String currency,
+        String rankBy,
+        int limit
+    );
+
+    /**
+     * Merchants ranked by completed volume or count today or this week, from running counters
+     */
+    TopMerchantsResponse getLeaderboard(String metric, String window, String currency, int n);
+}
@@ -0,0 +1,228 @@
+package com.payment.service;
+
+import com.payment.analytics.MerchantLeaderboard;
+import com.payment.analytics.RecentTransactionStore;
+import com.payment.domain.Money;
+import com.payment.dto.DateRange;
+import com.payment.dto.HistogramBucket;
+import com.payment.dto.MerchantRanking;
+import com.payment.dto.TopMerchantsResponse;
+import com.payment.dto.TransactionHistogramResponse;
+import com.payment.exception.AnalyticsUnavailableException;
+import com.payment.exception.NotFoundException;
+import com.payment.repository.MerchantRepository;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.DayOfWeek;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Analytics answered from the in-process {@link RecentTransactionStore}; ranges older than
+ * the store covers are rejected rather than sent to the database.
+ */
+@Singleton
+@Requires(beans = RecentTransactionStore.class)
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(7);
+    private static final int MAX_BUCKETS = 2_000;
+    private static final int MAX_LIMIT = 100;
+
+    private final RecentTransactionStore store;
+    private final MerchantLeaderboard leaderboard;
+    private final MerchantRepository merchantRepository;
+
+    public AnalyticsServiceImpl(
+        RecentTransactionStore store,
+        MerchantLeaderboard leaderboard,
+        MerchantRepository merchantRepository
+    ) {
+        this.store = store;
+        this.leaderboard = leaderboard;
+        this.merchantRepository = merchantRepository;
+    }
+
+    @Override
+    public TransactionHistogramResponse getTransactionHistogram(
+        String merchantId,
+        String startDate,
+        String endDate,
+        String interval,
+        String status,
+        String currency
+    ) {
+        Duration bucket;
+        if ("hour".equals(interval)) {
+            bucket = Duration.ofHours(1);
+        } else if ("day".equals(interval)) {
+            bucket = Duration.ofDays(1);
+        } else {
+            throw new IllegalArgumentException("Interval must be hour or day");
+        }
+
+        DateRange range = resolveRange(startDate, endDate);
+        if (Duration.between(range.getStart(), range.getEnd()).dividedBy(bucket) >= MAX_BUCKETS) {
+            throw new IllegalArgumentException("Date range is too long for interval " + interval);
+        }
+
+        RecentTransactionStore.Histogram histogram = store.histogram(
+            merchantId, range.getStart(), range.getEnd(), bucket.toNanos() / 1_000, status, currency
+        );
+        if (histogram == null) {
+            throw outsideCoverage();
+        }
+        if (!merchantRepository.existsById(merchantId)) {
+            throw new NotFoundException("Merchant not found with ID: " + merchantId);
+        }
+
+        List<HistogramBucket> buckets = new ArrayList<>(histogram.size());
+        for (int i = 0; i < histogram.size(); i++) {
+            buckets.add(new HistogramBucket(
+                histogram.bucketStart(i),
+                histogram.count(i),
+                Money.ofMinor(histogram.amountMinor(i), currency).toBigDecimal()
+            ));
+        }
+
+        TransactionHistogramResponse response = new TransactionHistogramResponse();
+        response.setMerchantId(merchantId);
+        response.setDateRange(range);
+        response.setInterval(interval);
+        response.setCurrency(currency);
+        response.setBuckets(buckets);
+        return response;
+    }
+
+    @Override
+    public TopMerchantsResponse getTopMerchants(
+        String startDate,
+        String endDate,
+        String status,
+        String currency,
+        String rankBy,
+        int limit
+    ) {
+        if (!"count".equals(rankBy) && !"amount".equals(rankBy)) {
+            throw new IllegalArgumentException("rankBy must be count or amount");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        DateRange range = resolveRange(startDate, endDate);
+        List<RecentTransactionStore.MerchantTotal> top = store.topMerchants(
+            range.getStart(), range.getEnd(), status, currency, "amount".equals(rankBy), limit
+        );
+        if (top == null) {
+            throw outsideCoverage();
+        }
+
+        TopMerchantsResponse response = new TopMerchantsResponse();
+        response.setDateRange(range);
+        response.setRankBy(rankBy);
+        response.setCurrency(currency);
+        response.setMerchants(top.stream()
+            .map(total -> new MerchantRanking(
+                total.getMerchantId(),
+                total.getCount(),
+                Money.ofMinor(total.getAmountMinor(), currency).toBigDecimal()
+            ))
+            .collect(Collectors.toList()));
+        return response;
+    }
+
+    @Override
+    public TopMerchantsResponse getLeaderboard(String metric, String window, String currency, int n) {
+        if (!"volume".equals(metric) && !"count".equals(metric)) {
+            throw new IllegalArgumentException("metric must be volume or count");
+        }
+        if (n < 1 || n > MAX_LIMIT) {
+            throw new IllegalArgumentException("n must be between 1 and " + MAX_LIMIT);
+        }
+        if (!store.isReady()) {
+            throw new AnalyticsUnavailableException("Recent transaction data is still loading, please retry shortly");
+        }
+
+        Instant now = Instant.now();
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        LocalDate fromDay;
+        if ("today".equals(window)) {
+            fromDay = today;
+        } else if ("week".equals(window)) {
+            fromDay = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        } else {
+            throw new IllegalArgumentException("window must be today or week");
+        }
+
+        List<RecentTransactionStore.MerchantTotal> top = leaderboard.top(fromDay, currency, "volume".equals(metric), n);
+        if (top == null) {
+            throw new IllegalArgumentException("This window starts before " + store.coveredFrom()
+                + ", the oldest transaction held");
+        }
+
+        TopMerchantsResponse response = new TopMerchantsResponse();
+        response.setDateRange(new DateRange(fromDay.atStartOfDay().toInstant(ZoneOffset.UTC), now));
+        response.setRankBy(metric);
+        response.setCurrency(currency);
+        response.setMerchants(top.stream()
+            .map(total -> new MerchantRanking(
+                total.getMerchantId(),
+                total.getCount(),
+                Money.ofMinor(total.getAmountMinor(), currency).toBigDecimal()
+            ))
+            .collect(Collectors.toList()));
+        return response;
+    }
+
+    /**
+     * Missing dates default to the last seven days, clipped to what the store covers
+     */
+    private DateRange resolveRange(String startDate, String endDate) {
+        if (!store.isReady()) {
+            throw new AnalyticsUnavailableException("Recent transaction data is still loading, please retry shortly");
+        }
+        Instant end = endDate != null ? parseDate(endDate, false) : Instant.now();
+        Instant start;
+        if (startDate != null) {
+            start = parseDate(startDate, true);
+        } else {
+            start = end.minus(DEFAULT_RANGE);
+            if (start.isBefore(store.coveredFrom())) {
+                start = store.coveredFrom();
+            }
+        }
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        return new DateRange(start, end);
+    }
+
+    private IllegalArgumentException outsideCoverage() {
+        return new IllegalArgumentException("startDate must not be before " + store.coveredFrom());
+    }
+
+    private Instant parseDate(String dateStr, boolean isStart) {
+        try {
+            if (dateStr.contains("T")) {
+                return Instant.parse(dateStr);
+            }
+            LocalDate localDate = LocalDate.parse(dateStr, DateTimeFormatter.ISO_DATE);
+            if (isStart) {
+                return localDate.atStartOfDay().toInstant(ZoneOffset.UTC);
+            }
+            return localDate.atTime(23, 59, 59).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + dateStr);
+        }
+    }
+}
@@ -1,34 +1,54 @@
 package com.payment.service;
 
+import com.payment.audit.AuditService;
+import com.payment.cache.CacheInvalidationBus;
+import com.payment.concurrent.WithBulkhead;
 import com.payment.dto.MerchantRequest;
 import com.payment.dto.MerchantResponse;
 import com.payment.dto.PaginatedResponse;
 import com.payment.entity.Merchant;
 import com.payment.exception.NotFoundException;
+import com.payment.jdbc.ReplicaRead;
 import com.payment.repository.MerchantRepository;
+import io.micronaut.cache.annotation.Cacheable;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
- * Service implementation for merchant operations
+ * Service implementation for merchant operations.
+ * Merchants by ID are cached; writes evict them on every node through the invalidation bus.
+ * Writes are recorded in the audit log.
  */
 @Singleton
+@WithBulkhead("interactive")
 public class MerchantServiceImpl implements MerchantService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MerchantServiceImpl.class);
+    private static final String AUDIT_ENTITY = "merchant";
     private final MerchantRepository merchantRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AuditService auditService;
 
-    public MerchantServiceImpl(MerchantRepository merchantRepository) {
+    public MerchantServiceImpl(
+        MerchantRepository merchantRepository,
+        CacheInvalidationBus cacheInvalidationBus,
+        AuditService auditService
+    ) {
         this.merchantRepository = merchantRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.auditService = auditService;
     }
 
     @Override
+    @ReplicaRead
     public PaginatedResponse<MerchantResponse> getMerchants(
         int page,
         int size,
@@ -141,6 +161,8 @@ public class MerchantServiceImpl implements MerchantService {
     }
 
     @Override
+    @ReplicaRead
+    @Cacheable(CacheInvalidationBus.MERCHANTS)
     public MerchantResponse getMerchantById(String id) {
         LOG.debug("Getting merchant by ID: {}", id);
         Merchant merchant = merchantRepository.findById(id)
@@ -175,6 +197,7 @@ public class MerchantServiceImpl implements MerchantService {
         merchant.setUpdatedAt(Instant.now());
 
         Merchant saved = merchantRepository.save(merchant);
+        auditService.log("create", AUDIT_ENTITY, saved.getId(), "status=" + saved.getStatus());
         LOG.info("Created merchant with ID: {}", saved.getId());
         return toResponse(saved);
     }
@@ -192,6 +215,8 @@ public class MerchantServiceImpl implements MerchantService {
             throw new IllegalArgumentException("Merchant with email " + request.getEmail() + " already exists");
         }
 
+        String changes = changedFields(merchant, request);
+
         // Update fields
         merchant.setName(request.getName());
         merchant.setEmail(request.getEmail());
@@ -205,6 +230,8 @@ public class MerchantServiceImpl implements MerchantService {
         merchant.setUpdatedAt(Instant.now());
 
         Merchant updated = merchantRepository.update(merchant);
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.MERCHANTS, id);
+        auditService.log("update", AUDIT_ENTITY, id, changes);
         LOG.info("Updated merchant with ID: {}", updated.getId());
         return toResponse(updated);
     }
@@ -217,9 +244,36 @@ public class MerchantServiceImpl implements MerchantService {
             .orElseThrow(() -> new NotFoundException("Merchant not found with ID: " + id));
 
         merchantRepository.delete(merchant);
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.MERCHANTS, id);
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.SUMMARIES, id);
+        auditService.log("delete", AUDIT_ENTITY, id, null);
         LOG.info("Deleted merchant with ID: {}", id);
     }
 
+    /**
+     * Audit details for an update: the names of the fields the request changes. Values
+     * are left out, since they include contact details.
+     */
+    private String changedFields(Merchant merchant, MerchantRequest request) {
+        List<String> changed = new ArrayList<>();
+        addIfChanged(changed, "name", merchant.getName(), request.getName());
+        addIfChanged(changed, "email", merchant.getEmail(), request.getEmail());
+        addIfChanged(changed, "phone", merchant.getPhone(), request.getPhone());
+        addIfChanged(changed, "businessName", merchant.getBusinessName(), request.getBusinessName());
+        addIfChanged(changed, "registrationNumber", merchant.getRegistrationNumber(), request.getRegistrationNumber());
+        addIfChanged(changed, "address", merchant.getAddress(), request.getAddress());
+        addIfChanged(changed, "city", merchant.getCity(), request.getCity());
+        addIfChanged(changed, "country", merchant.getCountry(), request.getCountry());
+        addIfChanged(changed, "status", merchant.getStatus(), request.getStatus());
+        return "changed: " + (changed.isEmpty() ? "none" : String.join(", ", changed));
+    }
+
+    private static void addIfChanged(List<String> changed, String field, String before, String after) {
+        if (!Objects.equals(before, after)) {
+            changed.add(field);
+        }
+    }
+
     /**
      * Convert Merchant entity to MerchantResponse DTO
      */
@@ -0,0 +1,95 @@
+package com.payment.service;
+
+import com.payment.concurrent.SingleFlight;
+import com.payment.config.ReplicaRoutingFilter;
+import com.payment.config.StatementTimeoutConfiguration;
+import com.payment.dto.MerchantTransactionsResponse;
+import com.payment.jdbc.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.data.exceptions.DataAccessException;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.context.ServerRequestContext;
+import jakarta.inject.Singleton;
+
+import java.sql.SQLTimeoutException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single-flight front for {@link TransactionService#getMerchantTransactions}: identical
+ * concurrent requests, e.g. one dashboard open in many tabs, share one computation.
+ * Waiting callers do not hold a bulkhead permit or a connection, and wait no longer than
+ * their own request deadline allows.
+ */
+@Singleton
+public class TransactionQueryCoalescer {
+
+    private final TransactionService transactionService;
+    private final SingleFlight<List<Object>, MerchantTransactionsResponse> flights = new SingleFlight<>();
+    private final long defaultMaxWaitNanos;
+    private final Counter shared;
+
+    public TransactionQueryCoalescer(
+        TransactionService transactionService,
+        StatementTimeoutConfiguration statementTimeouts,
+        MeterRegistry meterRegistry
+    ) {
+        this.transactionService = transactionService;
+        this.defaultMaxWaitNanos = statementTimeouts.getDefaultTimeout().toNanos();
+        this.shared = Counter.builder("payment.transactions.coalesced")
+            .description("Transaction queries answered by an identical query already in flight")
+            .register(meterRegistry);
+    }
+
+    public MerchantTransactionsResponse getMerchantTransactions(
+        String merchantId,
+        int page,
+        int size,
+        String startDate,
+        String endDate,
+        String status,
+        TransactionQueryOptions options
+    ) {
+        Optional<HttpRequest<Object>> request = ServerRequestContext.currentRequest();
+        Optional<RequestDeadline> deadline = request
+            .flatMap(r -> r.getAttribute(RequestDeadline.REQUEST_ATTRIBUTE, RequestDeadline.class));
+
+        // Requests pinned to the primary (read-your-writes) must not share a replica result
+        boolean pinnedToPrimary = request
+            .flatMap(r -> r.getAttribute(ReplicaRoutingFilter.PIN_PRIMARY_ATTRIBUTE, Boolean.class))
+            .orElse(false);
+
+        // The flight runs with exactly the values it is keyed by, as the caller gave them, so
+        // every caller sharing it asked for the same query
+        List<Object> key = Arrays.asList(merchantId, page, size, startDate, endDate, status, options, pinnedToPrimary);
+        long maxWaitNanos = deadline.map(RequestDeadline::remainingNanos).orElse(defaultMaxWaitNanos);
+
+        AtomicBoolean joined = new AtomicBoolean();
+        try {
+            return flights.execute(
+                key,
+                () -> transactionService.getMerchantTransactions(merchantId, page, size, startDate, endDate, status, options),
+                () -> {
+                    joined.set(true);
+                    shared.increment();
+                },
+                maxWaitNanos
+            );
+        } catch (TimeoutException e) {
+            throw new DataAccessException("Request deadline exceeded while waiting for an identical query",
+                new SQLTimeoutException("Request deadline exceeded", RequestDeadline.QUERY_CANCELED));
+        } catch (RuntimeException e) {
+            // The flight's statements were cancelled for its own caller (disconnect or deadline);
+            // a joined caller with time left runs the query itself instead of failing too
+            boolean ownTimeLeft = deadline.map(d -> !d.isCancelled() && !d.isExpired()).orElse(true);
+            if (joined.get() && ownTimeLeft && RequestDeadline.isCancellation(e)) {
+                return transactionService.getMerchantTransactions(merchantId, page, size, startDate, endDate, status, options);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.payment.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What a transactions request asks for: which optional parts to compute (include=) and
+ * which transaction fields to return (fields=). Parts that are not needed are not queried.
+ */
+public class TransactionQueryOptions {
+
+    /**
+     * Optional parts of the response, each backed by its own query
+     */
+    public enum Include {
+        /** transaction_details rows for each transaction */
+        DETAILS,
+        /** acquirer and issuer member names */
+        MEMBERS,
+        /** totals and status counts over the whole filter */
+        SUMMARY,
+        /** totalElements/totalPages in pagination */
+        TOTAL
+    }
+
+    public static final Set<String> FIELDS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+        "txnId", "amount", "currency", "status", "timestamp", "cardType", "cardLast4", "acquirer", "issuer", "details"
+    )));
+
+    private static final TransactionQueryOptions ALL = new TransactionQueryOptions(EnumSet.allOf(Include.class), FIELDS);
+
+    private final Set<Include> includes;
+    private final Set<String> fields;
+
+    private TransactionQueryOptions(Set<Include> includes, Set<String> fields) {
+        this.includes = includes;
+        this.fields = fields;
+    }
+
+    /**
+     * Everything, as returned before include= and fields= existed
+     */
+    public static TransactionQueryOptions all() {
+        return ALL;
+    }
+
+    /**
+     * Parse comma-separated include= and fields= values; null means everything
+     *
+     * @throws IllegalArgumentException on an unknown part or field name
+     */
+    public static TransactionQueryOptions parse(String include, String fields) {
+        Set<Include> includes = EnumSet.allOf(Include.class);
+        if (include != null) {
+            includes = EnumSet.noneOf(Include.class);
+            for (String part : split(include)) {
+                try {
+                    includes.add(Include.valueOf(part.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("include must be a comma-separated list of: details, members, summary, total");
+                }
+            }
+        }
+
+        Set<String> selected = FIELDS;
+        if (fields != null) {
+            selected = split(fields);
+            for (String field : selected) {
+                if (!FIELDS.contains(field)) {
+                    throw new IllegalArgumentException("Unknown field '" + field + "', allowed: " + String.join(", ", FIELDS));
+                }
+            }
+        }
+        return new TransactionQueryOptions(includes, selected);
+    }
+
+    private static Set<String> split(String value) {
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(part -> !part.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    public boolean includes(Include include) {
+        return includes.contains(include);
+    }
+
+    public boolean hasField(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Details are loaded only when included and selected
+     */
+    public boolean needsDetails() {
+        return includes(Include.DETAILS) && hasField("details");
+    }
+
+    /**
+     * Member names are resolved only when included and acquirer or issuer is selected
+     */
+    public boolean needsMembers() {
+        return includes(Include.MEMBERS) && (hasField("acquirer") || hasField("issuer"));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TransactionQueryOptions)) {
+            return false;
+        }
+        TransactionQueryOptions that = (TransactionQueryOptions) o;
+        return includes.equals(that.includes) && fields.equals(that.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(includes, fields);
+    }
+}
@@ -1,6 +1,11 @@
 package com.payment.service;
 
 import com.payment.dto.MerchantTransactionsResponse;
+import com.payment.dto.TransactionDetailResponse;
+import com.payment.dto.TransactionSummary;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for transaction operations
@@ -10,13 +15,42 @@ public interface TransactionService {
     /**
      * Get transactions for a merchant with pagination and filtering
      */
+    default MerchantTransactionsResponse getMerchantTransactions(
+        String merchantId,
+        int page,
+        int size,
+        String startDate,
+        String endDate,
+        String status
+    ) {
+        return getMerchantTransactions(merchantId, page, size, startDate, endDate, status, TransactionQueryOptions.all());
+    }
+
+    /**
+     * Get transactions for a merchant, computing only the parts and fields in the options
+     */
     MerchantTransactionsResponse getMerchantTransactions(
         String merchantId,
         int page,
         int size,
         String startDate,
         String endDate,
+        String status,
+        TransactionQueryOptions options
+    );
+
+    /**
+     * Get details for several transactions in one query, keyed by transaction ID in request order
+     */
+    Map<Long, List<TransactionDetailResponse>> getTransactionDetails(List<Long> txnIds);
+
+    /**
+     * Summarize several merchants' transactions over one date range, keyed by merchant ID in request order
+     */
+    Map<String, TransactionSummary> getMerchantSummaries(
+        List<String> merchantIds,
+        String startDate,
+        String endDate,
         String status
     );
 }
-
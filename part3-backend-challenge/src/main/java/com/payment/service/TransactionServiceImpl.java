@@ -1,14 +1,35 @@
 package com.payment.service;
 
+import com.payment.analytics.MerchantDailySketches;
+import com.payment.analytics.MerchantTimeIndex;
+import com.payment.analytics.RecentTransactionStore;
+import com.payment.cache.CacheInvalidationBus;
+import com.payment.concurrent.Bulkhead;
+import com.payment.concurrent.WithBulkhead;
+import com.payment.domain.Money;
+import com.payment.domain.MoneyTotals;
+import com.payment.domain.StatusCounts;
+import com.payment.domain.TDigest;
+import com.payment.domain.TransactionStatus;
 import com.payment.dto.*;
 import com.payment.entity.Member;
 import com.payment.entity.TransactionDetail;
 import com.payment.entity.TransactionMaster;
 import com.payment.exception.NotFoundException;
+import com.payment.jdbc.ReplicaRead;
 import com.payment.repository.MemberRepository;
+import com.payment.repository.MerchantAmountGroup;
 import com.payment.repository.MerchantRepository;
+import com.payment.repository.ReportingTransactionRepository;
+import com.payment.repository.TransactionAmount;
 import com.payment.repository.TransactionDetailRepository;
 import com.payment.repository.TransactionRepository;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.propagation.PropagatedContext;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,40 +41,88 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 /**
- * Service implementation for transaction operations
+ * Service implementation for transaction operations.
+ * Page queries run in the interactive bulkhead; the summary scan runs concurrently on the
+ * reporting executor, bulkhead and datasource, or in-process when the recent transaction
+ * store covers the requested range. Counts and summaries over covered ranges come from the
+ * per-merchant time index where it can answer them. Member names and database-computed
+ * summaries are cached and evicted through the {@link CacheInvalidationBus}.
  */
 @Singleton
+@WithBulkhead("interactive")
 public class TransactionServiceImpl implements TransactionService {
 
     private static final Logger LOG = LoggerFactory.getLogger(TransactionServiceImpl.class);
+
+    /**
+     * Summary cache variants: single-merchant summaries carry amount percentiles, the
+     * grouped batch query cannot compute them
+     */
+    private static final String DETAILED_SUMMARY = "detailed";
+    private static final String GROUPED_SUMMARY = "grouped";
+
     private final TransactionRepository transactionRepository;
     private final TransactionDetailRepository transactionDetailRepository;
     private final MerchantRepository merchantRepository;
     private final MemberRepository memberRepository;
+    private final ReportingTransactionRepository reportingTransactionRepository;
+    private final Bulkhead reportingBulkhead;
+    private final ExecutorService reportingExecutor;
+    private final RecentTransactionStore recentTransactions;
+    private final MerchantTimeIndex merchantTimeIndex;
+    private final MerchantDailySketches dailySketches;
+    private final SyncCache<?> memberNameCache;
+    private final SyncCache<?> summaryCache;
+    private final int maxBatchGetIds;
+    private final int maxSummaryMerchants;
 
     public TransactionServiceImpl(
         TransactionRepository transactionRepository,
         TransactionDetailRepository transactionDetailRepository,
         MerchantRepository merchantRepository,
-        MemberRepository memberRepository
+        MemberRepository memberRepository,
+        ReportingTransactionRepository reportingTransactionRepository,
+        @Named("reporting") Bulkhead reportingBulkhead,
+        @Named("reporting") ExecutorService reportingExecutor,
+        @Nullable RecentTransactionStore recentTransactions,
+        @Nullable MerchantTimeIndex merchantTimeIndex,
+        @Nullable MerchantDailySketches dailySketches,
+        CacheManager<?> cacheManager,
+        @Value("${payment.transactions.max-batch-get-ids:100}") int maxBatchGetIds,
+        @Value("${payment.transactions.max-summary-merchants:500}") int maxSummaryMerchants
     ) {
         this.transactionRepository = transactionRepository;
         this.transactionDetailRepository = transactionDetailRepository;
         this.merchantRepository = merchantRepository;
         this.memberRepository = memberRepository;
+        this.reportingTransactionRepository = reportingTransactionRepository;
+        this.reportingBulkhead = reportingBulkhead;
+        this.reportingExecutor = reportingExecutor;
+        this.recentTransactions = recentTransactions;
+        this.merchantTimeIndex = merchantTimeIndex;
+        this.dailySketches = dailySketches;
+        this.memberNameCache = cacheManager.getCache(CacheInvalidationBus.MEMBERS);
+        this.summaryCache = cacheManager.getCache(CacheInvalidationBus.SUMMARIES);
+        this.maxBatchGetIds = maxBatchGetIds;
+        this.maxSummaryMerchants = maxSummaryMerchants;
     }
 
     @Override
+    @ReplicaRead
     public MerchantTransactionsResponse getMerchantTransactions(
         String merchantId,
         int page,
         int size,
         String startDate,
         String endDate,
-        String status
+        String status,
+        TransactionQueryOptions options
     ) {
         LOG.debug("Getting transactions for merchant: {}, page: {}, size: {}, startDate: {}, endDate: {}, status: {}", 
             merchantId, page, size, startDate, endDate, status);
@@ -71,130 +140,285 @@ public class TransactionServiceImpl implements TransactionService {
             throw new IllegalArgumentException("Page size must be between 1 and 100");
         }
 
-        // Validate merchant exists
-        if (!merchantRepository.existsById(merchantId)) {
-            throw new NotFoundException("Merchant not found with ID: " + merchantId);
-        }
-
         // Parse dates
         Instant startInstant = parseDate(startDate, true);
         Instant endInstant = parseDate(endDate, false);
 
-        // Adjust page to 0-based for Micronaut Data
-        int pageNumber = Math.max(0, page);
-        io.micronaut.data.model.Pageable pageable = io.micronaut.data.model.Pageable.from(pageNumber, size);
+        // Start the summary scan on the reporting workload while the page is fetched
+        boolean withSummary = options.includes(TransactionQueryOptions.Include.SUMMARY);
+        CompletableFuture<TransactionSummary> summaryFuture = withSummary
+            ? calculateSummaryAsync(merchantId, startInstant, endInstant, status)
+            : null;
 
-        // Fetch transactions with filters
-        io.micronaut.data.model.Page<TransactionMaster> transactionPage;
-        
-        if (startInstant != null && endInstant != null) {
-            if (status != null && !status.trim().isEmpty()) {
-                transactionPage = transactionRepository.findByMerchantIdAndStatusAndLocalTxnDateTimeBetween(
-                    merchantId, status, startInstant, endInstant, pageable
-                );
+        try {
+            // Adjust page to 0-based for Micronaut Data
+            int pageNumber = Math.max(0, page);
+            io.micronaut.data.model.Pageable pageable = io.micronaut.data.model.Pageable.from(pageNumber, size);
+
+            // The count query only runs when a total is wanted and the summary cannot supply it
+            boolean countWithPage = options.includes(TransactionQueryOptions.Include.TOTAL) && !withSummary;
+            Long totalCount = null;
+            if (countWithPage && merchantTimeIndex != null && startInstant != null && endInstant != null) {
+                totalCount = merchantTimeIndex.count(merchantId, startInstant, endInstant, status);
+                countWithPage = totalCount == null;
+            }
+            List<TransactionMaster> transactions;
+            if (countWithPage) {
+                io.micronaut.data.model.Page<TransactionMaster> transactionPage =
+                    findTransactionPage(merchantId, status, startInstant, endInstant, pageable);
+                transactions = transactionPage.getContent();
+                totalCount = transactionPage.getTotalSize();
             } else {
-                transactionPage = transactionRepository.findByMerchantIdAndLocalTxnDateTimeBetween(
-                    merchantId, startInstant, endInstant, pageable
-                );
+                transactions = findTransactions(merchantId, status, startInstant, endInstant, pageable);
             }
-        } else if (status != null && !status.trim().isEmpty()) {
-            transactionPage = transactionRepository.findByMerchantIdAndStatus(merchantId, status, pageable);
-        } else {
-            transactionPage = transactionRepository.findByMerchantId(merchantId, pageable);
-        }
 
-        List<TransactionMaster> transactions = transactionPage.getContent();
+            // An empty page is the only case where the merchant might not exist
+            if (transactions.isEmpty() && !merchantRepository.existsById(merchantId)) {
+                throw new NotFoundException("Merchant not found with ID: " + merchantId);
+            }
 
-        // Fetch transaction IDs to get details
-        List<Long> txnIds = transactions.stream()
-            .map(TransactionMaster::getTxnId)
-            .collect(Collectors.toList());
+            // Fetch all details for these transactions
+            Map<Long, List<TransactionDetail>> detailsMap = new HashMap<>();
+            if (options.needsDetails() && !transactions.isEmpty()) {
+                List<Long> txnIds = transactions.stream()
+                    .map(TransactionMaster::getTxnId)
+                    .collect(Collectors.toList());
+                List<TransactionDetail> allDetails = transactionDetailRepository.findByMasterTxnIdInList(txnIds);
+                allDetails.forEach(detail -> {
+                    detailsMap.computeIfAbsent(detail.getMasterTxnId(), k -> new ArrayList<>()).add(detail);
+                });
+            }
 
-        // Fetch all details for these transactions
-        Map<Long, List<TransactionDetail>> detailsMap = new HashMap<>();
-        if (!txnIds.isEmpty()) {
-            List<TransactionDetail> allDetails = transactionDetailRepository.findByMasterTxnIdInList(txnIds);
-            allDetails.forEach(detail -> {
-                detailsMap.computeIfAbsent(detail.getMasterTxnId(), k -> new ArrayList<>()).add(detail);
-            });
+            // Fetch member names for acquirer and issuer
+            Map<Long, String> memberNames = new HashMap<>();
+            if (options.needsMembers()) {
+                Set<Long> memberIds = new HashSet<>();
+                transactions.forEach(txn -> {
+                    if (txn.getGpAcquirerId() != null) memberIds.add(txn.getGpAcquirerId());
+                    if (txn.getGpIssuerId() != null) memberIds.add(txn.getGpIssuerId());
+                });
+
+                List<Long> uncached = new ArrayList<>();
+                for (Long memberId : memberIds) {
+                    Optional<String> cached = memberNameCache.get(memberId, String.class);
+                    if (cached.isPresent()) {
+                        memberNames.put(memberId, cached.get());
+                    } else {
+                        uncached.add(memberId);
+                    }
+                }
+                if (!uncached.isEmpty()) {
+                    memberRepository.findByMemberIdInList(uncached).forEach(member -> {
+                        memberNames.put(member.getMemberId(), member.getMemberName());
+                        if (member.getMemberName() != null) {
+                            memberNameCache.put(member.getMemberId(), member.getMemberName());
+                        }
+                    });
+                }
+            }
+
+            // Convert to response DTOs
+            List<TransactionResponse> transactionResponses = transactions.stream()
+                .map(txn -> toTransactionResponse(txn, detailsMap.get(txn.getTxnId()), memberNames, options))
+                .collect(Collectors.toList());
+
+            // Wait for the summary
+            TransactionSummary summary = withSummary ? awaitSummary(summaryFuture) : null;
+            if (summary != null && options.includes(TransactionQueryOptions.Include.TOTAL)) {
+                totalCount = summary.getTotalTransactions();
+            }
+
+            // Build date range
+            DateRange dateRange = new DateRange(startInstant, endInstant);
+
+            // Build pagination info
+            Integer totalPages = totalCount != null ? (int) Math.ceil((double) totalCount / size) : null;
+            PaginationInfo pagination = new PaginationInfo(page, size, totalPages, totalCount);
+
+            // Build response
+            MerchantTransactionsResponse response = new MerchantTransactionsResponse();
+            response.setMerchantId(merchantId);
+            response.setDateRange(dateRange);
+            response.setSummary(summary);
+            response.setTransactions(transactionResponses);
+            response.setPagination(pagination);
+
+            return response;
+        } finally {
+            // On a missing merchant or a failed query nobody waits for the summary: a scan still
+            // queued for a reporting thread is dropped, one already running finishes unobserved
+            if (summaryFuture != null) {
+                summaryFuture.cancel(false);
+            }
         }
+    }
 
-        // Fetch member names for acquirer and issuer
-        Map<Long, String> memberNames = new HashMap<>();
-        Set<Long> memberIds = new HashSet<>();
-        transactions.forEach(txn -> {
-            if (txn.getGpAcquirerId() != null) memberIds.add(txn.getGpAcquirerId());
-            if (txn.getGpIssuerId() != null) memberIds.add(txn.getGpIssuerId());
-        });
-        
-        if (!memberIds.isEmpty()) {
-            memberIds.forEach(id -> {
-                memberRepository.findById(id).ifPresent(member -> 
-                    memberNames.put(id, member.getMemberName())
-                );
-            });
+    @Override
+    @ReplicaRead
+    public Map<Long, List<TransactionDetailResponse>> getTransactionDetails(List<Long> txnIds) {
+        if (txnIds == null || txnIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one transaction ID is required");
         }
 
-        // Convert to response DTOs
-        List<TransactionResponse> transactionResponses = transactions.stream()
-            .map(txn -> toTransactionResponse(txn, detailsMap.get(txn.getTxnId()), memberNames))
+        List<Long> distinctIds = txnIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
             .collect(Collectors.toList());
+        if (distinctIds.size() > maxBatchGetIds) {
+            throw new IllegalArgumentException("At most " + maxBatchGetIds + " transaction IDs can be requested at once");
+        }
 
-        // Calculate summary
-        TransactionSummary summary = calculateSummary(merchantId, startInstant, endInstant, status);
+        // Every requested ID gets an entry, in request order
+        Map<Long, List<TransactionDetailResponse>> detailsByTxn = new LinkedHashMap<>();
+        distinctIds.forEach(txnId -> detailsByTxn.put(txnId, new ArrayList<>()));
 
-        // Build date range
-        DateRange dateRange = new DateRange(startInstant, endInstant);
+        if (!distinctIds.isEmpty()) {
+            transactionDetailRepository.findByMasterTxnIdInList(distinctIds).forEach(detail ->
+                detailsByTxn.get(detail.getMasterTxnId()).add(toTransactionDetailResponse(detail))
+            );
+        }
+        return detailsByTxn;
+    }
 
-        // Build pagination info
-        long totalCount = transactionPage.getTotalSize();
-        int totalPages = (int) Math.ceil((double) totalCount / size);
-        PaginationInfo pagination = new PaginationInfo(page, size, totalPages, totalCount);
+    @Override
+    public Map<String, TransactionSummary> getMerchantSummaries(
+        List<String> merchantIds,
+        String startDate,
+        String endDate,
+        String status
+    ) {
+        if (merchantIds == null || merchantIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one merchant ID is required");
+        }
+        List<String> distinctIds = merchantIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+        if (distinctIds.size() > maxSummaryMerchants) {
+            throw new IllegalArgumentException("At most " + maxSummaryMerchants + " merchants can be summarized at once");
+        }
+        Instant startInstant = parseDate(startDate, true);
+        Instant endInstant = parseDate(endDate, false);
+        if (startInstant == null || endInstant == null) {
+            throw new IllegalArgumentException("A valid startDate and endDate are required");
+        }
+        if (startInstant.isAfter(endInstant)) {
+            throw new IllegalArgumentException("Start date must be before or equal to end date");
+        }
 
-        // Build response
-        MerchantTransactionsResponse response = new MerchantTransactionsResponse();
-        response.setMerchantId(merchantId);
-        response.setDateRange(dateRange);
-        response.setSummary(summary);
-        response.setTransactions(transactionResponses);
-        response.setPagination(pagination);
+        // Every requested ID gets an entry, in request order; in-process and cached
+        // summaries first, then one grouped query for the rest
+        Map<String, TransactionSummary> summaries = new LinkedHashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String merchantId : distinctIds) {
+            TransactionSummary summary = recentSummary(merchantId, startInstant, endInstant, status);
+            if (summary == null) {
+                summary = cachedSummary(merchantId, startInstant, endInstant, status, GROUPED_SUMMARY)
+                    .or(() -> cachedSummary(merchantId, startInstant, endInstant, status, DETAILED_SUMMARY))
+                    .orElse(null);
+            }
+            summaries.put(merchantId, summary);
+            if (summary == null) {
+                uncached.add(merchantId);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            reportingBulkhead.execute(() -> {
+                summarizeGrouped(uncached, startInstant, endInstant, status).forEach(summaries::put);
+                return null;
+            });
+        }
+        return summaries;
+    }
 
-        return response;
+    /**
+     * Fetch one page of transactions together with the total count
+     */
+    private io.micronaut.data.model.Page<TransactionMaster> findTransactionPage(
+        String merchantId,
+        String status,
+        Instant startInstant,
+        Instant endInstant,
+        io.micronaut.data.model.Pageable pageable
+    ) {
+        if (startInstant != null && endInstant != null) {
+            if (status != null && !status.trim().isEmpty()) {
+                return transactionRepository.findByMerchantIdAndStatusAndLocalTxnDateTimeBetween(
+                    merchantId, status, startInstant, endInstant, pageable
+                );
+            }
+            return transactionRepository.findByMerchantIdAndLocalTxnDateTimeBetween(
+                merchantId, startInstant, endInstant, pageable
+            );
+        } else if (status != null && !status.trim().isEmpty()) {
+            return transactionRepository.findByMerchantIdAndStatus(merchantId, status, pageable);
+        }
+        return transactionRepository.findByMerchantId(merchantId, pageable);
+    }
+
+    /**
+     * Fetch one page of transactions without counting the total
+     */
+    private List<TransactionMaster> findTransactions(
+        String merchantId,
+        String status,
+        Instant startInstant,
+        Instant endInstant,
+        io.micronaut.data.model.Pageable pageable
+    ) {
+        if (startInstant != null && endInstant != null) {
+            if (status != null && !status.trim().isEmpty()) {
+                return transactionRepository.queryByMerchantIdAndStatusAndLocalTxnDateTimeBetween(
+                    merchantId, status, startInstant, endInstant, pageable
+                );
+            }
+            return transactionRepository.queryByMerchantIdAndLocalTxnDateTimeBetween(
+                merchantId, startInstant, endInstant, pageable
+            );
+        } else if (status != null && !status.trim().isEmpty()) {
+            return transactionRepository.queryByMerchantIdAndStatus(merchantId, status, pageable);
+        }
+        return transactionRepository.queryByMerchantId(merchantId, pageable);
     }
 
     /**
-     * Convert TransactionMaster to TransactionResponse DTO
+     * Convert TransactionMaster to TransactionResponse DTO, setting only the selected fields
      */
     private TransactionResponse toTransactionResponse(
         TransactionMaster txn, 
         List<TransactionDetail> details,
-        Map<Long, String> memberNames
+        Map<Long, String> memberNames,
+        TransactionQueryOptions options
     ) {
         TransactionResponse response = new TransactionResponse();
-        response.setTxnId(txn.getTxnId());
-        response.setAmount(txn.getAmount());
-        response.setCurrency(txn.getCurrency());
-        response.setStatus(txn.getStatus());
-        response.setTimestamp(txn.getLocalTxnDateTime());
-        response.setCardType(txn.getCardType());
-        response.setCardLast4(txn.getCardLast4());
+        if (options.hasField("txnId")) response.setTxnId(txn.getTxnId());
+        if (options.hasField("amount")) response.setAmount(txn.getAmount());
+        if (options.hasField("currency")) response.setCurrency(txn.getCurrency());
+        if (options.hasField("status")) response.setStatus(txn.getStatus());
+        if (options.hasField("timestamp")) response.setTimestamp(txn.getLocalTxnDateTime());
+        if (options.hasField("cardType")) response.setCardType(txn.getCardType());
+        if (options.hasField("cardLast4")) response.setCardLast4(txn.getCardLast4());
         
         // Set acquirer and issuer names
-        if (txn.getGpAcquirerId() != null) {
-            response.setAcquirer(memberNames.getOrDefault(txn.getGpAcquirerId(), "Unknown"));
-        }
-        if (txn.getGpIssuerId() != null) {
-            response.setIssuer(memberNames.getOrDefault(txn.getGpIssuerId(), "Unknown"));
+        if (options.needsMembers()) {
+            if (options.hasField("acquirer") && txn.getGpAcquirerId() != null) {
+                response.setAcquirer(memberNames.getOrDefault(txn.getGpAcquirerId(), "Unknown"));
+            }
+            if (options.hasField("issuer") && txn.getGpIssuerId() != null) {
+                response.setIssuer(memberNames.getOrDefault(txn.getGpIssuerId(), "Unknown"));
+            }
         }
 
         // Convert details
-        if (details != null && !details.isEmpty()) {
-            List<TransactionDetailResponse> detailResponses = details.stream()
-                .map(this::toTransactionDetailResponse)
-                .collect(Collectors.toList());
-            response.setDetails(detailResponses);
-        } else {
-            response.setDetails(Collections.emptyList());
+        if (options.needsDetails()) {
+            if (details != null && !details.isEmpty()) {
+                List<TransactionDetailResponse> detailResponses = details.stream()
+                    .map(this::toTransactionDetailResponse)
+                    .collect(Collectors.toList());
+                response.setDetails(detailResponses);
+            } else {
+                response.setDetails(Collections.emptyList());
+            }
         }
 
         return response;
@@ -214,53 +438,211 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     /**
-     * Calculate transaction summary
+     * Run the summary on the reporting executor inside the reporting bulkhead,
+     * keeping the caller's request context for query accounting
+     */
+    private CompletableFuture<TransactionSummary> calculateSummaryAsync(
+        String merchantId,
+        Instant startDate,
+        Instant endDate,
+        String status
+    ) {
+        PropagatedContext context = PropagatedContext.getOrEmpty();
+        return CompletableFuture.supplyAsync(() -> {
+            try (PropagatedContext.Scope ignored = context.propagate()) {
+                return reportingBulkhead.execute(() -> calculateSummary(merchantId, startDate, endDate, status));
+            }
+        }, reportingExecutor);
+    }
+
+    private TransactionSummary awaitSummary(CompletableFuture<TransactionSummary> summaryFuture) {
+        try {
+            return summaryFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Calculate transaction summary. Amounts are added as long minor units; BigDecimal is
+     * only created once for the response.
      */
     private TransactionSummary calculateSummary(String merchantId, Instant startDate, Instant endDate, String status) {
-        List<TransactionMaster> allTransactions;
-        
+        TransactionSummary recent = recentSummary(merchantId, startDate, endDate, status);
+        if (recent != null) {
+            return recent;
+        }
+
+        List<Object> cacheKey = summaryCacheKey(merchantId, startDate, endDate, status, DETAILED_SUMMARY);
+        Optional<TransactionSummary> cached = summaryCache.get(cacheKey, TransactionSummary.class);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        List<TransactionAmount> amounts;
         if (startDate != null && endDate != null) {
             if (status != null && !status.trim().isEmpty()) {
-                allTransactions = transactionRepository.findByMerchantIdAndStatusAndLocalTxnDateTimeBetween(
-                    merchantId, status, startDate, endDate, 
-                    io.micronaut.data.model.Pageable.unpaged()
-                ).getContent();
+                amounts = reportingTransactionRepository.findAmountsByMerchantIdAndStatusAndLocalTxnDateTimeBetween(
+                    merchantId, status, startDate, endDate
+                );
             } else {
-                allTransactions = transactionRepository.findByMerchantIdAndLocalTxnDateTimeBetween(
-                    merchantId, startDate, endDate, 
-                    io.micronaut.data.model.Pageable.unpaged()
-                ).getContent();
+                amounts = reportingTransactionRepository.findAmountsByMerchantIdAndLocalTxnDateTimeBetween(
+                    merchantId, startDate, endDate
+                );
             }
         } else if (status != null && !status.trim().isEmpty()) {
-            allTransactions = transactionRepository.findByMerchantIdAndStatus(
-                merchantId, status, 
-                io.micronaut.data.model.Pageable.unpaged()
-            ).getContent();
+            amounts = reportingTransactionRepository.findAmountsByMerchantIdAndStatus(merchantId, status);
         } else {
-            allTransactions = transactionRepository.findByMerchantId(merchantId);
+            amounts = reportingTransactionRepository.findAmountsByMerchantId(merchantId);
         }
 
-        // Calculate totals
-        long totalCount = allTransactions.size();
-        BigDecimal totalAmount = allTransactions.stream()
-            .map(TransactionMaster::getAmount)
-            .filter(Objects::nonNull)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Calculate totals, count by status and amount sketches in one pass
+        MoneyTotals totals = new MoneyTotals();
+        StatusCounts byStatus = new StatusCounts();
+        Map<String, TDigest> sketches = new HashMap<>();
+        for (TransactionAmount amount : amounts) {
+            if (amount.getCurrency() != null) {
+                totals.addUnscaled(amount.getCurrency(), amount.getAmountUnscaled(), TransactionAmount.AMOUNT_SCALE);
+                sketches.computeIfAbsent(amount.getCurrency(), currency -> new TDigest()).add(
+                    Money.toMinorUnits(amount.getAmountUnscaled(), TransactionAmount.AMOUNT_SCALE, amount.getCurrency())
+                );
+            }
+            byStatus.increment(amount.getStatus());
+        }
 
-        String currency = allTransactions.stream()
-            .map(TransactionMaster::getCurrency)
-            .filter(Objects::nonNull)
-            .findFirst()
-            .orElse("USD");
-
-        // Count by status
-        Map<String, Long> byStatus = allTransactions.stream()
-            .collect(Collectors.groupingBy(
-                txn -> txn.getStatus() != null ? txn.getStatus() : "unknown",
-                Collectors.counting()
+        TransactionSummary summary = toSummary(amounts.size(), totals, byStatus);
+        summary.setPercentiles(toPercentiles(sketches.get(summary.getCurrency()), summary.getCurrency()));
+        summaryCache.put(cacheKey, summary);
+        return summary;
+    }
+
+    /**
+     * Summaries for several merchants from one query grouped by merchant, status and
+     * currency, so the rows read do not grow with transaction volume
+     */
+    private Map<String, TransactionSummary> summarizeGrouped(
+        List<String> merchantIds,
+        Instant startDate,
+        Instant endDate,
+        String status
+    ) {
+        List<MerchantAmountGroup> groups;
+        if (status != null && !status.trim().isEmpty()) {
+            groups = reportingTransactionRepository.findAmountGroupsByMerchantIdInListAndStatusAndLocalTxnDateTimeBetween(
+                merchantIds, status, startDate, endDate
+            );
+        } else {
+            groups = reportingTransactionRepository.findAmountGroupsByMerchantIdInListAndLocalTxnDateTimeBetween(
+                merchantIds, startDate, endDate
+            );
+        }
+
+        Map<String, MoneyTotals> totalsByMerchant = new HashMap<>();
+        Map<String, StatusCounts> countsByMerchant = new HashMap<>();
+        for (MerchantAmountGroup group : groups) {
+            if (group.getCurrency() != null) {
+                totalsByMerchant.computeIfAbsent(group.getMerchantId(), id -> new MoneyTotals())
+                    .addUnscaled(group.getCurrency(), group.getAmountUnscaled(), TransactionAmount.AMOUNT_SCALE);
+            }
+            StatusCounts byStatus = countsByMerchant.computeIfAbsent(group.getMerchantId(), id -> new StatusCounts());
+            TransactionStatus groupStatus = TransactionStatus.fromCode(group.getStatus());
+            if (groupStatus != null) {
+                byStatus.add(groupStatus, group.getTxnCount());
+            } else {
+                byStatus.addUnknown(group.getTxnCount());
+            }
+        }
+
+        Map<String, TransactionSummary> summaries = new HashMap<>();
+        for (String merchantId : merchantIds) {
+            StatusCounts byStatus = countsByMerchant.getOrDefault(merchantId, new StatusCounts());
+            TransactionSummary summary = toSummary(
+                byStatus.total(),
+                totalsByMerchant.getOrDefault(merchantId, new MoneyTotals()),
+                byStatus
+            );
+            summaryCache.put(summaryCacheKey(merchantId, startDate, endDate, status, GROUPED_SUMMARY), summary);
+            summaries.put(merchantId, summary);
+        }
+        return summaries;
+    }
+
+    /**
+     * Summary from the in-process index or store, or null when they are disabled or do not
+     * cover the range
+     */
+    private TransactionSummary recentSummary(String merchantId, Instant startDate, Instant endDate, String status) {
+        if (recentTransactions == null || startDate == null || endDate == null) {
+            return null;
+        }
+        RecentTransactionStore.Summary recent = merchantTimeIndex != null
+            ? merchantTimeIndex.summarize(merchantId, startDate, endDate, status)
+            : null;
+        if (recent == null) {
+            recent = recentTransactions.summarize(merchantId, startDate, endDate, status);
+        }
+        if (recent == null) {
+            return null;
+        }
+        TransactionSummary summary = toSummary(recent.getCount(), recent.getTotals(), recent.getByStatus());
+        if (dailySketches != null && (status == null || status.trim().isEmpty())) {
+            summary.setPercentiles(toPercentiles(
+                dailySketches.amounts(merchantId, startDate, endDate, summary.getCurrency()),
+                summary.getCurrency()
             ));
+            summary.setDistinctCards(dailySketches.distinctCards(merchantId, startDate, endDate));
+        }
+        return summary;
+    }
+
+    private Optional<TransactionSummary> cachedSummary(
+        String merchantId,
+        Instant startDate,
+        Instant endDate,
+        String status,
+        String variant
+    ) {
+        return summaryCache.get(summaryCacheKey(merchantId, startDate, endDate, status, variant), TransactionSummary.class);
+    }
 
-        return new TransactionSummary(totalCount, totalAmount, currency, byStatus);
+    /**
+     * Keyed by merchant first so invalidations for the merchant match both variants
+     */
+    private static List<Object> summaryCacheKey(
+        String merchantId,
+        Instant startDate,
+        Instant endDate,
+        String status,
+        String variant
+    ) {
+        return Arrays.asList(merchantId, startDate, endDate, status, variant);
+    }
+
+    /**
+     * The summary reports the first currency seen; amounts in other currencies are not added to it
+     */
+    private TransactionSummary toSummary(long count, MoneyTotals totals, StatusCounts byStatus) {
+        String currency = totals.isEmpty() ? "USD" : totals.currencies().iterator().next();
+        BigDecimal totalAmount = totals.get(currency).toBigDecimal();
+        return new TransactionSummary(count, totalAmount, currency, byStatus.toMap());
+    }
+
+    /**
+     * Median, p95 and p99 from a sketch of minor-unit amounts, or null when it is missing or empty
+     */
+    private static AmountPercentiles toPercentiles(TDigest sketch, String currency) {
+        if (sketch == null || sketch.size() == 0) {
+            return null;
+        }
+        return new AmountPercentiles(
+            currency,
+            Money.ofMinor(Math.round(sketch.quantile(0.5)), currency).toBigDecimal(),
+            Money.ofMinor(Math.round(sketch.quantile(0.95)), currency).toBigDecimal(),
+            Money.ofMinor(Math.round(sketch.quantile(0.99)), currency).toBigDecimal()
+        );
     }
 
     /**
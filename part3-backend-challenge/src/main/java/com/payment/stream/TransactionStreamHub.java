@@ -0,0 +1,287 @@
+package com.payment.stream;
+
+import com.payment.cache.CacheInvalidatedEvent;
+import com.payment.cache.CacheInvalidationBus;
+import com.payment.config.TransactionStreamConfiguration;
+import com.payment.dto.TransactionResponse;
+import com.payment.entity.TransactionMaster;
+import com.payment.exception.StreamCapacityException;
+import com.payment.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
+import io.micronaut.http.sse.Event;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans new transactions out to live stream subscribers. One poller reads inserts above the
+ * highest transaction ID seen, for all subscribers at once, and only while anyone is
+ * subscribed. Summary invalidations for a subscribed merchant (sent by the cache
+ * invalidation triggers on insert) wake it before the next poll-interval.
+ * <p>
+ * Each subscriber has a bounded buffer. One that falls buffer-size events behind is
+ * completed, so a slow client cannot hold events for everyone else; it reconnects and
+ * reloads the page. An idle subscriber holds a sink, whose buffer-size queue is allocated
+ * up front, and a map entry; the heartbeat event is shared. That is about 1.8 KB per stream
+ * with 256 buffered events (StreamSubscriberFootprint in benchmarks/);
+ * scripts/measure-stream-subscribers.sh measures it with the connection.
+ */
+@Singleton
+@Requires(property = "payment.transaction-stream.enabled", notEquals = "false")
+public class TransactionStreamHub {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionStreamHub.class);
+    private static final int MAX_PENDING_GAPS = 10_000;
+    private static final Event<String> HEARTBEAT = Event.of("ping").name("heartbeat");
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionStreamConfiguration configuration;
+    private final TaskScheduler scheduler;
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    private final Counter eventsSent;
+    private final Counter slowConsumersDropped;
+
+    // Guarded by pollLock; -1 while nobody is subscribed
+    private final Object pollLock = new Object();
+    private long highWaterMark = -1;
+    private final TreeMap<Long, Long> pendingGaps = new TreeMap<>();
+
+    public TransactionStreamHub(
+        TransactionRepository transactionRepository,
+        TransactionStreamConfiguration configuration,
+        @Named(TaskExecutors.SCHEDULED) TaskScheduler scheduler,
+        MeterRegistry meterRegistry
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.configuration = configuration;
+        this.scheduler = scheduler;
+        Gauge.builder("payment.stream.subscribers", subscriberCount, AtomicInteger::get)
+            .description("Open live transaction streams")
+            .register(meterRegistry);
+        this.eventsSent = Counter.builder("payment.stream.events")
+            .description("Transaction events queued to stream subscribers")
+            .register(meterRegistry);
+        this.slowConsumersDropped = Counter.builder("payment.stream.dropped")
+            .description("Stream subscribers disconnected for falling behind")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Stream of transactions inserted for the merchant from now on, with periodic heartbeat
+     * events; the subscription ends when the returned stream is cancelled
+     */
+    public Flux<Event<?>> subscribe(String merchantId) {
+        if (subscriberCount.incrementAndGet() > configuration.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new StreamCapacityException("Too many live transaction streams on this node, please retry shortly");
+        }
+        Subscription subscription = new Subscription(merchantId, configuration.getBufferSize());
+        subscriptions.compute(merchantId, (id, merchantSubscriptions) -> {
+            Set<Subscription> updated = merchantSubscriptions != null ? merchantSubscriptions : ConcurrentHashMap.newKeySet();
+            updated.add(subscription);
+            return updated;
+        });
+        start();
+        return subscription.sink.asFlux().doFinally(signal -> remove(subscription));
+    }
+
+    @Scheduled(fixedDelay = "${payment.transaction-stream.poll-interval:1s}")
+    void poll() {
+        wakeScheduled.set(false);
+        synchronized (pollLock) {
+            if (subscriptions.isEmpty()) {
+                highWaterMark = -1;
+                pendingGaps.clear();
+                return;
+            }
+            try {
+                if (highWaterMark < 0) {
+                    highWaterMark = maxTxnId();
+                    return;
+                }
+                recheckGaps();
+                tail();
+            } catch (RuntimeException e) {
+                LOG.warn("Transaction stream poll failed, retrying on the next poll: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = "${payment.transaction-stream.heartbeat-interval:15s}")
+    void heartbeat() {
+        subscriptions.values().forEach(merchantSubscriptions ->
+            merchantSubscriptions.forEach(subscription -> deliver(subscription, HEARTBEAT))
+        );
+    }
+
+    @EventListener
+    void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (!CacheInvalidationBus.SUMMARIES.equals(event.getCache()) || subscriptions.isEmpty()) {
+            return;
+        }
+        boolean subscribed = event.isWholeCache()
+            || event.getKeys().stream().anyMatch(subscriptions::containsKey);
+        if (subscribed && wakeScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(Duration.ZERO, this::poll);
+        }
+    }
+
+    /**
+     * Fix the starting point when the first subscriber arrives, so its stream begins with
+     * transactions inserted after it subscribed
+     */
+    private void start() {
+        synchronized (pollLock) {
+            if (highWaterMark < 0 && !subscriptions.isEmpty()) {
+                highWaterMark = maxTxnId();
+            }
+        }
+    }
+
+    private long maxTxnId() {
+        Long maxTxnId = transactionRepository.findMaxTxnId();
+        return maxTxnId != null ? maxTxnId : 0;
+    }
+
+    private void tail() {
+        Pageable batch = Pageable.from(0, configuration.getPollBatchSize(), Sort.of(Sort.Order.asc("txnId")));
+        List<TransactionMaster> transactions;
+        do {
+            transactions = transactionRepository.queryByTxnIdGreaterThan(highWaterMark, batch);
+            for (TransactionMaster txn : transactions) {
+                recordGaps(txn.getTxnId());
+                fanOut(txn);
+                highWaterMark = txn.getTxnId();
+            }
+        } while (transactions.size() == configuration.getPollBatchSize());
+    }
+
+    /**
+     * IDs between the high-water mark and a new row may belong to inserts that have not
+     * committed yet
+     */
+    private void recordGaps(long txnId) {
+        long now = System.nanoTime();
+        for (long missing = highWaterMark + 1; missing < txnId; missing++) {
+            if (pendingGaps.size() >= MAX_PENDING_GAPS) {
+                return;
+            }
+            pendingGaps.put(missing, now);
+        }
+    }
+
+    private void recheckGaps() {
+        if (pendingGaps.isEmpty()) {
+            return;
+        }
+        for (TransactionMaster txn : transactionRepository.queryByTxnIdInList(new ArrayList<>(pendingGaps.keySet()))) {
+            pendingGaps.remove(txn.getTxnId());
+            fanOut(txn);
+        }
+
+        long expiredBefore = System.nanoTime() - configuration.getGapTimeout().toNanos();
+        Iterator<Map.Entry<Long, Long>> gaps = pendingGaps.entrySet().iterator();
+        while (gaps.hasNext()) {
+            if (gaps.next().getValue() - expiredBefore < 0) {
+                gaps.remove();
+            }
+        }
+    }
+
+    private void fanOut(TransactionMaster txn) {
+        Set<Subscription> merchantSubscriptions = subscriptions.get(txn.getMerchantId());
+        if (merchantSubscriptions == null) {
+            return;
+        }
+        // One event instance, serialized per connection
+        Event<TransactionResponse> event = Event.of(toResponse(txn))
+            .id(String.valueOf(txn.getTxnId()))
+            .name("transaction");
+        for (Subscription subscription : merchantSubscriptions) {
+            if (deliver(subscription, event)) {
+                eventsSent.increment();
+            }
+        }
+    }
+
+    private boolean deliver(Subscription subscription, Event<?> event) {
+        Sinks.EmitResult result;
+        synchronized (subscription) {
+            result = subscription.sink.tryEmitNext(event);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                // Ends the stream once the client has read what is already buffered
+                subscription.sink.tryEmitComplete();
+            }
+        }
+        if (result.isSuccess()) {
+            return true;
+        }
+        if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+            slowConsumersDropped.increment();
+            LOG.debug("Dropping slow transaction stream subscriber for merchant {}", subscription.merchantId);
+        }
+        remove(subscription);
+        return false;
+    }
+
+    private void remove(Subscription subscription) {
+        if (!subscription.removed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriptions.computeIfPresent(subscription.merchantId, (id, merchantSubscriptions) -> {
+            merchantSubscriptions.remove(subscription);
+            return merchantSubscriptions.isEmpty() ? null : merchantSubscriptions;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    private static TransactionResponse toResponse(TransactionMaster txn) {
+        TransactionResponse response = new TransactionResponse();
+        response.setTxnId(txn.getTxnId());
+        response.setAmount(txn.getAmount());
+        response.setCurrency(txn.getCurrency());
+        response.setStatus(txn.getStatus());
+        response.setTimestamp(txn.getLocalTxnDateTime());
+        response.setCardType(txn.getCardType());
+        response.setCardLast4(txn.getCardLast4());
+        return response;
+    }
+
+    private static final class Subscription {
+
+        private final String merchantId;
+        private final Sinks.Many<Event<?>> sink;
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscription(String merchantId, int bufferSize) {
+            this.merchantId = merchantId;
+            this.sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<Event<?>>get(bufferSize).get());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.payment;
+
+import com.payment.concurrent.Bulkhead;
+import com.payment.service.TransactionService;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application context against the database from the README and resolves the
+ * beans whose wiring depends on application.yml
+ */
+@MicronautTest
+public class ApplicationContextTest {
+
+    @Inject
+    ApplicationContext context;
+
+    @Test
+    public void testWorkloadPoolsAndBulkheadsResolve() {
+        for (String workload : new String[]{"interactive", "reporting"}) {
+            assertNotNull(context.getBean(ExecutorService.class, Qualifiers.byName(workload)), workload + " executor");
+            assertEquals(workload, context.getBean(Bulkhead.class, Qualifiers.byName(workload)).getName());
+        }
+        assertNotNull(context.getBean(TransactionService.class));
+    }
+}
@@ -0,0 +1,186 @@
+package com.payment.analytics;
+
+import com.payment.config.RecentTransactionsConfiguration;
+import com.payment.domain.TDigest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Per-merchant daily sketches of {@link MerchantDailySketches}: which UTC days a range
+ * merges, and that merchants and currencies keep their own amount and card sketches
+ */
+public class MerchantDailySketchesTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMicros(1);
+    private static final long HOUR = TimeUnit.HOURS.toMicros(1);
+    private static final String MERCHANT = "MCH-1";
+
+    private final RecentTransactionsConfiguration configuration = new RecentTransactionsConfiguration();
+    private RecentTransactionStore store;
+    private MerchantDailySketches sketches;
+
+    @Test
+    public void testRangeMergesEveryDayItTouches() {
+        start(0);
+        for (int i = 1; i <= 100; i++) {
+            append(MERCHANT, 10 * DAY + i * 60_000_000L, i, "USD");
+            append(MERCHANT, 11 * DAY + i * 60_000_000L, 100 + i, "USD");
+        }
+        publish();
+
+        TDigest first = sketches.amounts(MERCHANT, at(10 * DAY + 12 * HOUR), at(10 * DAY + 13 * HOUR), "USD");
+        assertEquals(100, first.size(), "the whole first day, not only the hour asked for");
+        assertEquals(50, first.quantile(0.5), 2);
+
+        TDigest both = sketches.amounts(MERCHANT, at(10 * DAY + 12 * HOUR), at(11 * DAY), "USD");
+        assertEquals(200, both.size());
+        assertEquals(100, both.quantile(0.5), 3);
+        assertEquals(198, both.quantile(0.99), 3);
+    }
+
+    @Test
+    public void testDaysEndAtMidnightUtc() {
+        start(0);
+        append(MERCHANT, 11 * DAY - 1, 10, "USD");
+        append(MERCHANT, 11 * DAY, 20, "USD");
+        publish();
+
+        assertEquals(1, sketches.amounts(MERCHANT, at(10 * DAY), at(11 * DAY - 1), "USD").size());
+        TDigest second = sketches.amounts(MERCHANT, at(11 * DAY), at(12 * DAY - 1), "USD");
+        assertEquals(1, second.size());
+        assertEquals(20, second.quantile(0.5), 0.001);
+    }
+
+    @Test
+    public void testMerchantsAndCurrenciesHaveTheirOwnSketches() {
+        start(0);
+        for (int i = 1; i <= 10; i++) {
+            append(MERCHANT, 10 * DAY + i, 100, "USD");
+            append(MERCHANT, 10 * DAY + i, 5_000, "EUR");
+            append("MCH-2", 10 * DAY + i, 9_000, "USD");
+        }
+        publish();
+
+        TDigest usd = sketches.amounts(MERCHANT, at(10 * DAY), at(10 * DAY), "USD");
+        assertEquals(10, usd.size());
+        assertEquals(100, usd.quantile(0.99), 0.001);
+        assertEquals(5_000, sketches.amounts(MERCHANT, at(10 * DAY), at(10 * DAY), "EUR").quantile(0.5), 0.001);
+        assertEquals(9_000, sketches.amounts("MCH-2", at(10 * DAY), at(10 * DAY), "USD").quantile(0.5), 0.001);
+        assertEquals(0, sketches.amounts(MERCHANT, at(10 * DAY), at(10 * DAY), "JPY").size());
+        assertEquals(0, sketches.amounts("MCH-9", at(10 * DAY), at(10 * DAY), "USD").size());
+    }
+
+    @Test
+    public void testRowsArrivingAfterTheBuildAreAdded() {
+        start(0);
+        append(MERCHANT, 10 * DAY, 100, "USD");
+        publish();
+        assertEquals(1, sketches.amounts(MERCHANT, at(10 * DAY), at(11 * DAY), "USD").size());
+
+        append(MERCHANT, 10 * DAY + HOUR, 300, "USD");
+        append(MERCHANT, 11 * DAY + HOUR, 500, "USD");
+        publish();
+
+        assertEquals(2, sketches.amounts(MERCHANT, at(10 * DAY), at(10 * DAY), "USD").size());
+        assertEquals(3, sketches.amounts(MERCHANT, at(10 * DAY), at(11 * DAY), "USD").size());
+    }
+
+    @Test
+    public void testPartlyCoveredFirstDayIsLeftToTheDatabase() {
+        start(10 * DAY + 12 * HOUR);
+        append(MERCHANT, 10 * DAY + 13 * HOUR, 100, "USD");
+        append(MERCHANT, 11 * DAY + HOUR, 100, "USD");
+        publish();
+
+        assertNull(sketches.amounts(MERCHANT, at(10 * DAY + 13 * HOUR), at(11 * DAY), "USD"));
+        assertEquals(1, sketches.amounts(MERCHANT, at(11 * DAY), at(11 * DAY), "USD").size());
+    }
+
+    @Test
+    public void testDistinctCardsAreMergedAcrossDays() {
+        start(0);
+        for (int card = 0; card < 500; card++) {
+            appendCard(MERCHANT, 10 * DAY + card, card);
+            appendCard(MERCHANT, 11 * DAY + card, card + 250);
+        }
+        publish();
+
+        assertEquals(500, sketches.distinctCards(MERCHANT, at(10 * DAY), at(10 * DAY + HOUR)), 500 * 0.05);
+        assertEquals(750, sketches.distinctCards(MERCHANT, at(10 * DAY), at(11 * DAY)), 750 * 0.05,
+            "cards seen on both days count once");
+    }
+
+    @Test
+    public void testCardsAreCountedPerMerchantAndDay() {
+        start(0);
+        for (int i = 0; i < 20; i++) {
+            appendCard(MERCHANT, 10 * DAY + i, 1);
+            appendCard("MCH-2", 10 * DAY + i, i);
+        }
+        appendCard(MERCHANT, 12 * DAY, 2);
+        append(MERCHANT, 10 * DAY + HOUR, 100, "USD");
+        publish();
+
+        assertEquals(Long.valueOf(1), sketches.distinctCards(MERCHANT, at(10 * DAY), at(11 * DAY)),
+            "one card used 20 times; rows without a card are not counted");
+        assertEquals(Long.valueOf(2), sketches.distinctCards(MERCHANT, at(10 * DAY), at(12 * DAY)));
+        assertEquals(Long.valueOf(20), sketches.distinctCards("MCH-2", at(10 * DAY), at(10 * DAY)));
+        assertEquals(Long.valueOf(0), sketches.distinctCards("MCH-9", at(10 * DAY), at(10 * DAY)));
+    }
+
+    @Test
+    public void testCardsArrivingAfterTheBuildAreAdded() {
+        start(0);
+        appendCard(MERCHANT, 10 * DAY, 1);
+        publish();
+        assertEquals(Long.valueOf(1), sketches.distinctCards(MERCHANT, at(10 * DAY), at(10 * DAY)));
+
+        appendCard(MERCHANT, 10 * DAY + HOUR, 2);
+        appendCard(MERCHANT, 10 * DAY + 2 * HOUR, 1);
+        publish();
+
+        assertEquals(Long.valueOf(2), sketches.distinctCards(MERCHANT, at(10 * DAY), at(10 * DAY)));
+    }
+
+    @Test
+    public void testPartlyCoveredFirstDayHasNoCardEstimate() {
+        start(10 * DAY + 12 * HOUR);
+        appendCard(MERCHANT, 10 * DAY + 13 * HOUR, 1);
+        publish();
+
+        assertNull(sketches.distinctCards(MERCHANT, at(10 * DAY + 13 * HOUR), at(11 * DAY)));
+    }
+
+    private void start(long loadFromMicros) {
+        store = new RecentTransactionStore(configuration, new SimpleMeterRegistry());
+        sketches = new MerchantDailySketches(store, configuration, new SimpleMeterRegistry());
+        store.startLoad(at(loadFromMicros));
+        store.markReady();
+    }
+
+    private void append(String merchantId, long micros, long amountMinor, String currency) {
+        store.append(micros, amountMinor, merchantId, currency, "completed", null, null);
+    }
+
+    private void appendCard(String merchantId, long micros, int card) {
+        store.append(micros, 100, merchantId, "USD", "completed", "VISA", String.format("%04d", card));
+    }
+
+    /**
+     * Publish appended rows and hand them to the sketches, as the tailer does
+     */
+    private void publish() {
+        long fromRow = store.publishedRows();
+        store.publish();
+        sketches.onTransactionsAppended(new TransactionsAppendedEvent(fromRow, store.publishedRows()));
+    }
+
+    private static Instant at(long micros) {
+        return RecentTransactionStore.instantOf(micros);
+    }
+}
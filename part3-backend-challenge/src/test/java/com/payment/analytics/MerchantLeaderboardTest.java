@@ -0,0 +1,145 @@
+package com.payment.analytics;
+
+import com.payment.config.RecentTransactionsConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rankings of {@link MerchantLeaderboard} over a small recent transaction store, loaded with
+ * completed and failed rows on today's and yesterday's UTC dates
+ */
+public class MerchantLeaderboardTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+    private static final LocalDate YESTERDAY = TODAY.minusDays(1);
+
+    private final RecentTransactionStore store = store(64);
+    private final MerchantLeaderboard leaderboard = new MerchantLeaderboard(store);
+
+    @Test
+    public void testMerchantsAreRankedByCompletedCount() {
+        load();
+        append(TODAY, "MCH-A", 100, "USD", "completed", 3);
+        append(TODAY, "MCH-B", 100, "USD", "completed", 1);
+        append(TODAY, "MCH-B", 100, "USD", "failed", 5);
+        append(TODAY, "MCH-C", 100, "USD", "completed", 2);
+        store.markReady();
+
+        assertEquals(List.of("MCH-A 3", "MCH-C 2"), ranking(leaderboard.top(TODAY, "USD", false, 2)));
+    }
+
+    @Test
+    public void testVolumeRankingUsesOnlyTheGivenCurrency() {
+        load();
+        append(TODAY, "MCH-A", 1_000, "USD", "completed", 1);
+        append(TODAY, "MCH-B", 600, "USD", "completed", 2);
+        append(TODAY, "MCH-C", 9_999, "EUR", "completed", 1);
+        store.markReady();
+
+        List<RecentTransactionStore.MerchantTotal> top = leaderboard.top(TODAY, "USD", true, 5);
+
+        assertEquals(List.of("MCH-B", "MCH-A"), merchants(top));
+        assertEquals(1_200, top.get(0).getAmountMinor());
+    }
+
+    @Test
+    public void testWindowStartsAtTheGivenDay() {
+        load();
+        append(YESTERDAY, "MCH-A", 100, "USD", "completed", 5);
+        append(TODAY, "MCH-B", 100, "USD", "completed", 1);
+        store.markReady();
+
+        assertEquals(List.of("MCH-B 1"), ranking(leaderboard.top(TODAY, "USD", false, 5)));
+        assertEquals(List.of("MCH-A 5", "MCH-B 1"), ranking(leaderboard.top(YESTERDAY, "USD", false, 5)));
+    }
+
+    @Test
+    public void testAppendedRowsAreAddedToTheCounters() {
+        load();
+        append(TODAY, "MCH-A", 100, "USD", "completed", 2);
+        store.markReady();
+        leaderboard.top(TODAY, "USD", false, 5);
+
+        append(TODAY, "MCH-B", 100, "USD", "completed", 3);
+        store.publish();
+        leaderboard.onTransactionsAppended(new TransactionsAppendedEvent(2, 5));
+
+        assertEquals(List.of("MCH-B 3", "MCH-A 2"), ranking(leaderboard.top(TODAY, "USD", false, 5)));
+    }
+
+    @Test
+    public void testOverwrittenRowsTriggerARebuild() {
+        RecentTransactionStore small = store(8);
+        MerchantLeaderboard smallLeaderboard = new MerchantLeaderboard(small);
+        small.startLoad(Instant.EPOCH);
+        append(small, YESTERDAY, "MCH-A", 100, "USD", "completed", 4);
+        small.markReady();
+        assertEquals(List.of("MCH-A 4"), ranking(smallLeaderboard.top(YESTERDAY, "USD", false, 5)));
+
+        // Row 4 is overwritten by the eight rows after it before it has been counted
+        append(small, YESTERDAY, "MCH-C", 100, "USD", "completed", 1);
+        append(small, TODAY, "MCH-B", 100, "USD", "completed", 8);
+        small.publish();
+
+        assertEquals(List.of("MCH-B 8"), ranking(smallLeaderboard.top(TODAY, "USD", false, 5)),
+            "rebuilt from the eight rows still held");
+    }
+
+    @Test
+    public void testUncoveredWindowHasNoRanking() {
+        assertNull(leaderboard.top(TODAY, "USD", false, 5), "store not loaded yet");
+
+        store.startLoad(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC));
+        store.markReady();
+
+        assertNull(leaderboard.top(YESTERDAY, "USD", false, 5));
+        assertEquals(List.of(), leaderboard.top(TODAY, "USD", false, 5));
+    }
+
+    private void load() {
+        store.startLoad(YESTERDAY.atStartOfDay().toInstant(ZoneOffset.UTC));
+    }
+
+    private void append(LocalDate day, String merchantId, long amountMinor, String currency, String status, int rows) {
+        append(store, day, merchantId, amountMinor, currency, status, rows);
+    }
+
+    private static void append(
+        RecentTransactionStore store,
+        LocalDate day,
+        String merchantId,
+        long amountMinor,
+        String currency,
+        String status,
+        int rows
+    ) {
+        long noonMicros = TimeUnit.SECONDS.toMicros(day.atTime(12, 0).toEpochSecond(ZoneOffset.UTC));
+        for (int i = 0; i < rows; i++) {
+            store.append(noonMicros + i, amountMinor, merchantId, currency, status, "VISA", "4242");
+        }
+    }
+
+    private static List<String> ranking(List<RecentTransactionStore.MerchantTotal> top) {
+        return top.stream().map(total -> total.getMerchantId() + " " + total.getCount()).collect(Collectors.toList());
+    }
+
+    private static List<String> merchants(List<RecentTransactionStore.MerchantTotal> top) {
+        return top.stream().map(RecentTransactionStore.MerchantTotal::getMerchantId).collect(Collectors.toList());
+    }
+
+    private static RecentTransactionStore store(int maxRows) {
+        RecentTransactionsConfiguration configuration = new RecentTransactionsConfiguration();
+        configuration.setMaxRows(maxRows);
+        configuration.setSegmentRows(8);
+        return new RecentTransactionStore(configuration, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,262 @@
+package com.payment.analytics;
+
+import com.payment.config.RecentTransactionsConfiguration;
+import com.payment.domain.Money;
+import com.payment.domain.TransactionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Range sums of {@link MerchantTimeIndex} checked against a brute-force sum over the rows
+ * appended, in order and out of order, through the store and the appended-rows event
+ */
+public class MerchantTimeIndexTest {
+
+    private static final String MERCHANT = "MCH-1";
+    private static final String[] CURRENCIES = {"USD", "EUR"};
+    private static final String[] STATUSES = {"completed", "failed", "pending", "on_hold"};
+
+    private final RecentTransactionsConfiguration configuration = new RecentTransactionsConfiguration();
+    private final List<long[]> rows = new ArrayList<>();
+    private final List<String> rowCurrencies = new ArrayList<>();
+    private final List<String> rowStatuses = new ArrayList<>();
+    private final Random random = new Random(7);
+    private RecentTransactionStore store;
+    private MerchantTimeIndex index;
+
+    @Test
+    public void testInOrderRowsMatchABruteForceSum() {
+        start();
+        for (int i = 0; i < 100; i++) {
+            append(MERCHANT, 1_000 + i * 10L);
+        }
+        publish();
+
+        assertMatchesEverywhere(0, 2_100);
+    }
+
+    @Test
+    public void testRowsAppendedAfterTheBuildAreIndexed() {
+        start();
+        for (int i = 0; i < 20; i++) {
+            append(MERCHANT, 1_000 + i * 10L);
+        }
+        publish();
+        assertNotNull(index.summarize(MERCHANT, instant(1_000), instant(2_000), null), "builds the index");
+
+        for (int i = 20; i < 60; i++) {
+            append(MERCHANT, 1_000 + i * 10L);
+        }
+        publish();
+
+        assertMatchesEverywhere(0, 1_700);
+    }
+
+    @Test
+    public void testOutOfOrderRowsGoThroughTheDelta() {
+        start();
+        for (int i = 0; i < 50; i++) {
+            append(MERCHANT, 5_000 + i * 10L);
+        }
+        publish();
+        index.summarize(MERCHANT, instant(1_000), instant(10_000), null);
+
+        for (int i = 0; i < 30; i++) {
+            append(MERCHANT, 1_000 + random.nextInt(5_000));
+        }
+        publish();
+
+        assertMatchesEverywhere(900, 5_600);
+    }
+
+    @Test
+    public void testLargeDeltaIsMergedWithoutLosingRows() {
+        start();
+        for (int i = 0; i < 100; i++) {
+            append(MERCHANT, 100_000 + i);
+        }
+        publish();
+        index.summarize(MERCHANT, instant(1_000), instant(200_000), null);
+
+        // Enough rows older than the newest to pass the merge threshold twice
+        for (int i = 0; i < 2_500; i++) {
+            append(MERCHANT, 1_000 + random.nextInt(99_000));
+            if (i % 400 == 0) {
+                publish();
+            }
+        }
+        publish();
+
+        assertMatchesEverywhere(900, 100_200);
+    }
+
+    @Test
+    public void testRangeEndsAreInclusiveAcrossEqualTimes() {
+        start();
+        for (long time : new long[]{1_000, 1_000, 1_000, 2_000, 2_000, 3_000}) {
+            append(MERCHANT, time);
+        }
+        publish();
+        append(MERCHANT, 2_000);
+        publish();
+
+        assertEquals(Long.valueOf(3), index.count(MERCHANT, instant(1_000), instant(1_000), null));
+        assertEquals(Long.valueOf(6), index.count(MERCHANT, instant(1_000), instant(2_000), null));
+        assertEquals(Long.valueOf(3), index.count(MERCHANT, instant(1_001), instant(2_000), null));
+        assertEquals(Long.valueOf(4), index.count(MERCHANT, instant(2_000), instant(3_000), null));
+        assertEquals(Long.valueOf(0), index.count(MERCHANT, instant(3_001), instant(9_000), null));
+        assertMatchesEverywhere(900, 3_100);
+    }
+
+    @Test
+    public void testOtherMerchantsRowsAreLeftOut() {
+        start();
+        for (int i = 0; i < 40; i++) {
+            append(i % 2 == 0 ? MERCHANT : "MCH-2", 1_000 + i * 10L);
+        }
+        publish();
+
+        assertEquals(Long.valueOf(20), index.count(MERCHANT, instant(0), instant(5_000), null));
+        assertEquals(Long.valueOf(20), index.count("MCH-2", instant(0), instant(5_000), null));
+        assertEquals(Long.valueOf(0), index.count("MCH-9", instant(0), instant(5_000), null));
+    }
+
+    @Test
+    public void testUnansweredQueriesAreLeftToTheStore() {
+        start();
+        append(MERCHANT, 1_000);
+        publish();
+
+        assertNull(index.summarize(MERCHANT, instant(0), instant(5_000), "completed"), "amounts are not indexed by status");
+        assertNull(index.count(MERCHANT, instant(0), instant(5_000), "bogus"));
+        assertNull(index.summarize(MERCHANT, instant(-1), instant(5_000), null), "before the store's coverage");
+    }
+
+    @Test
+    public void testReadersSeeConsistentSnapshotsWhileRowsArrive() throws InterruptedException {
+        start();
+        append(MERCHANT, 50_000, 1, "USD", "completed");
+        publish();
+        index.summarize(MERCHANT, instant(0), instant(100_000), null);
+
+        // Every USD row is 1 and every EUR row 2, so each view must add up
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 5_000; i++) {
+                boolean usd = i % 2 == 0;
+                append(MERCHANT, i % 3 == 0 ? 50_000 + i : random.nextInt(50_000), usd ? 1 : 2, usd ? "USD" : "EUR", "completed");
+                if (i % 7 == 0) {
+                    publish();
+                }
+            }
+            publish();
+        });
+        Thread reader = new Thread(() -> {
+            long last = 0;
+            while (writer.isAlive() && failure.get() == null) {
+                RecentTransactionStore.Summary summary = index.summarize(MERCHANT, instant(0), instant(100_000), null);
+                long usd = summary.getTotals().get("USD").getMinorUnits();
+                long eur = summary.getTotals().get("EUR").getMinorUnits();
+                if (summary.getCount() != usd + eur / 2 || summary.getCount() != summary.getByStatus().total()
+                    || summary.getCount() < last) {
+                    failure.set("count " + summary.getCount() + ", USD " + usd + ", EUR " + eur + ", previous " + last);
+                }
+                last = summary.getCount();
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(Long.valueOf(5_001), index.count(MERCHANT, instant(0), instant(100_000), null));
+    }
+
+    private void assertMatchesEverywhere(long fromMicros, long toMicros) {
+        long step = Math.max(1, (toMicros - fromMicros) / 40);
+        for (long from = fromMicros; from <= toMicros; from += step) {
+            for (long to = from; to <= toMicros; to += step) {
+                assertMatches(from, to);
+            }
+        }
+        assertMatches(fromMicros, toMicros);
+    }
+
+    private void assertMatches(long fromMicros, long toMicros) {
+        String range = fromMicros + ".." + toMicros;
+        RecentTransactionStore.Summary summary = index.summarize(MERCHANT, instant(fromMicros), instant(toMicros), null);
+        assertEquals(expectedCount(fromMicros, toMicros, null), summary.getCount(), range);
+        for (String currency : CURRENCIES) {
+            long total = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                if (inRange(i, fromMicros, toMicros) && rowCurrencies.get(i).equals(currency)) {
+                    total += rows.get(i)[1];
+                }
+            }
+            assertEquals(Money.ofMinor(total, currency), summary.getTotals().get(currency), range + " " + currency);
+        }
+        for (TransactionStatus status : TransactionStatus.values()) {
+            long expected = expectedCount(fromMicros, toMicros, status.code());
+            assertEquals(expected, summary.getByStatus().get(status), range + " " + status);
+            assertEquals(Long.valueOf(expected), index.count(MERCHANT, instant(fromMicros), instant(toMicros), status.code()),
+                range + " " + status);
+        }
+    }
+
+    private long expectedCount(long fromMicros, long toMicros, String status) {
+        long count = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (inRange(i, fromMicros, toMicros) && (status == null || rowStatuses.get(i).equals(status))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean inRange(int row, long fromMicros, long toMicros) {
+        long[] values = rows.get(row);
+        return values[2] == 1 && values[0] >= fromMicros && values[0] <= toMicros;
+    }
+
+    private void start() {
+        configuration.setSegmentRows(1_024);
+        store = new RecentTransactionStore(configuration, new SimpleMeterRegistry());
+        index = new MerchantTimeIndex(store, configuration, new SimpleMeterRegistry());
+        store.startLoad(Instant.EPOCH);
+        store.markReady();
+    }
+
+    private void append(String merchantId, long micros) {
+        append(merchantId, micros, 1 + random.nextInt(1_000), CURRENCIES[random.nextInt(CURRENCIES.length)],
+            STATUSES[random.nextInt(STATUSES.length)]);
+    }
+
+    private void append(String merchantId, long micros, long amountMinor, String currency, String status) {
+        rows.add(new long[]{micros, amountMinor, MERCHANT.equals(merchantId) ? 1 : 0});
+        rowCurrencies.add(currency);
+        rowStatuses.add(status);
+        store.append(micros, amountMinor, merchantId, currency, status, null, null);
+    }
+
+    /**
+     * Publish appended rows and hand them to the index, as the tailer does
+     */
+    private void publish() {
+        long fromRow = store.publishedRows();
+        store.publish();
+        index.onTransactionsAppended(new TransactionsAppendedEvent(fromRow, store.publishedRows()));
+    }
+
+    private static Instant instant(long micros) {
+        return RecentTransactionStore.instantOf(micros);
+    }
+}
@@ -0,0 +1,250 @@
+package com.payment.analytics;
+
+import com.payment.config.RecentTransactionsConfiguration;
+import com.payment.domain.Money;
+import com.payment.domain.TransactionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ring storage and scans of {@link RecentTransactionStore}, filled through the writer
+ * methods the tailer uses, with a ring small enough to wrap within a test
+ */
+public class RecentTransactionStoreTest {
+
+    private static final int SEGMENT_ROWS = 4;
+
+    private static final String[] MERCHANTS = {"MCH-1", "MCH-2", "MCH-3", "MCH-4"};
+    private static final String[] CURRENCIES = {"USD", "EUR", "JPY"};
+    private static final String[] STATUSES = {"completed", "failed", "pending", "reversed", "on_hold"};
+
+    private final List<Row> appended = new ArrayList<>();
+
+    @Test
+    public void testOldestRowsAreOverwrittenAtCapacity() {
+        RecentTransactionStore store = store(8);
+        store.startLoad(Instant.EPOCH);
+        for (int i = 1; i <= 12; i++) {
+            store.append(i, 100, "MCH-1", "USD", "completed", null, null);
+        }
+        store.markReady();
+
+        assertEquals(12, store.publishedRows());
+        assertEquals(4, store.oldestRow(12));
+        assertEquals(instant(5), store.coveredFrom(), "rows at 1..4 micros were overwritten");
+        RecentTransactionStore.Summary summary = store.summarize("MCH-1", instant(5), instant(12), null);
+        assertEquals(8, summary.getCount());
+        assertEquals(Money.ofMinor(800, "USD"), summary.getTotals().get("USD"));
+    }
+
+    @Test
+    public void testOverwrittenRowsAreReportedToRowVisitors() {
+        RecentTransactionStore store = store(8);
+        store.startLoad(Instant.EPOCH);
+        for (int i = 1; i <= 12; i++) {
+            store.append(i, 100, "MCH-1", "USD", "completed", null, null);
+        }
+        store.markReady();
+        List<Long> visited = new ArrayList<>();
+
+        assertTrue(store.forEachRow(4, 12, -1, (row, merchant, micros, amount, currency, status) -> visited.add(micros)));
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L), visited);
+        assertFalse(store.forEachRow(3, 12, -1, (row, merchant, micros, amount, currency, status) -> { }));
+    }
+
+    @Test
+    public void testRangesBeforeTheCoverageAreLeftToTheDatabase() {
+        RecentTransactionStore store = store(8);
+        store.startLoad(instant(3));
+        store.append(3, 100, "MCH-1", "USD", "completed", null, null);
+        assertNull(store.summarize("MCH-1", instant(3), instant(10), null), "nothing is answered before the load completes");
+        for (int i = 4; i <= 12; i++) {
+            store.append(i, 100, "MCH-1", "USD", "completed", null, null);
+        }
+        store.markReady();
+
+        assertFalse(store.covers(instant(4)));
+        assertTrue(store.covers(instant(5)));
+        assertNull(store.summarize("MCH-1", instant(4), instant(12), null));
+        assertNull(store.histogram("MCH-1", instant(4), instant(12), 4, null, "USD"));
+        assertNull(store.topMerchants(instant(4), instant(12), null, "USD", false, 3));
+        assertNotNull(store.summarize("MCH-1", instant(5), instant(12), null));
+    }
+
+    @Test
+    public void testUnknownMerchantHasAnEmptySummary() {
+        RecentTransactionStore store = store(8);
+        store.startLoad(Instant.EPOCH);
+        store.append(1, 100, "MCH-1", "USD", "completed", null, null);
+        store.markReady();
+
+        RecentTransactionStore.Summary summary = store.summarize("MCH-9", Instant.EPOCH, instant(10), null);
+
+        assertEquals(0, summary.getCount());
+        assertTrue(summary.getTotals().isEmpty());
+    }
+
+    @Test
+    public void testScansMatchAReferenceComputation() {
+        RecentTransactionStore store = store(64);
+        Random random = new Random(42);
+        store.startLoad(Instant.EPOCH);
+        for (int i = 1; i <= 150; i++) {
+            Row row = new Row(
+                i * 10L,
+                1 + random.nextInt(10_000),
+                MERCHANTS[random.nextInt(MERCHANTS.length)],
+                CURRENCIES[random.nextInt(CURRENCIES.length)],
+                STATUSES[random.nextInt(STATUSES.length)]
+            );
+            appended.add(row);
+            store.append(row.micros, row.amountMinor, row.merchantId, row.currency, row.status, null, null);
+        }
+        store.markReady();
+        List<Row> held = appended.subList(appended.size() - 64, appended.size());
+        Instant from = store.coveredFrom();
+        Instant to = instant(1_300);
+
+        for (String merchantId : MERCHANTS) {
+            for (String status : new String[]{null, "completed", "failed"}) {
+                RecentTransactionStore.Summary summary = store.summarize(merchantId, from, to, status);
+                List<Row> expected = held.stream()
+                    .filter(row -> row.matches(merchantId, from, to, status))
+                    .collect(Collectors.toList());
+                String context = merchantId + " " + status;
+                assertEquals(expected.size(), summary.getCount(), context);
+                for (String currency : CURRENCIES) {
+                    long total = expected.stream().filter(row -> row.currency.equals(currency)).mapToLong(row -> row.amountMinor).sum();
+                    assertEquals(Money.ofMinor(total, currency), summary.getTotals().get(currency), context + " " + currency);
+                }
+                for (TransactionStatus transactionStatus : TransactionStatus.values()) {
+                    assertEquals(expected.stream().filter(row -> row.status.equals(transactionStatus.code())).count(),
+                        summary.getByStatus().get(transactionStatus), context + " " + transactionStatus);
+                }
+            }
+        }
+
+        RecentTransactionStore.Histogram histogram = store.histogram("MCH-1", from, to, 100, null, "USD");
+        for (int bucket = 0; bucket < histogram.size(); bucket++) {
+            Instant start = histogram.bucketStart(bucket);
+            Instant end = start.plusNanos(99_000);
+            List<Row> expected = held.stream()
+                .filter(row -> row.matches("MCH-1", start, end.isAfter(to) ? to : end, null))
+                .collect(Collectors.toList());
+            assertEquals(expected.size(), histogram.count(bucket), "bucket " + bucket);
+            assertEquals(expected.stream().filter(row -> row.currency.equals("USD")).mapToLong(row -> row.amountMinor).sum(),
+                histogram.amountMinor(bucket), "bucket " + bucket);
+        }
+
+        assertEquals(referenceTop(held, from, to, false), names(store.topMerchants(from, to, null, "USD", false, 3)));
+        assertEquals(referenceTop(held, from, to, true), names(store.topMerchants(from, to, null, "USD", true, 3)));
+    }
+
+    @Test
+    public void testScansRacingTheWriterNeverFail() throws InterruptedException {
+        RecentTransactionStore store = store(16);
+        store.startLoad(Instant.EPOCH);
+        for (int i = 0; i < 16; i++) {
+            store.append(i, 100, "HOT", "USD", "completed", null, null);
+        }
+        store.markReady();
+
+        // Every row brings a new merchant and currency, so a row overwritten mid-scan holds
+        // dictionary IDs the scan's arrays were not sized for
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int i = 16; i < 200_000; i++) {
+                store.append(i, 100, i % 2 == 0 ? "HOT" : "MCH-" + i, "C" + (i % 30_000), "completed", null, null);
+                store.publish();
+            }
+        });
+        Thread reader = new Thread(() -> {
+            try {
+                while (writer.isAlive()) {
+                    Instant from = store.coveredFrom();
+                    Instant to = from.plusSeconds(1);
+                    store.topMerchants(from, to, null, "USD", false, 5);
+                    store.summarize("HOT", from, to, null);
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertNull(failure.get(), "scan failed: " + failure.get());
+    }
+
+    /**
+     * Top three merchants by count or USD amount. The order of equal totals is not
+     * specified, so the test data must not have any
+     */
+    private static List<String> referenceTop(List<Row> rows, Instant from, Instant to, boolean byAmount) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (!row.matches(row.merchantId, from, to, null) || (byAmount && !row.currency.equals("USD"))) {
+                continue;
+            }
+            totals.merge(row.merchantId, byAmount ? row.amountMinor : 1, Long::sum);
+        }
+        assertEquals(totals.size(), totals.values().stream().distinct().count(), "ties in the test data: " + totals);
+        return totals.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+            .limit(3)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> names(List<RecentTransactionStore.MerchantTotal> totals) {
+        return totals.stream().map(RecentTransactionStore.MerchantTotal::getMerchantId).collect(Collectors.toList());
+    }
+
+    private static Instant instant(long micros) {
+        return RecentTransactionStore.instantOf(micros);
+    }
+
+    private static RecentTransactionStore store(int maxRows) {
+        RecentTransactionsConfiguration configuration = new RecentTransactionsConfiguration();
+        configuration.setMaxRows(maxRows);
+        configuration.setSegmentRows(SEGMENT_ROWS);
+        return new RecentTransactionStore(configuration, new SimpleMeterRegistry());
+    }
+
+    private static final class Row {
+
+        private final long micros;
+        private final long amountMinor;
+        private final String merchantId;
+        private final String currency;
+        private final String status;
+
+        Row(long micros, long amountMinor, String merchantId, String currency, String status) {
+            this.micros = micros;
+            this.amountMinor = amountMinor;
+            this.merchantId = merchantId;
+            this.currency = currency;
+            this.status = status;
+        }
+
+        boolean matches(String merchantId, Instant from, Instant to, String status) {
+            return this.merchantId.equals(merchantId)
+                && micros >= RecentTransactionStore.microsOf(from) && micros <= RecentTransactionStore.microsOf(to)
+                && (status == null || this.status.equals(status));
+        }
+    }
+}
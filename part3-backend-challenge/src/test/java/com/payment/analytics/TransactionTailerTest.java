@@ -0,0 +1,275 @@
+package com.payment.analytics;
+
+import com.payment.config.RecentTransactionsConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Initial load, tailing and gap handling of {@link TransactionTailer}, against a datasource
+ * that answers the tailer's queries from an in-memory table of committed rows
+ */
+public class TransactionTailerTest {
+
+    private static final Instant NOW = Instant.now();
+
+    private final RecentTransactionsConfiguration configuration = new RecentTransactionsConfiguration();
+    private final List<Map<String, Object>> committed = new ArrayList<>();
+    private final List<List<Long>> gapQueries = new ArrayList<>();
+    private final List<TransactionsAppendedEvent> events = new ArrayList<>();
+    private RecentTransactionStore store;
+    private TransactionTailer tailer;
+    private boolean failing;
+
+    @Test
+    public void testLoadThenTailAppendsNewRows() {
+        commit(1, "MCH-1", 1_000);
+        commit(2, "MCH-2", 2_000);
+        start();
+
+        tailer.poll();
+        assertTrue(store.isReady());
+        assertEquals(2, store.publishedRows());
+
+        commit(3, "MCH-1", 500);
+        tailer.poll();
+
+        assertEquals(3, store.publishedRows());
+        assertEquals(2, count("MCH-1"));
+        assertEquals(1, events.size(), "the load itself is not announced");
+        assertEquals(2, events.get(0).getFromRow());
+        assertEquals(3, events.get(0).getToRow());
+    }
+
+    @Test
+    public void testLoadSkipsRowsOlderThanTheWindow() {
+        configuration.setWindow(Duration.ofDays(1));
+        commit(1, "MCH-1", 1_000, NOW.minus(Duration.ofDays(2)));
+        commit(2, "MCH-1", 1_000, NOW.minusSeconds(60));
+        start();
+
+        tailer.poll();
+
+        assertEquals(1, store.publishedRows());
+    }
+
+    @Test
+    public void testTailPagesThroughLargeBatches() {
+        configuration.setPollBatchSize(2);
+        start();
+        tailer.poll();
+        for (int id = 1; id <= 5; id++) {
+            commit(id, "MCH-1", 100);
+        }
+
+        tailer.poll();
+
+        assertEquals(5, count("MCH-1"));
+    }
+
+    @Test
+    public void testSkippedIdsAreAddedOnceTheyCommit() {
+        commit(1, "MCH-1", 100);
+        start();
+        tailer.poll();
+
+        commit(4, "MCH-1", 100);
+        tailer.poll();
+        assertEquals(2, count("MCH-1"));
+
+        commit(2, "MCH-1", 100);
+        tailer.poll();
+        assertEquals(List.of(List.of(2L, 3L)), gapQueries, "IDs 2 and 3 were skipped by the tail query");
+        assertEquals(3, count("MCH-1"));
+
+        commit(3, "MCH-1", 100);
+        tailer.poll();
+        assertEquals(List.of(3L), gapQueries.get(1), "2 is no longer pending");
+        assertEquals(4, count("MCH-1"));
+
+        tailer.poll();
+        assertEquals(2, gapQueries.size(), "no gaps left to check");
+    }
+
+    @Test
+    public void testGapsAreGivenUpAfterTheGapTimeout() {
+        configuration.setGapTimeout(Duration.ZERO);
+        commit(1, "MCH-1", 100);
+        start();
+        tailer.poll();
+        commit(3, "MCH-1", 100);
+        tailer.poll();
+
+        tailer.poll();
+        commit(2, "MCH-1", 100);
+        tailer.poll();
+
+        assertEquals(1, gapQueries.size());
+        assertEquals(2, count("MCH-1"), "a row committed after the gap timeout is not picked up");
+    }
+
+    @Test
+    public void testFailedLoadIsRetriedOnTheNextPoll() {
+        commit(1, "MCH-1", 100);
+        start();
+        failing = true;
+
+        tailer.poll();
+        assertFalse(store.isReady());
+
+        failing = false;
+        tailer.poll();
+        assertTrue(store.isReady());
+        assertEquals(1, count("MCH-1"));
+    }
+
+    private void start() {
+        store = new RecentTransactionStore(configuration, new SimpleMeterRegistry());
+        tailer = new TransactionTailer(store, configuration, dataSource(), events::add);
+    }
+
+    private long count(String merchantId) {
+        return store.summarize(merchantId, store.coveredFrom(), NOW.plusSeconds(60), null).getCount();
+    }
+
+    private void commit(long id, String merchantId, long amountUnscaled) {
+        commit(id, merchantId, amountUnscaled, NOW.minusSeconds(60));
+    }
+
+    private void commit(long id, String merchantId, long amountUnscaled, Instant time) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("txn_id", id);
+        row.put("merchant_id", merchantId);
+        row.put("currency", "USD");
+        row.put("status", "completed");
+        row.put("txn_micros", RecentTransactionStore.microsOf(time));
+        row.put("amount_unscaled", amountUnscaled);
+        committed.add(row);
+    }
+
+    /**
+     * Answers the max-ID, load, tail and gap queries by matching on their SQL
+     */
+    private DataSource dataSource() {
+        return proxy(DataSource.class, (dataSource, method, args) -> {
+            if (!"getConnection".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            if (failing) {
+                throw new SQLException("connection refused");
+            }
+            return proxy(Connection.class, (connection, call, values) -> {
+                switch (call.getName()) {
+                    case "createStatement":
+                        return proxy(Statement.class, (statement, query, sql) -> {
+                            if ("executeQuery".equals(query.getName())) {
+                                long max = committed.stream().mapToLong(row -> (Long) row.get("txn_id")).max().orElse(0);
+                                return resultSet(List.of(Map.of("txn_id", max)));
+                            }
+                            return null;
+                        });
+                    case "prepareStatement":
+                        return statement((String) values[0]);
+                    case "createArrayOf":
+                        Object[] elements = (Object[]) values[1];
+                        return proxy(Array.class, (array, arrayCall, arrayArgs) -> elements);
+                    case "getAutoCommit":
+                        return true;
+                    default:
+                        return null;
+                }
+            });
+        });
+    }
+
+    private PreparedStatement statement(String sql) {
+        Map<Integer, Object> parameters = new HashMap<>();
+        return proxy(PreparedStatement.class, (statement, method, args) -> {
+            switch (method.getName()) {
+                case "setLong":
+                case "setInt":
+                case "setTimestamp":
+                case "setArray":
+                    parameters.put((Integer) args[0], args[1]);
+                    return null;
+                case "executeQuery":
+                    return resultSet(query(sql, parameters));
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private List<Map<String, Object>> query(String sql, Map<Integer, Object> parameters) throws SQLException {
+        Predicate<Map<String, Object>> filter;
+        int limit = Integer.MAX_VALUE;
+        if (sql.contains("txn_id <= ?")) {
+            long max = (Long) parameters.get(1);
+            long fromMicros = RecentTransactionStore.microsOf(((Timestamp) parameters.get(2)).toInstant());
+            filter = row -> (Long) row.get("txn_id") <= max && (Long) row.get("txn_micros") >= fromMicros;
+        } else if (sql.contains("txn_id > ?")) {
+            long after = (Long) parameters.get(1);
+            limit = (Integer) parameters.get(2);
+            filter = row -> (Long) row.get("txn_id") > after;
+        } else if (sql.contains("ANY(?)")) {
+            List<Long> ids = Arrays.stream((Object[]) ((Array) parameters.get(1)).getArray())
+                .map(id -> (Long) id)
+                .collect(Collectors.toList());
+            gapQueries.add(ids);
+            filter = row -> ids.contains((Long) row.get("txn_id"));
+        } else {
+            throw new SQLException("unexpected query " + sql);
+        }
+        return committed.stream()
+            .filter(filter)
+            .sorted((a, b) -> Long.compare((Long) a.get("txn_id"), (Long) b.get("txn_id")))
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> rows) {
+        Iterator<Map<String, Object>> iterator = rows.iterator();
+        AtomicReference<Map<String, Object>> current = new AtomicReference<>();
+        return proxy(ResultSet.class, (resultSet, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    current.set(iterator.hasNext() ? iterator.next() : null);
+                    return current.get() != null;
+                case "getLong":
+                    Object key = args[0] instanceof Integer ? "txn_id" : args[0];
+                    return current.get().get(key);
+                case "getString":
+                    return current.get().get(args[0]);
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TransactionTailerTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
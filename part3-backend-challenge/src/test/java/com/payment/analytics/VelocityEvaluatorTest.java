@@ -0,0 +1,143 @@
+package com.payment.analytics;
+
+import com.payment.config.VelocityRule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Velocity rules alert once per window when a card or merchant crosses the threshold,
+ * and idle counters are dropped
+ */
+public class VelocityEvaluatorTest {
+
+    private static final int MERCHANT = 1;
+    private static final long MINUTE = 60_000;
+
+    private final List<String> alerts = new ArrayList<>();
+    private final VelocityEvaluator.AlertListener listener =
+        (rule, merchant, card, total, timestampMillis) -> alerts.add(rule.getName() + ":" + card + "=" + total);
+
+    @Test
+    public void testCardCountRuleAlertsOncePerWindow() {
+        VelocityEvaluator evaluator = new VelocityEvaluator(List.of(rule("card-burst", VelocityRule.SCOPE_CARD, VelocityRule.MEASURE_COUNT, 3)), 6);
+
+        for (int i = 0; i < 5; i++) {
+            evaluator.evaluate(MERCHANT, 7, i * 1_000L, 100, "USD", listener);
+        }
+        evaluator.evaluate(MERCHANT, 8, 5_000, 100, "USD", listener);
+
+        assertEquals(List.of("card-burst:7=4"), alerts);
+    }
+
+    @Test
+    public void testCardIsCountedPerMerchant() {
+        VelocityEvaluator evaluator = new VelocityEvaluator(List.of(rule("card-burst", VelocityRule.SCOPE_CARD, VelocityRule.MEASURE_COUNT, 3)), 6);
+
+        for (int i = 0; i < 3; i++) {
+            evaluator.evaluate(MERCHANT, 7, i * 1_000L, 100, "USD", listener);
+            evaluator.evaluate(MERCHANT + 1, 7, i * 1_000L, 100, "USD", listener);
+        }
+        assertTrue(alerts.isEmpty(), "six uses of the card, but three at each merchant");
+        assertEquals(2, evaluator.size());
+
+        evaluator.evaluate(MERCHANT + 1, 7, 3_000, 100, "USD", listener);
+        assertEquals(List.of("card-burst:7=4"), alerts);
+    }
+
+    @Test
+    public void testMerchantAndCardKeysDoNotOverlap() {
+        VelocityEvaluator evaluator = new VelocityEvaluator(List.of(rule("card-burst", VelocityRule.SCOPE_CARD, VelocityRule.MEASURE_COUNT, 1)), 6);
+
+        evaluator.evaluate(0x1_0000, -1, 0, 100, "USD", listener);
+        evaluator.evaluate(0x0_FFFF, -1, 1_000, 100, "USD", listener);
+        evaluator.evaluate(1, 0x1_0000, 2_000, 100, "USD", listener);
+
+        assertTrue(alerts.isEmpty(), alerts.toString());
+        assertEquals(3, evaluator.size());
+    }
+
+    @Test
+    public void testCardKeysSpreadAcrossHashCodes() {
+        Set<Integer> hashCodes = new HashSet<>();
+        for (int merchant = 0; merchant < 100; merchant++) {
+            for (int card = 1; card <= 1_000; card++) {
+                hashCodes.add(Long.hashCode(VelocityEvaluator.cardKey(merchant, card)));
+            }
+        }
+
+        // Packed as is, these 100,000 pairs would share 1,024 hash codes
+        assertTrue(hashCodes.size() > 99_000, hashCodes.size() + " distinct hash codes");
+    }
+
+    @Test
+    public void testAlertsAgainAfterTheQuietWindow() {
+        VelocityEvaluator evaluator = new VelocityEvaluator(List.of(rule("card-burst", VelocityRule.SCOPE_CARD, VelocityRule.MEASURE_COUNT, 1)), 6);
+
+        evaluator.evaluate(MERCHANT, 7, 0, 100, "USD", listener);
+        evaluator.evaluate(MERCHANT, 7, 1_000, 100, "USD", listener);
+        evaluator.evaluate(MERCHANT, 7, 2 * MINUTE, 100, "USD", listener);
+        evaluator.evaluate(MERCHANT, 7, 2 * MINUTE + 1_000, 100, "USD", listener);
+
+        assertEquals(List.of("card-burst:7=2", "card-burst:7=2"), alerts);
+    }
+
+    @Test
+    public void testAmountRuleOnlyCountsItsCurrency() {
+        VelocityRule rule = rule("merchant-amount", VelocityRule.SCOPE_MERCHANT, VelocityRule.MEASURE_AMOUNT, 10_000);
+        rule.setCurrency("USD");
+        VelocityEvaluator evaluator = new VelocityEvaluator(List.of(rule), 6);
+
+        evaluator.evaluate(MERCHANT, 0, 0, 6_000, "EUR", listener);
+        evaluator.evaluate(MERCHANT, 0, 1_000, 6_000, "USD", listener);
+        assertTrue(alerts.isEmpty());
+
+        evaluator.evaluate(MERCHANT, 0, 2_000, 6_000, "USD", listener);
+        assertEquals(List.of("merchant-amount:0=12000"), alerts);
+    }
+
+    @Test
+    public void testCardRulesSkipTransactionsWithoutCard() {
+        VelocityEvaluator evaluator = new VelocityEvaluator(List.of(rule("card-burst", VelocityRule.SCOPE_CARD, VelocityRule.MEASURE_COUNT, 0)), 6);
+
+        evaluator.evaluate(MERCHANT, 0, 0, 100, "USD", listener);
+
+        assertTrue(alerts.isEmpty());
+        assertEquals(0, evaluator.size());
+    }
+
+    @Test
+    public void testIdleCountersAreEvicted() {
+        VelocityEvaluator evaluator = new VelocityEvaluator(List.of(rule("card-burst", VelocityRule.SCOPE_CARD, VelocityRule.MEASURE_COUNT, 10)), 6);
+        evaluator.evaluate(MERCHANT, 7, 0, 100, "USD", listener);
+        evaluator.evaluate(MERCHANT, 8, 30_000, 100, "USD", listener);
+
+        assertEquals(0, evaluator.evictIdle());
+
+        evaluator.evaluate(MERCHANT, 9, MINUTE + 10_000, 100, "USD", listener);
+        assertEquals(1, evaluator.evictIdle(), "only card 7 has been quiet for a whole window");
+        assertEquals(2, evaluator.size());
+    }
+
+    @Test
+    public void testUnknownScopeIsRejected() {
+        VelocityRule rule = rule("typo", "terminal", VelocityRule.MEASURE_COUNT, 1);
+
+        assertThrows(IllegalStateException.class, () -> new VelocityEvaluator(List.of(rule), 6));
+    }
+
+    private static VelocityRule rule(String name, String scope, String measure, long threshold) {
+        VelocityRule rule = new VelocityRule(name);
+        rule.setScope(scope);
+        rule.setMeasure(measure);
+        rule.setWindow(Duration.ofMinutes(1));
+        rule.setThreshold(threshold);
+        return rule;
+    }
+}
@@ -0,0 +1,209 @@
+package com.payment.audit;
+
+import com.payment.config.AuditConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Buffering, batching and overflow handling of the audit writer, against a datasource that
+ * records the entity IDs of each committed batch
+ */
+public class AuditServiceTest {
+
+    private final AuditConfiguration configuration = new AuditConfiguration();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<String>> committedBatches = new CopyOnWriteArrayList<>();
+    private boolean failInserts;
+    private AuditService service;
+
+    @AfterEach
+    public void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    public void testBufferedEventsAreWrittenInBatches() {
+        configuration.setFlushSize(2);
+        start();
+
+        for (int i = 0; i < 5; i++) {
+            service.log("create", "merchant", "MCH-" + i, null);
+        }
+        service.stop();
+
+        assertEquals(List.of("MCH-0", "MCH-1", "MCH-2", "MCH-3", "MCH-4"), committedIds());
+        assertTrue(committedBatches.stream().allMatch(batch -> batch.size() <= 2), committedBatches.toString());
+        assertEquals(5.0, events("written"));
+    }
+
+    @Test
+    public void testPartialBatchIsWrittenAfterTheFlushInterval() throws InterruptedException {
+        configuration.setFlushInterval(Duration.ofMillis(20));
+        start();
+
+        service.log("update", "merchant", "MCH-1", "name");
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (committedBatches.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(List.of("MCH-1"), committedIds());
+    }
+
+    @Test
+    public void testDisabledServiceIgnoresEvents() {
+        configuration.setEnabled(false);
+        start();
+
+        service.log("delete", "merchant", "MCH-1", null);
+
+        assertEquals(0.0, buffered());
+        assertTrue(committedBatches.isEmpty());
+    }
+
+    @Test
+    public void testDropNewestWhenTheBufferIsFull() {
+        configuration.setBufferSize(2);
+        configuration.setOverflowPolicy(AuditConfiguration.OverflowPolicy.DROP_NEWEST);
+        service = new AuditService(configuration, dataSource(), meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            service.log("create", "merchant", "MCH-" + i, null);
+        }
+        service.onStartup(null);
+        service.stop();
+
+        assertEquals(List.of("MCH-0", "MCH-1"), committedIds());
+        assertEquals(1.0, events("dropped"));
+    }
+
+    @Test
+    public void testDropOldestWhenTheBufferIsFull() {
+        configuration.setBufferSize(2);
+        configuration.setOverflowPolicy(AuditConfiguration.OverflowPolicy.DROP_OLDEST);
+        service = new AuditService(configuration, dataSource(), meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            service.log("create", "merchant", "MCH-" + i, null);
+        }
+        service.onStartup(null);
+        service.stop();
+
+        assertEquals(List.of("MCH-1", "MCH-2"), committedIds());
+        assertEquals(1.0, events("dropped"));
+    }
+
+    @Test
+    public void testBlockGivesUpAfterTheTimeout() {
+        configuration.setBufferSize(1);
+        configuration.setBlockTimeout(Duration.ofMillis(10));
+        service = new AuditService(configuration, dataSource(), meterRegistry);
+
+        service.log("create", "merchant", "MCH-0", null);
+        long start = System.nanoTime();
+        service.log("create", "merchant", "MCH-1", null);
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(10).toNanos());
+        assertEquals(1.0, events("dropped"));
+        assertEquals(1.0, buffered());
+    }
+
+    @Test
+    public void testFailedBatchIsCountedNotRetried() {
+        failInserts = true;
+        start();
+
+        service.log("create", "merchant", "MCH-0", null);
+        service.stop();
+
+        assertTrue(committedBatches.isEmpty());
+        assertEquals(1.0, events("failed"));
+        assertEquals(0.0, events("written"));
+    }
+
+    private void start() {
+        service = new AuditService(configuration, dataSource(), meterRegistry);
+        service.onStartup(null);
+    }
+
+    private List<String> committedIds() {
+        List<String> ids = new ArrayList<>();
+        committedBatches.forEach(ids::addAll);
+        return ids;
+    }
+
+    private double events(String outcome) {
+        return meterRegistry.get("payment.audit.events").tag("outcome", outcome).counter().count();
+    }
+
+    private double buffered() {
+        return meterRegistry.get("payment.audit.buffered").gauge().value();
+    }
+
+    /**
+     * Each connection collects the entity IDs added to its batch and records them on commit
+     */
+    private DataSource dataSource() {
+        return proxy(DataSource.class, (dataSource, method, args) -> {
+            if (!"getConnection".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            List<String> pending = new ArrayList<>();
+            List<String> batch = new ArrayList<>();
+            PreparedStatement statement = proxy(PreparedStatement.class, (target, call, values) -> {
+                switch (call.getName()) {
+                    case "setString":
+                        if ((Integer) values[0] == 4) {
+                            pending.add((String) values[1]);
+                        }
+                        return null;
+                    case "addBatch":
+                        batch.addAll(pending);
+                        pending.clear();
+                        return null;
+                    case "executeBatch":
+                        if (failInserts) {
+                            throw new SQLException("relation \"operators.audit_log\" does not exist");
+                        }
+                        return new int[batch.size()];
+                    default:
+                        return null;
+                }
+            });
+            return proxy(Connection.class, (connection, call, values) -> {
+                switch (call.getName()) {
+                    case "prepareStatement":
+                        return statement;
+                    case "getAutoCommit":
+                        return true;
+                    case "commit":
+                        committedBatches.add(List.copyOf(batch));
+                        return null;
+                    default:
+                        return null;
+                }
+            });
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(AuditServiceTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
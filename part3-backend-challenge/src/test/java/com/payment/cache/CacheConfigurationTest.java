@@ -0,0 +1,51 @@
+package com.payment.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.payment.dto.MerchantResponse;
+import com.payment.service.MerchantService;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The local caches come from micronaut.caches with their size limits, and a cached lookup
+ * is read back from the cache. Needs the sample merchants from the README.
+ */
+@MicronautTest
+public class CacheConfigurationTest {
+
+    @Inject
+    CacheManager<?> cacheManager;
+
+    @Inject
+    MerchantService merchantService;
+
+    @Test
+    public void testCachesAreBoundedByConfiguration() {
+        for (String name : new String[]{CacheInvalidationBus.MERCHANTS, CacheInvalidationBus.MEMBERS, CacheInvalidationBus.SUMMARIES}) {
+            Object nativeCache = cacheManager.getCache(name).getNativeCache();
+            assertTrue(nativeCache instanceof Cache, name);
+            long maximum = ((Cache<?, ?>) nativeCache).policy().eviction().orElseThrow().getMaximum();
+            assertEquals(10_000, maximum, name);
+        }
+    }
+
+    @Test
+    public void testMerchantLookupIsReadBackFromTheCache() {
+        SyncCache<?> merchants = cacheManager.getCache(CacheInvalidationBus.MERCHANTS);
+        merchants.invalidateAll();
+
+        MerchantResponse loaded = merchantService.getMerchantById("MCH-00001");
+        Optional<MerchantResponse> cached = merchants.get("MCH-00001", MerchantResponse.class);
+
+        assertTrue(cached.isPresent(), "the lookup should be cached");
+        assertEquals(loaded.getId(), cached.get().getId());
+        assertSame(cached.get(), merchantService.getMerchantById("MCH-00001"), "the second lookup should be a cache hit");
+    }
+}
@@ -0,0 +1,219 @@
+package com.payment.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.payment.config.CacheInvalidationConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.scheduling.TaskScheduler;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Payload encoding and local eviction of {@link CacheInvalidationBus}, with a scheduler that
+ * runs tasks only when the test asks and a datasource that records each NOTIFY payload
+ */
+public class CacheInvalidationBusTest {
+
+    private final CacheInvalidationConfiguration configuration = new CacheInvalidationConfiguration();
+    private final Cache<Object, Object> summaries = Caffeine.newBuilder().build();
+    private final List<Duration> delays = new ArrayList<>();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<String> notified = new ArrayList<>();
+    private final List<CacheInvalidatedEvent> events = new ArrayList<>();
+    private final CacheInvalidationBus bus = bus();
+
+    @Test
+    public void testPayloadRoundTrips() {
+        Map<String, Set<String>> batch = new LinkedHashMap<>();
+        batch.put("merchants", new LinkedHashSet<>(List.of("MCH-1", "MCH-2")));
+        batch.put("summaries", Set.of(CacheInvalidationBus.ALL_KEYS));
+
+        List<String> payloads = CacheInvalidationBus.encode(batch);
+
+        assertEquals(List.of("merchants|MCH-1,MCH-2\nsummaries|*"), payloads);
+        assertEquals(batch, CacheInvalidationBus.decode(payloads.get(0)));
+    }
+
+    @Test
+    public void testLargeBatchesAreSplitBelowTheNotifyLimit() {
+        Map<String, Set<String>> batch = new LinkedHashMap<>();
+        for (int cache = 0; cache < 3; cache++) {
+            batch.put("cache" + cache, keys(300, 10));
+        }
+
+        List<String> payloads = CacheInvalidationBus.encode(batch);
+
+        assertTrue(payloads.size() > 1);
+        Map<String, Set<String>> decoded = new LinkedHashMap<>();
+        for (String payload : payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length < 8_000, "payload of " + payload.length() + " bytes");
+            decoded.putAll(CacheInvalidationBus.decode(payload));
+        }
+        assertEquals(batch, decoded);
+    }
+
+    @Test
+    public void testCacheTooLargeForOnePayloadIsSentWhole() {
+        List<String> payloads = CacheInvalidationBus.encode(Map.of("summaries", keys(2_000, 10)));
+
+        assertEquals(List.of("summaries|*"), payloads);
+    }
+
+    @Test
+    public void testMalformedLinesAreIgnored() {
+        Map<String, Set<String>> eviction = CacheInvalidationBus.decode("garbage\n|MCH-1\nmerchants|MCH-1,,MCH-2\n");
+
+        assertEquals(Map.of("merchants", Set.of("MCH-1", "MCH-2")), eviction);
+    }
+
+    @Test
+    public void testInvalidateEvictsEveryEntryOfTheMerchantNow() {
+        summaries.put(Arrays.asList("MCH-1", "2025-01-01", "detailed"), "a");
+        summaries.put(Arrays.asList("MCH-1", "2025-01-01", "grouped"), "b");
+        summaries.put(Arrays.asList("MCH-2", "2025-01-01", "detailed"), "c");
+
+        bus.invalidate(CacheInvalidationBus.SUMMARIES, "MCH-1");
+
+        assertEquals(Set.of(Arrays.asList("MCH-2", "2025-01-01", "detailed")), summaries.asMap().keySet());
+        assertTrue(delays.contains(configuration.getRepeatAfter()), "eviction is repeated for racing reads");
+    }
+
+    @Test
+    public void testInvalidationsAreSentAsOneBatch() {
+        bus.invalidate(CacheInvalidationBus.SUMMARIES, "MCH-1");
+        bus.invalidate(CacheInvalidationBus.SUMMARIES, "MCH-2");
+        bus.invalidate(CacheInvalidationBus.MERCHANTS, "MCH-1");
+        assertEquals(1, delays.stream().filter(configuration.getBatchDelay()::equals).count());
+
+        runScheduled();
+
+        assertEquals(1, notified.size());
+        assertEquals(Map.of("summaries", Set.of("MCH-1", "MCH-2"), "merchants", Set.of("MCH-1")),
+            CacheInvalidationBus.decode(notified.get(0)));
+    }
+
+    @Test
+    public void testTooManyKeysBecomeAWholeCacheEviction() {
+        configuration.setMaxKeysPerCache(2);
+        for (int i = 0; i < 3; i++) {
+            bus.invalidate(CacheInvalidationBus.SUMMARIES, "MCH-" + i);
+        }
+
+        runScheduled();
+
+        assertEquals(List.of("summaries|*"), notified);
+    }
+
+    @Test
+    public void testDisabledBusOnlyEvictsLocally() {
+        configuration.setEnabled(false);
+        summaries.put("MCH-1", "a");
+
+        bus.invalidate(CacheInvalidationBus.SUMMARIES, "MCH-1");
+        runScheduled();
+
+        assertTrue(summaries.asMap().isEmpty());
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    public void testNotificationEvictsAndAnnouncesEachCache() {
+        summaries.put(Arrays.asList("MCH-1", "detailed"), "a");
+        summaries.put(Arrays.asList("MCH-2", "detailed"), "b");
+
+        bus.onNotification("summaries|*\nunknown|MCH-1");
+
+        assertTrue(summaries.asMap().isEmpty());
+        assertEquals(2, events.size());
+        assertTrue(events.stream().anyMatch(event -> event.getCache().equals("summaries") && event.isWholeCache()));
+    }
+
+    private void runScheduled() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static Set<String> keys(int count, int length) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            keys.add(String.format("%0" + length + "d", i));
+        }
+        return keys;
+    }
+
+    private CacheInvalidationBus bus() {
+        SyncCache<?> summariesCache = proxy(SyncCache.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getNativeCache":
+                    return summaries;
+                case "invalidate":
+                    summaries.invalidate(args[0]);
+                    return null;
+                case "invalidateAll":
+                    summaries.invalidateAll();
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        CacheManager<?> cacheManager = proxy(CacheManager.class, (proxy, method, args) -> {
+            if (!CacheInvalidationBus.SUMMARIES.equals(args[0]) && !CacheInvalidationBus.MERCHANTS.equals(args[0])) {
+                throw new IllegalArgumentException("No cache " + args[0]);
+            }
+            return summariesCache;
+        });
+        TaskScheduler scheduler = proxy(TaskScheduler.class, (proxy, method, args) -> {
+            delays.add((Duration) args[0]);
+            scheduled.add((Runnable) args[1]);
+            return null;
+        });
+        return new CacheInvalidationBus(cacheManager, dataSource(), scheduler, configuration, events::add,
+            new SimpleMeterRegistry());
+    }
+
+    private DataSource dataSource() {
+        return proxy(DataSource.class, (dataSource, method, args) -> {
+            String[] payload = new String[1];
+            PreparedStatement statement = proxy(PreparedStatement.class, (target, call, values) -> {
+                switch (call.getName()) {
+                    case "setString":
+                        if ((Integer) values[0] == 2) {
+                            payload[0] = (String) values[1];
+                        }
+                        return null;
+                    case "executeQuery":
+                        notified.add(payload[0]);
+                        return proxy(ResultSet.class, (resultSet, next, none) -> null);
+                    default:
+                        return null;
+                }
+            });
+            return proxy(Connection.class, (connection, call, values) ->
+                "prepareStatement".equals(call.getName()) ? statement : null);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(CacheInvalidationBusTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
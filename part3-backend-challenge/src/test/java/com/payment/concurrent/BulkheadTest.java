@@ -0,0 +1,126 @@
+package com.payment.concurrent;
+
+import com.payment.config.BulkheadConfiguration;
+import com.payment.exception.BulkheadFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Admission, queueing and rejection of {@link Bulkhead}, with running calls held on a latch
+ */
+public class BulkheadTest {
+
+    private static final String NAME = "reporting";
+    private static final long WAIT_SECONDS = 5;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCallsWithinTheLimitRun() {
+        Bulkhead bulkhead = bulkhead(2, 0, Duration.ZERO);
+
+        assertEquals("done", bulkhead.execute(() -> "done"));
+        assertEquals(0.0, gauge("payment.bulkhead.active"));
+    }
+
+    @Test
+    public void testCallOverTheLimitWithNoQueueIsRejected() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, 0, Duration.ofSeconds(1));
+        Future<String> running = occupy(bulkhead);
+
+        assertThrows(BulkheadFullException.class, () -> bulkhead.execute(() -> "rejected"));
+        assertEquals(1.0, meterRegistry.get("payment.bulkhead.rejected").tag("bulkhead", NAME).counter().count());
+
+        release.countDown();
+        assertEquals("held", running.get(WAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testQueuedCallRunsWhenAPermitIsReleased() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, 1, Duration.ofSeconds(WAIT_SECONDS));
+        Future<String> running = occupy(bulkhead);
+
+        Future<String> queued = executor.submit(() -> bulkhead.execute(() -> "queued"));
+        awaitGauge("payment.bulkhead.waiting", 1);
+        release.countDown();
+
+        assertEquals("held", running.get(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0.0, gauge("payment.bulkhead.waiting"));
+    }
+
+    @Test
+    public void testQueuedCallGivesUpAfterMaxWait() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, 1, Duration.ofMillis(20));
+        occupy(bulkhead);
+
+        assertThrows(BulkheadFullException.class, () -> bulkhead.execute(() -> "late"));
+        assertEquals(0.0, gauge("payment.bulkhead.waiting"));
+        assertEquals(1L, meterRegistry.get("payment.bulkhead.wait").tag("bulkhead", NAME).timer().count());
+    }
+
+    @Test
+    public void testPermitIsReleasedWhenTheWorkFails() {
+        Bulkhead bulkhead = bulkhead(1, 0, Duration.ZERO);
+
+        assertThrows(IllegalStateException.class, () -> bulkhead.execute(() -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("after", bulkhead.execute(() -> "after"));
+    }
+
+    private Bulkhead bulkhead(int maxConcurrent, int maxWaiting, Duration maxWait) {
+        BulkheadConfiguration configuration = new BulkheadConfiguration(NAME);
+        configuration.setMaxConcurrent(maxConcurrent);
+        configuration.setMaxWaiting(maxWaiting);
+        configuration.setMaxWait(maxWait);
+        return new Bulkhead(configuration, meterRegistry);
+    }
+
+    /**
+     * Start a call that holds its permit until the test releases it
+     */
+    private Future<String> occupy(Bulkhead bulkhead) throws InterruptedException {
+        Future<String> running = executor.submit(() -> bulkhead.execute(() -> {
+            try {
+                release.await(WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "held";
+        }));
+        awaitGauge("payment.bulkhead.active", 1);
+        return running;
+    }
+
+    private void awaitGauge(String name, double value) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (gauge(name) != value && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(value, gauge(name));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("bulkhead", NAME).gauge().value();
+    }
+}
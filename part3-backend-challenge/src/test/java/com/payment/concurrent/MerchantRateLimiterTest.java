@@ -0,0 +1,141 @@
+package com.payment.concurrent;
+
+import com.payment.config.RateLimitConfiguration;
+import com.payment.config.RateLimitTier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Global and per-merchant admission, with rates low enough that nothing refills during a
+ * test
+ */
+public class MerchantRateLimiterTest {
+
+    private static final double SLOW = 0.001;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void testMerchantOverItsLimitIsRejectedAlone() {
+        MerchantRateLimiter limiter = limiter(100, 2, 10);
+
+        assertNull(limiter.tryAcquire("MCH-1"));
+        assertNull(limiter.tryAcquire("MCH-1"));
+        MerchantRateLimiter.Rejection rejection = limiter.tryAcquire("MCH-1");
+
+        assertNotNull(rejection);
+        assertEquals(MerchantRateLimiter.SCOPE_MERCHANT, rejection.getScope());
+        assertTrue(rejection.getRetryAfterSeconds() >= 1);
+        assertNull(limiter.tryAcquire("MCH-2"));
+        assertEquals(1.0, rejectedCount(MerchantRateLimiter.SCOPE_MERCHANT, "standard"));
+    }
+
+    @Test
+    public void testMerchantRejectionsDoNotUseGlobalCapacity() {
+        MerchantRateLimiter limiter = limiter(5, 2, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("MCH-1");
+        }
+
+        assertNull(limiter.tryAcquire("MCH-2"));
+        assertNull(limiter.tryAcquire("MCH-2"));
+        assertNull(limiter.tryAcquire(null));
+        assertEquals(MerchantRateLimiter.SCOPE_GLOBAL, limiter.tryAcquire(null).getScope());
+    }
+
+    @Test
+    public void testGlobalLimitIsCheckedBeforeMerchantBuckets() {
+        MerchantRateLimiter limiter = limiter(1, 10, 10);
+        assertNull(limiter.tryAcquire(null));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(MerchantRateLimiter.SCOPE_GLOBAL, limiter.tryAcquire("MCH-" + i).getScope());
+        }
+        assertEquals(0.0, bucketCount(), "rejected requests should not create buckets");
+    }
+
+    @Test
+    public void testMerchantBucketsAreCapped() {
+        MerchantRateLimiter limiter = limiter(1_000, 1, 3);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("MCH-" + i);
+        }
+
+        assertEquals(3.0, bucketCount());
+        assertEquals(MerchantRateLimiter.SCOPE_MERCHANT, limiter.tryAcquire("MCH-99").getScope(),
+            "merchants beyond the cap share the overflow bucket, already used up");
+    }
+
+    @Test
+    public void testTierMerchantsAlwaysGetTheirOwnBucket() {
+        RateLimitTier premium = tier("premium", 5);
+        premium.setMerchants(List.of("MCH-VIP"));
+        MerchantRateLimiter limiter = limiter(1_000, 1, 1, premium);
+        limiter.tryAcquire("MCH-1");
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(limiter.tryAcquire("MCH-VIP"), "request " + i);
+        }
+        assertEquals(2.0, bucketCount());
+    }
+
+    @Test
+    public void testRefilledBucketsAreEvicted() throws InterruptedException {
+        RateLimitConfiguration configuration = configuration(1_000, 10);
+        RateLimitTier fast = tier("standard", 5);
+        fast.setRequestsPerSecond(1_000);
+        MerchantRateLimiter limiter = new MerchantRateLimiter(configuration, List.of(fast), meterRegistry);
+        limiter.tryAcquire("MCH-1");
+        limiter.tryAcquire("MCH-2");
+
+        Thread.sleep(10);
+        limiter.evictFullBuckets();
+
+        assertEquals(0.0, bucketCount());
+    }
+
+    @Test
+    public void testUnknownDefaultTierFailsFast() {
+        RateLimitConfiguration configuration = configuration(10, 10);
+        configuration.setDefaultTier("gold");
+
+        assertThrows(IllegalStateException.class,
+            () -> new MerchantRateLimiter(configuration, List.of(tier("standard", 1)), meterRegistry));
+    }
+
+    private MerchantRateLimiter limiter(int globalBurst, int merchantBurst, int maxBuckets, RateLimitTier... extraTiers) {
+        List<RateLimitTier> tiers = new ArrayList<>(List.of(extraTiers));
+        tiers.add(tier("standard", merchantBurst));
+        return new MerchantRateLimiter(configuration(globalBurst, maxBuckets), tiers, meterRegistry);
+    }
+
+    private static RateLimitConfiguration configuration(int globalBurst, int maxBuckets) {
+        RateLimitConfiguration configuration = new RateLimitConfiguration();
+        configuration.setGlobalRequestsPerSecond(SLOW);
+        configuration.setGlobalBurst(globalBurst);
+        configuration.setMaxMerchantBuckets(maxBuckets);
+        return configuration;
+    }
+
+    private static RateLimitTier tier(String name, int burst) {
+        RateLimitTier tier = new RateLimitTier(name);
+        tier.setRequestsPerSecond(SLOW);
+        tier.setBurst(burst);
+        return tier;
+    }
+
+    private double bucketCount() {
+        return meterRegistry.get("payment.rate-limit.buckets").gauge().value();
+    }
+
+    private double rejectedCount(String scope, String tier) {
+        return meterRegistry.get("payment.rate-limit.rejected").tag("scope", scope).tag("tier", tier).counter().count();
+    }
+}
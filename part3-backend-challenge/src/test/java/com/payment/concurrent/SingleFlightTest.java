@@ -0,0 +1,158 @@
+package com.payment.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sharing, failure propagation and bounded waits of {@link SingleFlight}, with the leader
+ * held on a latch until every joiner has arrived
+ */
+public class SingleFlightTest {
+
+    private static final long WAIT_SECONDS = 5;
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+
+    @Test
+    public void testConcurrentCallersShareOneRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(3);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> flights.execute("key", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return "shared";
+            }, joined::countDown));
+            awaitInFlight(runs);
+
+            List<Future<String>> joiners = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                joiners.add(executor.submit(() -> flights.execute("key", () -> {
+                    runs.incrementAndGet();
+                    return "own";
+                }, joined::countDown)));
+            }
+            assertTrue(joined.await(WAIT_SECONDS, TimeUnit.SECONDS));
+            release.countDown();
+
+            assertEquals("shared", leader.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            for (Future<String> joiner : joiners) {
+                assertEquals("shared", joiner.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureReachesEveryJoiner() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> flights.execute("key", () -> {
+                runs.incrementAndGet();
+                await(release);
+                throw new IllegalStateException("boom");
+            }, () -> { }));
+            awaitInFlight(runs);
+            Future<String> joiner = executor.submit(() -> flights.execute("key", () -> "own", joined::countDown));
+            assertTrue(joined.await(WAIT_SECONDS, TimeUnit.SECONDS));
+            release.countDown();
+
+            assertTrue(cause(leader) instanceof IllegalStateException);
+            assertTrue(cause(joiner) instanceof IllegalStateException);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testJoinerGivesUpAfterItsOwnWait() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> flights.execute("key", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return "shared";
+            }, () -> { }));
+            awaitInFlight(runs);
+
+            assertThrows(TimeoutException.class,
+                () -> flights.execute("key", () -> "own", () -> { }, TimeUnit.MILLISECONDS.toNanos(20)));
+
+            release.countDown();
+            assertEquals("shared", leader.get(WAIT_SECONDS, TimeUnit.SECONDS), "the leader is unaffected");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCompletedResultIsNotCached() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertEquals("1", flights.execute("key", () -> String.valueOf(runs.incrementAndGet()), () -> { }));
+        assertEquals("2", flights.execute("key", () -> String.valueOf(runs.incrementAndGet()), () -> { }));
+    }
+
+    @Test
+    public void testDifferentKeysRunSeparately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> flights.execute("a", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return "a";
+            }, () -> { }));
+            awaitInFlight(runs);
+
+            assertEquals("b", flights.execute("b", () -> "b", () -> fail("different keys must not share")));
+            release.countDown();
+            assertEquals("a", first.get(WAIT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitInFlight(AtomicInteger runs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (runs.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, runs.get());
+    }
+
+    private static Throwable cause(Future<?> future) {
+        Exception failure = assertThrows(Exception.class, () -> future.get(WAIT_SECONDS, TimeUnit.SECONDS));
+        return failure.getCause();
+    }
+}
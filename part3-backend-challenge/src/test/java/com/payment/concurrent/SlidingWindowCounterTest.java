@@ -0,0 +1,153 @@
+package com.payment.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Window totals of {@link SlidingWindowCounter}: exact to within one bucket, old values
+ * dropped, and no lost updates under concurrent adds
+ */
+public class SlidingWindowCounterTest {
+
+    @Test
+    public void testValuesInsideTheWindowAreSummed() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+
+        counter.add(0, 1);
+        counter.add(500, 2);
+
+        assertEquals(6, counter.add(999, 3));
+        assertEquals(6, counter.sum(999));
+    }
+
+    @Test
+    public void testBucketsSlideOutOfTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+        counter.add(0, 1);
+        counter.add(500, 2);
+        counter.add(999, 3);
+
+        assertEquals(5, counter.sum(1_000), "the first bucket has left the window");
+        assertEquals(3, counter.sum(1_500));
+        assertEquals(0, counter.sum(2_000));
+    }
+
+    @Test
+    public void testSlotsAreRecycledForLaterBuckets() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+        counter.add(0, 5);
+
+        assertEquals(1, counter.add(10_000, 1), "the slot of the old bucket starts over");
+    }
+
+    @Test
+    public void testValuesOlderThanTheWindowAreIgnored() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+        counter.add(5_000, 1);
+
+        counter.add(3_000, 7);
+        counter.add(4_500, 2);
+
+        assertEquals(3, counter.sum(5_000));
+    }
+
+    @Test
+    public void testFreshCounterCountsAtRealTimes() {
+        for (String time : List.of("2026-10-18T12:00:00Z", "2027-03-15T12:00:00Z", "2031-01-01T00:00:00Z")) {
+            long now = Instant.parse(time).toEpochMilli();
+            SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 12);
+
+            assertEquals(1, counter.add(now, 1), time);
+            assertEquals(2, counter.add(now + 5_000, 1), time);
+            assertEquals(3, counter.add(now + 10_000, 1), time);
+        }
+    }
+
+    @Test
+    public void testUnusedSlotsAreClaimedAcrossTheHalfRangeOfTheEpochStamp() {
+        long bucketMillis = 5_000;
+        long stampRange = 1L << 24;
+        long base = Instant.parse("2026-10-18T00:00:00Z").toEpochMilli() / bucketMillis / stampRange * stampRange;
+        for (long offset = stampRange / 2 - 3; offset <= stampRange / 2 + 3; offset++) {
+            long now = (base + offset) * bucketMillis;
+            SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 12);
+
+            for (int i = 0; i < 12; i++) {
+                assertEquals(i + 1, counter.add(now + i * bucketMillis, 1), "stamp " + offset + ", bucket " + i);
+            }
+            assertEquals(12, counter.sum(now + 11 * bucketMillis));
+            assertEquals(11, counter.sum(now + 12 * bucketMillis), "stamp " + offset);
+        }
+    }
+
+    @Test
+    public void testStaleWritesAreStillIgnoredAtRealTimes() {
+        long now = Instant.parse("2027-06-01T00:00:00Z").toEpochMilli();
+        SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 12);
+        counter.add(now, 1);
+
+        counter.add(now - 120_000, 5);
+
+        assertEquals(1, counter.sum(now));
+    }
+
+    @Test
+    public void testTotalsSaturate() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+
+        counter.add(0, 1L << 41);
+
+        assertEquals((1L << 40) - 1, counter.add(0, 1));
+    }
+
+    @Test
+    public void testIdleAfterAWholeWindowWithoutAdds() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+        counter.add(999, 1);
+
+        assertFalse(counter.isIdle(1_500));
+        assertTrue(counter.isIdle(1_999));
+    }
+
+    @Test
+    public void testConcurrentAddsAreNotLost() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 60);
+        int threads = 8;
+        int addsPerThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < addsPerThread; i++) {
+                    counter.add(30_000 + i % 1_000, 1);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals((long) threads * addsPerThread, counter.sum(31_000));
+    }
+
+    @Test
+    public void testRejectsBucketsShorterThanAMillisecond() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounter(5, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounter(1_000, 0));
+    }
+}
@@ -0,0 +1,70 @@
+package com.payment.config;
+
+import io.micronaut.context.env.yaml.YamlPropertySourceLoader;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The YAML loader keeps only the last of two equal keys, so a second top-level block
+ * silently drops every setting of the first. These tests read the files the way Micronaut
+ * does and check that the settings survive.
+ */
+public class ApplicationYamlTest {
+
+    @Test
+    public void testNoDuplicateKeys() throws IOException {
+        for (String file : new String[]{"application.yml", "application-replica.yml"}) {
+            LoaderOptions options = new LoaderOptions();
+            options.setAllowDuplicateKeys(false);
+            try (InputStream in = resource(file)) {
+                assertDoesNotThrow(() -> new Yaml(options).loadAll(in).forEach(document -> { }));
+            }
+        }
+    }
+
+    @Test
+    public void testExecutorPoolsAreConfigured() throws IOException {
+        Map<String, Object> properties = applicationProperties();
+
+        assertEquals(16, properties.get("micronaut.executors.interactive.number-of-threads"));
+        assertEquals(4, properties.get("micronaut.executors.reporting.number-of-threads"));
+        assertEquals(8080, properties.get("micronaut.server.port"));
+    }
+
+    @Test
+    public void testCompressionIsConfigured() throws IOException {
+        Map<String, Object> properties = applicationProperties();
+
+        assertEquals(1400, properties.get("micronaut.server.netty.compression-threshold"));
+        assertEquals(1, properties.get("micronaut.server.netty.compression-level"));
+    }
+
+    @Test
+    public void testCachesAreConfigured() throws IOException {
+        Map<String, Object> properties = applicationProperties();
+
+        for (String cache : new String[]{"merchants", "members", "summaries"}) {
+            assertEquals(10000, properties.get("micronaut.caches." + cache + ".maximum-size"), cache);
+            assertNotNull(properties.get("micronaut.caches." + cache + ".expire-after-write"), cache);
+        }
+    }
+
+    static Map<String, Object> applicationProperties() throws IOException {
+        try (InputStream in = resource("application.yml")) {
+            return new YamlPropertySourceLoader().read("application", in);
+        }
+    }
+
+    private static InputStream resource(String name) {
+        InputStream in = ApplicationYamlTest.class.getClassLoader().getResourceAsStream(name);
+        assertNotNull(in, name + " should be on the classpath");
+        return in;
+    }
+}
@@ -0,0 +1,30 @@
+package com.payment.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Which request paths are charged to a merchant's bucket
+ */
+public class RateLimitFilterTest {
+
+    @Test
+    public void testMerchantRoutesAreAttributed() {
+        assertEquals("MCH-00001", RateLimitFilter.merchantId("/api/v1/merchants/MCH-00001"));
+        assertEquals("MCH-00001", RateLimitFilter.merchantId("/api/v1/merchants/MCH-00001/transactions"));
+        assertEquals("MCH-00001", RateLimitFilter.merchantId("/api/v1/merchants/MCH-00001/transactions/stream"));
+        assertEquals("MCH-00001", RateLimitFilter.merchantId("/api/v1/analytics/merchants/MCH-00001/histogram"));
+    }
+
+    @Test
+    public void testCollectionRoutesAreNotMerchants() {
+        assertNull(RateLimitFilter.merchantId("/api/v1/merchants"));
+        assertNull(RateLimitFilter.merchantId("/api/v1/merchants/"));
+        assertNull(RateLimitFilter.merchantId("/api/v1/merchants/top"));
+        assertNull(RateLimitFilter.merchantId("/api/v1/merchants/summaries"));
+        assertNull(RateLimitFilter.merchantId("/api/v1/analytics/top-merchants"));
+        assertNull(RateLimitFilter.merchantId("/api/v1/transactions/details:batchGet"));
+        assertNull(RateLimitFilter.merchantId("/api/v1/status"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.payment.config;
+
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Responses above micronaut.server.netty.compression-threshold are gzipped when the client
+ * accepts it; smaller ones are sent as is. Uses the JDK client, which leaves the body and
+ * Content-Encoding untouched. Needs the sample merchants from the README.
+ */
+@MicronautTest
+public class ResponseCompressionTest {
+
+    private static final int THRESHOLD = 1400;
+
+    @Inject
+    EmbeddedServer server;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void testLargeResponseIsCompressed() throws Exception {
+        HttpResponse<InputStream> response = get("/api/v1/merchants?page=1&limit=50");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            assertTrue(body.readAllBytes().length > THRESHOLD, "the page should be above the threshold");
+        }
+    }
+
+    @Test
+    public void testSmallResponseIsNotCompressed() throws Exception {
+        HttpResponse<InputStream> response = get("/api/v1/status");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        try (InputStream body = response.body()) {
+            assertTrue(body.readAllBytes().length < THRESHOLD, "the status body should be below the threshold");
+        }
+    }
+
+    private HttpResponse<InputStream> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.getURL() + path))
+            .header("Accept-Encoding", "gzip")
+            .GET()
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+}
@@ -0,0 +1,125 @@
+package com.payment.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The transaction endpoints over HTTP, through routing, validation, serialization and the
+ * exception handler. Uses the JDK client so the JSON is read exactly as sent. Needs the
+ * sample merchants and transactions from the README.
+ */
+@MicronautTest
+public class TransactionEndpointsTest {
+
+    private static final String TRANSACTIONS = "/api/v1/merchants/MCH-00001/transactions?startDate=2000-01-01&endDate=2099-12-31";
+
+    @Inject
+    EmbeddedServer server;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testFieldsLimitTheSerializedTransaction() throws Exception {
+        HttpResponse<String> response = get(TRANSACTIONS + "&size=5&include=total&fields=txnId,amount");
+
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode body = mapper.readTree(response.body());
+        assertTrue(body.path("transactions").size() > 0, "needs the sample transactions from the README");
+        for (JsonNode transaction : body.path("transactions")) {
+            assertEquals(Set.of("amount", "txnId"), fieldNames(transaction));
+        }
+        assertTrue(body.path("summary").isMissingNode() || body.path("summary").isNull());
+        assertTrue(body.path("pagination").path("totalElements").asLong() > 0);
+    }
+
+    @Test
+    public void testUnknownFieldIsABadRequest() throws Exception {
+        HttpResponse<String> response = get(TRANSACTIONS + "&fields=txnId,cardNumber");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(mapper.readTree(response.body()).path("message").asText().contains("cardNumber"), response.body());
+    }
+
+    @Test
+    public void testBatchGetAnswersEveryRequestedId() throws Exception {
+        List<Long> txnIds = new ArrayList<>();
+        for (JsonNode transaction : mapper.readTree(get(TRANSACTIONS + "&size=3&include=&fields=txnId").body()).path("transactions")) {
+            txnIds.add(transaction.path("txnId").asLong());
+        }
+        assertFalse(txnIds.isEmpty(), "needs the sample transactions from the README");
+        txnIds.add(-1L);
+
+        HttpResponse<String> response = post("/api/v1/transactions/details:batchGet",
+            mapper.writeValueAsString(mapper.createObjectNode().set("txnIds", mapper.valueToTree(txnIds))));
+
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode details = mapper.readTree(response.body()).path("details");
+        for (Long txnId : txnIds) {
+            assertTrue(details.path(String.valueOf(txnId)).isArray(), "entry for " + txnId);
+        }
+        assertEquals(0, details.path("-1").size());
+    }
+
+    @Test
+    public void testEmptyBatchGetIsABadRequest() throws Exception {
+        HttpResponse<String> response = post("/api/v1/transactions/details:batchGet", "{\"txnIds\":[]}");
+
+        assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    public void testBatchSummariesAreKeyedByMerchant() throws Exception {
+        HttpResponse<String> response = post("/api/v1/merchants/summaries",
+            "{\"merchantIds\":[\"MCH-00001\",\"MCH-99999\"],\"startDate\":\"2000-01-01\",\"endDate\":\"2099-12-31\"}");
+
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode summaries = mapper.readTree(response.body()).path("summaries");
+        assertTrue(summaries.path("MCH-00001").path("totalTransactions").asLong() > 0,
+            "needs the sample transactions from the README");
+        assertEquals(0, summaries.path("MCH-99999").path("totalTransactions").asLong());
+    }
+
+    @Test
+    public void testBatchSummaryWithAnUnknownStatusIsABadRequest() throws Exception {
+        HttpResponse<String> response = post("/api/v1/merchants/summaries",
+            "{\"merchantIds\":[\"MCH-00001\"],\"startDate\":\"2025-01-01\",\"endDate\":\"2025-01-31\",\"status\":\"done\"}");
+
+        assertEquals(400, response.statusCode());
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.getURL() + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.getURL() + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new TreeSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
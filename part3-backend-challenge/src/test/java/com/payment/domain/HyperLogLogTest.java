@@ -0,0 +1,68 @@
+package com.payment.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relative error of HyperLogLog against exact distinct counts, for one sketch and for
+ * merged sketches
+ */
+public class HyperLogLogTest {
+
+    @Test
+    public void testSmallCountsAreNearExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (long value = 0; value < 200; value++) {
+                sketch.addHash(HyperLogLog.hash(value));
+            }
+        }
+
+        assertTrue(Math.abs(sketch.estimate() - 200) <= 4, "estimate " + sketch.estimate());
+        assertTrue(sketch.estimatedBytes() < 2048, "sparse sketch should stay small");
+    }
+
+    @Test
+    public void testLargeCountsWithinThreeStandardErrors() {
+        for (int distinct : new int[]{1_000, 40_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (long value = 0; value < distinct; value++) {
+                sketch.addHash(HyperLogLog.hash(value * 31 + distinct));
+            }
+
+            assertTrue(relativeError(sketch.estimate(), distinct) <= 0.05, "estimate for " + distinct);
+            assertTrue(sketch.estimatedBytes() <= 4200, "dense sketch should take about 4 KB");
+        }
+    }
+
+    @Test
+    public void testMergedSketchesCountTheUnion() {
+        HyperLogLog[] days = new HyperLogLog[30];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = new HyperLogLog();
+        }
+        // 50,000 cards, each seen on a few of the days
+        for (long card = 0; card < 50_000; card++) {
+            for (int visit = 0; visit < 3; visit++) {
+                days[(int) ((card * 7 + visit * 11) % days.length)].addHash(HyperLogLog.hash(card));
+            }
+        }
+        HyperLogLog merged = new HyperLogLog();
+        for (HyperLogLog day : days) {
+            merged.add(day);
+        }
+
+        assertTrue(relativeError(merged.estimate(), 50_000) <= 0.05, "estimate " + merged.estimate());
+    }
+
+    @Test
+    public void testDifferentPrecisionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).add(new HyperLogLog(10)));
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    private static double relativeError(long estimate, long exact) {
+        return Math.abs(estimate - exact) / (double) exact;
+    }
+}
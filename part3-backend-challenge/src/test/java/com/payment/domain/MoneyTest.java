@@ -0,0 +1,72 @@
+package com.payment.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conversions between decimal amounts and minor units, per currency scale
+ */
+public class MoneyTest {
+
+    @Test
+    public void testScaleFollowsTheCurrency() {
+        assertEquals(2, Money.scaleOf("USD"));
+        assertEquals(0, Money.scaleOf("JPY"));
+        assertEquals(3, Money.scaleOf("KWD"));
+        assertEquals(2, Money.scaleOf("XYZ"), "unknown codes default to two decimals");
+    }
+
+    @Test
+    public void testStoredAmountsConvertToMinorUnits() {
+        assertEquals(12_345, Money.toMinorUnits(12_345, 2, "USD"));
+        assertEquals(123_450, Money.toMinorUnits(12_345, 2, "KWD"));
+        assertEquals(123, Money.toMinorUnits(12_300, 2, "JPY"));
+    }
+
+    @Test
+    public void testExtraDecimalsAreRoundedHalfEven() {
+        assertEquals(100, Money.toMinorUnits(10_049, 2, "JPY"));
+        assertEquals(101, Money.toMinorUnits(10_051, 2, "JPY"));
+        assertEquals(100, Money.toMinorUnits(10_050, 2, "JPY"));
+        assertEquals(102, Money.toMinorUnits(10_150, 2, "JPY"));
+        assertEquals(-100, Money.toMinorUnits(-10_050, 2, "JPY"));
+        assertEquals(-102, Money.toMinorUnits(-10_150, 2, "JPY"));
+        assertEquals(-101, Money.toMinorUnits(-10_051, 2, "JPY"));
+    }
+
+    @Test
+    public void testOfAcceptsTheCurrencyScale() {
+        assertEquals(1_050, Money.of(new BigDecimal("10.5"), "USD").getMinorUnits());
+        assertEquals(1_000, Money.of(new BigDecimal("1000.00"), "JPY").getMinorUnits());
+    }
+
+    @Test
+    public void testOfRejectsExtraDecimals() {
+        IllegalArgumentException failure = assertThrows(
+            IllegalArgumentException.class,
+            () -> Money.of(new BigDecimal("100.50"), "JPY")
+        );
+        assertTrue(failure.getMessage().contains("JPY"), failure.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1.005"), "USD"));
+    }
+
+    @Test
+    public void testBigDecimalKeepsTheCurrencyScale() {
+        assertEquals(new BigDecimal("10.50"), Money.ofMinor(1_050, "USD").toBigDecimal());
+        assertEquals(new BigDecimal("1050"), Money.ofMinor(1_050, "JPY").toBigDecimal());
+        assertEquals("10.50 USD", Money.ofMinor(1_050, "USD").toString());
+    }
+
+    @Test
+    public void testArithmeticNeedsTheSameCurrency() {
+        Money usd = Money.ofMinor(500, "USD");
+
+        assertEquals(Money.ofMinor(750, "USD"), usd.plus(Money.ofMinor(250, "USD")));
+        assertEquals(Money.ofMinor(250, "USD"), usd.minus(Money.ofMinor(250, "USD")));
+        assertThrows(IllegalArgumentException.class, () -> usd.plus(Money.ofMinor(250, "EUR")));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE, "USD").plus(usd));
+    }
+}
@@ -0,0 +1,66 @@
+package com.payment.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Running totals per currency, fed with minor units or stored unscaled amounts
+ */
+public class MoneyTotalsTest {
+
+    @Test
+    public void testTotalsAreKeptPerCurrencyInFirstSeenOrder() {
+        MoneyTotals totals = new MoneyTotals();
+        totals.add("USD", 1_000);
+        totals.add(Money.ofMinor(500, "EUR"));
+        totals.add("USD", 250);
+
+        assertEquals(Money.ofMinor(1_250, "USD"), totals.get("USD"));
+        assertEquals(Money.ofMinor(500, "EUR"), totals.get("EUR"));
+        assertEquals(List.of("USD", "EUR"), List.copyOf(totals.currencies()));
+    }
+
+    @Test
+    public void testUnscaledAmountsAreConvertedToTheCurrencyScale() {
+        MoneyTotals totals = new MoneyTotals();
+        totals.addUnscaled("USD", 10_050, 2);
+        totals.addUnscaled("JPY", 10_000, 2);
+        totals.addUnscaled("JPY", 10_050, 2);
+
+        assertEquals(Money.ofMinor(10_050, "USD"), totals.get("USD"));
+        assertEquals(Money.ofMinor(200, "JPY"), totals.get("JPY"), "100.50 JPY rounds half-even to 100");
+    }
+
+    @Test
+    public void testAddAllCombinesAggregations() {
+        MoneyTotals first = new MoneyTotals();
+        first.add("USD", 100);
+        MoneyTotals second = new MoneyTotals();
+        second.add("USD", 50);
+        second.add("EUR", 70);
+
+        first.addAll(second);
+
+        assertEquals(Money.ofMinor(150, "USD"), first.get("USD"));
+        assertEquals(Money.ofMinor(70, "EUR"), first.get("EUR"));
+    }
+
+    @Test
+    public void testMissingCurrencyIsZero() {
+        MoneyTotals totals = new MoneyTotals();
+
+        assertTrue(totals.isEmpty());
+        assertEquals(Money.zero("USD"), totals.get("USD"));
+    }
+
+    @Test
+    public void testOverflowIsReported() {
+        MoneyTotals totals = new MoneyTotals();
+        totals.add("USD", Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> totals.add("USD", 1));
+    }
+}
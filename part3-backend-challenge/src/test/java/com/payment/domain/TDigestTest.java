@@ -0,0 +1,105 @@
+package com.payment.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rank error of TDigest against exact quantiles, for one digest and for merged digests
+ */
+public class TDigestTest {
+
+    private static final double[] QUANTILES = {0.01, 0.5, 0.95, 0.99, 0.999};
+
+    @Test
+    public void testQuantilesWithinDocumentedRankError() {
+        Random random = new Random(42);
+        double[] values = new double[100_000];
+        TDigest digest = new TDigest();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.round(Math.exp(random.nextGaussian() * 1.2 + 8));
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : QUANTILES) {
+            assertTrue(rankError(values, q, digest.quantile(q)) <= 0.005, "rank error at q=" + q);
+        }
+    }
+
+    @Test
+    public void testMergedDigestsMatchOneDigest() {
+        Random random = new Random(7);
+        double[] values = new double[100_000];
+        TDigest[] days = new TDigest[30];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = new TDigest();
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.round(Math.exp(random.nextGaussian() + 6));
+            days[random.nextInt(days.length)].add(values[i]);
+        }
+        TDigest merged = new TDigest();
+        for (TDigest day : days) {
+            day.compact();
+            merged.add(day);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, merged.size());
+        for (double q : QUANTILES) {
+            assertTrue(rankError(values, q, merged.quantile(q)) <= 0.005, "rank error at q=" + q);
+        }
+        assertTrue(merged.estimatedBytes() < 8 * 1024, "merged digest stays small");
+    }
+
+    @Test
+    public void testSmallDigestIsExact() {
+        TDigest digest = new TDigest();
+        for (int i = 1; i <= 10; i++) {
+            digest.add(i * 10);
+        }
+
+        assertEquals(10, digest.quantile(0));
+        assertEquals(55, digest.quantile(0.5), 1e-9);
+        assertEquals(100, digest.quantile(1));
+    }
+
+    @Test
+    public void testEmptyDigest() {
+        TDigest digest = new TDigest();
+
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> digest.quantile(1.5));
+    }
+
+    /**
+     * Distance between the requested rank and the nearest rank the estimate can have
+     */
+    private static double rankError(double[] sorted, double q, double estimate) {
+        int below = lowerBound(sorted, estimate);
+        int atOrBelow = lowerBound(sorted, Math.nextUp(estimate));
+        double rank = q * sorted.length;
+        if (rank < below) {
+            return (below - rank) / sorted.length;
+        }
+        return rank > atOrBelow ? (rank - atOrBelow) / sorted.length : 0;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,94 @@
+package com.payment.exception;
+
+import com.payment.jdbc.RequestDeadline;
+import io.micronaut.data.exceptions.DataAccessException;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Status codes and Retry-After hints for the failures the handler knows about
+ */
+public class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    public void testFullBulkheadIsRetriedAfterOneSecond() {
+        HttpResponse<Map<String, Object>> response = handle(new BulkheadFullException("interactive"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatus());
+        assertEquals("1", response.getHeaders().get("Retry-After"));
+        assertEquals(503, response.getBody().orElseThrow().get("status"));
+    }
+
+    @Test
+    public void testUnavailableAnalyticsAndStreamsAreRetriedAfterFiveSeconds() {
+        HttpResponse<Map<String, Object>> analytics = handle(new AnalyticsUnavailableException("warming up"));
+        HttpResponse<Map<String, Object>> stream = handle(new StreamCapacityException("too many subscribers"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, analytics.getStatus());
+        assertEquals("5", analytics.getHeaders().get("Retry-After"));
+        assertEquals("warming up", analytics.getBody().orElseThrow().get("message"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, stream.getStatus());
+        assertEquals("5", stream.getHeaders().get("Retry-After"));
+    }
+
+    @Test
+    public void testPoolTimeoutAnywhereInTheChainIsServiceUnavailable() {
+        HttpResponse<Map<String, Object>> response = handle(
+            new DataAccessException("query failed", new SQLTransientConnectionException("pool exhausted")));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatus());
+        assertEquals("1", response.getHeaders().get("Retry-After"));
+    }
+
+    @Test
+    public void testCancelledStatementIsGatewayTimeout() {
+        HttpResponse<Map<String, Object>> response = handle(
+            new DataAccessException("query failed", new SQLTimeoutException("canceled", RequestDeadline.QUERY_CANCELED)));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatus());
+        assertNull(response.getHeaders().get("Retry-After"));
+    }
+
+    @Test
+    public void testInvalidInputIsBadRequest() {
+        HttpResponse<Map<String, Object>> response = handle(new IllegalArgumentException("size must be positive"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatus());
+        assertEquals("/api/v1/merchants", response.getBody().orElseThrow().get("path"));
+    }
+
+    @Test
+    public void testUnexpectedFailureHidesItsMessage() {
+        HttpResponse<Map<String, Object>> response = handle(new IllegalStateException("secret detail"));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatus());
+        assertEquals("An unexpected error occurred", response.getBody().orElseThrow().get("message"));
+    }
+
+    private HttpResponse<Map<String, Object>> handle(Exception exception) {
+        HttpRequest<?> request = (HttpRequest<?>) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{HttpRequest.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getMethod":
+                        return HttpMethod.GET;
+                    case "getPath":
+                        return "/api/v1/merchants";
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        return handler.handle(request, exception);
+    }
+}
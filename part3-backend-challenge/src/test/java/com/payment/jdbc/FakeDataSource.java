@@ -0,0 +1,109 @@
+package com.payment.jdbc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for a connection pool: every query returns the same number of rows
+ * with 0 in each column, and opened connections are counted
+ */
+class FakeDataSource {
+
+    private final int rows;
+    private final AtomicInteger connectionsOpened = new AtomicInteger();
+    private volatile boolean failing;
+
+    FakeDataSource(int rows) {
+        this.rows = rows;
+    }
+
+    int connectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    /**
+     * Make further connection attempts fail, like a pool whose database went away
+     */
+    void fail() {
+        failing = true;
+    }
+
+    DataSource dataSource() {
+        return proxy(DataSource.class, (dataSource, method, args) -> {
+            if ("getConnection".equals(method.getName())) {
+                if (failing) {
+                    throw new SQLException("connection refused");
+                }
+                connectionsOpened.incrementAndGet();
+                return connection();
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    private Connection connection() {
+        return proxy(Connection.class, (connection, method, args) -> {
+            switch (method.getName()) {
+                case "createStatement":
+                    return statement(Statement.class, (Connection) connection);
+                case "prepareStatement":
+                    return statement(PreparedStatement.class, (Connection) connection);
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private <T extends Statement> T statement(Class<T> type, Connection connection) {
+        return proxy(type, (statement, method, args) -> {
+            switch (method.getName()) {
+                case "executeQuery":
+                case "getResultSet":
+                    return resultSet();
+                case "execute":
+                    return true;
+                case "getConnection":
+                    return connection;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private ResultSet resultSet() {
+        AtomicInteger remaining = new AtomicInteger(rows);
+        return proxy(ResultSet.class, (resultSet, method, args) -> {
+            if ("next".equals(method.getName())) {
+                return remaining.getAndDecrement() > 0;
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(FakeDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        return null;
+    }
+}
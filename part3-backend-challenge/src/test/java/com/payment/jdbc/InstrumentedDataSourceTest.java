@@ -0,0 +1,109 @@
+package com.payment.jdbc;
+
+import io.micronaut.jdbc.DelegatingDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statements run through the wrapper reach the listener, and the pool behind it can be
+ * found the way Micronaut looks for it
+ */
+public class InstrumentedDataSourceTest {
+
+    private final FakeDataSource pool = new FakeDataSource(3);
+    private final RecordingListener listener = new RecordingListener();
+    private final InstrumentedDataSource dataSource = new InstrumentedDataSource(pool.dataSource(), listener);
+
+    @Test
+    public void testPreparedQueryIsTimedAndRowsCounted() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT id FROM merchants");
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                resultSet.getString(1);
+            }
+        }
+
+        assertEquals(1, listener.before);
+        assertEquals(1, listener.after);
+        assertEquals(List.of("SELECT id FROM merchants"), listener.executed);
+        assertEquals(List.of("SELECT id FROM merchants=3"), listener.fetched);
+    }
+
+    @Test
+    public void testPlainStatementReportsItsSql() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE merchants SET status = 'active'");
+            try (ResultSet resultSet = statement.getResultSet()) {
+                resultSet.close();
+            }
+        }
+
+        assertEquals(List.of("UPDATE merchants SET status = 'active'"), listener.executed);
+        assertEquals(List.of("UPDATE merchants SET status = 'active'=0"), listener.fetched);
+    }
+
+    @Test
+    public void testListenerCanRefuseAStatement() throws Exception {
+        listener.refuse = true;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            assertThrows(SQLTimeoutException.class, statement::executeQuery);
+        }
+        assertEquals(0, listener.after, "a refused statement never started");
+    }
+
+    @Test
+    public void testPoolIsFoundBehindTheWrapper() throws Exception {
+        DataSource target = pool.dataSource();
+        InstrumentedDataSource wrapped = new InstrumentedDataSource(target, listener);
+
+        assertSame(target, wrapped.getTargetDataSource());
+        assertSame(target, DelegatingDataSource.unwrapDataSource(wrapped));
+        assertSame(target, wrapped.unwrap(DataSource.class));
+    }
+
+    private static final class RecordingListener implements JdbcExecutionListener {
+
+        private final List<String> executed = new ArrayList<>();
+        private final List<String> fetched = new ArrayList<>();
+        private int before;
+        private int after;
+        private boolean refuse;
+
+        @Override
+        public void beforeExecute(Statement statement) throws SQLException {
+            if (refuse) {
+                throw new SQLTimeoutException("request deadline exceeded");
+            }
+            before++;
+        }
+
+        @Override
+        public void afterExecute(Statement statement) {
+            after++;
+        }
+
+        @Override
+        public void statementExecuted(String sql, long elapsedNanos) {
+            executed.add(sql);
+        }
+
+        @Override
+        public void rowsFetched(String sql, long rows) {
+            fetched.add(sql + "=" + rows);
+        }
+    }
+}
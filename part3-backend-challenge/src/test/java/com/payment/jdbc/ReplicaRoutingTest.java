@@ -0,0 +1,69 @@
+package com.payment.jdbc;
+
+import com.payment.dto.MerchantRequest;
+import com.payment.dto.MerchantResponse;
+import com.payment.service.MerchantService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * With routing enabled, {@link ReplicaRead} service calls take their connection from the
+ * replica and writes stay on the primary. The "replica" here is a second pool on the
+ * database from the README, which is enough to tell the routes apart.
+ */
+@MicronautTest(transactional = false)
+@Property(name = "datasources.replica.url", value = "jdbc:postgresql://${DB_HOST:localhost}:${DB_PORT:5432}/${DB_NAME:payment_platform}")
+@Property(name = "datasources.replica.driverClassName", value = "org.postgresql.Driver")
+@Property(name = "datasources.replica.username", value = "${DB_USER:postgres}")
+@Property(name = "datasources.replica.password", value = "${DB_PASSWORD:1415}")
+@Property(name = "datasources.replica.dialect", value = "POSTGRES")
+@Property(name = "datasources.replica.read-only", value = "true")
+@Property(name = "payment.replica-routing.enabled", value = "true")
+@Property(name = "payment.replica-routing.replicas", value = "replica")
+@Property(name = "payment.replica-routing.health-check-interval", value = "100ms")
+@Property(name = "payment.replica-routing.recovery-checks", value = "1")
+public class ReplicaRoutingTest {
+
+    @Inject
+    MerchantService merchantService;
+
+    @Inject
+    ReplicaHealthMonitor monitor;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void testReadsUseTheReplicaAndWritesThePrimary() throws InterruptedException {
+        awaitHealthyReplica();
+        Counter replicaReads = meterRegistry.counter("payment.replica.reads", "replica", "replica");
+        Counter fallbacks = meterRegistry.counter("payment.replica.fallbacks");
+
+        double before = replicaReads.count();
+        merchantService.getMerchants(1, 10, null, null, null, null);
+        assertTrue(replicaReads.count() > before, "the read should take a replica connection");
+
+        double afterRead = replicaReads.count();
+        double fallbacksAfterRead = fallbacks.count();
+        MerchantResponse created = merchantService.createMerchant(
+            new MerchantRequest("Replica Routing Test", "replica-routing-test@example.com", "+1 555 0100", "active"));
+        merchantService.deleteMerchant(created.getId());
+
+        assertEquals(afterRead, replicaReads.count(), "writes should not touch the replica");
+        assertEquals(fallbacksAfterRead, fallbacks.count(), "writes are not replica reads falling back");
+    }
+
+    private void awaitHealthyReplica() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (monitor.nextHealthyReplica().isEmpty()) {
+            assertTrue(System.currentTimeMillis() < deadline, "replica never joined the rotation");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.payment.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query timeouts, refusals and cancellation of {@link RequestDeadline}, against statements
+ * that record the calls made on them
+ */
+public class RequestDeadlineTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    public void testStatementGetsTheRemainingTimeRoundedUp() throws SQLException {
+        RequestDeadline deadline = new RequestDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2_500));
+
+        deadline.start(statement("query"));
+
+        assertEquals(List.of("query.setQueryTimeout(3)"), calls);
+    }
+
+    @Test
+    public void testShortBudgetIsNotTurnedIntoNoTimeout() throws SQLException {
+        RequestDeadline deadline = new RequestDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10));
+
+        deadline.start(statement("query"));
+
+        assertEquals(List.of("query.setQueryTimeout(1)"), calls);
+    }
+
+    @Test
+    public void testExpiredDeadlineRefusesStatements() {
+        RequestDeadline deadline = new RequestDeadline(System.nanoTime() - 1);
+
+        SQLTimeoutException refused = assertThrows(SQLTimeoutException.class, () -> deadline.start(statement("query")));
+
+        assertTrue(deadline.isExpired());
+        assertTrue(RequestDeadline.isCancellation(refused));
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    public void testCancelStopsRunningStatementsOnly() throws SQLException {
+        RequestDeadline deadline = new RequestDeadline(System.nanoTime() + TimeUnit.SECONDS.toNanos(30));
+        Statement running = statement("running");
+        Statement finished = statement("finished");
+        deadline.start(running);
+        deadline.start(finished);
+        deadline.finish(finished);
+        calls.clear();
+
+        deadline.cancel("client disconnected");
+
+        assertEquals(List.of("running.cancel"), calls);
+        assertTrue(deadline.isCancelled());
+        SQLTimeoutException refused = assertThrows(SQLTimeoutException.class, () -> deadline.start(statement("later")));
+        assertTrue(refused.getMessage().contains("client disconnected"));
+    }
+
+    @Test
+    public void testRemainingTimeCountsDown() {
+        RequestDeadline deadline = new RequestDeadline(System.nanoTime() + TimeUnit.SECONDS.toNanos(30));
+
+        assertTrue(deadline.remainingNanos() > TimeUnit.SECONDS.toNanos(29));
+        assertTrue(deadline.remainingNanos() <= TimeUnit.SECONDS.toNanos(30));
+        assertFalse(deadline.isExpired());
+    }
+
+    @Test
+    public void testCancellationIsFoundAnywhereInTheCauseChain() {
+        Exception wrapped = new RuntimeException("query failed",
+            new SQLException("canceling statement due to user request", RequestDeadline.QUERY_CANCELED));
+
+        assertTrue(RequestDeadline.isCancellation(wrapped));
+        assertFalse(RequestDeadline.isCancellation(new SQLException("duplicate key", "23505")));
+        assertFalse(RequestDeadline.isCancellation(new IllegalStateException()));
+    }
+
+    private Statement statement(String name) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Statement.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "setQueryTimeout":
+                        calls.add(name + ".setQueryTimeout(" + args[0] + ")");
+                        return null;
+                    case "cancel":
+                        calls.add(name + ".cancel");
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+}
@@ -0,0 +1,112 @@
+package com.payment.jdbc;
+
+import com.payment.config.ReplicaRoutingConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.context.BeanContext;
+import io.micronaut.jdbc.DelegatingDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Connections are taken from the replica only inside a replica read and only while the
+ * replica is healthy; everything else goes to the primary
+ */
+public class RoutingDataSourceTest {
+
+    private final FakeDataSource primary = new FakeDataSource(0);
+    private final FakeDataSource replica = new FakeDataSource(1);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(configuration(), replicaLookup(), meterRegistry);
+    private final RoutingDataSource routing = new RoutingDataSource(primary.dataSource(), monitor, meterRegistry);
+
+    @Test
+    public void testReplicaReadUsesTheHealthyReplica() throws Exception {
+        monitor.checkReplicas();
+        int replicaConnections = replica.connectionsOpened();
+
+        replicaRead();
+
+        assertEquals(replicaConnections + 1, replica.connectionsOpened());
+        assertEquals(0, primary.connectionsOpened());
+        assertEquals(1.0, meterRegistry.get("payment.replica.reads").tag("replica", "replica").counter().count());
+    }
+
+    @Test
+    public void testWritesUseThePrimary() throws Exception {
+        monitor.checkReplicas();
+        int replicaConnections = replica.connectionsOpened();
+
+        routing.getConnection().close();
+
+        assertEquals(1, primary.connectionsOpened());
+        assertEquals(replicaConnections, replica.connectionsOpened());
+    }
+
+    @Test
+    public void testReplicaReadFallsBackUntilTheReplicaPassesItsChecks() throws Exception {
+        replicaRead();
+
+        assertEquals(1, primary.connectionsOpened());
+        assertEquals(0, replica.connectionsOpened());
+        assertEquals(1.0, meterRegistry.get("payment.replica.fallbacks").counter().count());
+    }
+
+    @Test
+    public void testFailedReplicaConnectionFallsBackAndLeavesRotation() throws Exception {
+        monitor.checkReplicas();
+        replica.fail();
+
+        replicaRead();
+
+        assertEquals(1, primary.connectionsOpened());
+        assertTrue(monitor.nextHealthyReplica().isEmpty());
+    }
+
+    @Test
+    public void testPrimaryIsBehindTheRouter() {
+        assertSame(routing.getTargetDataSource(), DelegatingDataSource.unwrapDataSource(routing));
+    }
+
+    private void replicaRead() throws SQLException {
+        Connection connection = DataSourceRoute.call(true, () -> {
+            try {
+                return routing.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        connection.close();
+    }
+
+    private static ReplicaRoutingConfiguration configuration() {
+        ReplicaRoutingConfiguration configuration = new ReplicaRoutingConfiguration();
+        configuration.setEnabled(true);
+        configuration.setReplicas(List.of("replica"));
+        configuration.setRecoveryChecks(1);
+        return configuration;
+    }
+
+    /**
+     * Bean context that only knows the replica datasource
+     */
+    private BeanContext replicaLookup() {
+        return (BeanContext) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[]{BeanContext.class},
+            (context, method, args) -> {
+                if ("getBean".equals(method.getName()) && args.length == 2 && args[0] == DataSource.class) {
+                    return replica.dataSource();
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+}
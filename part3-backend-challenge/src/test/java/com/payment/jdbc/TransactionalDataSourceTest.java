@@ -0,0 +1,88 @@
+package com.payment.jdbc;
+
+import com.payment.repository.MerchantRepository;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.jdbc.DelegatingDataSource;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.transaction.TransactionOperations;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository calls inside a transaction go through the instrumented datasource on the
+ * transaction's connection, and Micronaut still finds the Hikari pool behind the wrappers.
+ * Needs the database from the README.
+ */
+@MicronautTest(transactional = false)
+@Property(name = "spec.name", value = "TransactionalDataSourceTest")
+public class TransactionalDataSourceTest {
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    TransactionOperations<Connection> transactionOperations;
+
+    @Inject
+    MerchantRepository merchantRepository;
+
+    @Inject
+    StatementRecorder recorder;
+
+    @Test
+    public void testHikariPoolIsBehindTheWrappers() {
+        DataSource pool = DelegatingDataSource.unwrapDataSource(dataSource);
+
+        assertEquals("com.zaxxer.hikari.HikariDataSource", pool.getClass().getName());
+    }
+
+    @Test
+    public void testRepositoryCallsInATransactionAreInstrumented() {
+        recorder.clear();
+
+        long merchants = transactionOperations.executeRead(status -> {
+            merchantRepository.findById("MCH-00001");
+            return merchantRepository.count();
+        });
+
+        assertTrue(merchants > 0);
+        assertEquals(2, recorder.statements.size(), "both statements should reach the listener: " + recorder.statements);
+        assertEquals(1, recorder.connections.size(), "the transaction should run on one connection");
+    }
+
+    @Singleton
+    @Requires(property = "spec.name", value = "TransactionalDataSourceTest")
+    static class StatementRecorder implements JdbcExecutionListener {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+        private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+        void clear() {
+            statements.clear();
+            connections.clear();
+        }
+
+        @Override
+        public void beforeExecute(Statement statement) throws SQLException {
+            connections.add(statement.getConnection());
+        }
+
+        @Override
+        public void statementExecuted(String sql, long elapsedNanos) {
+            statements.add(sql);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.payment.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * One JSON object per line from {@link JsonLineEncoder}, with escaping and optional fields
+ */
+public class JsonLineEncoderTest {
+
+    private final JsonLineEncoder encoder = new JsonLineEncoder();
+
+    @Test
+    public void testEventIsOneJsonLine() {
+        String line = encode(event("GET /api/v1/merchants answered {}", new Object[]{404}));
+
+        assertEquals("{\"ts\":\"2025-11-18T10:15:30.123Z\",\"level\":\"WARN\",\"logger\":\"com.payment.web\","
+            + "\"thread\":\"event-loop-1\",\"msg\":\"GET /api/v1/merchants answered 404\"}\n", line);
+    }
+
+    @Test
+    public void testSpecialCharactersAreEscaped() {
+        String line = encode(event("quote \" backslash \\ tab \t newline \n bell \u0007", null));
+
+        assertTrue(line.contains("\"msg\":\"quote \\\" backslash \\\\ tab \\t newline \\n bell \\u0007\""), line);
+        assertEquals(line.length() - 1, line.indexOf('\n'), "only the terminating newline is raw");
+    }
+
+    @Test
+    public void testMdcIsWrittenWhenPresent() {
+        Map<String, String> mdc = new LinkedHashMap<>();
+        mdc.put("requestId", "abc");
+        mdc.put("merchantId", "MCH-\"1\"");
+
+        String line = encode(event("request", null, mdc));
+
+        assertTrue(line.contains(",\"mdc\":{\"requestId\":\"abc\",\"merchantId\":\"MCH-\\\"1\\\"\"}"), line);
+    }
+
+    @Test
+    public void testErrorAndStackAreWrittenForThrowables() {
+        LoggingEvent event = event("failed", null);
+        event.setThrowableProxy(new ThrowableProxy(new IllegalStateException("pool closed")));
+
+        String line = encode(event);
+
+        assertTrue(line.contains(",\"error\":\"java.lang.IllegalStateException: pool closed\""), line);
+        assertTrue(line.contains(",\"stack\":\""), line);
+        assertFalse(line.contains("\"mdc\""), line);
+    }
+
+    @Test
+    public void testNoHeaderOrFooter() {
+        assertEquals(0, encoder.headerBytes().length);
+        assertEquals(0, encoder.footerBytes().length);
+    }
+
+    private String encode(LoggingEvent event) {
+        return new String(encoder.encode(event), StandardCharsets.UTF_8);
+    }
+
+    private static LoggingEvent event(String message, Object[] arguments) {
+        return event(message, arguments, Map.of());
+    }
+
+    /**
+     * The MDC is set explicitly so the event does not pick up the test thread's
+     */
+    private static LoggingEvent event(String message, Object[] arguments, Map<String, String> mdc) {
+        LoggingEvent event = new LoggingEvent();
+        event.setTimeStamp(1_763_460_930_123L);
+        event.setLevel(Level.WARN);
+        event.setLoggerName("com.payment.web");
+        event.setThreadName("event-loop-1");
+        event.setMessage(message);
+        event.setArgumentArray(arguments);
+        event.setMDCPropertyMap(mdc);
+        return event;
+    }
+}
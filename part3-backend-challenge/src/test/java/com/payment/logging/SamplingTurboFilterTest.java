@@ -0,0 +1,115 @@
+package com.payment.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Which events {@link SamplingTurboFilter} denies, asked directly with the arguments logback
+ * passes for a logging call
+ */
+public class SamplingTurboFilterTest {
+
+    private static final String PREFIX = "io.micronaut.data";
+
+    private final LoggerContext context = new LoggerContext();
+    private final SamplingTurboFilter filter = new SamplingTurboFilter();
+
+    @Test
+    public void testOneInNEventsIsKept() {
+        filter.setKeepOneIn(4);
+        start();
+
+        int kept = 0;
+        for (int i = 0; i < 8; i++) {
+            if (decide(PREFIX + ".query", Level.INFO) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+
+        assertEquals(2, kept);
+        assertEquals(6, filter.getSuppressed());
+    }
+
+    @Test
+    public void testKeptEventsAreRateLimited() {
+        filter.setRatePerSecond(0.001);
+        filter.setBurst(2);
+        start();
+
+        assertEquals(FilterReply.NEUTRAL, decide(PREFIX, Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(PREFIX, Level.INFO));
+        assertEquals(FilterReply.DENY, decide(PREFIX, Level.INFO));
+    }
+
+    @Test
+    public void testOnlyTheLoggerAndItsChildrenAreSampled() {
+        filter.setKeepOneIn(1_000);
+        start();
+        decide(PREFIX, Level.INFO);
+
+        assertEquals(FilterReply.DENY, decide(PREFIX + ".jdbc", Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide("io.micronaut.database", Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide("com.payment", Level.INFO));
+    }
+
+    @Test
+    public void testLevelsAboveMaxLevelAlwaysGetThrough() {
+        filter.setKeepOneIn(1_000);
+        filter.setMaxLevel("WARN");
+        start();
+        decide(PREFIX, Level.WARN);
+
+        assertEquals(FilterReply.DENY, decide(PREFIX, Level.WARN));
+        assertEquals(FilterReply.NEUTRAL, decide(PREFIX, Level.ERROR));
+    }
+
+    @Test
+    public void testDisabledEventsDoNotUseUpASample() {
+        filter.setKeepOneIn(2);
+        start();
+        context.getLogger(PREFIX).setLevel(Level.INFO);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(PREFIX, Level.DEBUG));
+        }
+        assertEquals(FilterReply.NEUTRAL, decide(PREFIX, Level.INFO), "the first enabled event is kept");
+        assertEquals(0, filter.getSuppressed());
+    }
+
+    @Test
+    public void testLevelChecksAreNotSampled() {
+        filter.setKeepOneIn(1_000);
+        start();
+        Logger logger = context.getLogger(PREFIX);
+        decide(PREFIX, Level.INFO);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, null, null, null));
+    }
+
+    @Test
+    public void testFilterWithoutAPrefixDoesNotStart() {
+        filter.setKeepOneIn(1_000);
+        filter.setContext(context);
+        filter.start();
+
+        assertFalse(filter.isStarted());
+        assertEquals(FilterReply.NEUTRAL, decide(PREFIX, Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(PREFIX, Level.INFO));
+    }
+
+    private void start() {
+        filter.setContext(context);
+        filter.setLoggerPrefix(PREFIX);
+        filter.start();
+        assertTrue(filter.isStarted());
+    }
+
+    private FilterReply decide(String loggerName, Level level) {
+        return filter.decide(null, context.getLogger(loggerName), level, "message {}", new Object[]{1}, null);
+    }
+}
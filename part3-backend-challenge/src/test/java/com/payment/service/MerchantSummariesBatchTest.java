@@ -0,0 +1,161 @@
+package com.payment.service;
+
+import com.payment.concurrent.Bulkhead;
+import com.payment.config.BulkheadConfiguration;
+import com.payment.dto.TransactionSummary;
+import com.payment.repository.MemberRepository;
+import com.payment.repository.MerchantAmountGroup;
+import com.payment.repository.MerchantRepository;
+import com.payment.repository.ReportingTransactionRepository;
+import com.payment.repository.TransactionDetailRepository;
+import com.payment.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch summaries of {@link TransactionServiceImpl}: one grouped query for the merchants
+ * not already cached, against a map-backed cache and a repository that records the merchant
+ * IDs of each grouped query
+ */
+public class MerchantSummariesBatchTest {
+
+    private static final int MAX_MERCHANTS = 3;
+    private static final String FROM = "2025-01-01";
+    private static final String TO = "2025-01-31";
+
+    private final List<MerchantAmountGroup> groups = new ArrayList<>();
+    private final List<List<String>> groupedQueries = new ArrayList<>();
+    private final Map<Object, Object> cache = new ConcurrentHashMap<>();
+    private final ExecutorService reportingExecutor = Executors.newSingleThreadExecutor();
+    private final TransactionServiceImpl service = service();
+
+    @AfterEach
+    public void tearDown() {
+        reportingExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testSummariesComeFromOneGroupedQueryInRequestOrder() {
+        groups.add(new MerchantAmountGroup("MCH-2", "completed", "USD", 2, 1_050));
+        groups.add(new MerchantAmountGroup("MCH-2", "failed", "USD", 1, 200));
+        groups.add(new MerchantAmountGroup("MCH-1", "completed", "EUR", 1, 999));
+
+        Map<String, TransactionSummary> summaries = service.getMerchantSummaries(List.of("MCH-2", "MCH-1"), FROM, TO, null);
+
+        assertEquals(List.of("MCH-2", "MCH-1"), new ArrayList<>(summaries.keySet()));
+        assertEquals(List.of(List.of("MCH-2", "MCH-1")), groupedQueries);
+        TransactionSummary second = summaries.get("MCH-2");
+        assertEquals(Long.valueOf(3), second.getTotalTransactions());
+        assertEquals(new BigDecimal("12.50"), second.getTotalAmount());
+        assertEquals(Long.valueOf(2), second.getByStatus().get("completed"));
+        assertEquals(new BigDecimal("9.99"), summaries.get("MCH-1").getTotalAmount());
+        assertEquals("EUR", summaries.get("MCH-1").getCurrency());
+    }
+
+    @Test
+    public void testMerchantWithoutTransactionsGetsAnEmptySummary() {
+        TransactionSummary summary = service.getMerchantSummaries(List.of("MCH-9"), FROM, TO, null).get("MCH-9");
+
+        assertEquals(Long.valueOf(0), summary.getTotalTransactions());
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.getTotalAmount()));
+    }
+
+    @Test
+    public void testCachedMerchantsAreNotQueriedAgain() {
+        groups.add(new MerchantAmountGroup("MCH-1", "completed", "USD", 1, 100));
+        service.getMerchantSummaries(List.of("MCH-1"), FROM, TO, null);
+
+        Map<String, TransactionSummary> summaries = service.getMerchantSummaries(List.of("MCH-1", "MCH-2"), FROM, TO, null);
+
+        assertEquals(List.of(List.of("MCH-1"), List.of("MCH-2")), groupedQueries);
+        assertEquals(Long.valueOf(1), summaries.get("MCH-1").getTotalTransactions());
+    }
+
+    @Test
+    public void testStatusFilterIsPartOfTheCacheKey() {
+        service.getMerchantSummaries(List.of("MCH-1"), FROM, TO, null);
+        service.getMerchantSummaries(List.of("MCH-1"), FROM, TO, "completed");
+
+        assertEquals(2, groupedQueries.size());
+    }
+
+    @Test
+    public void testBatchSummaryNeedsMerchantsAndAValidRange() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getMerchantSummaries(List.of(), FROM, TO, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getMerchantSummaries(List.of("MCH-1"), null, TO, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getMerchantSummaries(List.of("MCH-1"), "2025-02-01", TO, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getMerchantSummaries(List.of("MCH-1", "MCH-2", "MCH-3", "MCH-4"), FROM, TO, null));
+        assertTrue(groupedQueries.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionServiceImpl service() {
+        ReportingTransactionRepository reporting = proxy(ReportingTransactionRepository.class, (proxy, method, args) -> {
+            if (!method.getName().startsWith("findAmountGroupsByMerchantIdIn")) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            List<String> merchantIds = new ArrayList<>((List<String>) args[0]);
+            groupedQueries.add(merchantIds);
+            List<MerchantAmountGroup> found = new ArrayList<>();
+            groups.stream().filter(group -> merchantIds.contains(group.getMerchantId())).forEach(found::add);
+            return found;
+        });
+        SyncCache<?> summaryCache = proxy(SyncCache.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "get":
+                    return Optional.ofNullable(cache.get(args[0]));
+                case "put":
+                    cache.put(args[0], args[1]);
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        CacheManager<?> cacheManager = proxy(CacheManager.class, (proxy, method, args) -> summaryCache);
+
+        return new TransactionServiceImpl(
+            proxy(TransactionRepository.class, MerchantSummariesBatchTest::unused),
+            proxy(TransactionDetailRepository.class, MerchantSummariesBatchTest::unused),
+            proxy(MerchantRepository.class, MerchantSummariesBatchTest::unused),
+            proxy(MemberRepository.class, MerchantSummariesBatchTest::unused),
+            reporting,
+            new Bulkhead(new BulkheadConfiguration("reporting"), new SimpleMeterRegistry()),
+            reportingExecutor,
+            null,
+            null,
+            null,
+            cacheManager,
+            MAX_MERCHANTS,
+            MAX_MERCHANTS
+        );
+    }
+
+    private static Object unused(Object proxy, Method method, Object[] args) {
+        throw new UnsupportedOperationException(method.getName());
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(MerchantSummariesBatchTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
@@ -0,0 +1,152 @@
+package com.payment.service;
+
+import com.payment.concurrent.Bulkhead;
+import com.payment.config.BulkheadConfiguration;
+import com.payment.exception.NotFoundException;
+import com.payment.repository.MemberRepository;
+import com.payment.repository.MerchantRepository;
+import com.payment.repository.ReportingTransactionRepository;
+import com.payment.repository.TransactionDetailRepository;
+import com.payment.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The summary scan {@link TransactionServiceImpl} starts alongside a transactions page:
+ * it is dropped when the page request fails, against a reporting executor held busy so the
+ * scan is still queued when the failure happens
+ */
+public class MerchantTransactionsSummaryTest {
+
+    private static final TransactionQueryOptions SUMMARY = TransactionQueryOptions.parse("summary", null);
+
+    private final List<String> summaryQueries = new ArrayList<>();
+    private final ExecutorService reportingExecutor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch busy = new CountDownLatch(1);
+    private RuntimeException pageFailure;
+
+    @AfterEach
+    public void tearDown() {
+        reportingExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testSummaryIsDroppedForAnUnknownMerchant() throws Exception {
+        TransactionServiceImpl service = service();
+        holdReportingThread();
+
+        assertThrows(NotFoundException.class,
+            () -> service.getMerchantTransactions("MCH-9", 0, 20, null, null, null, SUMMARY));
+
+        assertTrue(summaryQueries.isEmpty(), "summary scanned after the 404: " + summaryQueries);
+        releaseReportingThread();
+        assertTrue(summaryQueries.isEmpty(), "summary scanned after the 404: " + summaryQueries);
+    }
+
+    @Test
+    public void testSummaryIsDroppedWhenThePageQueryFails() throws Exception {
+        TransactionServiceImpl service = service();
+        pageFailure = new IllegalStateException("replica unavailable");
+        holdReportingThread();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+            () -> service.getMerchantTransactions("MCH-1", 0, 20, null, null, null, SUMMARY));
+
+        assertSame(pageFailure, thrown);
+        releaseReportingThread();
+        assertTrue(summaryQueries.isEmpty(), "summary scanned after the failed page: " + summaryQueries);
+    }
+
+    private void holdReportingThread() {
+        reportingExecutor.execute(() -> {
+            try {
+                busy.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Let the reporting thread go and wait until it has run whatever was still queued
+     */
+    private void releaseReportingThread() throws Exception {
+        busy.countDown();
+        reportingExecutor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+    }
+
+    private TransactionServiceImpl service() {
+        TransactionRepository transactions = proxy(TransactionRepository.class, (proxy, method, args) -> {
+            if (!"queryByMerchantId".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            if (pageFailure != null) {
+                throw pageFailure;
+            }
+            return List.of();
+        });
+        MerchantRepository merchants = proxy(MerchantRepository.class, (proxy, method, args) -> {
+            if (!"existsById".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return false;
+        });
+        ReportingTransactionRepository reporting = proxy(ReportingTransactionRepository.class, (proxy, method, args) -> {
+            synchronized (summaryQueries) {
+                summaryQueries.add(method.getName());
+            }
+            return List.of();
+        });
+        SyncCache<?> cache = proxy(SyncCache.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "get":
+                    return Optional.empty();
+                case "put":
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        CacheManager<?> cacheManager = proxy(CacheManager.class, (proxy, method, args) -> cache);
+
+        return new TransactionServiceImpl(
+            transactions,
+            proxy(TransactionDetailRepository.class, MerchantTransactionsSummaryTest::unused),
+            merchants,
+            proxy(MemberRepository.class, MerchantTransactionsSummaryTest::unused),
+            reporting,
+            new Bulkhead(new BulkheadConfiguration("reporting"), new SimpleMeterRegistry()),
+            reportingExecutor,
+            null,
+            null,
+            null,
+            cacheManager,
+            100,
+            500
+        );
+    }
+
+    private static Object unused(Object proxy, Method method, Object[] args) {
+        throw new UnsupportedOperationException(method.getName());
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(MerchantTransactionsSummaryTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
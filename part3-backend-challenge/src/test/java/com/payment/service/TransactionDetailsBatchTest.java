@@ -0,0 +1,147 @@
+package com.payment.service;
+
+import com.payment.concurrent.Bulkhead;
+import com.payment.config.BulkheadConfiguration;
+import com.payment.dto.TransactionDetailResponse;
+import com.payment.entity.TransactionDetail;
+import com.payment.repository.MemberRepository;
+import com.payment.repository.MerchantRepository;
+import com.payment.repository.ReportingTransactionRepository;
+import com.payment.repository.TransactionDetailRepository;
+import com.payment.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch detail lookup of {@link TransactionServiceImpl}, with
+ * repositories that answer from in-memory rows and record the IDs they were asked for
+ */
+public class TransactionDetailsBatchTest {
+
+    private static final int MAX_IDS = 3;
+
+    private final List<TransactionDetail> rows = new ArrayList<>();
+    private final List<List<Long>> detailQueries = new ArrayList<>();
+    private final ExecutorService reportingExecutor = Executors.newSingleThreadExecutor();
+    private final TransactionServiceImpl service = service();
+
+    @AfterEach
+    public void tearDown() {
+        reportingExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testDetailsAreGroupedByTransactionInRequestOrder() {
+        rows.add(detail(1L, 20L, "FEE"));
+        rows.add(detail(2L, 10L, "CAPTURE"));
+        rows.add(detail(3L, 20L, "CAPTURE"));
+
+        Map<Long, List<TransactionDetailResponse>> details = service.getTransactionDetails(List.of(20L, 10L));
+
+        assertEquals(List.of(20L, 10L), new ArrayList<>(details.keySet()));
+        assertEquals(List.of("FEE", "CAPTURE"), types(details.get(20L)));
+        assertEquals(List.of("CAPTURE"), types(details.get(10L)));
+        assertEquals(1, detailQueries.size(), "one query for the whole batch");
+    }
+
+    @Test
+    public void testUnknownTransactionsGetAnEmptyList() {
+        Map<Long, List<TransactionDetailResponse>> details = service.getTransactionDetails(List.of(99L));
+
+        assertEquals(Map.of(99L, List.of()), details);
+    }
+
+    @Test
+    public void testDuplicateAndNullIdsAreDropped() {
+        service.getTransactionDetails(Arrays.asList(5L, null, 5L, 6L));
+
+        assertEquals(List.of(List.of(5L, 6L)), detailQueries);
+    }
+
+    @Test
+    public void testLimitCountsDistinctIds() {
+        service.getTransactionDetails(List.of(1L, 1L, 2L, 3L));
+
+        assertThrows(IllegalArgumentException.class, () -> service.getTransactionDetails(List.of(1L, 2L, 3L, 4L)));
+    }
+
+    @Test
+    public void testEmptyBatchIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.getTransactionDetails(null));
+        assertThrows(IllegalArgumentException.class, () -> service.getTransactionDetails(Collections.emptyList()));
+        assertTrue(detailQueries.isEmpty());
+    }
+
+    private static List<String> types(List<TransactionDetailResponse> details) {
+        List<String> types = new ArrayList<>();
+        details.forEach(detail -> types.add(detail.getType()));
+        return types;
+    }
+
+    private static TransactionDetail detail(long detailId, long txnId, String type) {
+        TransactionDetail detail = new TransactionDetail();
+        detail.setTxnDetailId(detailId);
+        detail.setMasterTxnId(txnId);
+        detail.setDetailType(type);
+        return detail;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionServiceImpl service() {
+        TransactionDetailRepository details = proxy(TransactionDetailRepository.class, (proxy, method, args) -> {
+            if (!"findByMasterTxnIdInList".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            List<Long> ids = new ArrayList<>((List<Long>) args[0]);
+            detailQueries.add(ids);
+            List<TransactionDetail> found = new ArrayList<>();
+            rows.stream().filter(row -> ids.contains(row.getMasterTxnId())).forEach(found::add);
+            return found;
+        });
+        SyncCache<?> cache = proxy(SyncCache.class, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        });
+        CacheManager<?> cacheManager = proxy(CacheManager.class, (proxy, method, args) -> cache);
+
+        BulkheadConfiguration reporting = new BulkheadConfiguration("reporting");
+        return new TransactionServiceImpl(
+            proxy(TransactionRepository.class, TransactionDetailsBatchTest::unused),
+            details,
+            proxy(MerchantRepository.class, TransactionDetailsBatchTest::unused),
+            proxy(MemberRepository.class, TransactionDetailsBatchTest::unused),
+            proxy(ReportingTransactionRepository.class, TransactionDetailsBatchTest::unused),
+            new Bulkhead(reporting, new SimpleMeterRegistry()),
+            reportingExecutor,
+            null,
+            null,
+            null,
+            cacheManager,
+            MAX_IDS,
+            MAX_IDS
+        );
+    }
+
+    private static Object unused(Object proxy, Method method, Object[] args) {
+        throw new UnsupportedOperationException(method.getName());
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TransactionDetailsBatchTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
@@ -0,0 +1,144 @@
+package com.payment.service;
+
+import com.payment.config.StatementTimeoutConfiguration;
+import com.payment.dto.MerchantTransactionsResponse;
+import com.payment.jdbc.RequestDeadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.data.exceptions.DataAccessException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keying and waiting of {@link TransactionQueryCoalescer}, in front of a service that records
+ * the arguments of each query it runs
+ */
+public class TransactionQueryCoalescerTest {
+
+    private static final long WAIT_SECONDS = 5;
+
+    private final List<List<Object>> queries = new CopyOnWriteArrayList<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CountDownLatch release = new CountDownLatch(0);
+
+    @Test
+    public void testQueryRunsWithTheCallersValues() {
+        TransactionQueryCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+
+        coalescer.getMerchantTransactions("MCH-00001", 0, 20, " ", "2025-01-31", "COMPLETED",
+            TransactionQueryOptions.all());
+
+        assertEquals(List.of(Arrays.asList("MCH-00001", 0, 20, " ", "2025-01-31", "COMPLETED")), queries);
+    }
+
+    @Test
+    public void testIdenticalRequestsShareOneQuery() throws Exception {
+        TransactionQueryCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> coalescer.getMerchantTransactions(
+                "MCH-00001", 0, 20, null, null, "completed", TransactionQueryOptions.all()));
+            awaitQueries(1);
+            Future<?> second = executor.submit(() -> coalescer.getMerchantTransactions(
+                "MCH-00001", 0, 20, null, null, "completed", TransactionQueryOptions.all()));
+            awaitShared(1);
+            release.countDown();
+
+            first.get(WAIT_SECONDS, TimeUnit.SECONDS);
+            second.get(WAIT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(1, queries.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDifferentlyWrittenStatusesAreSeparateQueries() throws Exception {
+        TransactionQueryCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> coalescer.getMerchantTransactions(
+                "MCH-00001", 0, 20, null, null, "completed", TransactionQueryOptions.all()));
+            Future<?> second = executor.submit(() -> coalescer.getMerchantTransactions(
+                "MCH-00001", 0, 20, null, null, "COMPLETED", TransactionQueryOptions.all()));
+            awaitQueries(2);
+            release.countDown();
+
+            first.get(WAIT_SECONDS, TimeUnit.SECONDS);
+            second.get(WAIT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(0.0, shared(), "the status filter is case-sensitive, so these are different queries");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testJoinerIsBoundedByTheDefaultTimeout() throws Exception {
+        TransactionQueryCoalescer coalescer = coalescer(Duration.ofMillis(20));
+        release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> leader = executor.submit(() -> coalescer.getMerchantTransactions(
+                "MCH-00001", 0, 20, null, null, null, TransactionQueryOptions.all()));
+            awaitQueries(1);
+
+            DataAccessException failure = assertThrows(DataAccessException.class, () -> coalescer.getMerchantTransactions(
+                "MCH-00001", 0, 20, null, null, null, TransactionQueryOptions.all()));
+            assertTrue(RequestDeadline.isCancellation(failure), "mapped to 504 like a cancelled statement");
+
+            release.countDown();
+            leader.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TransactionQueryCoalescer coalescer(Duration defaultTimeout) {
+        StatementTimeoutConfiguration timeouts = new StatementTimeoutConfiguration();
+        timeouts.setDefaultTimeout(defaultTimeout);
+        TransactionService service = (TransactionService) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{TransactionService.class}, (proxy, method, args) -> {
+                if (!"getMerchantTransactions".equals(method.getName()) || args.length != 7) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                queries.add(Arrays.asList(Arrays.copyOf(args, 6)));
+                assertTrue(release.await(WAIT_SECONDS, TimeUnit.SECONDS));
+                return new MerchantTransactionsResponse();
+            });
+        return new TransactionQueryCoalescer(service, timeouts, meterRegistry);
+    }
+
+    private void awaitQueries(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (queries.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, queries.size());
+    }
+
+    private void awaitShared(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (shared() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, shared());
+    }
+
+    private double shared() {
+        return meterRegistry.get("payment.transactions.coalesced").counter().count();
+    }
+}
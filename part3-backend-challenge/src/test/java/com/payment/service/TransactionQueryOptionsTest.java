@@ -0,0 +1,85 @@
+package com.payment.service;
+
+import com.payment.service.TransactionQueryOptions.Include;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parsing of include= and fields=, and which optional queries each combination needs
+ */
+public class TransactionQueryOptionsTest {
+
+    @Test
+    public void testMissingParametersMeanEverything() {
+        TransactionQueryOptions options = TransactionQueryOptions.parse(null, null);
+
+        assertEquals(TransactionQueryOptions.all(), options);
+        for (Include include : Include.values()) {
+            assertTrue(options.includes(include), include.name());
+        }
+        assertTrue(options.needsDetails());
+        assertTrue(options.needsMembers());
+    }
+
+    @Test
+    public void testIncludeIsCaseInsensitiveAndIgnoresBlanks() {
+        TransactionQueryOptions options = TransactionQueryOptions.parse(" Total, ,summary ", null);
+
+        assertTrue(options.includes(Include.TOTAL));
+        assertTrue(options.includes(Include.SUMMARY));
+        assertFalse(options.includes(Include.DETAILS));
+        assertFalse(options.needsDetails());
+        assertFalse(options.needsMembers());
+    }
+
+    @Test
+    public void testEmptyIncludeMeansNoOptionalParts() {
+        TransactionQueryOptions options = TransactionQueryOptions.parse("", null);
+
+        for (Include include : Include.values()) {
+            assertFalse(options.includes(include), include.name());
+        }
+    }
+
+    @Test
+    public void testDetailsNeedBothTheIncludeAndTheField() {
+        assertFalse(TransactionQueryOptions.parse("details", "txnId,amount").needsDetails());
+        assertTrue(TransactionQueryOptions.parse("details", "txnId,details").needsDetails());
+        assertFalse(TransactionQueryOptions.parse("summary", "details").needsDetails());
+    }
+
+    @Test
+    public void testMembersNeedTheIncludeAndAMemberField() {
+        assertFalse(TransactionQueryOptions.parse("members", "txnId").needsMembers());
+        assertTrue(TransactionQueryOptions.parse("members", "issuer").needsMembers());
+        assertTrue(TransactionQueryOptions.parse(null, "acquirer").needsMembers());
+    }
+
+    @Test
+    public void testFieldsAreExactNames() {
+        TransactionQueryOptions options = TransactionQueryOptions.parse(null, "txnId, amount");
+
+        assertTrue(options.hasField("txnId"));
+        assertTrue(options.hasField("amount"));
+        assertFalse(options.hasField("currency"));
+        assertThrows(IllegalArgumentException.class, () -> TransactionQueryOptions.parse(null, "txnid"));
+    }
+
+    @Test
+    public void testUnknownIncludeIsRejected() {
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+            () -> TransactionQueryOptions.parse("details,refunds", null));
+
+        assertTrue(failure.getMessage().contains("details, members, summary, total"));
+    }
+
+    @Test
+    public void testEqualOptionsShareAKey() {
+        assertEquals(TransactionQueryOptions.parse("summary,total", "amount,txnId"),
+            TransactionQueryOptions.parse("TOTAL,summary", "amount,txnId"));
+        assertEquals(TransactionQueryOptions.parse("total", null).hashCode(),
+            TransactionQueryOptions.parse("total", null).hashCode());
+        assertNotEquals(TransactionQueryOptions.parse("total", null), TransactionQueryOptions.parse("summary", null));
+    }
+}
@@ -1,8 +1,16 @@
 package com.payment.service;
 
+import com.payment.cache.CacheInvalidationBus;
+import com.payment.dto.MerchantTransactionsResponse;
+import com.payment.dto.TransactionResponse;
+import com.payment.dto.TransactionSummary;
+import io.micronaut.cache.CacheManager;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -32,4 +40,65 @@ public class TransactionServiceTest {
     }
 
     // TODO: Add your test methods here
+
+    private static final String MERCHANT = "MCH-00001";
+    private static final String FROM = "2000-01-01";
+    private static final String TO = "2099-12-31";
+
+    @Inject
+    TransactionService transactionService;
+
+    @Inject
+    CacheManager<?> cacheManager;
+
+    @Test
+    public void testBatchSummaryDoesNotReplaceTheDetailedSummary() {
+        cacheManager.getCache(CacheInvalidationBus.SUMMARIES).invalidateAll();
+
+        TransactionSummary batch = transactionService.getMerchantSummaries(List.of(MERCHANT), FROM, TO, null).get(MERCHANT);
+        TransactionSummary detailed = transactionService.getMerchantTransactions(MERCHANT, 1, 1, FROM, TO, null).getSummary();
+
+        assertTrue(detailed.getTotalTransactions() > 0, "needs the sample transactions from the README");
+        assertNotNull(detailed.getPercentiles(), "the cached batch summary has no percentiles and must not be served here");
+        assertEquals(batch.getTotalAmount(), detailed.getTotalAmount());
+    }
+
+    @Test
+    public void testBatchSummaryReusesTheDetailedSummary() {
+        cacheManager.getCache(CacheInvalidationBus.SUMMARIES).invalidateAll();
+
+        TransactionSummary detailed = transactionService.getMerchantTransactions(MERCHANT, 1, 1, FROM, TO, null).getSummary();
+        TransactionSummary batch = transactionService.getMerchantSummaries(List.of(MERCHANT), FROM, TO, null).get(MERCHANT);
+
+        assertEquals(detailed.getTotalAmount(), batch.getTotalAmount());
+        assertEquals(detailed.getTotalTransactions(), batch.getTotalTransactions());
+    }
+
+    @Test
+    public void testFieldsLimitTheReturnedProperties() {
+        MerchantTransactionsResponse response = transactionService.getMerchantTransactions(
+            MERCHANT, 0, 5, FROM, TO, null, TransactionQueryOptions.parse("total", "txnId,amount"));
+
+        assertFalse(response.getTransactions().isEmpty(), "needs the sample transactions from the README");
+        for (TransactionResponse transaction : response.getTransactions()) {
+            assertNotNull(transaction.getTxnId());
+            assertNotNull(transaction.getAmount());
+            assertNull(transaction.getCurrency());
+            assertNull(transaction.getAcquirer());
+            assertNull(transaction.getDetails());
+        }
+        assertNull(response.getSummary());
+        assertNotNull(response.getPagination().getTotalElements());
+    }
+
+    @Test
+    public void testTotalIsLeftOutUnlessIncluded() {
+        MerchantTransactionsResponse response = transactionService.getMerchantTransactions(
+            MERCHANT, 0, 5, FROM, TO, null, TransactionQueryOptions.parse("details", null));
+
+        assertNull(response.getSummary());
+        assertNull(response.getPagination().getTotalElements());
+        assertNull(response.getPagination().getTotalPages());
+        response.getTransactions().forEach(transaction -> assertNotNull(transaction.getDetails()));
+    }
 }
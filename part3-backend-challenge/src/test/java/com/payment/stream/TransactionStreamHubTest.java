@@ -0,0 +1,179 @@
+package com.payment.stream;
+
+import com.payment.cache.CacheInvalidatedEvent;
+import com.payment.cache.CacheInvalidationBus;
+import com.payment.config.TransactionStreamConfiguration;
+import com.payment.entity.TransactionMaster;
+import com.payment.exception.StreamCapacityException;
+import com.payment.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.http.sse.Event;
+import io.micronaut.scheduling.TaskScheduler;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fan-out, capacity and slow-consumer handling of {@link TransactionStreamHub}, polled by
+ * hand against an in-memory table whose rows the test "commits" one by one
+ */
+public class TransactionStreamHubTest {
+
+    private final TransactionStreamConfiguration configuration = new TransactionStreamConfiguration();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<TransactionMaster> table = new CopyOnWriteArrayList<>();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final TransactionStreamHub hub = hub();
+
+    @Test
+    public void testSubscriberReceivesOnlyItsMerchantsNewTransactions() {
+        insert(10, "MCH-1");
+        List<Event<?>> events = new ArrayList<>();
+        hub.subscribe("MCH-1").subscribe(events::add);
+
+        insert(11, "MCH-1");
+        insert(12, "MCH-2");
+        insert(13, "MCH-1");
+        hub.poll();
+
+        assertEquals(List.of("11", "13"), ids(events));
+        assertEquals("transaction", events.get(0).getName());
+    }
+
+    @Test
+    public void testLateCommitInsideAGapIsStillDelivered() {
+        List<Event<?>> events = new ArrayList<>();
+        hub.subscribe("MCH-1").subscribe(events::add);
+
+        insert(2, "MCH-1");
+        hub.poll();
+        insert(1, "MCH-1");
+        hub.poll();
+
+        assertEquals(List.of("2", "1"), ids(events));
+    }
+
+    @Test
+    public void testPollReadsEveryBatch() {
+        configuration.setPollBatchSize(2);
+        List<Event<?>> events = new ArrayList<>();
+        hub.subscribe("MCH-1").subscribe(events::add);
+
+        for (int id = 1; id <= 5; id++) {
+            insert(id, "MCH-1");
+        }
+        hub.poll();
+
+        assertEquals(List.of("1", "2", "3", "4", "5"), ids(events));
+    }
+
+    @Test
+    public void testHeartbeatReachesEverySubscriber() {
+        List<Event<?>> first = new ArrayList<>();
+        List<Event<?>> second = new ArrayList<>();
+        hub.subscribe("MCH-1").subscribe(first::add);
+        hub.subscribe("MCH-2").subscribe(second::add);
+
+        hub.heartbeat();
+
+        assertEquals("heartbeat", first.get(0).getName());
+        assertEquals("heartbeat", second.get(0).getName());
+    }
+
+    @Test
+    public void testSubscribersOverTheLimitAreRefused() {
+        configuration.setMaxSubscribers(1);
+        Disposable first = hub.subscribe("MCH-1").subscribe(event -> { });
+
+        assertThrows(StreamCapacityException.class, () -> hub.subscribe("MCH-2"));
+
+        first.dispose();
+        assertEquals(0.0, subscribers());
+        assertNotNull(hub.subscribe("MCH-2"));
+    }
+
+    @Test
+    public void testSlowSubscriberIsDroppedWhenItsBufferIsFull() {
+        configuration.setBufferSize(2);
+        hub.subscribe("MCH-1");
+        List<Event<?>> live = new ArrayList<>();
+        hub.subscribe("MCH-1").subscribe(live::add);
+
+        for (int i = 0; i < 3; i++) {
+            hub.heartbeat();
+        }
+
+        assertEquals(3, live.size(), "the reading subscriber is not held back");
+        assertEquals(1.0, meterRegistry.get("payment.stream.dropped").counter().count());
+        assertEquals(1.0, subscribers());
+    }
+
+    @Test
+    public void testSummaryInvalidationForASubscribedMerchantWakesThePoller() {
+        hub.subscribe("MCH-1").subscribe(event -> { });
+
+        hub.onCacheInvalidated(new CacheInvalidatedEvent(CacheInvalidationBus.SUMMARIES, Set.of("MCH-2")));
+        assertTrue(scheduled.isEmpty());
+
+        hub.onCacheInvalidated(new CacheInvalidatedEvent(CacheInvalidationBus.SUMMARIES, Set.of("MCH-1")));
+        hub.onCacheInvalidated(new CacheInvalidatedEvent(CacheInvalidationBus.SUMMARIES, Set.of("MCH-1")));
+        assertEquals(1, scheduled.size(), "one wake-up until the poll runs");
+    }
+
+    private void insert(long txnId, String merchantId) {
+        TransactionMaster txn = new TransactionMaster();
+        txn.setTxnId(txnId);
+        txn.setMerchantId(merchantId);
+        table.add(txn);
+    }
+
+    private static List<String> ids(List<Event<?>> events) {
+        return events.stream().map(Event::getId).collect(Collectors.toList());
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("payment.stream.subscribers").gauge().value();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionStreamHub hub() {
+        TransactionRepository repository = proxy(TransactionRepository.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "findMaxTxnId":
+                    return table.stream().mapToLong(TransactionMaster::getTxnId).max().orElse(0);
+                case "queryByTxnIdGreaterThan":
+                    return table.stream()
+                        .filter(txn -> txn.getTxnId() > (Long) args[0])
+                        .sorted((a, b) -> Long.compare(a.getTxnId(), b.getTxnId()))
+                        .limit(((Pageable) args[1]).getSize())
+                        .collect(Collectors.toList());
+                case "queryByTxnIdInList":
+                    return table.stream()
+                        .filter(txn -> ((List<Long>) args[0]).contains(txn.getTxnId()))
+                        .collect(Collectors.toList());
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        TaskScheduler scheduler = proxy(TaskScheduler.class, (proxy, method, args) -> {
+            scheduled.add((Runnable) args[1]);
+            return null;
+        });
+        return new TransactionStreamHub(repository, configuration, scheduler, meterRegistry);
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TransactionStreamHubTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}